@@ -33,14 +33,32 @@ CREATE TABLE email_verifications
 (
     token_id   BIGINT AUTO_INCREMENT PRIMARY KEY,                                                -- 토큰 PK
     email      VARCHAR(100) NOT NULL,                                                            -- 대상 사용자 FK
-    token      VARCHAR(100) NOT NULL,                                                            -- 인증 토큰(랜덤)
+    token_hash VARCHAR(64)  NOT NULL,                                                            -- 인증번호 해시(HMAC-SHA256, 원문 미저장)
     purpose    VARCHAR(20)  NOT NULL CHECK (purpose IN ('VERIFY_EMAIL', 'FIND_ID', 'RESET_PW')), -- 용도
     expires_at DATETIME     NOT NULL,                                                            -- 만료시각
     used_at    DATETIME NULL,                                                                    -- 사용 시각
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,                                              -- 생성시각
 
-    CONSTRAINT uq_ev_token UNIQUE (token),
-    INDEX      idx_ev_user_purpose (email, purpose, expires_at)                                  -- 사용자·용도별 유효 토큰 조회
+    INDEX      idx_ev_user_purpose (email, purpose, expires_at),                                 -- 사용자·용도별 유효 토큰 조회
+    INDEX      idx_ev_expires (expires_at)                                                       -- 만료 토큰 청크 삭제(선두 컬럼이 email 인 위 인덱스로는 범위 삭제 불가)
+);
+
+/* 메일 발송 대기열(트랜잭션 아웃박스) — 업무 트랜잭션에서 INSERT, 커밋 후 워커가 발송 */
+CREATE TABLE email_outbox
+(
+    outbox_id       BIGINT AUTO_INCREMENT PRIMARY KEY,                                                  -- PK
+    recipient       VARCHAR(100) NOT NULL,                                                              -- 수신자
+    subject         VARCHAR(200) NOT NULL,                                                              -- 제목
+    body            MEDIUMTEXT   NOT NULL,                                                              -- 본문(HTML)
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING'
+        CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'DEAD')),                                       -- 상태
+    attempts        INT          NOT NULL DEFAULT 0,                                                    -- 발송 시도 횟수
+    next_attempt_at DATETIME     NOT NULL,                                                              -- 다음 시도 시각(SENDING: 임대 만료)
+    last_error      VARCHAR(500) NULL,                                                                  -- 마지막 실패 사유
+    sent_at         DATETIME NULL,                                                                      -- 발송 완료 시각
+    created_at      TIMESTAMP DEFAULT CURRENT_TIMESTAMP,                                                -- 예약 시각
+
+    INDEX           idx_outbox_due (status, next_attempt_at)                                            -- 발송할 행 찾기
 );
 
 /* Gmail OAuth 연동(사이트 내 계정과 연결) */
@@ -110,8 +128,8 @@ CREATE TABLE match_requests
     max_age        INT         NOT NULL,                                                                   -- 최대 나이
     region_code    VARCHAR(10) NOT NULL,                                                                   -- 희망 지역
     interests_json JSON        NOT NULL,                                                                   -- 관심사 배열(JSON)
-    status         VARCHAR(10) NOT NULL DEFAULT 'WAITING'                                                  -- 대기/매칭/취소
-        CHECK (status IN ('WAITING', 'MATCHED', 'CANCELLED')),
+    status         VARCHAR(10) NOT NULL DEFAULT 'WAITING'                                                  -- 대기/매칭/취소/성사
+        CHECK (status IN ('WAITING', 'MATCHED', 'CANCELLED', 'CONFIRMED')),
     requested_at   TIMESTAMP            DEFAULT CURRENT_TIMESTAMP,                                         -- 요청시각
     CONSTRAINT fk_mr_user FOREIGN KEY (user_pid) REFERENCES users (user_pid) ON DELETE CASCADE,
     CONSTRAINT ck_mr_age_range CHECK (max_age >= min_age),
@@ -210,8 +228,9 @@ CREATE TABLE group_room_invite_approvals
  * ========================================= */
 CREATE TABLE room_messages
 (
-    message_id   BIGINT AUTO_INCREMENT PRIMARY KEY,                                                -- 메시지 PK
+    message_id   BIGINT AUTO_INCREMENT PRIMARY KEY,                                                -- 메시지 PK(채팅 서버가 발급해 넣음)
     room_id      BIGINT      NOT NULL,                                                             -- 방 FK
+    seq          BIGINT      NOT NULL,                                                             -- 방 안 순번(1부터 빈틈없이)
     sender_pid   BIGINT NULL,                                                                      -- 보낸 사람(탈퇴 시 NULL)
     content_type VARCHAR(10) NOT NULL CHECK (content_type IN ('TEXT', 'IMAGE', 'FILE', 'SYSTEM')), -- 타입
     text_content TEXT,                                                                             -- 텍스트 본문
@@ -228,6 +247,8 @@ CREATE TABLE room_messages
             OR (content_type = 'SYSTEM')
         ),
 
+    CONSTRAINT uq_msg_room_seq UNIQUE (room_id, seq),                                              -- 재연결 때 빠진 순번 구간 조회
+
     -- 인덱스(타임라인 페이지네이션)
     INDEX        idx_msg_room_time (room_id, created_at)                                           -- 방 타임라인 최신순
 );
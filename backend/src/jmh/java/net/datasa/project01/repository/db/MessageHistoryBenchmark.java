@@ -0,0 +1,116 @@
+package net.datasa.project01.repository.db;
+
+import net.datasa.project01.domain.vo.MessageCursor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지난 메시지 한 페이지(50건) 조회 지연 — 메시지 60만 건짜리 방에서 최신/중간/50만 건 뒤 페이지 (연산당 마이크로초)
+ * - keyset : DbRoomMessageRepository.forEachBefore (cursor 위치에서 바로 인덱스 역순 스캔) → depth 와 상관없이 비슷해야 한다
+ * - offset : 같은 순서의 LIMIT 50 OFFSET depth (비교용) → depth 만큼 인덱스를 건너뛰며 읽어 선형으로 느려짐
+ *
+ * 실제 MySQL 이 필요하다 (room_messages/rooms 가 있는 스키마, First_sql.sql).
+ * 처음 실행 때 promoted_reason='BENCH_HISTORY' 방을 만들고 메시지를 채운 뒤 다음 실행부터 재사용한다.
+ *
+ * 실행: BENCH_DB_URL=jdbc:mysql://localhost:3306/matcha BENCH_DB_USER=... BENCH_DB_PASSWORD=... \
+ *       ./gradlew jmh -Pjmh.includes=MessageHistoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MessageHistoryBenchmark {
+
+    private static final int ROOM_MESSAGES = 600_000;
+    private static final int PAGE = 50;
+    /** 같은 초에 메시지 3건 → created_at 이 같은 행 사이의 message_id 비교도 지나가게 */
+    private static final int PER_SECOND = 3;
+
+    @Param({"0", "10000", "100000", "500000"})
+    public int depth;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private DbRoomMessageRepository repository;
+    private long roomId;
+    private MessageCursor cursor;
+
+    @Setup
+    public void setUp() {
+        String url = System.getenv("BENCH_DB_URL");
+        if (url == null) throw new IllegalStateException("BENCH_DB_URL (MySQL) 이 필요합니다.");
+        dataSource = new SingleConnectionDataSource(url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true",
+                System.getenv("BENCH_DB_USER"), System.getenv("BENCH_DB_PASSWORD"), true);
+        jdbc = new JdbcTemplate(dataSource);
+        repository = new DbRoomMessageRepository(jdbc);
+        roomId = benchRoom();
+
+        if (depth == 0) {
+            cursor = null;
+        } else {
+            // depth 번째 행 위치 (측정 밖에서 한 번만)
+            cursor = jdbc.queryForObject("SELECT created_at, message_id FROM room_messages WHERE room_id = ?"
+                            + " ORDER BY created_at DESC, message_id DESC LIMIT 1 OFFSET ?",
+                    (rs, i) -> new MessageCursor(rs.getTimestamp(1).toLocalDateTime(), rs.getLong(2)),
+                    roomId, depth - 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public void keyset(Blackhole bh) {
+        repository.forEachBefore(roomId, cursor, PAGE, bh::consume);
+    }
+
+    @Benchmark
+    public void offset(Blackhole bh) {
+        jdbc.query("SELECT message_id, sender_pid, content_type, text_content, file_name, file_path, mime_type,"
+                        + " size_bytes, created_at FROM room_messages WHERE room_id = ?"
+                        + " ORDER BY created_at DESC, message_id DESC LIMIT ? OFFSET ?",
+                rs -> {
+                    bh.consume(rs.getLong(1));
+                    bh.consume(rs.getString(4));
+                    bh.consume(rs.getTimestamp(9));
+                }, roomId, PAGE, depth);
+    }
+
+    /** 벤치마크용 방 (없거나 덜 찼으면 채움) */
+    private long benchRoom() {
+        List<Long> found = jdbc.queryForList(
+                "SELECT room_id FROM rooms WHERE promoted_reason = 'BENCH_HISTORY' ORDER BY room_id LIMIT 1", Long.class);
+        long id;
+        if (found.isEmpty()) {
+            jdbc.update("INSERT INTO rooms (room_type, capacity, promoted_reason) VALUES ('GROUP', 4, 'BENCH_HISTORY')");
+            id = jdbc.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
+        } else {
+            id = found.get(0);
+        }
+        Integer have = jdbc.queryForObject("SELECT COUNT(*) FROM room_messages WHERE room_id = ?", Integer.class, id);
+        LocalDateTime start = LocalDateTime.now().withNano(0).minusSeconds(ROOM_MESSAGES / PER_SECOND);
+        List<Object[]> batch = new ArrayList<>(5000);
+        for (int i = have == null ? 0 : have; i < ROOM_MESSAGES; i++) {
+            batch.add(new Object[]{id, i + 1L, "벤치마크 메시지 " + i, Timestamp.valueOf(start.plusSeconds(i / PER_SECOND))});
+            if (batch.size() == 5000 || i == ROOM_MESSAGES - 1) {
+                jdbc.batchUpdate("INSERT INTO room_messages (room_id, seq, sender_pid, content_type, text_content, created_at)"
+                                + " VALUES (?, ?, NULL, 'TEXT', ?, ?)", batch,
+                        new int[]{Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP});
+                batch.clear();
+            }
+        }
+        return id;
+    }
+}
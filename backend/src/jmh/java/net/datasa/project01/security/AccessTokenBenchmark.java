@@ -0,0 +1,48 @@
+package net.datasa.project01.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청당 인증 오버헤드 측정 (마이크로초)
+ * - verifyAndCheckRevocation: AccessTokenFilter가 요청마다 하는 일(서명/만료 검증 + 폐기 목록 확인)
+ * - issue: 로그인 시 토큰 발급 비용
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=AccessTokenBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AccessTokenBenchmark {
+
+    private AccessTokenService tokenService;
+    private TokenRevocationList revocationList;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenService = new AccessTokenService("benchmark-secret-benchmark-secret-0123456789", 3600);
+        revocationList = new TokenRevocationList();
+        // 폐기 목록이 비어 있지 않은 현실적인 상태를 흉내
+        for (int i = 0; i < 10_000; i++) {
+            revocationList.revoke("revoked-" + i, Long.MAX_VALUE);
+        }
+        token = tokenService.issue(42L, "ROLE_USER");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean verifyAndCheckRevocation() {
+        return tokenService.verify(token)
+                .filter(u -> !revocationList.isRevoked(u.getTokenId()))
+                .isPresent();
+    }
+
+    @Benchmark
+    public String issue() {
+        return tokenService.issue(42L, "ROLE_USER");
+    }
+}
@@ -0,0 +1,108 @@
+package net.datasa.project01.service;
+
+import net.datasa.project01.domain.entity.EmailVerification;
+import net.datasa.project01.domain.vo.VerificationPurpose;
+import net.datasa.project01.repository.mock.MockEmailVerificationRepository;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
+import net.datasa.project01.security.VerificationCodeHasher;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유효한 인증번호가 수십만 개 쌓인 상태에서 발급/검증 처리량 (초당 연산)
+ * - issue  : 이전 인증번호 만료 + 해시 저장 (EmailVerificationService.requestVerifyEmail 과 같은 순서)
+ * - verify : (email, purpose) + 해시로 조회
+ * - legacyGlobalUniqueIssue : 예전 방식(6자리 원문에 전역 UNIQUE) — 이미 쓰인 번호를 뽑으면 다시 뽑는다.
+ *   collisionRetries 카운터가 발급 1건당 추가로 뽑은 횟수 (활성 30만 개면 약 0.43회)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=VerificationCodeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class VerificationCodeBenchmark {
+
+    private static final VerificationPurpose PURPOSE = VerificationPurpose.VERIFY_EMAIL;
+
+    @Param({"100000", "300000"})
+    public int activeCodes;
+
+    private MockEmailVerificationRepository repository;
+    private VerificationCodeHasher hasher;
+    private String[] codes;
+    private ConcurrentHashMap<String, Boolean> legacyTokens;
+
+    /** 스레드별 보조 카운터 (JMH 결과에 함께 출력) */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Collisions {
+        public long collisionRetries;
+    }
+
+    @Setup
+    public void setUp() {
+        repository = new MockEmailVerificationRepository(new MockSnapshotStore("")); // 스냅샷 끔
+        hasher = new VerificationCodeHasher("benchmark-pepper-benchmark-pepper-0123");
+        codes = new String[activeCodes];
+        legacyTokens = new ConcurrentHashMap<>();
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1);
+        for (int i = 0; i < activeCodes; i++) {
+            String code = code();
+            codes[i] = code;
+            repository.save(EmailVerification.builder()
+                    .email(email(i))
+                    .tokenHash(hasher.hash(email(i), PURPOSE, code))
+                    .purpose(PURPOSE)
+                    .expiresAt(expiresAt)
+                    .build());
+            while (legacyTokens.putIfAbsent(code, Boolean.TRUE) != null) {
+                code = code();
+            }
+        }
+    }
+
+    @Benchmark
+    public EmailVerification issue() {
+        int i = ThreadLocalRandom.current().nextInt(activeCodes);
+        LocalDateTime now = LocalDateTime.now();
+        repository.expireActive(email(i), PURPOSE, now);
+        return repository.save(EmailVerification.builder()
+                .email(email(i))
+                .tokenHash(hasher.hash(email(i), PURPOSE, code()))
+                .purpose(PURPOSE)
+                .expiresAt(now.plusMinutes(10))
+                .build());
+    }
+
+    @Benchmark
+    public boolean verify() {
+        int i = ThreadLocalRandom.current().nextInt(activeCodes);
+        return repository.findByTokenHash(email(i), PURPOSE, hasher.hash(email(i), PURPOSE, codes[i])).isPresent();
+    }
+
+    @Benchmark
+    public String legacyGlobalUniqueIssue(Collisions collisions) {
+        String code = code();
+        while (legacyTokens.putIfAbsent(code, Boolean.TRUE) != null) {
+            collisions.collisionRetries++;
+            code = code();
+        }
+        legacyTokens.remove(code); // 활성 개수를 일정하게 유지
+        return code;
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@gmail.com";
+    }
+
+    private static String code() {
+        return String.format("%06d", ThreadLocalRandom.current().nextInt(1_000_000));
+    }
+}
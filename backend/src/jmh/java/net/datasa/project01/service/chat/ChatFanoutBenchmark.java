@@ -0,0 +1,65 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 방 하나에 메시지 한 건을 뿌리는 비용 (연산당 마이크로초)
+ * - 연결 10,000개가 4명짜리 GROUP 방 2,500개에 나뉘어 붙어 있는 상태에서 임의의 방에 publish
+ * - 소켓 쓰기는 즉시 끝나는 가짜 전송 → 허브 자체의 구독자 조회/큐 넣기/전송 시작 비용만 잰다
+ *   (실제 지연 = 이 값 + 네트워크, 운영에서는 chat.delivered 타이머로 확인)
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ChatFanoutBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ChatFanoutBenchmark {
+
+    private static final int CONNECTIONS = 10_000;
+    private static final int ROOM_SIZE = 4;
+    private static final int ROOMS = CONNECTIONS / ROOM_SIZE;
+
+    private static final ChatOutbound INSTANT = new ChatOutbound() {
+        @Override
+        public void send(String frame, Consumer<Throwable> done) {
+            done.accept(null);
+        }
+
+        @Override
+        public void close(int code, String reason) {
+        }
+    };
+
+    private ChatHub hub;
+    private String frame;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        hub = new ChatHub(new SimpleMeterRegistry(), 256, 50);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            ChatConnection c = hub.connect(i, INSTANT);
+            hub.join(c, i / ROOM_SIZE);
+        }
+        frame = "{\"type\":\"message\",\"room_id\":1,\"message_id\":1,\"sender_pid\":1,\"text\":\"안녕하세요\"}";
+    }
+
+    @Benchmark
+    public int publishToGroupRoom() {
+        next = (next + 1) % ROOMS;
+        return hub.publish(next, frame);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int publishToGroupRoomConcurrently() {
+        return hub.publish(ThreadLocalRandom.current().nextInt(ROOMS), frame);
+    }
+}
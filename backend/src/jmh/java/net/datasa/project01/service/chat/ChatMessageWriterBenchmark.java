@@ -0,0 +1,98 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.RoomMessageRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 채팅 메시지 지속 처리량 (초당 메시지) — 보낸 쪽이 응답(로그 force 완료)을 받을 때까지 기다리는 경우
+ * - 보내는 스레드 64개가 각자 한 건씩 보내고 기다림 → 기록 스레드가 모인 만큼 묶어 force 한 번 (그룹 커밋)
+ * - 테이블 반영은 버리는 저장소로 대신해 로그 + 묶음/정렬 경로만 잰다 (DB 쪽은 chat.write.flush 타이머로 확인)
+ * - 임시 디렉터리 로그라 결과는 디스크의 fsync 지연에 좌우된다
+ *
+ * 실행: ./gradlew jmh -Pjmh.includes=ChatMessageWriterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ChatMessageWriterBenchmark {
+
+    private static final int ROOMS = 2_500;
+
+    private static final RoomMessageRepository DISCARD = new RoomMessageRepository() {
+        @Override
+        public List<RoomMessage> insertAll(List<RoomMessage> messages) {
+            return List.of();
+        }
+
+        @Override
+        public long maxMessageId() {
+            return 0;
+        }
+
+        @Override
+        public long maxSeq(long roomId) {
+            return 0;
+        }
+
+        @Override
+        public void forEachBefore(long roomId, MessageCursor before, int limit, Consumer<RoomMessageRow> consumer) {
+        }
+
+        @Override
+        public void forEachBetweenSeq(long roomId, long afterSeq, long beforeSeq, int limit,
+                                      Consumer<RoomMessageRow> consumer) {
+        }
+    };
+
+    private Path dir;
+    private ChatMessageWriter writer;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("chat-log-bench");
+        ChatMessageLog log = new ChatMessageLog(new SimpleMeterRegistry(), dir.toString(), 64);
+        writer = new ChatMessageWriter(log, DISCARD, new RoomSequences(DISCARD, new SimpleMeterRegistry(), 1_800_000),
+                new SimpleMeterRegistry(), 10_000, 1000, 500, 200, 200_000);
+        writer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        writer.stop();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(p);
+        } catch (IOException ignored) {
+            // 임시 디렉터리
+        }
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long sendAndAwaitAck() {
+        return writer.submit(RoomMessage.builder()
+                .roomId((long) ThreadLocalRandom.current().nextInt(ROOMS))
+                .senderPid(1L)
+                .contentType(MessageContentType.TEXT)
+                .textContent("안녕하세요, 오늘 저녁에 시간 괜찮으세요?")
+                .createdAt(LocalDateTime.now())
+                .build()).join().getMessageId();
+    }
+}
@@ -0,0 +1,54 @@
+package net.datasa.project01.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * [CacheMetricsConfig]
+ * - Hibernate 2차 캐시 region별 제거(eviction) 건수를 actuator metrics로 노출합니다.
+ * - hit/miss/put은 hibernate-micrometer가 Hibernate 통계로 노출하므로(hibernate.second.level.cache.*),
+ *   여기서는 Hibernate가 알 수 없는 "크기 상한 초과로 밀려난 건수"만 Ehcache 통계 MBean에서 읽습니다.
+ * - 메트릭: hibernate.cache.region.evictions{region=...}
+ */
+@Slf4j
+@Configuration
+@Profile("db")
+@RequiredArgsConstructor
+public class CacheMetricsConfig {
+
+    private final MeterRegistry registry;
+
+    /** 캐시(region)는 EntityManagerFactory 생성 시 만들어지므로 기동 완료 후 등록 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bindEvictionCounters() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName name : server.queryNames(new ObjectName("javax.cache:type=CacheStatistics,*"), null)) {
+                FunctionCounter.builder("hibernate.cache.region.evictions", name,
+                                n -> readLong(server, n, "CacheEvictions"))
+                        .tag("region", name.getKeyProperty("Cache"))
+                        .register(registry);
+            }
+        } catch (Exception e) {
+            log.warn("2차 캐시 eviction 메트릭 등록 실패: {}", e.getMessage());
+        }
+    }
+
+    private static double readLong(MBeanServer server, ObjectName name, String attribute) {
+        try {
+            return ((Number) server.getAttribute(name, attribute)).doubleValue();
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package net.datasa.project01.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.datasa.project01.security.RateLimit;
+import net.datasa.project01.security.RateLimitFilter;
+import net.datasa.project01.security.TokenBucketLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * 인증 관련 엔드포인트 요청 수 제한 등록
+ * - 필터 순서 0: Spring Security 체인(-100) 뒤 → CORS 헤더가 이미 붙은 상태에서 429 를 돌려준다.
+ * - 이메일 인증 요청의 DB 재발송 쿨다운은 그대로 두고, 이 필터는 그 앞단의 1차 차단 역할
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.ratelimit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            TokenBucketLimiter limiter,
+            ObjectMapper objectMapper,
+            MeterRegistry registry,
+            @Value("${app.ratelimit.trust-forwarded-for:false}") boolean trustForwardedFor,
+            @Value("${app.ratelimit.email-verify.per-ip:20/60}") String verifyPerIp,
+            @Value("${app.ratelimit.email-verify.per-email:3/300}") String verifyPerEmail,
+            @Value("${app.ratelimit.login.per-ip:30/60}") String loginPerIp,
+            @Value("${app.ratelimit.login.per-login-id:10/60}") String loginPerLoginId) {
+        List<RateLimitFilter.Rule> rules = List.of(
+                new RateLimitFilter.Rule("email-verify", "POST", "/api/users/email/verify/request",
+                        RateLimit.parse(verifyPerIp), "email", RateLimit.parse(verifyPerEmail)),
+                new RateLimitFilter.Rule("login", "POST", "/api/auth/login",
+                        RateLimit.parse(loginPerIp), "login_id", RateLimit.parse(loginPerLoginId)));
+
+        FilterRegistrationBean<RateLimitFilter> bean = new FilterRegistrationBean<>(
+                new RateLimitFilter(limiter, objectMapper, rules, trustForwardedFor, registry));
+        bean.setOrder(0);
+        bean.addUrlPatterns("/api/*");
+        return bean;
+    }
+}
@@ -0,0 +1,13 @@
+package net.datasa.project01.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * @Scheduled 작업 활성화
+ * - 로그인 실패 카운터 일괄 반영, 만료 토큰 정리 등 주기 작업이 이 설정으로 동작한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,17 +1,29 @@
 package net.datasa.project01.config;
 
+import net.datasa.project01.security.AccessTokenFilter;
+import net.datasa.project01.security.AccessTokenService;
+import net.datasa.project01.security.TokenRevocationList;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 
 /**
  * [SecurityConfig]
- * - 테스트 및 개발 편의성을 위해 모든 HTTP 요청을 인증 없이 허용합니다.
- * - REST API 환경에 맞춰 CSRF, 폼 로그인 등을 비활성화합니다.
+ * - 로그인 시 발급한 서명 토큰(Authorization: Bearer ...)으로 인증하는 무상태(stateless) 설정입니다.
+ * - 토큰 검증은 AccessTokenFilter가 메모리에서 처리하므로 요청마다 DB/세션 조회가 없습니다.
+ * - REST API 환경에 맞춰 CSRF, 폼 로그인, HTTP Basic 등을 비활성화합니다.
  * - 비밀번호 저장 시 BCrypt 해시를 사용하도록 PasswordEncoder 빈을 제공합니다.
  */
 @Configuration // 스프링 설정 클래스임을 명시
@@ -19,27 +31,48 @@ public class SecurityConfig {
 
     /**
      * SecurityFilterChain 빈 등록
-     * - 모든 요청을 permitAll()로 허용
-     * - actuator, api/users 경로도 별도 허용
-     * - CSRF 보호 비활성화 (REST/테스트 환경)
-     * - HTTP Basic 인증 활성화(테스트용, 실제 서비스에서는 비활성화 권장)
-     * - 폼 로그인 비활성화 (REST API 환경)
+     * - actuator health/info, api/users(가입/중복확인/이메일 인증), 로그인은 인증 없이 허용
+     * - api/admin 과 그 밖의 actuator(metrics) 는 ROLE_ADMIN 만 허용
+     * - 그 외 api 경로와 WebSocket(ws/**) 업그레이드는 유효한 액세스 토큰 필요 (없으면 401 JSON)
+     * - 세션을 만들지 않음 (STATELESS)
      */
     @Bean
-    SecurityFilterChain http(HttpSecurity http) throws Exception {
+    SecurityFilterChain http(HttpSecurity http,
+                             AccessTokenService accessTokenService,
+                             TokenRevocationList revocationList) throws Exception {
         http
-                // CSRF 보호 비활성화 (REST API나 테스트 환경에서는 불필요)
+                // CSRF 보호 비활성화 (토큰 기반 REST API)
                 .csrf(csrf -> csrf.disable())
+                // WebConfig의 CORS 설정을 보안 필터 단계에서도 적용 (preflight 허용)
+                .cors(Customizer.withDefaults())
+                // 세션 미사용
+                .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 // HTTP 요청 권한 설정
                 .authorizeHttpRequests(reg -> reg
-                        // actuator, api/users 경로는 모두 허용
-                        .requestMatchers("/actuator/**", "/api/users/**").permitAll()
-                        // 그 외 모든 요청도 허용
+                        // SSE 등 비동기 응답의 재디스패치/에러 디스패치는 최초 요청에서 이미 인가됨
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                        // 상태 확인(health/info), api/users 경로, 로그인은 모두 허용
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info",
+                                "/api/users/**", "/api/auth/login").permitAll()
+                        // 관리자 전용 (actuator metrics 등에는 인증/레이트리밋 카운터가 있음)
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
+                        // 나머지 API와 WebSocket 연결은 인증 필요
+                        .requestMatchers("/api/**", "/ws/**").authenticated()
+                        // 그 외(정적 페이지 등)는 허용
                         .anyRequest().permitAll()
                 )
-                // HTTP Basic 인증 활성화 (테스트용, 실제 서비스에서는 비활성화 권장)
-                .httpBasic(Customizer.withDefaults())
-                // 폼 로그인 비활성화 (REST API 환경에서는 사용하지 않음)
+                // Bearer 토큰 검증 필터
+                .addFilterBefore(new AccessTokenFilter(accessTokenService, revocationList),
+                        UsernamePasswordAuthenticationFilter.class)
+                // 인증/인가 실패 시 JSON 응답
+                .exceptionHandling(ex -> ex
+                        .authenticationEntryPoint((req, res, e) ->
+                                writeJson(res, HttpStatus.UNAUTHORIZED, "로그인이 필요합니다."))
+                        .accessDeniedHandler((req, res, e) ->
+                                writeJson(res, HttpStatus.FORBIDDEN, "접근 권한이 없습니다."))
+                )
+                // HTTP Basic / 폼 로그인 비활성화 (토큰 인증으로 대체)
+                .httpBasic(basic -> basic.disable())
                 .formLogin(form -> form.disable());
         // 최종 SecurityFilterChain 반환
         return http.build();
@@ -54,4 +87,12 @@ public class SecurityConfig {
     PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder(); // BCrypt 해시 인코더 반환
     }
-}
\ No newline at end of file
+
+    /** GlobalExceptionHandler와 같은 {"message": ...} 형태로 응답 */
+    private static void writeJson(HttpServletResponse res, HttpStatus status, String message) throws IOException {
+        res.setStatus(status.value());
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        res.setCharacterEncoding("UTF-8");
+        res.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+}
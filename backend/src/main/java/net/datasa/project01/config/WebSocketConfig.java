@@ -0,0 +1,27 @@
+package net.datasa.project01.config;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.controller.ChatSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket 엔드포인트 등록
+ * - /ws/chat : 채팅 (인증은 SecurityConfig + AccessTokenFilter 가 업그레이드 요청에서 처리)
+ * - 허용 Origin 은 WebConfig 의 CORS 설정과 같게
+ */
+@Configuration
+@EnableWebSocket
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final ChatSocketHandler chatSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(chatSocketHandler, "/ws/chat")
+                .setAllowedOriginPatterns("http://localhost:*");
+    }
+}
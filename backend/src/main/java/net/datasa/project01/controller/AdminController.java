@@ -0,0 +1,47 @@
+package net.datasa.project01.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.dto.UserImportResult;
+import net.datasa.project01.service.user.LoginIdBloomFilter;
+import net.datasa.project01.service.user.UserImportService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 관리자 전용 REST 컨트롤러 (SecurityConfig: /api/admin/** → ROLE_ADMIN)
+ * - POST /api/admin/users/login-id-filter/rebuild : 아이디 중복 확인용 Bloom filter 재생성
+ * - POST /api/admin/users/import                   : 회원 일괄 가져오기 (NDJSON / CSV 스트리밍)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final LoginIdBloomFilter loginIdBloomFilter;
+    private final UserImportService userImportService;
+
+    /** 아이디 Bloom filter 재생성 — 응답: { count, elapsed_ms, expected_fpp } */
+    @PostMapping("/users/login-id-filter/rebuild")
+    public Map<String, Object> rebuildLoginIdFilter() {
+        return loginIdBloomFilter.rebuild();
+    }
+
+    /**
+     * 회원 일괄 가져오기
+     * - 본문을 @RequestBody로 한 번에 바인딩하지 않고 스트림으로 읽는다(수만 건도 메모리에 올리지 않음).
+     * - 형식: ?format=ndjson|csv, 없으면 Content-Type (text/csv → CSV, 그 외 NDJSON)
+     * - 응답: { total, inserted, failed, elapsed_ms, rows_per_second, errors: [{ line, login_id, field, reason }] }
+     */
+    @PostMapping("/users/import")
+    public UserImportResult importUsers(HttpServletRequest request,
+                                        @RequestParam(required = false) String format) throws IOException {
+        return userImportService.importUsers(request.getInputStream(),
+                UserImportService.Format.resolve(format, request.getContentType()));
+    }
+}
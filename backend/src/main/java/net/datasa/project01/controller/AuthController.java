@@ -2,10 +2,17 @@ package net.datasa.project01.controller;
 
 import lombok.RequiredArgsConstructor;
 import net.datasa.project01.domain.dto.LoginRequest;
+import net.datasa.project01.domain.dto.LoginResponse;
 import net.datasa.project01.domain.dto.UserSummary;
+import net.datasa.project01.security.AccessTokenService;
+import net.datasa.project01.security.AuthUser;
+import net.datasa.project01.security.TokenRevocationList;
 import net.datasa.project01.service.AuthService;
+import net.datasa.project01.service.chat.ChatHub;
+import net.datasa.project01.service.presence.PresenceRegistry;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,7 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
  *
  * - @RestController: 반환값을 JSON으로 직렬화해 응답한다.
  * - @RequestMapping(..., produces=...): 이 컨트롤러에서 나가는 응답의 Content-Type을 JSON으로 고정한다.
- * - @RequiredArgsConstructor: final 필드(authService)에 대해 생성자를 자동 생성해 DI 받는다.
+ * - @RequiredArgsConstructor: final 필드(authService 등)에 대해 생성자를 자동 생성해 DI 받는다.
  *
  * 입력값 검증 흐름:
  * - @RequestBody @Validated LoginRequest req
@@ -35,19 +42,49 @@ public class AuthController {
 
     /** 로그인/잠금 정책을 포함한 실제 인증 로직을 제공하는 서비스 빈 */
     private final AuthService authService;
+    /** 서명 토큰 발급기 */
+    private final AccessTokenService accessTokenService;
+    /** 로그아웃한 토큰 폐기 목록 */
+    private final TokenRevocationList revocationList;
+    /** 접속 상태 (로그아웃하면 만료를 기다리지 않고 오프라인) */
+    private final PresenceRegistry presence;
+    /** 채팅 연결 (이 토큰으로 연 소켓을 닫아 ping 이 다시 온라인으로 만들지 않게) */
+    private final ChatHub chatHub;
 
     /**
      * 로그인 엔드포인트.
      *
      * - consumes=application/json: 본문이 JSON이 아닐 경우 스프링이 415/400을 반환할 수 있다.
      * - @Validated LoginRequest: DTO에 선언된 제약(@NotBlank, @Pattern, @Size 등)을 활성화한다.
-     * - 성공 시: UserSummary만 내려 UI가 필요한 최소 정보만 제공한다(민감정보 제외).
+     * - 성공 시: 서명 토큰 + UserSummary(민감정보 제외)를 내려준다.
      */
     @PostMapping(value = "/login", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<UserSummary> loginLocal(@RequestBody @Validated LoginRequest req) {
+    public ResponseEntity<LoginResponse> loginLocal(@RequestBody @Validated LoginRequest req) {
         // 서비스 계층에 실제 인증을 위임한다.
         UserSummary user = authService.loginLocal(req.getLoginId(), req.getPassword());
-        // 성공 응답: 200 OK + UserSummary(JSON)
-        return ResponseEntity.ok(user);
+        // 토큰 발급 (userPid, role, 만료시각 클레임)
+        String token = accessTokenService.issue(user.getId(), user.getRoleName());
+        // 성공 응답: 200 OK + 토큰 + UserSummary(JSON)
+        return ResponseEntity.ok(LoginResponse.builder()
+                .token(token)
+                .tokenType("Bearer")
+                .expiresIn(accessTokenService.getTtlSeconds())
+                .user(user)
+                .build());
+    }
+
+    /**
+     * 로그아웃 엔드포인트.
+     * - 현재 토큰을 만료 시각까지 폐기 목록에 올린다.
+     * - 그 토큰으로 연 채팅 소켓을 닫은 뒤 오프라인 처리 (순서가 반대면 남은 소켓의 ping 이 되살림)
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthUser me) {
+        if (me != null) {
+            revocationList.revoke(me.getTokenId(), me.getExpiresAtEpochSec());
+            chatHub.closeToken(me.getTokenId());
+            presence.offline(me.getUserPid());
+        }
+        return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,262 @@
+package net.datasa.project01.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.ChatEvent;
+import net.datasa.project01.domain.dto.ChatFrame;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.vo.PresenceStatus;
+import net.datasa.project01.exception.ServiceBusyException;
+import net.datasa.project01.security.AuthUser;
+import net.datasa.project01.security.TokenRevocationList;
+import net.datasa.project01.service.chat.ChatConnection;
+import net.datasa.project01.service.chat.ChatHub;
+import net.datasa.project01.service.chat.ChatOutbound;
+import net.datasa.project01.service.chat.ChatRoomService;
+import net.datasa.project01.service.presence.PresenceBroadcaster;
+import net.datasa.project01.service.presence.PresenceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 WebSocket (/ws/chat, JSON 텍스트 프레임)
+ * - 인증은 연결할 때 한 번: 업그레이드 요청을 AccessTokenFilter 가 검증 (브라우저 WebSocket 은 헤더를 못 붙여
+ *   access_token 쿼리 파라미터), 이후 프레임마다 토큰을 다시 보지 않는다.
+ * - join 때만 방 멤버인지 확인하고, send 는 이 연결이 구독한 방에만 허용
+ * - 메시지마다 방 안 순번(seq)이 붙는다. 재연결 join / resume 에 after_seq 를 주면 그 뒤로 빠진 메시지만 돌려줌
+ *   (구독을 먼저 걸고 읽으므로 그 사이 새 메시지는 방송으로 온다 — 겹치는 건 화면이 seq 로 거른다)
+ * - 연결/ping 이 접속 하트비트 (PresenceRegistry), watch 로 지켜보는 사용자와 구독한 방 멤버의 접속 상태 변경을 받음
+ *   로그아웃하면 그 토큰으로 연 연결은 닫히고, 닫히기 전에 온 ping 도 폐기된 토큰이면 하트비트로 치지 않는다
+ * - 나가는 프레임은 ChatHub/ChatConnection 의 연결별 큐 → 컨테이너 비동기 전송 (보내는 스레드가 소켓에 묶이지 않음)
+ * 프레임 형식은 ChatFrame(들어옴) / ChatEvent(나감)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChatSocketHandler extends TextWebSocketHandler {
+
+    private static final String CONNECTION = "chat.connection";
+
+    private final ChatHub hub;
+    private final ChatRoomService chatRoomService;
+    private final PresenceRegistry presence;
+    private final PresenceBroadcaster presenceBroadcaster;
+    private final TokenRevocationList revocationList;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.chat.max-frame-bytes:8192}")   private int maxFrameBytes;
+    @Value("${app.chat.send-timeout-ms:10000}")  private long sendTimeoutMs;
+    @Value("${app.chat.idle-timeout-ms:60000}")  private long idleTimeoutMs;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        if (!(session.getPrincipal() instanceof Authentication auth) || !(auth.getPrincipal() instanceof AuthUser me)) {
+            session.close(CloseStatus.POLICY_VIOLATION); // 보안 설정상 오지 않지만 방어
+            return;
+        }
+        session.setTextMessageSizeLimit(maxFrameBytes);
+        ChatConnection connection = hub.connect(me.getUserPid(), me.getTokenId(), new SessionOutbound(session, sendTimeoutMs, idleTimeoutMs));
+        session.getAttributes().put(CONNECTION, connection);
+        presence.heartbeat(me.getUserPid(), PresenceStatus.ONLINE);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        ChatConnection connection = (ChatConnection) session.getAttributes().get(CONNECTION);
+        if (connection == null) return;
+        ChatFrame frame;
+        try {
+            frame = objectMapper.readValue(message.getPayload(), ChatFrame.class);
+        } catch (JsonProcessingException e) {
+            reply(connection, ChatEvent.builder().type("error").message("잘못된 형식입니다.").build());
+            return;
+        }
+        try {
+            handle(connection, frame);
+        } catch (IllegalArgumentException | ServiceBusyException e) {
+            reply(connection, error(frame, e.getMessage()));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        ChatConnection connection = (ChatConnection) session.getAttributes().remove(CONNECTION);
+        if (connection == null) return;
+        presenceBroadcaster.unwatchAll(connection);
+        hub.disconnect(connection); // 오프라인 처리는 하트비트 만료로 (다른 탭/HTTP 하트비트가 있을 수 있음)
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("채팅 소켓 오류 session={}: {}", session.getId(), exception.toString());
+    }
+
+    private void handle(ChatConnection connection, ChatFrame frame) {
+        String type = frame.getType() == null ? "" : frame.getType();
+        switch (type) {
+            case "join" -> {
+                long roomId = requireRoom(frame);
+                if (!chatRoomService.canJoin(roomId, connection.userPid())) {
+                    throw new IllegalArgumentException("채팅방 멤버가 아닙니다.");
+                }
+                hub.join(connection, roomId);
+                if (frame.getAfterSeq() == null) {
+                    reply(connection, ChatEvent.builder().type("joined").roomId(roomId).build());
+                } else {
+                    catchUp(connection, roomId, frame.getAfterSeq(), "joined");
+                }
+            }
+            case "resume" -> {
+                long roomId = requireRoom(frame);
+                if (!connection.isJoined(roomId)) {
+                    throw new IllegalArgumentException("먼저 채팅방에 입장해 주세요.");
+                }
+                if (frame.getAfterSeq() == null) throw new IllegalArgumentException("after_seq 가 필요합니다.");
+                catchUp(connection, roomId, frame.getAfterSeq(), "resumed");
+            }
+            case "leave" -> {
+                long roomId = requireRoom(frame);
+                hub.leave(connection, roomId);
+                reply(connection, ChatEvent.builder().type("left").roomId(roomId).build());
+            }
+            case "send" -> {
+                long roomId = requireRoom(frame);
+                if (!connection.isJoined(roomId)) {
+                    throw new IllegalArgumentException("먼저 채팅방에 입장해 주세요.");
+                }
+                // 로컬 로그에 남은 뒤에 방송 (보낸 사람도 이 방송을 받아 전송 완료로 처리)
+                chatRoomService.saveText(roomId, connection.userPid(), frame.getText()).whenComplete((m, e) -> {
+                    if (e != null) {
+                        reply(connection, error(frame, "메시지를 저장하지 못했습니다. 다시 보내 주세요."));
+                        return;
+                    }
+                    hub.publish(roomId, write(ChatEvent.builder()
+                            .type("message")
+                            .roomId(roomId)
+                            .messageId(m.getMessageId())
+                            .seq(m.getSeq())
+                            .senderPid(m.getSenderPid())
+                            .text(m.getTextContent())
+                            .createdAt(m.getCreatedAt())
+                            .clientMsgId(frame.getClientMsgId())
+                            .build()));
+                });
+            }
+            case "watch" -> {
+                List<Long> userIds = presenceBroadcaster.watch(connection,
+                        frame.getUserIds() == null ? List.of() : frame.getUserIds());
+                // 지금 상태 한 번 (이후로는 바뀔 때만, 겹쳐 와도 같은 값)
+                reply(connection, ChatEvent.builder().type("presence").presence(presence.online(userIds)).build());
+            }
+            case "ping" -> {
+                if (revocationList.isRevoked(connection.tokenId())) {
+                    hub.closeToken(connection.tokenId()); // 로그아웃과 엇갈려 들어온 ping
+                    return;
+                }
+                presence.heartbeat(connection.userPid(), PresenceStatus.ONLINE);
+                reply(connection, ChatEvent.builder().type("pong").build());
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 type 입니다: " + type);
+        }
+    }
+
+    /** afterSeq 뒤로 빠진 메시지를 한 프레임으로 (너무 많으면 reset 먼저) */
+    private void catchUp(ChatConnection connection, long roomId, long afterSeq, String type) {
+        List<RoomMessageRow> missing = chatRoomService.resume(roomId, afterSeq);
+        if (missing == null) {
+            reply(connection, ChatEvent.builder().type("reset").roomId(roomId).build());
+            reply(connection, ChatEvent.builder().type(type).roomId(roomId).build());
+            return;
+        }
+        reply(connection, ChatEvent.builder()
+                .type(type)
+                .roomId(roomId)
+                .seq(missing.isEmpty() ? afterSeq : missing.get(missing.size() - 1).seq())
+                .messages(missing)
+                .build());
+    }
+
+    private static long requireRoom(ChatFrame frame) {
+        if (frame.getRoomId() == null) throw new IllegalArgumentException("room_id 가 필요합니다.");
+        return frame.getRoomId();
+    }
+
+    private static ChatEvent error(ChatFrame frame, String message) {
+        return ChatEvent.builder()
+                .type("error")
+                .roomId(frame.getRoomId())
+                .clientMsgId(frame.getClientMsgId())
+                .message(message)
+                .build();
+    }
+
+    private void reply(ChatConnection connection, ChatEvent event) {
+        hub.send(connection, write(event));
+    }
+
+    private String write(ChatEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * WebSocketSession → ChatOutbound
+     * - 서블릿 컨테이너(JSR-356) 세션이면 비동기 전송(getAsyncRemote) — 쓰기가 밀려도 스레드가 묶이지 않고,
+     *   send-timeout-ms 를 넘기면 실패로 끝나 연결을 닫는다.
+     * - 그 밖의 세션은 동기 전송 (ChatConnection 이 한 번에 하나만 보냄)
+     */
+    private static final class SessionOutbound implements ChatOutbound {
+
+        private final WebSocketSession session;
+        private final jakarta.websocket.Session container;
+
+        SessionOutbound(WebSocketSession session, long sendTimeoutMs, long idleTimeoutMs) {
+            this.session = session;
+            this.container = session instanceof NativeWebSocketSession n
+                    ? n.getNativeSession(jakarta.websocket.Session.class) : null;
+            if (container != null) {
+                container.getAsyncRemote().setSendTimeout(sendTimeoutMs);
+                container.setMaxIdleTimeout(idleTimeoutMs);
+            }
+        }
+
+        @Override
+        public void send(String frame, Consumer<Throwable> done) {
+            try {
+                if (container != null) {
+                    container.getAsyncRemote().sendText(frame,
+                            result -> done.accept(result.isOK() ? null : result.getException()));
+                } else {
+                    session.sendMessage(new TextMessage(frame));
+                    done.accept(null);
+                }
+            } catch (IOException | RuntimeException e) {
+                done.accept(e);
+            }
+        }
+
+        @Override
+        public void close(int code, String reason) {
+            try {
+                session.close(new CloseStatus(code, reason));
+            } catch (IOException | RuntimeException ignored) {
+                // 이미 닫힘
+            }
+        }
+    }
+}
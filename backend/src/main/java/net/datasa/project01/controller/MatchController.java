@@ -0,0 +1,67 @@
+package net.datasa.project01.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.dto.MatchDecisionRequest;
+import net.datasa.project01.domain.dto.MatchRequestCreate;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.security.AuthUser;
+import net.datasa.project01.service.match.MatchGateway;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 랜덤 매칭 API (로그인 필요)
+ * - POST   /api/match/requests       : 매칭 시작 (바로 상대가 있으면 MATCHED, 아니면 WAITING)
+ * - GET    /api/match/result         : 내 요청 상태 (requestId 생략 시 최신 요청)
+ * - POST   /api/match/accept         : 수락
+ * - POST   /api/match/decline        : 거절 (상대는 대기열로 돌아감)
+ * - DELETE /api/match/requests/{id}  : 요청 취소
+ * - GET    /api/match/events         : 상태 변화 실시간 구독 (SSE, event: match)
+ *   EventSource 는 헤더를 붙일 수 없어 access_token 쿼리 파라미터로도 인증 (AccessTokenFilter)
+ * 여러 노드로 돌릴 때는 MatchGateway 가 요청을 가진 노드로 보낸다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/match")
+public class MatchController {
+
+    private final MatchGateway matchGateway;
+
+    @PostMapping("/requests")
+    public MatchResultResponse request(@AuthenticationPrincipal AuthUser me,
+                                       @Valid @RequestBody MatchRequestCreate req) {
+        return matchGateway.request(me.getUserPid(), req);
+    }
+
+    @GetMapping("/result")
+    public MatchResultResponse result(@AuthenticationPrincipal AuthUser me,
+                                      @RequestParam(value = "requestId", required = false) Long requestId) {
+        return matchGateway.result(me.getUserPid(), requestId);
+    }
+
+    @PostMapping("/accept")
+    public MatchResultResponse accept(@AuthenticationPrincipal AuthUser me,
+                                      @Valid @RequestBody MatchDecisionRequest req) {
+        return matchGateway.accept(me.getUserPid(), req.getRequestId(), req.getPartnerId());
+    }
+
+    @PostMapping("/decline")
+    public MatchResultResponse decline(@AuthenticationPrincipal AuthUser me,
+                                       @Valid @RequestBody MatchDecisionRequest req) {
+        return matchGateway.decline(me.getUserPid(), req.getRequestId(), req.getPartnerId());
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal AuthUser me,
+                             @RequestParam(value = "requestId", required = false) Long requestId) {
+        return matchGateway.subscribe(me.getUserPid(), requestId);
+    }
+
+    @DeleteMapping("/requests/{requestId}")
+    public MatchResultResponse cancel(@AuthenticationPrincipal AuthUser me, @PathVariable Long requestId) {
+        return matchGateway.cancel(me.getUserPid(), requestId);
+    }
+}
@@ -0,0 +1,51 @@
+package net.datasa.project01.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.dto.PresenceHeartbeatRequest;
+import net.datasa.project01.domain.dto.PresenceQueryRequest;
+import net.datasa.project01.domain.dto.UserPresence;
+import net.datasa.project01.domain.vo.PresenceStatus;
+import net.datasa.project01.security.AuthUser;
+import net.datasa.project01.service.presence.PresenceAudience;
+import net.datasa.project01.service.presence.PresenceRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 접속 상태 API (로그인 필요, DB 를 보지 않음)
+ * - POST /api/presence/heartbeat : 화면이 30초마다 (본문 생략 → ONLINE, {"status":"AWAY"} 자리 비움)
+ * - POST /api/presence/query     : {"user_ids":[...]} 중 온라인인 사람만 [{user_id, status}] (없으면 오프라인)
+ *   볼 수 있는 사람(팔로우/같은 방/매칭 상대, PresenceAudience)만 — 나머지 id 는 빠짐
+ * 채팅 소켓이 붙어 있으면 ping 이 하트비트를 대신하고, 상태 변경은 소켓 presence 이벤트로 받는다
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/presence")
+public class PresenceController {
+
+    private final PresenceRegistry presence;
+    private final PresenceAudience audience;
+
+    @Value("${app.presence.max-query:500}") private int maxQuery;
+
+    @PostMapping("/heartbeat")
+    public ResponseEntity<Void> heartbeat(@AuthenticationPrincipal AuthUser me,
+                                          @RequestBody(required = false) PresenceHeartbeatRequest req) {
+        PresenceStatus status = req == null || req.getStatus() == null ? PresenceStatus.ONLINE : req.getStatus();
+        presence.heartbeat(me.getUserPid(), status);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/query")
+    public List<UserPresence> query(@AuthenticationPrincipal AuthUser me, @Valid @RequestBody PresenceQueryRequest req) {
+        if (req.getUserIds().size() > maxQuery) {
+            throw new IllegalArgumentException("한 번에 " + maxQuery + "명까지 조회할 수 있습니다.");
+        }
+        return presence.online(audience.visible(me.getUserPid(), req.getUserIds()));
+    }
+}
@@ -0,0 +1,67 @@
+package net.datasa.project01.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.dto.MatchRoomRequest;
+import net.datasa.project01.domain.dto.RoomResponse;
+import net.datasa.project01.security.AuthUser;
+import net.datasa.project01.service.chat.ChatRoomService;
+import net.datasa.project01.service.chat.MessageHistoryPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 채팅방 API (로그인 필요)
+ * - POST /api/rooms/match : 성사된 랜덤 매칭의 1:1 방 열기 (두 사람이 같은 방을 받음)
+ * - GET  /api/rooms/{id}/messages?before=&limit= : 지난 메시지 (최신 → 과거, 키셋 페이지)
+ *   응답 { "messages": [...], "next_cursor": "..." } — next_cursor 를 before 로 넘기면 이어서, null 이면 끝
+ * 메시지 송수신은 WebSocket /ws/chat (ChatSocketHandler)
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/rooms")
+public class RoomController {
+
+    private final ChatRoomService chatRoomService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping("/match")
+    public RoomResponse openMatchRoom(@AuthenticationPrincipal AuthUser me,
+                                      @Valid @RequestBody MatchRoomRequest req) {
+        return chatRoomService.openMatchRoom(me.getUserPid(), req.getSessionId());
+    }
+
+    /** 조회 행을 목록으로 모으지 않고 하나씩 바로 JSON 으로 쓴다 (검증 오류는 응답 시작 전에 400) */
+    @GetMapping("/{roomId}/messages")
+    public ResponseEntity<StreamingResponseBody> messages(@AuthenticationPrincipal AuthUser me,
+                                                          @PathVariable long roomId,
+                                                          @RequestParam(required = false) String before,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        MessageHistoryPage page = chatRoomService.history(me.getUserPid(), roomId, before, limit);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator g = objectMapper.getFactory().createGenerator(out)) {
+                g.writeStartObject();
+                g.writeArrayFieldStart("messages");
+                String next = page.stream(row -> {
+                    try {
+                        g.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                g.writeEndArray();
+                g.writeStringField("next_cursor", next);
+                g.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,38 @@
+package net.datasa.project01.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 채팅 소켓(/ws/chat)으로 나가는 프레임 (JSON 텍스트, snake_case)
+ * - type: message / joined / resumed / reset / left / presence / error / pong
+ *   (after_seq 를 보낸 joined/resumed 는 빠진 메시지를 messages 에 담고 seq = 거기까지 이어진 마지막 seq,
+ *    reset = 빠진 게 너무 많으니 최근 페이지부터 다시 읽기)
+ * - 값이 없는 필드는 내보내지 않음
+ */
+@Getter @Builder @NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChatEvent {
+
+    private String type;
+    private Long roomId;
+    private Long messageId;
+    /** 방 안 순번 (1부터 빈틈없이) */
+    private Long seq;
+    private Long senderPid;
+    private String text;
+    private LocalDateTime createdAt;
+    private String clientMsgId;
+    /** joined/resumed 때 빠진 메시지 (seq 오름차순, 한 프레임으로 — 연결별 큐를 넘치게 하지 않게) */
+    private List<RoomMessageRow> messages;
+    /** presence 때 바뀐(또는 watch 직후 현재) 접속 상태 — room_id 가 있으면 그 방 멤버의 변경 */
+    private List<UserPresence> presence;
+    /** error 일 때 안내 문구 */
+    private String message;
+}
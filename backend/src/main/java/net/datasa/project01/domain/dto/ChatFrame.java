@@ -0,0 +1,32 @@
+package net.datasa.project01.domain.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 채팅 소켓(/ws/chat)으로 들어오는 프레임 (JSON 텍스트, snake_case)
+ * - {"type":"join","room_id":1}                  (처음 입장)
+ * - {"type":"join","room_id":1,"after_seq":41}   (재연결 — 42 번부터 빠진 메시지를 이어서 받음)
+ * - {"type":"resume","room_id":1,"after_seq":41} (입장한 채로 빈틈 발견)
+ * - {"type":"leave","room_id":1}
+ * - {"type":"send","room_id":1,"text":"안녕하세요","client_msg_id":"c-1"}
+ * - {"type":"watch","user_ids":[3,5,8]}        (이 사용자들의 접속 상태 변경을 받음, 빈 목록이면 그만)
+ * - {"type":"ping"}
+ */
+@Getter @Setter
+@NoArgsConstructor
+public class ChatFrame {
+
+    private String type;
+    private Long roomId;
+    private String text;
+    /** 화면이 붙이는 임시 번호 — 응답/오류에 그대로 돌려줘 낙관적 표시와 맞춘다 */
+    private String clientMsgId;
+    /** 화면이 이 방에서 빠짐없이 받은 마지막 seq */
+    private Long afterSeq;
+    /** watch 대상 user_pid 목록 */
+    private List<Long> userIds;
+}
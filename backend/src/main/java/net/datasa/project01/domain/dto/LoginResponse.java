@@ -0,0 +1,20 @@
+package net.datasa.project01.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * [서버 -> 클라이언트] 로그인 성공 응답
+ * - token: 이후 요청에 Authorization: Bearer <token> 으로 실어 보낼 서명 토큰
+ * - expiresIn: 토큰 유효 시간(초)
+ * - user: 화면에 필요한 최소 사용자 정보
+ */
+@Getter @Builder @NoArgsConstructor @AllArgsConstructor
+public class LoginResponse {
+    private String      token;      // 서명된 액세스 토큰
+    private String      tokenType;  // 항상 "Bearer"
+    private long        expiresIn;  // 유효 시간(초)
+    private UserSummary user;       // 사용자 요약
+}
@@ -0,0 +1,24 @@
+package net.datasa.project01.domain.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 매칭 수락/거절 요청 (MatchingResult.vue → POST /api/match/accept, /api/match/decline)
+ * - 화면이 camelCase(requestId, partnerId)로 보내므로 이 DTO만 camelCase
+ */
+@Getter
+@Setter
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+public class MatchDecisionRequest {
+
+    /** 내 매칭 요청 번호 */
+    @NotNull
+    private Long requestId;
+
+    /** 화면에 표시된 상대 회원번호 (다른 상대로 바뀌었으면 거부) */
+    private Long partnerId;
+}
@@ -0,0 +1,42 @@
+package net.datasa.project01.domain.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 매칭 시작 요청 (MatchingSetup.vue → POST /api/match/requests)
+ * - JSON 필드는 전역 설정대로 snake_case (choice_gender, min_age, max_age, region_code, interests_json, any_region)
+ */
+@Getter
+@Setter
+public class MatchRequestCreate {
+
+    /** 희망 성별: M, F, A(상관없음) */
+    @NotBlank
+    @Pattern(regexp = "^[MFA]$", message = "희망 성별은 M, F, A 중 하나여야 합니다.")
+    private String choiceGender;
+
+    /** 상대 최소 나이 */
+    @Min(14) @Max(120)
+    private int minAge;
+
+    /** 상대 최대 나이 */
+    @Min(14) @Max(120)
+    private int maxAge;
+
+    /** 희망 지역 코드 */
+    @NotBlank
+    @Size(max = 10)
+    private String regionCode;
+
+    /** 관심사 (1개 이상) */
+    @NotEmpty
+    @Size(max = 20)
+    private List<@NotBlank @Size(max = 30) String> interestsJson;
+
+    /** 다른 지역 상대도 허용 (희망 지역에서 못 찾으면 다른 지역 대기열로 옮겨 찾음) */
+    private boolean anyRegion;
+}
@@ -0,0 +1,38 @@
+package net.datasa.project01.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import net.datasa.project01.domain.vo.HandshakeState;
+import net.datasa.project01.domain.vo.MatchStatus;
+
+/**
+ * 매칭 상태 응답 (POST /api/match/requests, GET /api/match/result 등)
+ * - 화면이 camelCase(requestId, partner.userId, sessionId)로 읽으므로 이 DTO만 camelCase
+ * - 상대가 없으면 partner/sessionId 는 내보내지 않음
+ */
+@Getter @Builder @NoArgsConstructor @AllArgsConstructor
+@JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchResultResponse {
+
+    private Long requestId;
+    private MatchStatus status;
+    private String reason;        // CANCELLED/재대기 사유 (TIMEOUT, DECLINED, PARTNER_DECLINED, NO_RESPONSE, PARTNER_TIMEOUT, REPLACED, CANCELLED)
+    private Partner partner;
+    private String sessionId;     // 두 사람이 같은 값을 받는다 (화상/채팅 연결 식별자)
+    private HandshakeState handshake; // 수락 절차 단계 — CONFIRMED 가 되어야 연결
+    private Boolean accepted;        // 내가 수락했는지
+    private Boolean partnerAccepted; // 상대가 수락했는지
+
+    @Getter @NoArgsConstructor @AllArgsConstructor
+    @JsonNaming(PropertyNamingStrategies.LowerCamelCaseStrategy.class)
+    public static class Partner {
+        private Long userId;
+        private String nickname;
+    }
+}
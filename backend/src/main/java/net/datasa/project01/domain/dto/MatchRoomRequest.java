@@ -0,0 +1,17 @@
+package net.datasa.project01.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 성사된 랜덤 매칭의 채팅방 열기 (POST /api/rooms/match)
+ */
+@Getter
+@Setter
+public class MatchRoomRequest {
+
+    /** 매칭 결과의 sessionId (두 사람이 같은 값) */
+    @NotBlank
+    private String sessionId;
+}
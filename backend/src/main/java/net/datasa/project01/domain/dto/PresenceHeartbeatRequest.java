@@ -0,0 +1,16 @@
+package net.datasa.project01.domain.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.datasa.project01.domain.vo.PresenceStatus;
+
+/**
+ * 접속 하트비트 (POST /api/presence/heartbeat, 본문 생략 가능 → ONLINE)
+ */
+@Getter
+@Setter
+public class PresenceHeartbeatRequest {
+
+    /** ONLINE / AWAY (OFFLINE 이면 바로 오프라인 처리) */
+    private PresenceStatus status;
+}
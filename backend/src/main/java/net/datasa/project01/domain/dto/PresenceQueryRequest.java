@@ -0,0 +1,19 @@
+package net.datasa.project01.domain.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 여러 사용자 접속 상태 한 번에 조회 (POST /api/presence/query)
+ */
+@Getter
+@Setter
+public class PresenceQueryRequest {
+
+    /** 조회할 user_pid 목록 (app.presence.max-query 이하) */
+    @NotNull
+    private List<Long> userIds;
+}
@@ -0,0 +1,25 @@
+package net.datasa.project01.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import net.datasa.project01.domain.vo.MessageContentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지난 메시지 한 줄 (GET /api/rooms/{id}/messages 의 messages 항목, snake_case)
+ * - 엔티티를 만들지 않고 조회 행에서 바로 채워 곧장 JSON 으로 쓴다
+ * - 값이 없는 필드는 내보내지 않음
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RoomMessageRow(
+        long messageId,
+        long seq,
+        Long senderPid,
+        MessageContentType contentType,
+        String text,
+        String fileName,
+        String filePath,
+        String mimeType,
+        Long sizeBytes,
+        LocalDateTime createdAt) {
+}
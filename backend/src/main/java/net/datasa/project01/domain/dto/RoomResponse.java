@@ -0,0 +1,20 @@
+package net.datasa.project01.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.datasa.project01.domain.vo.RoomType;
+
+import java.util.List;
+
+/**
+ * 채팅방 응답 — 이 room_id 로 /ws/chat 에서 join 한다
+ */
+@Getter
+@AllArgsConstructor
+public class RoomResponse {
+
+    private Long roomId;
+    private RoomType roomType;
+    /** 활성 멤버 user_pid */
+    private List<Long> memberPids;
+}
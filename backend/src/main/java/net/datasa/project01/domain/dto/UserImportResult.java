@@ -0,0 +1,32 @@
+package net.datasa.project01.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * [서버 -> 관리자] 일괄 가져오기 결과
+ * - 한 행이 실패해도 나머지 행은 계속 저장된다 → 실패한 행은 errors 에 행 번호와 함께 담는다.
+ * - errors 는 최대 app.user.import.max-reported-errors 건까지만 담고, 전체 실패 건수는 failed 로 알린다.
+ */
+@Getter @Builder @NoArgsConstructor @AllArgsConstructor
+public class UserImportResult {
+    private long           total;         // 읽은 데이터 행 수 (빈 줄/헤더 제외)
+    private long           inserted;      // 저장된 행 수
+    private long           failed;        // 실패한 행 수 (형식 오류 + 중복)
+    private long           elapsedMs;     // 소요 시간
+    private double         rowsPerSecond; // 처리량
+    private List<RowError> errors;        // 실패한 행 상세
+
+    /** 실패한 행 1건 */
+    @Getter @AllArgsConstructor
+    public static class RowError {
+        private long   line;    // 입력 파일의 행 번호 (1부터, CSV 헤더 포함)
+        private String loginId; // 해석 가능했다면 로그인 아이디
+        private String field;   // 문제가 된 필드 (login_id, email, format ...)
+        private String reason;  // 사유
+    }
+}
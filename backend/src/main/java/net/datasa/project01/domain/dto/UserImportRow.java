@@ -0,0 +1,64 @@
+package net.datasa.project01.domain.dto;
+
+import jakarta.validation.constraints.*; // 입력값 검증용 어노테이션들
+import lombok.*;
+import java.time.LocalDate;
+
+/**
+ * 일괄 가져오기(관리자) 한 행
+ * - NDJSON: 한 줄에 JSON 객체 하나 ({"login_id": ..., "password": ..., ...})
+ * - CSV   : 첫 줄 헤더(login_id,password,nick_name,email,country_code,gender,birth_date)
+ * - 비밀번호는 평문(password) 또는 기존 서비스의 BCrypt 해시(password_hash) 중 하나를 준다.
+ *   해시를 그대로 옮기면 BCrypt 연산을 건너뛰므로 대량 이관이 훨씬 빠르다.
+ */
+@Getter @Setter
+@NoArgsConstructor
+public class UserImportRow {
+
+    /** 로그인 아이디 (필수, 최대 30자) */
+    @NotBlank
+    @Size(max = 30)
+    private String loginId;
+
+    /** 평문 비밀번호 (회원가입과 같은 규칙) */
+    @Pattern(
+            regexp = "^(?=.*[a-z])(?=.*\\d)(?=.*[^a-zA-Z0-9]).{8,}$",
+            message = "비밀번호는 8자 이상, 소문자/숫자/특수문자를 각각 1개 이상 포함해야 합니다."
+    )
+    private String password;
+
+    /** 이미 해시된 비밀번호 (BCrypt) */
+    @Pattern(regexp = "^\\$2[aby]\\$\\d{2}\\$[./A-Za-z0-9]{53}$", message = "BCrypt 해시 형식이 아닙니다.")
+    private String passwordHash;
+
+    /** 닉네임 (필수, 최대 30자) */
+    @NotBlank
+    @Size(max = 30)
+    private String nickName;
+
+    /** 이메일 (필수, 이메일 형식, 최대 100자) — 제휴 커뮤니티 계정이므로 Gmail 제한은 두지 않는다 */
+    @Email
+    @NotBlank
+    @Size(max = 100)
+    private String email;
+
+    /** 국가 코드 (필수, 대문자 2글자) */
+    @NotBlank
+    @Pattern(regexp = "^[A-Z]{2}$")
+    private String countryCode;
+
+    /** 성별 (필수, 'M' 또는 'F') */
+    @NotBlank
+    @Pattern(regexp = "^[MF]$")
+    private String gender;
+
+    /** 생년월일 (필수, yyyy-MM-dd) */
+    @NotNull
+    private LocalDate birthDate;
+
+    /** password / password_hash 중 정확히 하나만 있어야 한다 */
+    @AssertTrue(message = "password 또는 password_hash 중 하나만 입력해야 합니다.")
+    public boolean isPasswordProvided() {
+        return (password == null) != (passwordHash == null);
+    }
+}
@@ -0,0 +1,9 @@
+package net.datasa.project01.domain.dto;
+
+import net.datasa.project01.domain.vo.PresenceStatus;
+
+/**
+ * 사용자 한 명의 접속 상태 (조회 응답 / 채팅 소켓 presence 이벤트)
+ */
+public record UserPresence(long userId, PresenceStatus status) {
+}
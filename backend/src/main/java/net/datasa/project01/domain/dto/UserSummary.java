@@ -16,4 +16,5 @@ public class UserSummary {
     private String loginId;   // User.loginId
     private String nickname;  // User.nickName
     private String email;     // User.email
+    private String roleName;  // User.roleName (토큰 클레임에도 사용)
 }
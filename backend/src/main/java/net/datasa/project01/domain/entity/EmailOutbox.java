@@ -0,0 +1,69 @@
+package net.datasa.project01.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import net.datasa.project01.domain.vo.OutboxStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * email_outbox 테이블과 매핑되는 엔티티 클래스 (트랜잭션 아웃박스)
+ *  - 메일을 바로 보내지 않고, 업무 데이터와 같은 트랜잭션에서 이 테이블에 한 행을 쓴다.
+ *  - 커밋 후 EmailOutboxWorker가 가져가 발송 → 실패하면 attempts 증가 + next_attempt_at 뒤로 미룸
+ *  - 최대 재시도를 넘기면 DEAD
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "email_outbox",
+        indexes = {
+                @Index(name = "idx_outbox_due", columnList = "status, next_attempt_at") // 발송할 행 찾기
+        }
+)
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    /** 수신자 이메일 */
+    @Column(name = "recipient", length = 100, nullable = false)
+    private String recipient;
+
+    /** 메일 제목 */
+    @Column(name = "subject", length = 200, nullable = false)
+    private String subject;
+
+    /** 메일 본문(HTML) — 인증번호가 평문으로 들어 있어 SENT/DEAD 가 되면 빈 문자열로 지운다 */
+    @Lob
+    @Column(name = "body", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String body;
+
+    /** 상태 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10, nullable = false)
+    private OutboxStatus status;
+
+    /** 지금까지 발송 시도 횟수 */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** 다음 발송 가능 시각 (SENDING 이면 임대 만료 시각) */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /** 마지막 실패 사유 */
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /** 발송 완료 시각 */
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    /** DB가 기본값으로 채움 (읽기전용 매핑) */
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -9,7 +9,8 @@ import java.time.LocalDateTime; // 날짜/시간 타입 import
 /**
  * email_verifications 테이블과 매핑되는 엔티티 클래스
  *  - token_id: AUTO_INCREMENT PK (자동 증가 기본키)
- *  - token   : 고유 토큰(숫자 6자리 등), UNIQUE (중복 불가)
+ *  - token_hash: 인증번호 해시(HMAC-SHA256, VerificationCodeHasher) — 원문은 저장하지 않음
+ *               (email, purpose) 안에서만 구분되면 되므로 전역 UNIQUE 없음
  *  - purpose : VERIFY_EMAIL/FIND_ID/RESET_PW (인증 목적)
  *  - expires_at: 만료시각
  *  - used_at   : 사용시각 (null이면 미사용)
@@ -24,10 +25,8 @@ import java.time.LocalDateTime; // 날짜/시간 타입 import
 @Table(
         name = "email_verifications", // 매핑될 테이블명 지정
         indexes = {
-                @Index(name = "idx_ev_email_purpose", columnList = "email, purpose, expires_at") // 복합 인덱스 생성
-        },
-        uniqueConstraints = {
-                @UniqueConstraint(name = "uq_ev_token", columnNames = "token") // token 컬럼에 유니크 제약조건
+                @Index(name = "idx_ev_email_purpose", columnList = "email, purpose, expires_at"), // 복합 인덱스 생성
+                @Index(name = "idx_ev_expires", columnList = "expires_at") // 만료 토큰 청크 삭제용
         }
 )
 public class EmailVerification {
@@ -41,9 +40,9 @@ public class EmailVerification {
     @Column(name = "email", length = 100, nullable = false)
     private String email; // 인증 받을 이메일
 
-    /** 토큰(고유) — 숫자 6자리 또는 랜덤 문자열 */
-    @Column(name = "token", length = 100, nullable = false, unique = true) // 컬럼명, 길이, null 불가, 유니크
-    private String token; // 인증에 사용되는 고유 토큰 값
+    /** 인증번호 해시 — base64url(HMAC-SHA256(email|purpose|인증번호)) */
+    @Column(name = "token_hash", length = 64, nullable = false) // 컬럼명, 길이, null 불가
+    private String tokenHash; // 인증번호 해시 (조회는 항상 email, purpose 와 함께)
 
     /** 용도 */
     @Enumerated(EnumType.STRING) // enum을 문자열로 저장
@@ -0,0 +1,69 @@
+package net.datasa.project01.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import net.datasa.project01.domain.vo.MatchStatus;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * match_requests 테이블과 매핑되는 엔티티 클래스
+ *  - 랜덤 매칭 요청 한 건 (희망 성별/나이/지역/관심사)
+ *  - 대기열 자체는 메모리(MatchEngine)에 있고, 이 테이블은 요청 기록과 최종 상태만 남긴다.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "match_requests",
+        indexes = {
+                @Index(name = "idx_mr_match_scan",
+                        columnList = "status, choice_gender, region_code, min_age, max_age, requested_at"),
+                @Index(name = "idx_mr_user", columnList = "user_pid")
+        }
+)
+public class MatchRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "request_id")
+    private Long requestId;
+
+    /** 요청한 사용자 */
+    @Column(name = "user_pid", nullable = false)
+    private Long userPid;
+
+    /** 희망 성별 (M/F/A=상관없음) */
+    @Column(name = "choice_gender", length = 1, nullable = false, columnDefinition = "CHAR(1)")
+    private String choiceGender;
+
+    /** 상대 최소 나이 */
+    @Column(name = "min_age", nullable = false)
+    private int minAge;
+
+    /** 상대 최대 나이 */
+    @Column(name = "max_age", nullable = false)
+    private int maxAge;
+
+    /** 희망 지역 코드 (예: SEOUL, TOKYO) */
+    @Column(name = "region_code", length = 10, nullable = false)
+    private String regionCode;
+
+    /** 관심사 목록 (JSON 배열) */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "interests_json", nullable = false, columnDefinition = "JSON")
+    private List<String> interests;
+
+    /** 상태 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 10, nullable = false)
+    private MatchStatus status;
+
+    /** 요청 시각 (DB default) */
+    @Column(name = "requested_at", insertable = false, updatable = false)
+    private LocalDateTime requestedAt;
+}
@@ -0,0 +1,46 @@
+package net.datasa.project01.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import net.datasa.project01.domain.vo.RoomType;
+
+import java.time.LocalDateTime;
+
+/**
+ * rooms 테이블과 매핑되는 엔티티 클래스
+ *  - 채팅방 한 개 (랜덤 1:1 / 개인 1:1 / 그룹)
+ *  - 멤버는 room_members(RoomMember), 메시지는 room_messages(RoomMessage)
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "rooms")
+public class Room {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "room_id")
+    private Long roomId;
+
+    /** 방 유형 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "room_type", length = 10, nullable = false)
+    private RoomType roomType;
+
+    /** 정원 (1:1=2, GROUP=4) */
+    @Column(name = "capacity", nullable = false)
+    private int capacity;
+
+    /** 1:1 → 그룹 전환 시 원본 방 */
+    @Column(name = "created_from_room_id")
+    private Long createdFromRoomId;
+
+    /** 생성 시각 (DB default) */
+    @Column(name = "created_at", insertable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** 종료 시각 (NULL=사용 중) */
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+}
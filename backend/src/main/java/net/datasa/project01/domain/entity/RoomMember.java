@@ -0,0 +1,55 @@
+package net.datasa.project01.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import net.datasa.project01.domain.vo.RoomRole;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * room_members 테이블과 매핑되는 엔티티 클래스
+ *  - (room_id, user_pid) 복합 키, left_at 이 NULL 이면 활성 멤버
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "room_members")
+@IdClass(RoomMember.Key.class)
+public class RoomMember {
+
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    @Column(name = "user_pid")
+    private Long userPid;
+
+    /** 역할 */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", length = 10, nullable = false)
+    private RoomRole role;
+
+    /** 초대한 사람 (선택) */
+    @Column(name = "invited_by_pid")
+    private Long invitedByPid;
+
+    /** 입장 시각 (DB default) */
+    @Column(name = "joined_at", insertable = false, updatable = false)
+    private LocalDateTime joinedAt;
+
+    /** 퇴장 시각 (NULL=활성) */
+    @Column(name = "left_at")
+    private LocalDateTime leftAt;
+
+    /** 복합 키 */
+    @Getter @Setter
+    @NoArgsConstructor @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long roomId;
+        private Long userPid;
+    }
+}
@@ -0,0 +1,62 @@
+package net.datasa.project01.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import net.datasa.project01.domain.vo.MessageContentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * room_messages 테이블과 매핑되는 엔티티 클래스
+ *  - 채팅 메시지 한 건 (텍스트/이미지/파일/시스템)
+ *  - message_id / seq / created_at 은 서버가 채워 보낸다 (실시간 전송과 저장 값이 같도록)
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "room_messages",
+        indexes = @Index(name = "idx_msg_room_time", columnList = "room_id, created_at"),
+        uniqueConstraints = @UniqueConstraint(name = "uq_msg_room_seq", columnNames = {"room_id", "seq"})
+)
+public class RoomMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "message_id")
+    private Long messageId;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    /** 방 안 순번 (1부터 빈틈없이, RoomSequences 가 발급) */
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    /** 보낸 사람 (탈퇴 시 NULL, SYSTEM 메시지도 NULL) */
+    @Column(name = "sender_pid")
+    private Long senderPid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "content_type", length = 10, nullable = false)
+    private MessageContentType contentType;
+
+    @Column(name = "text_content", columnDefinition = "TEXT")
+    private String textContent;
+
+    @Column(name = "file_name", length = 300)
+    private String fileName;
+
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Column(name = "mime_type", length = 100)
+    private String mimeType;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
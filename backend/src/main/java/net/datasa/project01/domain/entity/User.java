@@ -2,16 +2,28 @@ package net.datasa.project01.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
  * 회원(User) 엔티티 클래스
  * DB 테이블(users)과 매핑되며, 회원 인증/관리 관련 주요 정보를 담는다.
+ *
+ * 2차 캐시(ehcache.xml):
+ * - 엔티티 본문: region "user" (user_pid → User)
+ * - 자연 키: region "user-natural-id" (login_id → user_pid)
+ * - 로그인/중복확인/단건조회가 같은 사용자를 반복 조회해도 MySQL까지 가지 않는다.
  */
 @Getter @Setter
 @Builder @AllArgsConstructor @NoArgsConstructor
 @Entity // JPA 엔티티임을 명시
+@Cacheable // 2차 캐시 대상
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
+@NaturalIdCache(region = "user-natural-id")
 @Table(
         name = "users", // 매핑될 테이블명
         uniqueConstraints = { @UniqueConstraint(name = "uq_users_email", columnNames = "email") } // 이메일 유니크 제약
@@ -31,7 +43,9 @@ public class User {
      * 로그인 아이디
      * DB: VARCHAR(30), NOT NULL, UNIQUE
      * 회원 가입 시 중복 체크 필요
+     * 자연 키(@NaturalId): 변경되지 않으므로 login_id → user_pid 매핑을 캐시한다
      */
+    @NaturalId
     @Column(name = "login_id", length = 30, nullable = false, unique = true)
     private String loginId;
 
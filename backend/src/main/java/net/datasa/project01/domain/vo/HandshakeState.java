@@ -0,0 +1,13 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 짝이 정해진 두 매칭 요청의 수락 절차 단계 (메모리에만 있음, match_requests.status 는 MATCHED 그대로)
+ */
+public enum HandshakeState {
+
+    PROPOSED,     // 짝이 정해짐, 아직 아무도 수락하지 않음
+    ONE_ACCEPTED, // 한 사람만 수락
+    CONFIRMED,    // 두 사람 모두 수락 → 연결
+    EXPIRED,      // 제한 시간 안에 두 사람 모두 수락하지 않음
+    DECLINED      // 한 사람이 거절 또는 취소
+}
@@ -0,0 +1,18 @@
+package net.datasa.project01.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 로그인 실패/잠금 상태 스냅샷 (users.failed_login_count, users.locked_until)
+ * - LoginAttemptStore가 메모리에서 관리하다가 주기적으로 모아서 DB에 반영할 때 사용한다.
+ */
+@Getter
+@AllArgsConstructor
+public class LoginLockState {
+    private final Long userPid;                 // users.user_pid
+    private final int failedLoginCount;         // users.failed_login_count
+    private final LocalDateTime lockedUntil;    // users.locked_until (null = 잠금 없음)
+}
@@ -0,0 +1,13 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 매칭 요청(match_requests) 상태
+ * - DDL CHECK와 동일한 값으로 관리됩니다.
+ */
+public enum MatchStatus {
+
+    WAITING,   // 대기열에서 상대를 기다리는 중
+    MATCHED,   // 상대가 정해짐 (수락/거절 대기)
+    CANCELLED, // 본인 취소, 거절, 또는 서버 재시작으로 대기열에서 빠짐
+    CONFIRMED  // 두 사람 모두 수락해 성사됨 (기록용 — 메모리에서는 MATCHED + 수락 절차 CONFIRMED)
+}
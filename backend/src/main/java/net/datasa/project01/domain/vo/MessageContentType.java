@@ -0,0 +1,13 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 채팅 메시지(room_messages) 종류
+ * - DDL CHECK와 동일한 값으로 관리됩니다.
+ */
+public enum MessageContentType {
+
+    TEXT,
+    IMAGE,
+    FILE,
+    SYSTEM // 입장/퇴장 등 서버가 남기는 안내
+}
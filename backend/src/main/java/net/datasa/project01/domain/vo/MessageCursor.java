@@ -0,0 +1,34 @@
+package net.datasa.project01.domain.vo;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 메시지 기록 페이지 위치 — (created_at, message_id) 가 이 값보다 작은 메시지부터 이어서 읽는다
+ * - 클라이언트에는 불투명한 문자열(base64url)로만 준다 → 형식을 바꿔도 API 는 그대로
+ */
+public record MessageCursor(LocalDateTime createdAt, long messageId) {
+
+    private static final int BYTES = 8 + 4 + 8;
+
+    public String encode() {
+        ByteBuffer b = ByteBuffer.allocate(BYTES)
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(createdAt.getNano())
+                .putLong(messageId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(b.array());
+    }
+
+    public static MessageCursor decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != BYTES) throw new IllegalArgumentException();
+            ByteBuffer b = ByteBuffer.wrap(bytes);
+            return new MessageCursor(LocalDateTime.ofEpochSecond(b.getLong(), b.getInt(), ZoneOffset.UTC), b.getLong());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor 입니다.");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 메일 발송 대기열(email_outbox) 상태
+ * - DDL CHECK와 동일한 값으로 관리됩니다.
+ */
+public enum OutboxStatus {
+
+    PENDING,  // 발송 대기 (next_attempt_at 이후 발송)
+    SENDING,  // 워커가 가져가 발송 중 (next_attempt_at = 임대 만료 시각, 지나면 다시 가져갈 수 있음)
+    SENT,     // 발송 완료
+    DEAD      // 최대 재시도 초과 → 더 이상 보내지 않음 (운영자 확인용)
+}
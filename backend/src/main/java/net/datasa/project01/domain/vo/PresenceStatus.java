@@ -0,0 +1,11 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 접속 상태 (메모리에만 있음, PresenceRegistry)
+ */
+public enum PresenceStatus {
+
+    ONLINE,  // 하트비트가 오는 중
+    AWAY,    // 연결은 있지만 화면이 자리 비움으로 보고함
+    OFFLINE  // 하트비트 만료 또는 로그아웃 (표에는 남기지 않음)
+}
@@ -0,0 +1,10 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 채팅방 멤버(room_members) 역할
+ */
+public enum RoomRole {
+
+    HOST,
+    MEMBER
+}
@@ -0,0 +1,12 @@
+package net.datasa.project01.domain.vo;
+
+/**
+ * 채팅방(rooms) 유형
+ * - DDL CHECK와 동일한 값으로 관리됩니다.
+ */
+public enum RoomType {
+
+    RANDOM,  // 랜덤 매칭으로 열린 1:1 방
+    PRIVATE, // 서로 팔로우한 1:1 방
+    GROUP    // 그룹 방 (정원 4)
+}
@@ -1,5 +1,7 @@
 package net.datasa.project01.exception;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +12,7 @@ import java.util.Map;
  * 공통 예외 처리:
  * - IllegalArgumentException : 400 + message
  * - @Valid 바인딩 에러        : 400 + 필드별 메시지
+ * - ServiceBusyException      : 503 + Retry-After + message
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -27,4 +30,11 @@ public class GlobalExceptionHandler {
                 : "요청이 올바르지 않습니다.";
         return ResponseEntity.badRequest().body(Map.of("message", msg));
     }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<?> busy(ServiceBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Map.of("message", e.getMessage()));
+    }
 }
@@ -0,0 +1,20 @@
+package net.datasa.project01.exception;
+
+import lombok.Getter;
+
+/**
+ * 서버가 일시적으로 요청을 처리할 여유가 없을 때 던지는 예외
+ * - GlobalExceptionHandler가 503 Service Unavailable + Retry-After 헤더로 변환한다.
+ * - 예: BCrypt 해시 풀 대기열이 가득 찬 경우
+ */
+@Getter
+public class ServiceBusyException extends RuntimeException {
+
+    /** 클라이언트가 재시도하기 전에 기다려야 할 시간(초) */
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,12 +1,36 @@
 package net.datasa.project01.repository;
 
+import lombok.RequiredArgsConstructor;
 import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.domain.vo.LoginLockState;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * [DbUserRepository]
@@ -14,15 +38,26 @@ import java.util.Optional;
  * - JPA의 EntityManager를 사용하여 DB와 연동합니다.
  * - Spring의 "db" 프로필에서만 활성화됩니다.
  * - UserRepository 인터페이스를 구현하여, mock 저장소와 동일한 메서드 구조를 제공합니다.
+ *
+ * 2차 캐시 사용(ehcache.xml):
+ * - findById: em.find → "user" region
+ * - findByLoginId/existsByLoginId: 자연 키 조회(bySimpleNaturalId) → "user-natural-id" → "user" region
+ * - findByEmail/existsByEmail: 쿼리 캐시 (users 테이블 변경 시 Hibernate가 자동 무효화)
+ * - JDBC로 직접 갱신하는 경로(updateLoginStates)는 Hibernate가 모르므로 해당 엔티티를 직접 evict 한다 (갱신 직후 + 커밋 후).
  */
 @Repository
 @Profile("db") // db 프로필에서만 활성화됨
+@RequiredArgsConstructor
 public class DbUserRepository implements UserRepository {
 
     @PersistenceContext
     private EntityManager em; // JPA 엔티티 매니저 (DB 연결 및 쿼리 수행)
 
+    private final JdbcTemplate jdbcTemplate; // 컬럼 단위 일괄 UPDATE용
+    private final EntityManagerFactory emf; // 2차 캐시 evict 용
+
     @Override
+    @Transactional // 호출 측에 트랜잭션이 없어도(예: 로그인) 저장은 자체 트랜잭션으로 처리
     public User save(User user) {
         // 회원정보 저장(신규: persist, 기존: merge)
         // userPid가 없거나 DB에 없는 경우 신규로 간주
@@ -37,8 +72,10 @@ public class DbUserRepository implements UserRepository {
 
     @Override
     public Optional<User> findByEmail(String email) {
+        // 쿼리 캐시에는 결과 user_pid만 저장되고, 엔티티는 "user" region에서 가져온다
         return em.createQuery("select u from User u where u.email = :email", User.class)
                 .setParameter("email", email)
+                .setHint(AvailableHints.HINT_CACHEABLE, true)
                 .getResultStream().findFirst();
     }
 
@@ -48,35 +85,137 @@ public class DbUserRepository implements UserRepository {
         return Optional.ofNullable(em.find(User.class, userPid));
     }
 
+    /*
+     * 자연 키 조회는 Session을 직접 써야 하므로 트랜잭션 범위의 EntityManager가 필요하다.
+     * SUPPORTS: 실제 트랜잭션(커넥션 획득)을 열지 않고 EntityManager만 묶어 둔다
+     * → 캐시 적중 시 커넥션 풀/MySQL에 전혀 접근하지 않는다.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<User> findByLoginId(String loginId) {
-        // 로그인ID로 회원정보 조회 (JPQL 사용)
-        User user = em.createQuery(
-                        "SELECT u FROM User u WHERE u.loginId = :loginId", User.class)
-                .setParameter("loginId", loginId)
-                .getResultStream()
-                .findFirst()
-                .orElse(null);
-        return Optional.ofNullable(user);
+        // 로그인ID(자연 키)로 회원정보 조회: login_id → user_pid → User 순으로 2차 캐시 사용
+        return em.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(loginId);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean existsByLoginId(String loginId) {
-        // 로그인ID 중복 체크 (COUNT 쿼리)
-        Long count = em.createQuery(
-                        "SELECT COUNT(u) FROM User u WHERE u.loginId = :loginId", Long.class)
-                .setParameter("loginId", loginId)
-                .getSingleResult();
-        return count > 0;
+        // 로그인ID 중복 체크 (자연 키 조회, 캐시 적중 시 DB 접근 없음)
+        return em.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .getReference(loginId) != null;
     }
 
     @Override
     public boolean existsByEmail(String email) {
-        // 이메일 중복 체크 (COUNT 쿼리)
+        // 이메일 중복 체크 (COUNT 쿼리, 쿼리 캐시 사용)
         Long count = em.createQuery(
                         "SELECT COUNT(u) FROM User u WHERE u.email = :email", Long.class)
                 .setParameter("email", email)
+                .setHint(AvailableHints.HINT_CACHEABLE, true)
                 .getSingleResult();
         return count > 0;
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional
+    public void updateLoginStates(Collection<LoginLockState> states) {
+        // 로그인 실패/잠금 컬럼만 JDBC 배치로 갱신 (엔티티 조회/merge 없음)
+        List<Object[]> args = new ArrayList<>(states.size());
+        for (LoginLockState s : states) {
+            args.add(new Object[]{
+                    s.getFailedLoginCount(),
+                    s.getLockedUntil() == null ? null : Timestamp.valueOf(s.getLockedUntil()),
+                    s.getUserPid()
+            });
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE users SET failed_login_count = ?, locked_until = ? WHERE user_pid = ?", args);
+        // JDBC 갱신은 2차 캐시를 거치지 않으므로 캐시된 엔티티를 버린다
+        // (자연 키 login_id → user_pid 매핑은 변하지 않으므로 그대로 둔다)
+        // 커밋 전에 비운 사이 다른 조회가 옛 행을 다시 올릴 수 있으므로 커밋 뒤에 한 번 더 비운다
+        evictUsers(states);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictUsers(states);
+            }
+        });
+    }
+
+    private void evictUsers(Collection<LoginLockState> states) {
+        for (LoginLockState s : states) {
+            emf.getCache().evict(User.class, s.getUserPid());
+        }
+    }
+
+    @Override
+    public void forEachLoginId(Consumer<String> consumer) {
+        // MySQL Connector/J: fetchSize=Integer.MIN_VALUE → 행 단위 스트리밍(결과 전체를 버퍼링하지 않음)
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT login_id FROM users",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    @Override
+    public Set<String> findExistingLoginIds(Collection<String> loginIds) {
+        return findExisting("login_id", loginIds);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        return findExisting("email", emails);
+    }
+
+    /** column IN (...) 한 번으로 존재하는 값만 조회 (collation이 대소문자 무시이므로 소문자로 정규화해 반환) */
+    private Set<String> findExisting(String column, Collection<String> values) {
+        if (values.isEmpty()) return Set.of();
+        String placeholders = String.join(",", Collections.nCopies(values.size(), "?"));
+        Set<String> found = new HashSet<>();
+        jdbcTemplate.query("SELECT " + column + " FROM users WHERE " + column + " IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> found.add(rs.getString(1).toLowerCase(Locale.ROOT)),
+                values.toArray());
+        return found;
+    }
+
+    /*
+     * IDENTITY 전략의 persist는 행마다 INSERT 후 생성키를 받아야 해서 Hibernate 배치가 꺼진다.
+     * 일괄 가져오기는 생성키가 필요 없으므로 JDBC 배치로 넣는다.
+     * (rewriteBatchedStatements=true → Connector/J가 여러 행 INSERT 한 문장으로 합쳐 전송)
+     */
+    @Override
+    @Transactional
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (login_id, password_hash, nick_name, email, country_code, gender, birth_date,"
+                        + " email_verified, failed_login_count, locked_until, enabled, rolename)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                users, users.size(), (ps, u) -> {
+                    ps.setString(1, u.getLoginId());
+                    ps.setString(2, u.getPasswordHash());
+                    ps.setString(3, u.getNickName());
+                    ps.setString(4, u.getEmail());
+                    ps.setString(5, u.getCountryCode());
+                    ps.setString(6, u.getGender());
+                    ps.setDate(7, Date.valueOf(u.getBirthDate()));
+                    ps.setBoolean(8, u.isEmailVerified());
+                    ps.setInt(9, u.getFailedLoginCount());
+                    ps.setNull(10, Types.TIMESTAMP);
+                    ps.setBoolean(11, u.isEnabled());
+                    ps.setString(12, u.getRoleName());
+                });
+        // JDBC 저장은 Hibernate가 모르므로, 커밋 후 쿼리 캐시(이메일 조회/중복확인 결과)를 비운다
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emf.getCache().unwrap(org.hibernate.Cache.class).evictDefaultQueryRegion();
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package net.datasa.project01.repository;
+
+import net.datasa.project01.domain.entity.EmailOutbox;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 메일 발송 대기열(email_outbox) 저장소 추상화
+ * - db/mock 두 구현이 이 인터페이스를 구현
+ */
+public interface EmailOutboxRepository {
+
+    /** 대기열에 추가 (호출 측 트랜잭션에 참여) */
+    EmailOutbox save(EmailOutbox message);
+
+    /**
+     * 발송할 때가 된 행을 최대 limit 건 가져가 SENDING 으로 바꾼다.
+     * - PENDING 이고 next_attempt_at <= now 인 행
+     * - 또는 SENDING 인데 임대가 끝난 행 (가져간 워커가 죽은 경우)
+     * - 여러 워커/노드가 동시에 불러도 같은 행을 두 번 가져가지 않는다.
+     * @param leaseUntil 이 시각까지 결과를 기록하지 않으면 다른 워커가 다시 가져갈 수 있음
+     */
+    List<EmailOutbox> claimDue(LocalDateTime now, int limit, LocalDateTime leaseUntil);
+
+    /** 발송 완료 (본문은 비운다 — 인증번호 같은 값이 보관 기간 동안 남지 않게) */
+    void markSent(Long outboxId, int attempts, LocalDateTime sentAt);
+
+    /** 발송 실패 → 다시 PENDING (nextAttemptAt 이후 재시도) */
+    void markRetry(Long outboxId, int attempts, LocalDateTime nextAttemptAt, String error);
+
+    /** 발송 실패 → DEAD (더 이상 재시도하지 않음, 본문은 비운다) */
+    void markDead(Long outboxId, int attempts, String error);
+
+    /** 보관 기간이 지난 SENT 행 삭제 */
+    long deleteSentBefore(LocalDateTime before);
+}
@@ -14,14 +14,25 @@ public interface EmailVerificationRepository {
 
     EmailVerification save(EmailVerification ev);
 
-    /** 이메일+토큰+용도로 한 건 찾기 */
-    Optional<EmailVerification> findByTokenAndEmail(String token, String email, VerificationPurpose purpose);
+    /** 이메일+용도+인증번호 해시로 한 건 찾기 (idx_ev_email_purpose 로 범위를 좁힌 뒤 해시 비교) */
+    Optional<EmailVerification> findByTokenHash(String email, VerificationPurpose purpose, String tokenHash);
+
+    /**
+     * 이메일/용도의 미사용·미만료 토큰을 모두 즉시 만료 처리 (새 인증번호 발급 직전에 호출)
+     * - (email, purpose) 마다 유효한 인증번호는 항상 하나 → 해시 충돌이 생길 여지가 없다.
+     * @return 만료 처리한 행 수
+     */
+    int expireActive(String email, VerificationPurpose purpose, LocalDateTime now);
 
     /** 이메일/용도 기준으로 '아직 유효하고(만료전) 미사용' 토큰 중 최신 1건 */
     Optional<EmailVerification> findLatestActiveByEmail(String email,
                                                         VerificationPurpose purpose,
                                                         LocalDateTime now);
 
-    /** 만료 토큰 일괄 삭제 */
-    long deleteExpired(LocalDateTime now);
+    /**
+     * 만료 토큰을 만료 시각이 이른 것부터 최대 limit 건 삭제
+     * - 한 번에 지우는 양을 제한해 잠금 시간을 짧게 유지 (스위퍼가 여러 번 나눠 호출)
+     * @return 삭제된 행 수 (limit 보다 작으면 더 지울 것이 없음)
+     */
+    int deleteExpired(LocalDateTime now, int limit);
 }
@@ -0,0 +1,14 @@
+package net.datasa.project01.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 팔로우(follows) 저장소 추상화 — 지금은 접속 상태 공개 범위 확인용 조회만
+ * - db/mock 두 구현이 이 인터페이스를 구현
+ */
+public interface FollowRepository {
+
+    /** others 중 userPid 와 ACCEPTED 팔로우 관계(어느 쪽이 요청했든)인 user_pid */
+    List<Long> findAcceptedAmong(long userPid, Collection<Long> others);
+}
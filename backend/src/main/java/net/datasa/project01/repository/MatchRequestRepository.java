@@ -0,0 +1,28 @@
+package net.datasa.project01.repository;
+
+import net.datasa.project01.domain.entity.MatchRequest;
+import net.datasa.project01.domain.vo.MatchStatus;
+
+import java.util.Collection;
+
+/**
+ * 매칭 요청(match_requests) 저장소 추상화
+ * - db/mock 두 구현이 이 인터페이스를 구현
+ * - 후보 탐색은 메모리(MatchEngine)에서 하므로 WAITING 행을 훑는 조회는 없다.
+ */
+public interface MatchRequestRepository {
+
+    /** 신규 요청 저장 (request_id 발급) */
+    MatchRequest save(MatchRequest request);
+
+    /** 상태 일괄 변경 */
+    void updateStatus(Collection<Long> requestIds, MatchStatus status);
+
+    /**
+     * 남아 있는 WAITING/MATCHED 요청을 모두 CANCELLED 로 (서버 시작 시)
+     * - 대기열은 메모리에만 있으므로 재시작 전 요청은 이어서 처리할 수 없다.
+     * - 이미 성사된(CONFIRMED) 요청은 그대로 둔다.
+     * @return 변경된 행 수
+     */
+    int cancelAllOpen();
+}
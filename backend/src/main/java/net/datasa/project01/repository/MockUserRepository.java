@@ -1,11 +1,19 @@
 package net.datasa.project01.repository;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.domain.vo.LoginLockState;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
 import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * [MockUserRepository]
@@ -13,31 +21,81 @@ import java.util.concurrent.ConcurrentHashMap;
  * - 실제 DB 연결 없이 빠르게 기능을 검증할 수 있습니다.
  * - Spring의 "mock" 프로필에서만 활성화됩니다.
  * - UserRepository 인터페이스를 구현하여, DB 저장소와 동일한 메서드 구조를 제공합니다.
+ *
+ * 동시성 (부하 테스트에서 서비스 계층을 그대로 돌릴 수 있도록):
+ * - 회원번호는 AtomicLong 으로 발급, 전역 락 없음
+ * - 로그인ID/이메일 인덱스는 putIfAbsent 로 선점 → DB 유니크 제약처럼 동시에 같은 값을 저장하면 하나만 성공
+ * - 인덱스 키는 소문자 (MySQL 기본 collation 처럼 대소문자 구분 없음)
+ * - 한 회원의 인덱스 변경은 keysByPid.compute 안에서 처리 → 같은 회원을 동시에 저장해도 인덱스가 어긋나지 않음
+ * - 인덱스 → store 순서로 기록하므로, 인덱스에는 있는데 store 에 아직 없는 찰나에는 "없음"으로 보인다
+ *   (DB 에서 커밋 전 행이 보이지 않는 것과 같음)
  */
 @Repository
 @Profile("mock") // mock 프로필에서만 활성화됨
 public class MockUserRepository implements UserRepository {
+
+    private static final String SNAPSHOT = "users";
+
+    /** 한 회원이 인덱스에 차지하고 있는 키 (소문자) */
+    private record IndexKeys(String loginId, String email) {
+    }
+
     // 의사 AUTO_INCREMENT 시퀀스
-    private long seq = 1L;
+    private final AtomicLong seq = new AtomicLong();
     // 회원번호(PK)로 회원정보를 저장하는 인메모리 맵
     private final Map<Long, User> store = new ConcurrentHashMap<>();
-    // 로그인ID로 회원번호를 찾는 인덱스 맵
-    private final Map<String, Long> byLoginId = new ConcurrentHashMap<>();
-    // 이메일로 회원번호를 찾는 인덱스 맵
-    private final Map<String, Long> byEmail   = new ConcurrentHashMap<>();
+    // 로그인ID(소문자)로 회원번호를 찾는 인덱스 맵
+    private final ConcurrentHashMap<String, Long> byLoginId = new ConcurrentHashMap<>();
+    // 이메일(소문자)로 회원번호를 찾는 인덱스 맵
+    private final ConcurrentHashMap<String, Long> byEmail = new ConcurrentHashMap<>();
+    // 회원번호 → 현재 인덱스 키 (엔티티가 바깥에서 수정돼도 이전 키를 알 수 있도록)
+    private final ConcurrentHashMap<Long, IndexKeys> keysByPid = new ConcurrentHashMap<>();
+
+    private final MockSnapshotStore snapshot;
+
+    public MockUserRepository(MockSnapshotStore snapshot) {
+        this.snapshot = snapshot;
+    }
 
     @Override
-    public synchronized User save(User user) {
+    public User save(User user) {
         // 회원정보를 저장(신규/수정)
         if (user.getUserPid() == null) {
-            user.setUserPid(seq++); // 새 ID 발급
+            user.setUserPid(seq.incrementAndGet()); // 새 ID 발급
         }
-        store.put(user.getUserPid(), user); // 회원번호로 저장
-        byLoginId.put(user.getLoginId(), user.getUserPid()); // 로그인ID로 회원번호 저장
-        byEmail.put(user.getEmail(), user.getUserPid());     // 이메일로 회원번호 저장
+        Long pid = user.getUserPid();
+        IndexKeys next = new IndexKeys(norm(user.getLoginId()), norm(user.getEmail()));
+        // 같은 회원에 대한 인덱스 변경을 직렬화, 실패(중복) 시 예외가 compute 밖으로 나가고 매핑은 그대로
+        keysByPid.compute(pid, (k, prev) -> {
+            if (next.equals(prev)) return prev;
+            reserve(next, pid);
+            if (prev != null) {
+                if (!prev.loginId().equals(next.loginId())) byLoginId.remove(prev.loginId(), pid);
+                if (!prev.email().equals(next.email())) byEmail.remove(prev.email(), pid);
+            }
+            return next;
+        });
+        store.put(pid, user); // 회원번호로 저장
         return user; // 저장된 회원정보 반환
     }
 
+    /**
+     * 로그인ID/이메일 인덱스 선점 (둘 다 성공하거나 둘 다 실패)
+     * - 이미 이 회원(pid)이 가진 키는 그대로 통과
+     */
+    private void reserve(IndexKeys keys, Long pid) {
+        Long owner = byLoginId.putIfAbsent(keys.loginId(), pid);
+        boolean loginReserved = owner == null;
+        if (owner != null && !owner.equals(pid)) {
+            throw new DuplicateKeyException("Duplicate entry '" + keys.loginId() + "' for key 'users.login_id'");
+        }
+        owner = byEmail.putIfAbsent(keys.email(), pid);
+        if (owner != null && !owner.equals(pid)) {
+            if (loginReserved) byLoginId.remove(keys.loginId(), pid); // 선점 되돌리기
+            throw new DuplicateKeyException("Duplicate entry '" + keys.email() + "' for key 'users.uq_users_email'");
+        }
+    }
+
     @Override
     public Optional<User> findById(Long userPid) {
         // 회원번호(PK)로 회원정보 조회
@@ -47,28 +105,118 @@ public class MockUserRepository implements UserRepository {
     @Override
     public Optional<User> findByLoginId(String loginId) {
         // 로그인ID로 회원정보 조회
-        Long id = byLoginId.get(loginId); // 로그인ID로 회원번호 찾기
+        Long id = byLoginId.get(norm(loginId)); // 로그인ID로 회원번호 찾기
         return Optional.ofNullable(id).map(store::get); // 회원정보 반환
     }
 
     @Override
     public boolean existsByLoginId(String loginId) {
         // 로그인ID 중복 체크
-        return byLoginId.containsKey(loginId);
+        return byLoginId.containsKey(norm(loginId));
     }
 
     @Override
     public boolean existsByEmail(String email) {
         // 이메일 중복 체크
-        return byEmail.containsKey(email);
+        return byEmail.containsKey(norm(email));
     }
 
     @Override // UserRepository 인터페이스의 메서드 구현임을 명시
     public Optional<User> findByEmail(String email) {
         // 이메일로 회원번호(PK)를 조회 (byEmail 인덱스 맵 사용)
-        Long id = byEmail.get(email); // 해당 이메일에 매핑된 회원번호를 가져옴 (없으면 null)
+        Long id = byEmail.get(norm(email)); // 해당 이메일에 매핑된 회원번호를 가져옴 (없으면 null)
         // 회원번호가 있으면 store 맵에서 회원정보(User)를 꺼내고, 없으면 Optional.empty 반환
         return Optional.ofNullable(id) // id가 null이면 빈 Optional, 아니면 값이 있는 Optional
                 .map(store::get); // id가 있으면 store에서 User 객체를 꺼내서 Optional로 감싸 반환
     }
-}
\ No newline at end of file
+
+    @Override
+    public void updateLoginStates(Collection<LoginLockState> states) {
+        // 저장된 회원 객체의 실패 횟수/잠금 시각만 갱신 (두 필드를 한 번에 바꾸도록 회원 단위로 잠금)
+        for (LoginLockState s : states) {
+            User u = store.get(s.getUserPid());
+            if (u == null) continue;
+            synchronized (u) {
+                u.setFailedLoginCount(s.getFailedLoginCount());
+                u.setLockedUntil(s.getLockedUntil());
+            }
+        }
+    }
+
+    @Override
+    public void forEachLoginId(Consumer<String> consumer) {
+        // 저장된 회원의 로그인ID를 순회 (원래 대소문자 그대로)
+        store.values().forEach(u -> consumer.accept(u.getLoginId()));
+    }
+
+    @Override
+    public Set<String> findExistingLoginIds(Collection<String> loginIds) {
+        // 로그인ID 인덱스에 있는 것만 골라 소문자로 반환
+        Set<String> found = new HashSet<>();
+        for (String id : loginIds) {
+            if (byLoginId.containsKey(norm(id))) found.add(norm(id));
+        }
+        return found;
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> emails) {
+        // 이메일 인덱스에 있는 것만 골라 소문자로 반환
+        Set<String> found = new HashSet<>();
+        for (String email : emails) {
+            if (byEmail.containsKey(norm(email))) found.add(norm(email));
+        }
+        return found;
+    }
+
+    @Override
+    public void insertAll(List<User> users) {
+        // DB의 유니크 제약처럼: 하나라도 중복이면 아무것도 저장하지 않음
+        // 전역 락 대신 한 건씩 인덱스를 선점하고, 실패하면 이번 호출에서 선점한 것만 되돌린다
+        List<User> reserved = new ArrayList<>(users.size());
+        try {
+            for (User u : users) {
+                if (u.getUserPid() == null) u.setUserPid(seq.incrementAndGet());
+                IndexKeys keys = new IndexKeys(norm(u.getLoginId()), norm(u.getEmail()));
+                reserve(keys, u.getUserPid());
+                keysByPid.put(u.getUserPid(), keys);
+                reserved.add(u);
+            }
+        } catch (DuplicateKeyException e) {
+            for (User u : reserved) {
+                IndexKeys keys = keysByPid.remove(u.getUserPid());
+                byLoginId.remove(keys.loginId(), u.getUserPid());
+                byEmail.remove(keys.email(), u.getUserPid());
+            }
+            users.forEach(u -> u.setUserPid(null));
+            throw e;
+        }
+        users.forEach(u -> store.put(u.getUserPid(), u));
+    }
+
+    /** 인덱스 키 정규화 (대소문자 무시) */
+    private static String norm(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    /* ===================== 스냅샷 (app.mock.snapshot.dir) ===================== */
+
+    /** 시작 시 스냅샷 복원 (인덱스는 저장하지 않고 다시 만든다) */
+    @PostConstruct
+    void loadSnapshot() {
+        for (User u : snapshot.read(SNAPSHOT, User.class)) {
+            save(u);
+            seq.accumulateAndGet(u.getUserPid(), Math::max);
+        }
+    }
+
+    /** 주기 저장 (스냅샷이 꺼져 있으면 아무것도 하지 않음) */
+    @Scheduled(fixedDelayString = "${app.mock.snapshot.interval-ms:60000}",
+            initialDelayString = "${app.mock.snapshot.interval-ms:60000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!snapshot.enabled()) return;
+        // 회원 단위로는 일관되지만 전체 시점이 정확히 한 순간은 아님 (부하 테스트 데이터 보존용)
+        snapshot.write(SNAPSHOT, new ArrayList<>(store.values()));
+    }
+}
@@ -0,0 +1,37 @@
+package net.datasa.project01.repository;
+
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageCursor;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 채팅 메시지(room_messages) 저장소 추상화
+ * - db/mock 두 구현이 이 인터페이스를 구현
+ * - message_id 는 ChatMessageWriter 가 미리 발급해 넣는다 (로그 재생 때 같은 행을 다시 넣어도 한 번만 남도록)
+ */
+public interface RoomMessageRepository {
+
+    /**
+     * 메시지 일괄 저장 (이미 있는 message_id 는 건너뜀 — 로그 재생)
+     * @return 같은 방의 같은 seq 를 다른 message_id 가 이미 차지해 넣지 못한 메시지 (없으면 빈 목록)
+     */
+    List<RoomMessage> insertAll(List<RoomMessage> messages);
+
+    /** 가장 큰 message_id (없으면 0) */
+    long maxMessageId();
+
+    /** 방의 가장 큰 seq (없으면 0) */
+    long maxSeq(long roomId);
+
+    /**
+     * 방의 메시지를 최신 → 과거 순으로 최대 limit 건 (before 가 있으면 그보다 앞선 것만) 한 줄씩 넘긴다
+     * - 순서/위치 기준은 (created_at, message_id)
+     */
+    void forEachBefore(long roomId, MessageCursor before, int limit, Consumer<RoomMessageRow> consumer);
+
+    /** 방의 afterSeq < seq < beforeSeq 메시지를 seq 오름차순으로 최대 limit 건 (재연결 때 빠진 구간) */
+    void forEachBetweenSeq(long roomId, long afterSeq, long beforeSeq, int limit, Consumer<RoomMessageRow> consumer);
+}
@@ -0,0 +1,38 @@
+package net.datasa.project01.repository;
+
+import net.datasa.project01.domain.entity.Room;
+import net.datasa.project01.domain.entity.RoomMember;
+import net.datasa.project01.domain.vo.RoomType;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 채팅방(rooms) + 멤버(room_members) 저장소 추상화
+ * - db/mock 두 구현이 이 인터페이스를 구현
+ */
+public interface RoomRepository {
+
+    /** 방 저장 (room_id 발급) */
+    Room save(Room room);
+
+    /** 멤버 추가 */
+    void addMember(RoomMember member);
+
+    /** 활성 멤버(left_at IS NULL)인지 */
+    boolean isActiveMember(long roomId, long userPid);
+
+    /** 방의 활성 멤버 user_pid 목록 */
+    List<Long> findActiveMemberPids(long roomId);
+
+    /** 두 사람이 모두 활성 멤버인 열린(closed_at IS NULL) 방 중 가장 최근 것 */
+    Optional<Room> findOpenSharedRoom(RoomType type, long userA, long userB);
+
+    /** 주어진 방 중 닫힌(closed_at 이 있는) 방의 room_id */
+    List<Long> findClosedRoomIds(Collection<Long> roomIds);
+
+    /** 주어진 사용자마다 활성 멤버인 열린 방의 room_id (방이 없는 사용자는 빠짐) */
+    Map<Long, List<Long>> findOpenRoomIdsByMember(Collection<Long> userPids);
+}
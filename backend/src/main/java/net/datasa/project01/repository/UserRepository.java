@@ -1,7 +1,12 @@
 package net.datasa.project01.repository; // 리포지토리 클래스가 모여있는 패키지 선언
 
 import net.datasa.project01.domain.entity.User; // User 엔티티 import
+import net.datasa.project01.domain.vo.LoginLockState; // 로그인 실패/잠금 상태
+import java.util.Collection; // 일괄 처리용 컬렉션
+import java.util.List; // 일괄 저장 목록
 import java.util.Optional; // 값이 있을 수도, 없을 수도 있는 타입
+import java.util.Set; // 중복 확인 결과
+import java.util.function.Consumer; // 스트리밍 콜백
 
 /**
  * User 엔티티를 위한 리포지토리 인터페이스입니다.
@@ -49,4 +54,40 @@ public interface UserRepository {
      * @return 존재하면 true, 아니면 false
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * 로그인 실패 횟수/잠금 해제 시각만 일괄 갱신합니다.
+     * - 엔티티 전체를 merge 하지 않고 failed_login_count, locked_until 두 컬럼만 UPDATE 합니다.
+     * @param states 반영할 상태 목록
+     */
+    void updateLoginStates(Collection<LoginLockState> states);
+
+    /**
+     * 모든 로그인 ID를 한 건씩 스트리밍으로 전달합니다(전체를 메모리에 올리지 않음).
+     * - 아이디 중복 확인용 Bloom filter 생성에 사용
+     * @param consumer 로그인 ID를 받을 콜백
+     */
+    void forEachLoginId(Consumer<String> consumer);
+
+    /**
+     * 주어진 로그인 ID 중 이미 존재하는 것을 한 번에 조회합니다(일괄 가져오기 중복 확인용).
+     * @param loginIds 확인할 로그인 ID 목록
+     * @return 이미 존재하는 로그인 ID (소문자로 정규화)
+     */
+    Set<String> findExistingLoginIds(Collection<String> loginIds);
+
+    /**
+     * 주어진 이메일 중 이미 존재하는 것을 한 번에 조회합니다(일괄 가져오기 중복 확인용).
+     * @param emails 확인할 이메일 목록
+     * @return 이미 존재하는 이메일 (소문자로 정규화)
+     */
+    Set<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * 신규 사용자 여러 명을 한 번에 저장합니다(전부 성공 또는 전부 실패).
+     * - 하나라도 로그인 ID/이메일이 중복되면 아무것도 저장하지 않고 DuplicateKeyException을 던집니다.
+     * - 생성된 user_pid가 엔티티에 채워진다는 보장은 없습니다(db 구현은 생성키를 받지 않음).
+     * @param users 저장할 사용자 목록
+     */
+    void insertAll(List<User> users);
+}
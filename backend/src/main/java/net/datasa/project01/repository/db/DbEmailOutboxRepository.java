@@ -0,0 +1,121 @@
+package net.datasa.project01.repository.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import net.datasa.project01.domain.entity.EmailOutbox;
+import net.datasa.project01.domain.vo.OutboxStatus;
+import net.datasa.project01.repository.EmailOutboxRepository;
+import org.hibernate.LockOptions;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DbEmailOutboxRepository 클래스
+ * - "db" 프로필에서 활성화됨
+ * - save 는 호출 측(업무) 트랜잭션에 참여하고, 워커용 메서드는 각자 짧은 트랜잭션으로 실행된다.
+ * - SENT/DEAD 로 끝난 행은 본문을 비운다 (인증번호가 보관 기간 동안 평문으로 남지 않게)
+ */
+@Repository
+@Profile("db")
+public class DbEmailOutboxRepository implements EmailOutboxRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public EmailOutbox save(EmailOutbox message) {
+        em.persist(message);
+        return message;
+    }
+
+    /**
+     * SELECT ... FOR UPDATE SKIP LOCKED 로 다른 워커가 잡은 행은 건너뛰고 가져온 뒤,
+     * 같은 트랜잭션에서 SENDING + 임대 만료 시각으로 바꾼다(커밋 시 flush).
+     */
+    @Override
+    @Transactional
+    public List<EmailOutbox> claimDue(LocalDateTime now, int limit, LocalDateTime leaseUntil) {
+        List<EmailOutbox> due = em.createQuery("""
+            select o
+              from EmailOutbox o
+             where o.status in :statuses
+               and o.nextAttemptAt <= :now
+             order by o.nextAttemptAt
+            """, EmailOutbox.class)
+                .setParameter("statuses", List.of(OutboxStatus.PENDING, OutboxStatus.SENDING))
+                .setParameter("now", now)
+                .setMaxResults(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .getResultList();
+        for (EmailOutbox o : due) {
+            o.setStatus(OutboxStatus.SENDING);
+            o.setNextAttemptAt(leaseUntil);
+        }
+        return due;
+    }
+
+    @Override
+    @Transactional
+    public void markSent(Long outboxId, int attempts, LocalDateTime sentAt) {
+        em.createQuery("""
+            update EmailOutbox o
+               set o.status = :status, o.attempts = :attempts, o.sentAt = :sentAt, o.lastError = null, o.body = ''
+             where o.outboxId = :id
+            """)
+                .setParameter("status", OutboxStatus.SENT)
+                .setParameter("attempts", attempts)
+                .setParameter("sentAt", sentAt)
+                .setParameter("id", outboxId)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public void markRetry(Long outboxId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        em.createQuery("""
+            update EmailOutbox o
+               set o.status = :status, o.attempts = :attempts, o.nextAttemptAt = :next, o.lastError = :error
+             where o.outboxId = :id
+            """)
+                .setParameter("status", OutboxStatus.PENDING)
+                .setParameter("attempts", attempts)
+                .setParameter("next", nextAttemptAt)
+                .setParameter("error", error)
+                .setParameter("id", outboxId)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public void markDead(Long outboxId, int attempts, String error) {
+        em.createQuery("""
+            update EmailOutbox o
+               set o.status = :status, o.attempts = :attempts, o.lastError = :error, o.body = ''
+             where o.outboxId = :id
+            """)
+                .setParameter("status", OutboxStatus.DEAD)
+                .setParameter("attempts", attempts)
+                .setParameter("error", error)
+                .setParameter("id", outboxId)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public long deleteSentBefore(LocalDateTime before) {
+        return em.createQuery("""
+            delete from EmailOutbox o
+             where o.status = :status
+               and o.sentAt < :before
+            """)
+                .setParameter("status", OutboxStatus.SENT)
+                .setParameter("before", before)
+                .executeUpdate();
+    }
+}
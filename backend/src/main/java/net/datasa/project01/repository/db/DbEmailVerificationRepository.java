@@ -7,6 +7,7 @@ import net.datasa.project01.domain.vo.VerificationPurpose; // 인증 목적 enum
 import net.datasa.project01.repository.EmailVerificationRepository; // 이메일 인증 저장소 인터페이스 import
 import org.springframework.context.annotation.Profile; // 특정 profile에서만 활성화할 때 사용
 import org.springframework.stereotype.Repository; // 스프링 저장소(빈)로 등록하는 어노테이션
+import org.springframework.transaction.annotation.Transactional; // 청크 삭제마다 짧은 트랜잭션
 
 import java.time.LocalDateTime; // 날짜/시간 타입 import
 import java.util.Optional; // 값이 있을 수도, 없을 수도 있는 컨테이너 타입 import
@@ -39,24 +40,45 @@ public class DbEmailVerificationRepository implements EmailVerificationRepositor
     }
 
     /**
-     * 토큰과 이메일, 용도로 인증 정보 조회
+     * 이메일, 용도, 인증번호 해시로 인증 정보 조회
      */
     @Override
-    public Optional<EmailVerification> findByTokenAndEmail(String token, String email, VerificationPurpose purpose) {
+    public Optional<EmailVerification> findByTokenHash(String email, VerificationPurpose purpose, String tokenHash) {
         return em.createQuery("""
             select ev
               from EmailVerification ev
-             where ev.token = :token
-               and ev.email = :email
+             where ev.email = :email
                and ev.purpose = :purpose
+               and ev.tokenHash = :tokenHash
+             order by ev.expiresAt desc
             """, EmailVerification.class)
-                .setParameter("token", token)
                 .setParameter("email", email)
                 .setParameter("purpose", purpose)
+                .setParameter("tokenHash", tokenHash)
+                .setMaxResults(1)
                 .getResultStream()
                 .findFirst();
     }
 
+    /**
+     * 이메일/용도의 미사용·미만료 토큰을 즉시 만료 처리
+     */
+    @Override
+    public int expireActive(String email, VerificationPurpose purpose, LocalDateTime now) {
+        return em.createQuery("""
+            update EmailVerification ev
+               set ev.expiresAt = :now
+             where ev.email = :email
+               and ev.purpose = :purpose
+               and ev.usedAt is null
+               and ev.expiresAt > :now
+            """)
+                .setParameter("email", email)
+                .setParameter("purpose", purpose)
+                .setParameter("now", now)
+                .executeUpdate();
+    }
+
     /**
      * 특정 이메일과 용도에 대해, 아직 사용되지 않고 만료되지 않은 최신 인증 정보 조회
      */
@@ -82,17 +104,25 @@ public class DbEmailVerificationRepository implements EmailVerificationRepositor
     }
 
     /**
-     * 만료된 인증 정보 삭제
+     * 만료된 인증 정보를 최대 limit 건 삭제
+     * - DELETE ... ORDER BY expires_at LIMIT ? : idx_ev_expires 를 따라 가장 오래된 것부터 지우고 멈춘다.
+     *   (idx_ev_email_purpose 는 email 이 선두 컬럼이라 expires_at 범위 조건에 쓸 수 없음)
+     * - 청크마다 별도 트랜잭션 → 행 잠금이 짧게 끝난다.
      * @param now 기준 시각
+     * @param limit 최대 삭제 건수
      * @return 삭제된 행 수
      */
     @Override
-    public long deleteExpired(LocalDateTime now) {
-        return em.createQuery("""
-            delete from EmailVerification ev
-             where ev.expiresAt <= :now
-            """) // JPQL 삭제 쿼리 작성
-                .setParameter("now", now) // 기준 시각 바인딩
+    @Transactional
+    public int deleteExpired(LocalDateTime now, int limit) {
+        return em.createNativeQuery("""
+            DELETE FROM email_verifications
+             WHERE expires_at <= ?1
+             ORDER BY expires_at
+             LIMIT ?2
+            """) // JPQL은 ORDER BY/LIMIT 삭제를 지원하지 않아 네이티브 쿼리 사용
+                .setParameter(1, now) // 기준 시각 바인딩
+                .setParameter(2, limit) // 최대 삭제 건수
                 .executeUpdate(); // 삭제 실행, 삭제된 행 수 반환
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package net.datasa.project01.repository.db;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.repository.FollowRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * DbFollowRepository 클래스
+ * - "db" 프로필에서 활성화됨
+ * - follows 는 아직 엔티티가 없어 JDBC 로 읽는다
+ *   (두 방향을 idx_follows_follower / idx_follows_followee 로 각각 찾아 UNION)
+ */
+@Repository
+@Profile("db")
+@RequiredArgsConstructor
+public class DbFollowRepository implements FollowRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<Long> findAcceptedAmong(long userPid, Collection<Long> others) {
+        if (others.isEmpty()) return List.of();
+        String in = String.join(",", Collections.nCopies(others.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(userPid);
+        args.addAll(others);
+        args.add(userPid);
+        args.addAll(others);
+        return jdbcTemplate.queryForList(
+                "SELECT followee_id FROM follows WHERE follower_id = ? AND status = 'ACCEPTED' AND followee_id IN (" + in + ")"
+                        + " UNION SELECT follower_id FROM follows WHERE followee_id = ? AND status = 'ACCEPTED'"
+                        + " AND follower_id IN (" + in + ")",
+                Long.class, args.toArray());
+    }
+}
@@ -0,0 +1,52 @@
+package net.datasa.project01.repository.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import net.datasa.project01.domain.entity.MatchRequest;
+import net.datasa.project01.domain.vo.MatchStatus;
+import net.datasa.project01.repository.MatchRequestRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * DbMatchRequestRepository 클래스
+ * - "db" 프로필에서 활성화됨
+ * - JPA의 EntityManager로 match_requests 테이블에 요청 기록/상태만 남긴다.
+ */
+@Repository
+@Profile("db")
+public class DbMatchRequestRepository implements MatchRequestRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional
+    public MatchRequest save(MatchRequest request) {
+        em.persist(request);
+        return request;
+    }
+
+    @Override
+    @Transactional
+    public void updateStatus(Collection<Long> requestIds, MatchStatus status) {
+        if (requestIds.isEmpty()) return;
+        em.createQuery("update MatchRequest m set m.status = :status where m.requestId in :ids")
+                .setParameter("status", status)
+                .setParameter("ids", requestIds)
+                .executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public int cancelAllOpen() {
+        return em.createQuery("update MatchRequest m set m.status = :cancelled where m.status in :open")
+                .setParameter("cancelled", MatchStatus.CANCELLED)
+                .setParameter("open", List.of(MatchStatus.WAITING, MatchStatus.MATCHED))
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,130 @@
+package net.datasa.project01.repository.db;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.RoomMessageRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * DbRoomMessageRepository 클래스
+ * - "db" 프로필에서 활성화됨
+ * - room_messages 는 ChatMessageWriter 가 모은 묶음을 JDBC 배치로 넣는다.
+ *   (IDENTITY persist 는 행마다 INSERT 후 생성키를 받아야 해 배치가 안 됨 — id 는 이미 발급돼 있으므로 필요 없음,
+ *    rewriteBatchedStatements=true → 여러 행 INSERT 한 문장으로 전송)
+ */
+@Repository
+@Profile("db")
+@RequiredArgsConstructor
+public class DbRoomMessageRepository implements RoomMessageRepository {
+
+    private static final String PAGE_COLUMNS = "SELECT message_id, seq, sender_pid, content_type, text_content, file_name,"
+            + " file_path, mime_type, size_bytes, created_at FROM room_messages";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public List<RoomMessage> insertAll(List<RoomMessage> messages) {
+        if (messages.isEmpty()) return List.of();
+        // 로그 재생으로 같은 message_id 가 다시 와도 오류 없이 그대로 둠 (키 중복만 — INSERT IGNORE 처럼
+        // 잘림/NULL/FK 오류까지 경고로 삼켜 메시지를 잃지 않도록, 나머지 오류는 그대로 실패해 같은 묶음을 다시 시도)
+        // ON DUPLICATE KEY 는 uq_msg_room_seq 충돌도 조용히 넘기고, 배치 재작성이라 행별 결과도 없다
+        // → 넣은 뒤 PK 로 다시 읽어 없는 message_id 를 seq 충돌로 돌려준다
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO room_messages (message_id, room_id, seq, sender_pid, content_type, text_content,"
+                        + " file_name, file_path, mime_type, size_bytes, created_at)"
+                        + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                        + " ON DUPLICATE KEY UPDATE message_id = message_id",
+                messages, messages.size(), (ps, m) -> {
+                    ps.setLong(1, m.getMessageId());
+                    ps.setLong(2, m.getRoomId());
+                    ps.setLong(3, m.getSeq());
+                    if (m.getSenderPid() == null) ps.setNull(4, Types.BIGINT);
+                    else ps.setLong(4, m.getSenderPid());
+                    ps.setString(5, m.getContentType().name());
+                    ps.setString(6, m.getTextContent());
+                    ps.setString(7, m.getFileName());
+                    ps.setString(8, m.getFilePath());
+                    ps.setString(9, m.getMimeType());
+                    if (m.getSizeBytes() == null) ps.setNull(10, Types.BIGINT);
+                    else ps.setLong(10, m.getSizeBytes());
+                    ps.setTimestamp(11, Timestamp.valueOf(m.getCreatedAt()));
+                });
+        Set<Long> stored = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT message_id FROM room_messages WHERE message_id IN ("
+                        + String.join(",", Collections.nCopies(messages.size(), "?")) + ")",
+                Long.class, messages.stream().map(RoomMessage::getMessageId).toArray()));
+        return messages.stream().filter(m -> !stored.contains(m.getMessageId())).toList();
+    }
+
+    @Override
+    public long maxMessageId() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(message_id) FROM room_messages", Long.class);
+        return max == null ? 0 : max;
+    }
+
+    @Override
+    public long maxSeq(long roomId) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM room_messages WHERE room_id = ?", Long.class, roomId);
+        return max == null ? 0 : max;
+    }
+
+    /*
+     * 키셋 페이지: OFFSET 없이 커서 위치에서 바로 역순 범위 스캔 → 몇 번째 페이지든 읽는 행 수가 같다.
+     * idx_msg_room_time (room_id, created_at) 은 InnoDB 보조 인덱스라 끝에 PK(message_id)가 붙어 있어
+     * (room_id, created_at, message_id) 순서 그대로 ORDER BY ... DESC LIMIT 가 정렬 없이 끝난다.
+     * 행 비교 (a, b) < (?, ?) 대신 풀어 쓴 OR 형태 — MySQL 범위 최적화가 확실히 잡는 모양
+     */
+    @Override
+    public void forEachBefore(long roomId, MessageCursor before, int limit, Consumer<RoomMessageRow> consumer) {
+        RowCallbackHandler handler = rs -> consumer.accept(toRow(rs));
+        if (before == null) {
+            jdbcTemplate.query(PAGE_COLUMNS + " WHERE room_id = ?"
+                    + " ORDER BY created_at DESC, message_id DESC LIMIT ?", handler, roomId, limit);
+        } else {
+            Timestamp at = Timestamp.valueOf(before.createdAt());
+            jdbcTemplate.query(PAGE_COLUMNS + " WHERE room_id = ?"
+                            + " AND (created_at < ? OR (created_at = ? AND message_id < ?))"
+                            + " ORDER BY created_at DESC, message_id DESC LIMIT ?",
+                    handler, roomId, at, at, before.messageId(), limit);
+        }
+    }
+
+    /* uq_msg_room_seq (room_id, seq) 범위 스캔 — 빠진 구간만 순서대로 */
+    @Override
+    public void forEachBetweenSeq(long roomId, long afterSeq, long beforeSeq, int limit, Consumer<RoomMessageRow> consumer) {
+        jdbcTemplate.query(PAGE_COLUMNS + " WHERE room_id = ? AND seq > ? AND seq < ? ORDER BY seq LIMIT ?",
+                (RowCallbackHandler) rs -> consumer.accept(toRow(rs)), roomId, afterSeq, beforeSeq, limit);
+    }
+
+    private static RoomMessageRow toRow(ResultSet rs) throws SQLException {
+        return new RoomMessageRow(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getObject(3, Long.class),
+                MessageContentType.valueOf(rs.getString(4)),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getString(8),
+                rs.getObject(9, Long.class),
+                rs.getTimestamp(10).toLocalDateTime());
+    }
+}
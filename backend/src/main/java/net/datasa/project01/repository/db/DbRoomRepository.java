@@ -0,0 +1,102 @@
+package net.datasa.project01.repository.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import net.datasa.project01.domain.entity.Room;
+import net.datasa.project01.domain.entity.RoomMember;
+import net.datasa.project01.domain.vo.RoomType;
+import net.datasa.project01.repository.RoomRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * DbRoomRepository 클래스
+ * - "db" 프로필에서 활성화됨
+ * - JPA의 EntityManager로 rooms / room_members 테이블에 접근
+ */
+@Repository
+@Profile("db")
+public class DbRoomRepository implements RoomRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    @Transactional
+    public Room save(Room room) {
+        em.persist(room);
+        return room;
+    }
+
+    @Override
+    @Transactional
+    public void addMember(RoomMember member) {
+        em.persist(member);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isActiveMember(long roomId, long userPid) {
+        return !em.createQuery("select 1 from RoomMember m where m.roomId = :roomId and m.userPid = :userPid"
+                        + " and m.leftAt is null", Integer.class)
+                .setParameter("roomId", roomId)
+                .setParameter("userPid", userPid)
+                .setMaxResults(1)
+                .getResultList().isEmpty();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findActiveMemberPids(long roomId) {
+        return em.createQuery("select m.userPid from RoomMember m where m.roomId = :roomId and m.leftAt is null",
+                        Long.class)
+                .setParameter("roomId", roomId)
+                .getResultList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Room> findOpenSharedRoom(RoomType type, long userA, long userB) {
+        return em.createQuery("select r from Room r where r.roomType = :type and r.closedAt is null"
+                        + " and exists (select 1 from RoomMember a where a.roomId = r.roomId and a.userPid = :a and a.leftAt is null)"
+                        + " and exists (select 1 from RoomMember b where b.roomId = r.roomId and b.userPid = :b and b.leftAt is null)"
+                        + " order by r.roomId desc", Room.class)
+                .setParameter("type", type)
+                .setParameter("a", userA)
+                .setParameter("b", userB)
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findClosedRoomIds(Collection<Long> roomIds) {
+        if (roomIds.isEmpty()) return List.of();
+        return em.createQuery("select r.roomId from Room r where r.roomId in :ids and r.closedAt is not null", Long.class)
+                .setParameter("ids", roomIds)
+                .getResultList();
+    }
+
+    /* idx_rm_user_active (user_pid, left_at) 로 사용자별 활성 방 → rooms PK 로 열린 방만 */
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<Long>> findOpenRoomIdsByMember(Collection<Long> userPids) {
+        Map<Long, List<Long>> out = new HashMap<>();
+        if (userPids.isEmpty()) return out;
+        em.createQuery("select m.userPid, m.roomId from RoomMember m, Room r where m.roomId = r.roomId"
+                        + " and m.userPid in :pids and m.leftAt is null and r.closedAt is null", Object[].class)
+                .setParameter("pids", userPids)
+                .getResultList()
+                .forEach(row -> out.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add((Long) row[1]));
+        return out;
+    }
+}
@@ -0,0 +1,97 @@
+package net.datasa.project01.repository.mock;
+
+import net.datasa.project01.domain.entity.EmailOutbox;
+import net.datasa.project01.domain.vo.OutboxStatus;
+import net.datasa.project01.repository.EmailOutboxRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [MOCK 저장소]
+ * - DB 대신 자바 Map으로 email_outbox 동작을 흉내냄
+ * - claimDue 는 synchronized 로 "같은 행을 두 번 가져가지 않음"을 보장
+ */
+@Repository
+@Profile("mock")
+public class MockEmailOutboxRepository implements EmailOutboxRepository {
+
+    /** 의사 PK 시퀀스 (AUTO_INCREMENT 흉내) */
+    private long seq = 1L;
+
+    /** outbox_id -> EmailOutbox */
+    private final Map<Long, EmailOutbox> store = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized EmailOutbox save(EmailOutbox message) {
+        if (message.getOutboxId() == null) {
+            message.setOutboxId(seq++);
+            if (message.getCreatedAt() == null) {
+                message.setCreatedAt(LocalDateTime.now()); // DB default 대체
+            }
+        }
+        store.put(message.getOutboxId(), message);
+        return message;
+    }
+
+    @Override
+    public synchronized List<EmailOutbox> claimDue(LocalDateTime now, int limit, LocalDateTime leaseUntil) {
+        List<EmailOutbox> due = store.values().stream()
+                .filter(o -> o.getStatus() == OutboxStatus.PENDING || o.getStatus() == OutboxStatus.SENDING)
+                .filter(o -> !o.getNextAttemptAt().isAfter(now))
+                .sorted(Comparator.comparing(EmailOutbox::getNextAttemptAt))
+                .limit(limit)
+                .toList();
+        for (EmailOutbox o : due) {
+            o.setStatus(OutboxStatus.SENDING);
+            o.setNextAttemptAt(leaseUntil);
+        }
+        return due;
+    }
+
+    @Override
+    public synchronized void markSent(Long outboxId, int attempts, LocalDateTime sentAt) {
+        Optional.ofNullable(store.get(outboxId)).ifPresent(o -> {
+            o.setStatus(OutboxStatus.SENT);
+            o.setAttempts(attempts);
+            o.setSentAt(sentAt);
+            o.setLastError(null);
+            o.setBody("");
+        });
+    }
+
+    @Override
+    public synchronized void markRetry(Long outboxId, int attempts, LocalDateTime nextAttemptAt, String error) {
+        Optional.ofNullable(store.get(outboxId)).ifPresent(o -> {
+            o.setStatus(OutboxStatus.PENDING);
+            o.setAttempts(attempts);
+            o.setNextAttemptAt(nextAttemptAt);
+            o.setLastError(error);
+        });
+    }
+
+    @Override
+    public synchronized void markDead(Long outboxId, int attempts, String error) {
+        Optional.ofNullable(store.get(outboxId)).ifPresent(o -> {
+            o.setStatus(OutboxStatus.DEAD);
+            o.setAttempts(attempts);
+            o.setLastError(error);
+            o.setBody("");
+        });
+    }
+
+    @Override
+    public synchronized long deleteSentBefore(LocalDateTime before) {
+        long sizeBefore = store.size();
+        store.values().removeIf(o -> o.getStatus() == OutboxStatus.SENT && o.getSentAt().isBefore(before));
+        return sizeBefore - store.size();
+    }
+
+    /** 테스트/디버깅용 단건 조회 */
+    public Optional<EmailOutbox> findById(Long outboxId) {
+        return Optional.ofNullable(store.get(outboxId));
+    }
+}
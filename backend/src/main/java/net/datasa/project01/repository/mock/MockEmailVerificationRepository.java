@@ -1,65 +1,128 @@
 package net.datasa.project01.repository.mock;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import net.datasa.project01.domain.entity.EmailVerification;
 import net.datasa.project01.domain.vo.VerificationPurpose;
 import net.datasa.project01.repository.EmailVerificationRepository;
 import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * [MOCK 저장소]
  * - DB 대신 자바 Map으로 email_verifications 동작을 흉내냄
- * - 서버 종료 시 데이터는 모두 사라짐
- * - 목적: db 없어도 Postman으로 토큰 발급/검증 흐름 개발/테스트 가능하게
+ * - 기본은 서버 종료 시 데이터가 모두 사라짐 (app.mock.snapshot.dir 지정 시 파일로 보존)
+ * - 목적: db 없어도 Postman/부하 테스트로 토큰 발급/검증 흐름 개발/테스트 가능하게
+ *
+ * 동시성:
+ * - token_id 는 AtomicLong, 인덱스는 모두 ConcurrentSkipListSet → 전역 락 없이 읽기/쓰기
+ * - (email, purpose) 인덱스는 (email, purpose, token_id) 정렬 키 하나의 집합 → 범위 조회로 최신 발급부터 순회
+ * - 기록 순서는 store → 인덱스, 삭제 순서는 인덱스 → store: 인덱스가 가리키는 토큰은 항상 조회 가능
+ * - 한 토큰의 만료 시각 변경은 토큰 객체 단위로 잠근다 (expires_at 과 만료 인덱스를 함께 바꿈)
  */
 @Repository
 @Profile("mock") // mock 프로필에서만 활성
 public class MockEmailVerificationRepository implements EmailVerificationRepository {
 
+    private static final String SNAPSHOT = "email_verifications";
+
     /** 의사 PK 시퀀스 (AUTO_INCREMENT 흉내) */
-    private long seq = 1L;
+    private final AtomicLong seq = new AtomicLong();
 
     /** token_id -> EmailVerification */
     private final Map<Long, EmailVerification> store = new ConcurrentHashMap<>();
-    /** token(문자열) -> token_id  (UNIQUE 인덱스 흉내) */
-    private final Map<String, Long> byToken = new ConcurrentHashMap<>();
-    /** (email + purpose) -> token_id 목록 (최신 추가) */
-    private final Map<String, List<Long>> byEmailPurpose = new ConcurrentHashMap<>();
-
-    /** email+purpose 키 생성기 */
-    private String keyEP(String email, VerificationPurpose purpose) {
-        return email + "_" + purpose.name();
+    /** (email, purpose, token_id) 순 인덱스 (idx_ev_email_purpose 흉내) */
+    private final NavigableSet<PurposeKey> byEmailPurpose = new ConcurrentSkipListSet<>();
+    /** 만료 시각 순 인덱스 (idx_ev_expires 흉내) → 정리 비용이 전체 토큰 수가 아니라 만료된 건수에 비례 */
+    private final NavigableSet<ExpiryKey> byExpiry = new ConcurrentSkipListSet<>();
+
+    private final MockSnapshotStore snapshot;
+
+    public MockEmailVerificationRepository(MockSnapshotStore snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /** (email, purpose) 인덱스 키 */
+    private record PurposeKey(String email, VerificationPurpose purpose, long tokenId)
+            implements Comparable<PurposeKey> {
+        @Override
+        public int compareTo(PurposeKey o) {
+            int c = email.compareTo(o.email);
+            if (c != 0) return c;
+            c = purpose.compareTo(o.purpose);
+            return c != 0 ? c : Long.compare(tokenId, o.tokenId);
+        }
+    }
+
+    /** 만료 인덱스 키 (같은 시각이면 token_id 로 구분) */
+    private record ExpiryKey(LocalDateTime expiresAt, long tokenId) implements Comparable<ExpiryKey> {
+        @Override
+        public int compareTo(ExpiryKey o) {
+            int c = expiresAt.compareTo(o.expiresAt);
+            return c != 0 ? c : Long.compare(tokenId, o.tokenId);
+        }
+    }
+
+    /** 이메일/목적의 토큰을 최근 발급부터 */
+    private Iterable<PurposeKey> newestFirst(String email, VerificationPurpose purpose) {
+        return byEmailPurpose.subSet(new PurposeKey(email, purpose, Long.MIN_VALUE), true,
+                new PurposeKey(email, purpose, Long.MAX_VALUE), true).descendingSet();
     }
 
     /** INSERT/UPDATE 공통 저장 */
     @Override
-    public synchronized EmailVerification save(EmailVerification ev) {
+    public EmailVerification save(EmailVerification ev) {
         if (ev.getTokenId() == null) {
-            ev.setTokenId(seq++); // 새 ID 발급
+            ev.setTokenId(seq.incrementAndGet()); // 새 ID 발급
             if (ev.getCreatedAt() == null) {
                 ev.setCreatedAt(LocalDateTime.now()); // DB default 대체
             }
+            store.put(ev.getTokenId(), ev);
+            // 인덱스는 INSERT 때만 추가 (UPDATE 는 used_at 만 바뀜)
+            byEmailPurpose.add(new PurposeKey(ev.getEmail(), ev.getPurpose(), ev.getTokenId()));
+            byExpiry.add(new ExpiryKey(ev.getExpiresAt(), ev.getTokenId()));
+            return ev;
         }
         store.put(ev.getTokenId(), ev);
-        byToken.put(ev.getToken(), ev.getTokenId());
-        byEmailPurpose
-                .computeIfAbsent(keyEP(ev.getEmail(), ev.getPurpose()), k -> new ArrayList<>())
-                .add(ev.getTokenId());
         return ev;
     }
 
-    /** 토큰 + 이메일 + 목적 일치하는 1건 조회 (검증 시 사용) */
+    /** 이메일 + 목적 + 인증번호 해시 일치하는 1건 조회 (검증 시 사용, 최근 발급부터) */
     @Override
-    public Optional<EmailVerification> findByTokenAndEmail(String token, String email, VerificationPurpose purpose) {
-        Long id = byToken.get(token);
-        if (id == null) return Optional.empty();
-        EmailVerification ev = store.get(id);
-        if (ev == null || ev.getPurpose() != purpose || !ev.getEmail().equals(email)) return Optional.empty();
-        return Optional.of(ev);
+    public Optional<EmailVerification> findByTokenHash(String email, VerificationPurpose purpose,
+                                                       String tokenHash) {
+        for (PurposeKey k : newestFirst(email, purpose)) {
+            EmailVerification ev = store.get(k.tokenId());
+            if (ev != null && ev.getTokenHash().equals(tokenHash)) return Optional.of(ev);
+        }
+        return Optional.empty();
+    }
+
+    /** 이메일/목적의 미사용·미만료 토큰을 즉시 만료 처리 */
+    @Override
+    public int expireActive(String email, VerificationPurpose purpose, LocalDateTime now) {
+        int expired = 0;
+        for (PurposeKey k : newestFirst(email, purpose)) {
+            EmailVerification ev = store.get(k.tokenId());
+            if (ev == null) continue;
+            synchronized (ev) {
+                if (ev.getUsedAt() == null && ev.getExpiresAt().isAfter(now)) {
+                    // 새 키를 먼저 넣고 옛 키를 뺀다 → 만료 인덱스에서 잠시라도 빠지는 순간이 없음
+                    byExpiry.add(new ExpiryKey(now, k.tokenId()));
+                    byExpiry.remove(new ExpiryKey(ev.getExpiresAt(), k.tokenId()));
+                    ev.setExpiresAt(now);
+                    expired++;
+                }
+            }
+        }
+        return expired;
     }
 
     /** 특정 이메일/목적의 '미사용 & 만료 전' 최신 토큰 1건 (쿨다운/재사용 체크용) */
@@ -67,11 +130,9 @@ public class MockEmailVerificationRepository implements EmailVerificationReposit
     public Optional<EmailVerification> findLatestActiveByEmail(String email,
                                                                VerificationPurpose purpose,
                                                                LocalDateTime now) {
-        List<Long> ids = byEmailPurpose.getOrDefault(keyEP(email, purpose), List.of());
         // 뒤에서부터(최근 발급) 검사
-        ListIterator<Long> it = ids.listIterator(ids.size());
-        while (it.hasPrevious()) {
-            EmailVerification ev = store.get(it.previous());
+        for (PurposeKey k : newestFirst(email, purpose)) {
+            EmailVerification ev = store.get(k.tokenId());
             if (ev != null && ev.getUsedAt() == null && ev.getExpiresAt().isAfter(now)) {
                 return Optional.of(ev);
             }
@@ -79,22 +140,51 @@ public class MockEmailVerificationRepository implements EmailVerificationReposit
         return Optional.empty();
     }
 
-    /** 만료 토큰 일괄 삭제(스케줄러가 주기적으로 호출) */
+    /**
+     * 만료 토큰을 만료 시각 순으로 최대 limit 건 삭제 (만료 인덱스 앞에서부터 꺼냄)
+     * - pollFirst 는 원자적 → 스위퍼가 여러 개 돌아도 같은 토큰을 두 번 지우지 않음
+     */
     @Override
-    public long deleteExpired(LocalDateTime now) {
-        long removed = 0;
-        for (Iterator<Map.Entry<Long, EmailVerification>> it = store.entrySet().iterator(); it.hasNext(); ) {
-            var e = it.next();
-            EmailVerification ev = e.getValue();
-            if (!ev.getExpiresAt().isAfter(now)) { // now 이상이면 만료
-                it.remove();
-                byToken.remove(ev.getToken());
-                var key = keyEP(ev.getEmail(), ev.getPurpose());
-                var list = byEmailPurpose.get(key);
-                if (list != null) list.remove(e.getKey());
-                removed++;
+    public int deleteExpired(LocalDateTime now, int limit) {
+        int removed = 0;
+        while (removed < limit) {
+            ExpiryKey first = byExpiry.pollFirst();
+            if (first == null) break;
+            if (first.expiresAt().isAfter(now)) { // now 이하만 만료 → 꺼낸 키는 되돌려 놓고 종료
+                byExpiry.add(first);
+                break;
+            }
+            EmailVerification ev = store.get(first.tokenId());
+            if (ev == null) continue;
+            synchronized (ev) {
+                if (!ev.getExpiresAt().equals(first.expiresAt())) continue; // expireActive 가 교체 중인 옛 키
+                byEmailPurpose.remove(new PurposeKey(ev.getEmail(), ev.getPurpose(), ev.getTokenId()));
+                store.remove(first.tokenId());
             }
+            removed++;
         }
         return removed;
     }
-}
\ No newline at end of file
+
+    /* ===================== 스냅샷 (app.mock.snapshot.dir) ===================== */
+
+    /** 시작 시 스냅샷 복원 (인덱스는 다시 만든다) */
+    @PostConstruct
+    void loadSnapshot() {
+        for (EmailVerification ev : snapshot.read(SNAPSHOT, EmailVerification.class)) {
+            store.put(ev.getTokenId(), ev);
+            byEmailPurpose.add(new PurposeKey(ev.getEmail(), ev.getPurpose(), ev.getTokenId()));
+            byExpiry.add(new ExpiryKey(ev.getExpiresAt(), ev.getTokenId()));
+            seq.accumulateAndGet(ev.getTokenId(), Math::max);
+        }
+    }
+
+    /** 주기 저장 (스냅샷이 꺼져 있으면 아무것도 하지 않음) */
+    @Scheduled(fixedDelayString = "${app.mock.snapshot.interval-ms:60000}",
+            initialDelayString = "${app.mock.snapshot.interval-ms:60000}")
+    @PreDestroy
+    public void writeSnapshot() {
+        if (!snapshot.enabled()) return;
+        snapshot.write(SNAPSHOT, new ArrayList<>(store.values()));
+    }
+}
@@ -0,0 +1,35 @@
+package net.datasa.project01.repository.mock;
+
+import net.datasa.project01.repository.FollowRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * [MOCK 저장소]
+ * - DB 대신 자바 Map으로 follows 의 ACCEPTED 관계만 흉내냄
+ */
+@Repository
+@Profile("mock")
+public class MockFollowRepository implements FollowRepository {
+
+    /** user_pid -> ACCEPTED 관계인 상대 (양쪽에 모두 넣음) */
+    private final Map<Long, Set<Long>> accepted = new ConcurrentHashMap<>();
+
+    /** 팔로우 수락 (follower → followee) */
+    public void accept(long followerId, long followeeId) {
+        accepted.computeIfAbsent(followerId, k -> ConcurrentHashMap.newKeySet()).add(followeeId);
+        accepted.computeIfAbsent(followeeId, k -> ConcurrentHashMap.newKeySet()).add(followerId);
+    }
+
+    @Override
+    public List<Long> findAcceptedAmong(long userPid, Collection<Long> others) {
+        Set<Long> mine = accepted.getOrDefault(userPid, Set.of());
+        return others.stream().filter(mine::contains).distinct().toList();
+    }
+}
@@ -0,0 +1,66 @@
+package net.datasa.project01.repository.mock;
+
+import net.datasa.project01.domain.entity.MatchRequest;
+import net.datasa.project01.domain.vo.MatchStatus;
+import net.datasa.project01.repository.MatchRequestRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [MOCK 저장소]
+ * - DB 대신 자바 Map으로 match_requests 동작을 흉내냄
+ */
+@Repository
+@Profile("mock")
+public class MockMatchRequestRepository implements MatchRequestRepository {
+
+    /** 의사 PK 시퀀스 (AUTO_INCREMENT 흉내) */
+    private final AtomicLong seq = new AtomicLong();
+
+    /** request_id -> MatchRequest */
+    private final Map<Long, MatchRequest> store = new ConcurrentHashMap<>();
+
+    @Override
+    public MatchRequest save(MatchRequest request) {
+        if (request.getRequestId() == null) {
+            request.setRequestId(seq.incrementAndGet());
+            if (request.getRequestedAt() == null) {
+                request.setRequestedAt(LocalDateTime.now()); // DB default 대체
+            }
+        }
+        store.put(request.getRequestId(), request);
+        return request;
+    }
+
+    @Override
+    public void updateStatus(Collection<Long> requestIds, MatchStatus status) {
+        for (Long id : requestIds) {
+            MatchRequest r = store.get(id);
+            if (r != null) r.setStatus(status);
+        }
+    }
+
+    @Override
+    public int cancelAllOpen() {
+        int changed = 0;
+        for (MatchRequest r : store.values()) {
+            if (r.getStatus() == MatchStatus.WAITING || r.getStatus() == MatchStatus.MATCHED) {
+                r.setStatus(MatchStatus.CANCELLED);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /** 테스트/확인용 단건 조회 */
+    public Optional<MatchRequest> findById(Long requestId) {
+        return Optional.ofNullable(store.get(requestId));
+    }
+}
@@ -0,0 +1,87 @@
+package net.datasa.project01.repository.mock;
+
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.RoomMessageRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * [MOCK 저장소]
+ * - DB 대신 자바 Map으로 room_messages 동작을 흉내냄
+ */
+@Repository
+@Profile("mock")
+public class MockRoomMessageRepository implements RoomMessageRepository {
+
+    /** message_id -> RoomMessage (PK 순) */
+    private final ConcurrentSkipListMap<Long, RoomMessage> store = new ConcurrentSkipListMap<>();
+    /** (room_id, seq) -> message_id (uq_msg_room_seq 흉내) */
+    private final Map<RoomSeq, Long> seqIndex = new ConcurrentHashMap<>();
+
+    private record RoomSeq(long roomId, long seq) {}
+
+    @Override
+    public synchronized List<RoomMessage> insertAll(List<RoomMessage> messages) {
+        List<RoomMessage> conflicts = new ArrayList<>();
+        for (RoomMessage m : messages) {
+            if (store.containsKey(m.getMessageId())) continue; // ON DUPLICATE KEY UPDATE (아무것도 안 바꿈) 흉내
+            if (seqIndex.putIfAbsent(new RoomSeq(m.getRoomId(), m.getSeq()), m.getMessageId()) != null) {
+                conflicts.add(m); // 같은 방/seq 를 다른 메시지가 가짐
+                continue;
+            }
+            store.put(m.getMessageId(), m);
+        }
+        return conflicts;
+    }
+
+    @Override
+    public long maxMessageId() {
+        return store.isEmpty() ? 0 : store.lastKey();
+    }
+
+    @Override
+    public long maxSeq(long roomId) {
+        return store.values().stream()
+                .filter(m -> m.getRoomId() == roomId)
+                .mapToLong(RoomMessage::getSeq)
+                .max().orElse(0);
+    }
+
+    @Override
+    public void forEachBefore(long roomId, MessageCursor before, int limit, Consumer<RoomMessageRow> consumer) {
+        store.values().stream()
+                .filter(m -> m.getRoomId() == roomId)
+                .filter(m -> before == null || m.getCreatedAt().isBefore(before.createdAt())
+                        || (m.getCreatedAt().isEqual(before.createdAt()) && m.getMessageId() < before.messageId()))
+                .sorted(Comparator.comparing(RoomMessage::getCreatedAt)
+                        .thenComparing(RoomMessage::getMessageId)
+                        .reversed())
+                .limit(limit)
+                .forEach(m -> consumer.accept(toRow(m)));
+    }
+
+    @Override
+    public void forEachBetweenSeq(long roomId, long afterSeq, long beforeSeq, int limit, Consumer<RoomMessageRow> consumer) {
+        store.values().stream()
+                .filter(m -> m.getRoomId() == roomId && m.getSeq() > afterSeq && m.getSeq() < beforeSeq)
+                .sorted(Comparator.comparing(RoomMessage::getSeq))
+                .limit(limit)
+                .forEach(m -> consumer.accept(toRow(m)));
+    }
+
+    private static RoomMessageRow toRow(RoomMessage m) {
+        return new RoomMessageRow(m.getMessageId(), m.getSeq(), m.getSenderPid(), m.getContentType(),
+                m.getTextContent(), m.getFileName(), m.getFilePath(), m.getMimeType(), m.getSizeBytes(),
+                m.getCreatedAt());
+    }
+}
@@ -0,0 +1,99 @@
+package net.datasa.project01.repository.mock;
+
+import net.datasa.project01.domain.entity.Room;
+import net.datasa.project01.domain.entity.RoomMember;
+import net.datasa.project01.domain.vo.RoomType;
+import net.datasa.project01.repository.RoomRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * [MOCK 저장소]
+ * - DB 대신 자바 Map으로 rooms / room_members 동작을 흉내냄
+ */
+@Repository
+@Profile("mock")
+public class MockRoomRepository implements RoomRepository {
+
+    /** 의사 PK 시퀀스 (AUTO_INCREMENT 흉내) */
+    private final AtomicLong seq = new AtomicLong();
+
+    /** room_id -> Room */
+    private final Map<Long, Room> rooms = new ConcurrentHashMap<>();
+
+    /** room_id -> (user_pid -> RoomMember) */
+    private final Map<Long, Map<Long, RoomMember>> members = new ConcurrentHashMap<>();
+
+    @Override
+    public Room save(Room room) {
+        if (room.getRoomId() == null) {
+            room.setRoomId(seq.incrementAndGet());
+            if (room.getCreatedAt() == null) {
+                room.setCreatedAt(LocalDateTime.now()); // DB default 대체
+            }
+        }
+        rooms.put(room.getRoomId(), room);
+        return room;
+    }
+
+    @Override
+    public void addMember(RoomMember member) {
+        if (member.getJoinedAt() == null) member.setJoinedAt(LocalDateTime.now());
+        members.computeIfAbsent(member.getRoomId(), k -> new ConcurrentHashMap<>())
+                .put(member.getUserPid(), member);
+    }
+
+    @Override
+    public boolean isActiveMember(long roomId, long userPid) {
+        RoomMember m = members.getOrDefault(roomId, Map.of()).get(userPid);
+        return m != null && m.getLeftAt() == null;
+    }
+
+    @Override
+    public List<Long> findActiveMemberPids(long roomId) {
+        return members.getOrDefault(roomId, Map.of()).values().stream()
+                .filter(m -> m.getLeftAt() == null)
+                .map(RoomMember::getUserPid)
+                .toList();
+    }
+
+    @Override
+    public Optional<Room> findOpenSharedRoom(RoomType type, long userA, long userB) {
+        return rooms.values().stream()
+                .filter(r -> r.getRoomType() == type && r.getClosedAt() == null)
+                .filter(r -> isActiveMember(r.getRoomId(), userA) && isActiveMember(r.getRoomId(), userB))
+                .max(Comparator.comparing(Room::getRoomId));
+    }
+
+    @Override
+    public List<Long> findClosedRoomIds(Collection<Long> roomIds) {
+        return roomIds.stream()
+                .filter(id -> rooms.containsKey(id) && rooms.get(id).getClosedAt() != null)
+                .toList();
+    }
+
+    @Override
+    public Map<Long, List<Long>> findOpenRoomIdsByMember(Collection<Long> userPids) {
+        Map<Long, List<Long>> out = new HashMap<>();
+        members.forEach((roomId, byUser) -> {
+            Room room = rooms.get(roomId);
+            if (room == null || room.getClosedAt() != null) return;
+            for (Long userPid : userPids) {
+                RoomMember m = byUser.get(userPid);
+                if (m != null && m.getLeftAt() == null) out.computeIfAbsent(userPid, k -> new ArrayList<>()).add(roomId);
+            }
+        });
+        return out;
+    }
+}
@@ -0,0 +1,83 @@
+package net.datasa.project01.repository.mock;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * mock 저장소 스냅샷 파일 (선택 기능)
+ * - app.mock.snapshot.dir 가 비어 있으면 아무것도 하지 않는다 (기존처럼 종료 시 데이터 소멸).
+ * - 저장소마다 {dir}/{name}.json 한 파일. 임시 파일에 쓴 뒤 rename → 쓰다 죽어도 이전 스냅샷은 온전하다.
+ * - 엔티티 필드를 그대로 직렬화 (API 응답용 ObjectMapper 설정과 무관)
+ */
+@Slf4j
+@Component
+@Profile("mock")
+public class MockSnapshotStore {
+
+    private final Path dir;
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    public MockSnapshotStore(@Value("${app.mock.snapshot.dir:}") String dir) {
+        this.dir = dir == null || dir.isBlank() ? null : Path.of(dir);
+    }
+
+    public boolean enabled() {
+        return dir != null;
+    }
+
+    /** @return 저장된 행 목록, 파일이 없거나 비활성이면 빈 목록 */
+    public <T> List<T> read(String name, Class<T> type) {
+        if (dir == null) return List.of();
+        Path file = dir.resolve(name + ".json");
+        if (!Files.exists(file)) return List.of();
+        try {
+            List<T> rows = mapper.readValue(file.toFile(),
+                    mapper.getTypeFactory().constructCollectionType(List.class, type));
+            log.info("mock 스냅샷 로드: {} ({}건)", file, rows.size());
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException("mock 스냅샷을 읽을 수 없습니다: " + file, e);
+        }
+    }
+
+    /** 행 목록을 통째로 기록 (원자적 교체) */
+    public void write(String name, Collection<?> rows) {
+        if (dir == null) return;
+        Path file = dir.resolve(name + ".json");
+        try {
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, name, ".tmp");
+            mapper.writeValue(tmp.toFile(), rows);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("mock 스냅샷 저장 실패: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package net.datasa.project01.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authorization: Bearer <token> 헤더를 검증해 SecurityContext를 채우는 필터
+ * - 서명/만료 검증과 폐기 목록 확인 모두 메모리에서 끝난다(DB, 세션 저장소 조회 없음).
+ * - 토큰이 없거나 유효하지 않으면 인증 없이 다음 필터로 넘긴다 → 보호 경로라면 SecurityConfig의
+ *   authenticationEntryPoint가 401을 반환한다.
+ * - 서블릿 필터로 중복 등록되지 않도록 @Component 대신 SecurityConfig에서 직접 생성한다.
+ * - SSE 구독(GET, Accept: text/event-stream)과 WebSocket 업그레이드(GET, Upgrade: websocket)는
+ *   브라우저 EventSource/WebSocket 이 헤더를 못 붙이므로 access_token 쿼리 파라미터도 받는다
+ *   (다른 요청에서는 무시 → 토큰이 URL 로그에 남는 범위를 최소화).
+ */
+@RequiredArgsConstructor
+public class AccessTokenFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+    private static final String QUERY_TOKEN = "access_token";
+
+    private final AccessTokenService accessTokenService;
+    private final TokenRevocationList revocationList;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token = resolveToken(request);
+        if (token != null) {
+            accessTokenService.verify(token)
+                    .filter(u -> !revocationList.isRevoked(u.getTokenId()))
+                    .ifPresent(u -> {
+                        var auth = new UsernamePasswordAuthenticationToken(
+                                u, null, List.of(new SimpleGrantedAuthority(u.getRoleName())));
+                        SecurityContextHolder.getContext().setAuthentication(auth);
+                    });
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER)) {
+            return header.substring(BEARER.length()).trim();
+        }
+        if (isEventStream(request) || isWebSocketUpgrade(request)) {
+            String token = request.getParameter(QUERY_TOKEN);
+            if (token != null && !token.isBlank()) return token.trim();
+        }
+        return null;
+    }
+
+    private static boolean isEventStream(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return "GET".equals(request.getMethod()) && accept != null
+                && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private static boolean isWebSocketUpgrade(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && "websocket".equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE));
+    }
+}
@@ -0,0 +1,127 @@
+package net.datasa.project01.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * 서명된 무상태(stateless) 액세스 토큰 발급/검증
+ *
+ * 토큰 형식: base64url(payload) + "." + base64url(HMAC-SHA256(payload))
+ * - payload = "v1|userPid|roleName|iat|exp|jti" (epoch 초)
+ * - JSON 파싱 없이 split만으로 복원 → 요청당 검증 비용은 HMAC 1회 + 문자열 분해 수준(수 마이크로초)
+ * - 서명 비교는 MessageDigest.isEqual로 상수 시간 비교
+ *
+ * 비밀키:
+ * - app.auth.token.secret (32바이트 이상 권장)
+ * - 비어 있으면 기동 시 임의 키를 생성 → 재시작하면 기존 토큰은 모두 무효가 된다(개발용)
+ */
+@Slf4j
+@Component
+public class AccessTokenService {
+
+    private static final String VERSION = "v1";
+    private static final String HMAC_ALG = "HmacSHA256";
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+    private static final SecureRandom RND = new SecureRandom();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+
+    /** Mac 인스턴스는 스레드 안전하지 않고 생성 비용이 있으므로 스레드별로 재사용 */
+    private final ThreadLocal<Mac> macs;
+
+    public AccessTokenService(@Value("${app.auth.token.secret:}") String secret,
+                              @Value("${app.auth.token.ttl-seconds:3600}") long ttlSeconds) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            RND.nextBytes(keyBytes);
+            log.warn("app.auth.token.secret 이 설정되지 않아 임의 키를 사용합니다. 재시작 시 기존 토큰은 모두 무효가 됩니다.");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length < 32) {
+                throw new IllegalStateException("app.auth.token.secret 은 32바이트 이상이어야 합니다.");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, HMAC_ALG);
+        this.ttlSeconds = ttlSeconds;
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALG);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC 초기화 실패", e);
+            }
+        });
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * 토큰 발급
+     * @param userPid  사용자 PK
+     * @param roleName 권한명 (ROLE_USER 등)
+     * @return 서명된 토큰 문자열
+     */
+    public String issue(Long userPid, String roleName) {
+        long iat = Instant.now().getEpochSecond();
+        long exp = iat + ttlSeconds;
+        byte[] jti = new byte[12];
+        RND.nextBytes(jti);
+
+        String payload = VERSION + "|" + userPid + "|" + roleName + "|" + iat + "|" + exp + "|" + B64.encodeToString(jti);
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return B64.encodeToString(payloadBytes) + "." + B64.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * 토큰 검증 (서명 + 만료)
+     * - 형식 오류/서명 불일치/만료 시 Optional.empty()
+     * - 폐기 여부는 호출 측(AccessTokenFilter)에서 TokenRevocationList로 확인한다.
+     */
+    public Optional<AuthUser> verify(String token) {
+        if (token == null) return Optional.empty();
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) return Optional.empty();
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = B64D.decode(token.substring(0, dot));
+            signature = B64D.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) return Optional.empty();
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|");
+        if (parts.length != 6 || !VERSION.equals(parts[0])) return Optional.empty();
+        try {
+            long exp = Long.parseLong(parts[4]);
+            if (exp <= Instant.now().getEpochSecond()) return Optional.empty();
+            return Optional.of(new AuthUser(Long.valueOf(parts[1]), parts[2], parts[5], Long.parseLong(parts[3]), exp));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        return mac.doFinal(payload); // doFinal 후 Mac은 자동으로 초기 상태로 리셋됨
+    }
+}
@@ -0,0 +1,19 @@
+package net.datasa.project01.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 액세스 토큰에서 복원한 인증 사용자 정보 (SecurityContext의 principal)
+ * - 토큰 클레임만으로 만들어지므로 요청마다 DB/세션 조회가 필요 없다.
+ * - 컨트롤러에서는 @AuthenticationPrincipal AuthUser me 로 받는다.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthUser {
+    private final Long userPid;         // users.user_pid
+    private final String roleName;      // 예: ROLE_USER, ROLE_ADMIN
+    private final String tokenId;       // 토큰 고유 ID(jti) — 로그아웃 시 폐기 목록에 등록
+    private final long issuedAtEpochSec;  // 토큰 발급 시각(epoch 초)
+    private final long expiresAtEpochSec; // 토큰 만료 시각(epoch 초)
+}
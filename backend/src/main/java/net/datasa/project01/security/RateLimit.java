@@ -0,0 +1,34 @@
+package net.datasa.project01.security;
+
+/**
+ * 토큰 버킷 한도: period 초 동안 capacity 회 (버킷은 capacity/period 속도로 다시 찬다)
+ * - 설정 형식 "capacity/seconds" (예: 30/60), 비우거나 0 이면 해당 한도를 쓰지 않음
+ */
+public record RateLimit(int capacity, long periodSeconds) {
+
+    public RateLimit {
+        if (capacity <= 0 || periodSeconds <= 0) {
+            throw new IllegalArgumentException("rate limit 은 capacity/seconds 형식의 양수여야 합니다.");
+        }
+    }
+
+    /** @return 한도, 비활성이면 null */
+    public static RateLimit parse(String spec) {
+        if (spec == null || spec.isBlank() || spec.trim().equals("0")) return null;
+        String[] parts = spec.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("rate limit 형식이 올바르지 않습니다(capacity/seconds): " + spec);
+        }
+        return new RateLimit(Integer.parseInt(parts[0].trim()), Long.parseLong(parts[1].trim()));
+    }
+
+    /** 나노초당 채워지는 토큰 수 */
+    double refillPerNano() {
+        return capacity / (periodSeconds * 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return capacity + "/" + periodSeconds + "s";
+    }
+}
@@ -0,0 +1,251 @@
+package net.datasa.project01.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 엔드포인트별 요청 수 제한 필터 (429 Too Many Requests)
+ * - 규칙마다 클라이언트 IP 한도와 본문 필드(email, login_id) 한도를 둘 수 있다.
+ * - 판단은 TokenBucketLimiter(메모리)만 보므로 거절되는 요청은 DB까지 가지 않는다.
+ * - 본문 필드를 보려면 본문을 먼저 읽어야 하므로, 읽은 바이트를 다시 읽을 수 있게 감싸 컨트롤러로 넘긴다.
+ * - Spring Security 뒤(컨트롤러 앞)에 등록 → CORS 헤더가 붙은 상태로 429 를 돌려준다.
+ *
+ * 응답 헤더: X-RateLimit-Limit, X-RateLimit-Remaining, (거절 시) Retry-After
+ * 메트릭: ratelimit.rejected{rule=..., key=ip|email|login_id}
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /** 본문 필드 키를 보기 위해 읽어 둘 최대 크기 (이보다 크면 IP 한도만 적용) */
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    /**
+     * 제한 규칙
+     * @param name      규칙 이름 (메트릭/버킷 키 접두사)
+     * @param method    HTTP 메서드
+     * @param path      요청 경로 (정확히 일치)
+     * @param perIp     IP당 한도 (null 이면 미사용)
+     * @param bodyField 본문 JSON 필드 이름 (null 이면 미사용)
+     * @param perField  필드 값당 한도 (null 이면 미사용)
+     */
+    public record Rule(String name, String method, String path,
+                       RateLimit perIp, String bodyField, RateLimit perField) {
+    }
+
+    private final TokenBucketLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final List<Rule> rules;
+    private final boolean trustForwardedFor;
+    /** 규칙 → 거절 카운터 (IP 한도 / 본문 필드 한도) */
+    private final Map<Rule, Counter> ipRejected = new HashMap<>();
+    private final Map<Rule, Counter> fieldRejected = new HashMap<>();
+
+    public RateLimitFilter(TokenBucketLimiter limiter, ObjectMapper objectMapper, List<Rule> rules,
+                           boolean trustForwardedFor, MeterRegistry registry) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.rules = rules;
+        this.trustForwardedFor = trustForwardedFor;
+        for (Rule r : rules) {
+            if (r.perIp() != null) ipRejected.put(r, rejectedCounter(registry, r, "ip"));
+            if (r.bodyField() != null && r.perField() != null) {
+                fieldRejected.put(r, rejectedCounter(registry, r, r.bodyField()));
+            }
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, Rule rule, String key) {
+        return Counter.builder("ratelimit.rejected").tag("rule", rule.name()).tag("key", key).register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return findRule(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Rule rule = findRule(request);
+
+        // (1) IP 한도 — 본문을 읽기 전에 먼저 판단
+        if (rule.perIp() != null) {
+            var d = limiter.tryAcquire(rule.name() + ".ip:" + clientIp(request), rule.perIp());
+            if (!d.allowed()) {
+                reject(response, ipRejected.get(rule), d);
+                return;
+            }
+            setHeaders(response, d);
+        }
+
+        // (2) 본문 필드 한도 (이메일/로그인 아이디)
+        HttpServletRequest forward = request;
+        if (rule.bodyField() != null && rule.perField() != null) {
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request, MAX_BODY_BYTES);
+            forward = cached;
+            if (cached.complete) {
+                String value = readField(cached.body, rule.bodyField());
+                if (value != null) {
+                    var d = limiter.tryAcquire(rule.name() + "." + rule.bodyField() + ":" + value, rule.perField());
+                    if (!d.allowed()) {
+                        reject(response, fieldRejected.get(rule), d);
+                        return;
+                    }
+                    setHeaders(response, d);
+                }
+            }
+        }
+        chain.doFilter(forward, response);
+    }
+
+    private Rule findRule(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Rule r : rules) {
+            if (r.method().equalsIgnoreCase(request.getMethod()) && r.path().equals(path)) return r;
+        }
+        return null;
+    }
+
+    private String readField(byte[] body, String field) {
+        try {
+            JsonNode node = objectMapper.readTree(body).path(field);
+            if (!node.isTextual() || node.asText().isBlank()) return null;
+            return node.asText().trim().toLowerCase(Locale.ROOT);
+        } catch (IOException e) {
+            return null; // 형식 오류는 컨트롤러가 400 으로 처리
+        }
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String xff = request.getHeader("X-Forwarded-For");
+            if (xff != null && !xff.isBlank()) {
+                int comma = xff.indexOf(',');
+                return (comma < 0 ? xff : xff.substring(0, comma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static void setHeaders(HttpServletResponse response, TokenBucketLimiter.Decision d) {
+        // 여러 한도 중 마지막(가장 구체적인) 한도 기준으로 덮어쓴다
+        response.setHeader("X-RateLimit-Limit", String.valueOf(d.limit()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(d.remaining()));
+    }
+
+    /** GlobalExceptionHandler와 같은 {"message": ...} 형태로 응답 */
+    private static void reject(HttpServletResponse response, Counter rejected, TokenBucketLimiter.Decision d)
+            throws IOException {
+        rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(d.retryAfterSeconds()));
+        response.setHeader("X-RateLimit-Limit", String.valueOf(d.limit()));
+        response.setHeader("X-RateLimit-Remaining", "0");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"message\":\"요청이 너무 많습니다. " + d.retryAfterSeconds()
+                + "초 후에 다시 시도해주세요.\"}");
+    }
+
+    /**
+     * 미리 읽어 둔 본문을 컨트롤러가 다시 읽을 수 있게 하는 래퍼
+     * - maxBytes 를 넘는 본문은 앞부분과 남은 스트림을 이어 붙여 그대로 넘긴다 (complete=false).
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+        private final InputStream rest;
+        private final boolean complete;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body, InputStream rest, boolean complete) {
+            super(request);
+            this.body = body;
+            this.rest = rest;
+            this.complete = complete;
+        }
+
+        static CachedBodyRequest wrap(HttpServletRequest request, int maxBytes) throws IOException {
+            InputStream original = request.getInputStream();
+            if (request.getContentLengthLong() > maxBytes) {
+                return new CachedBodyRequest(request, new byte[0], original, false);
+            }
+            byte[] body = original.readNBytes(maxBytes + 1);
+            boolean complete = body.length <= maxBytes;
+            return new CachedBodyRequest(request, body, complete ? InputStream.nullInputStream() : original, complete);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream in = new SequenceInputStream(new ByteArrayInputStream(body), rest);
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /** 본문은 이미 읽어 두었으므로 바로 읽을 수 있다고 알리고 이어서 끝을 알린다 */
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    if (b < 0) finished = true;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = in.read(b, off, len);
+                    if (n < 0) finished = true;
+                    return n;
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String enc = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    enc != null ? Charset.forName(enc) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package net.datasa.project01.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 키(IP, 이메일, 로그인 아이디 등)별 토큰 버킷
+ * - 메모리에서만 판단 → 거절에 DB 조회가 필요 없다.
+ * - 키 해시로 64개 구역(stripe)에 나누고 구역마다 락 하나 → 서로 다른 키끼리는 거의 경합하지 않는다.
+ * - 한도 기간 이상 쓰이지 않은 버킷(이미 가득 찼을 버킷)은 주기적으로 제거 → 메모리 상한
+ */
+@Component
+public class TokenBucketLimiter {
+
+    private static final int STRIPES = 64;
+
+    /** 판정 결과 */
+    public record Decision(boolean allowed, int limit, int remaining, long retryAfterSeconds) {
+    }
+
+    private static final class Bucket {
+        private final RateLimit limit;
+        private double tokens;
+        private long updatedAt;
+
+        private Bucket(RateLimit limit, long now) {
+            this.limit = limit;
+            this.tokens = limit.capacity();
+            this.updatedAt = now;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(limit.capacity(), tokens + (now - updatedAt) * limit.refillPerNano());
+            updatedAt = now;
+        }
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets = new HashMap<>();
+    }
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger size = new AtomicInteger();
+
+    public TokenBucketLimiter(MeterRegistry registry) {
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new Stripe();
+        Gauge.builder("ratelimit.buckets", size, AtomicInteger::get)
+                .description("메모리에 있는 rate limit 버킷 수").register(registry);
+    }
+
+    /**
+     * 토큰 1개 사용 시도
+     * @param key   버킷 키 (규칙 이름 + 대상 값, 예: "login.ip:1.2.3.4")
+     * @param limit 한도 (같은 키에는 항상 같은 한도를 넘긴다)
+     */
+    public Decision tryAcquire(String key, RateLimit limit) {
+        long now = System.nanoTime();
+        Stripe stripe = stripeFor(key);
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(limit, now);
+                stripe.buckets.put(key, bucket);
+                size.incrementAndGet();
+            } else {
+                bucket.refill(now);
+            }
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return new Decision(true, limit.capacity(), (int) bucket.tokens, 0);
+            }
+            // 토큰 1개가 찰 때까지 남은 시간 (올림)
+            double waitNanos = (1.0 - bucket.tokens) / limit.refillPerNano();
+            long retryAfter = Math.max(1, (long) Math.ceil(waitNanos / 1_000_000_000.0));
+            return new Decision(false, limit.capacity(), 0, retryAfter);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /** 한도 기간 이상 쓰이지 않은 버킷 제거 (그동안 가득 찼으므로 지워도 동작이 같다) */
+    @Scheduled(fixedDelayString = "${app.ratelimit.evict-interval-ms:60000}")
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int removed = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (Iterator<Bucket> it = stripe.buckets.values().iterator(); it.hasNext(); ) {
+                    Bucket b = it.next();
+                    if (now - b.updatedAt >= b.limit.periodSeconds() * 1_000_000_000L) {
+                        it.remove();
+                        removed++;
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        size.addAndGet(-removed);
+        return removed;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
+}
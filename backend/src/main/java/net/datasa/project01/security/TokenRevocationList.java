@@ -0,0 +1,36 @@
+package net.datasa.project01.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 액세스 토큰 폐기 목록 (인메모리)
+ * - 로그아웃한 토큰의 jti를 "원래 만료 시각까지만" 보관한다 → 만료된 항목은 주기적으로 제거되어 크기가 작게 유지된다.
+ */
+@Component
+public class TokenRevocationList {
+
+    /** jti -> 토큰 만료 시각(epoch 초) */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** 토큰 한 건 폐기 (로그아웃) */
+    public void revoke(String tokenId, long expiresAtEpochSec) {
+        revokedTokens.put(tokenId, expiresAtEpochSec);
+    }
+
+    /** 폐기 여부 확인 (요청마다 호출되므로 해시 조회 한 번으로 끝낸다) */
+    public boolean isRevoked(String tokenId) {
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    /** 만료가 지난 폐기 항목 정리 */
+    @Scheduled(fixedDelayString = "${app.auth.token.revocation-purge-ms:60000}")
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        revokedTokens.values().removeIf(exp -> exp <= now);
+    }
+}
@@ -0,0 +1,66 @@
+package net.datasa.project01.security;
+
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.vo.VerificationPurpose;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * 이메일 인증번호 해시
+ *
+ * - DB에는 인증번호 원문 대신 HMAC-SHA256(pepper, email|purpose|code) 만 저장한다.
+ *   6자리 숫자는 10^6 가지뿐이라 단순 해시는 유출 시 바로 역산되므로, DB 밖에 있는 pepper로 서명한다.
+ * - email/purpose 를 함께 넣으므로 같은 숫자라도 주인이 다르면 해시가 다르다
+ *   → 인증번호는 (email, purpose) 안에서만 구분되면 되고, 전역 UNIQUE 가 필요 없다.
+ *
+ * pepper:
+ * - app.mail.token.pepper (32바이트 이상 권장)
+ * - 비어 있으면 기동 시 임의 값을 생성 → 재시작하면 발급된 인증번호는 모두 무효가 된다(개발용)
+ */
+@Slf4j
+@Component
+public class VerificationCodeHasher {
+
+    private static final String HMAC_ALG = "HmacSHA256";
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+
+    /** Mac 인스턴스는 스레드 안전하지 않으므로 스레드별로 재사용 */
+    private final ThreadLocal<Mac> macs;
+
+    public VerificationCodeHasher(@Value("${app.mail.token.pepper:}") String pepper) {
+        byte[] keyBytes;
+        if (pepper == null || pepper.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("app.mail.token.pepper 가 설정되지 않아 임의 값을 사용합니다. 재시작 시 발급된 인증번호는 모두 무효가 됩니다.");
+        } else {
+            keyBytes = pepper.getBytes(StandardCharsets.UTF_8);
+        }
+        SecretKeySpec key = new SecretKeySpec(keyBytes, HMAC_ALG);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALG);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC 초기화 실패", e);
+            }
+        });
+    }
+
+    /**
+     * @return base64url(HMAC-SHA256) 43자
+     */
+    public String hash(String email, VerificationPurpose purpose, String code) {
+        String input = email.toLowerCase(Locale.ROOT) + "|" + purpose.name() + "|" + code;
+        return B64.encodeToString(macs.get().doFinal(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
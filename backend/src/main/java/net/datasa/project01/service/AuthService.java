@@ -13,6 +13,7 @@ public interface AuthService {
      * @param rawPassword 평문 비밀번호
      * @return 로그인 성공한 User의 안전한 요약
      * @throws IllegalArgumentException 인증 실패/잠금/비활성 등
+     * @throws net.datasa.project01.exception.ServiceBusyException 비밀번호 검증 풀이 포화된 경우(503)
      */
     UserSummary loginLocal(String loginId, String rawPassword);
 }
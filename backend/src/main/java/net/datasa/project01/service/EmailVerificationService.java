@@ -4,7 +4,8 @@ import lombok.RequiredArgsConstructor; // final 필드 생성자 자동 생성 
 import net.datasa.project01.domain.entity.EmailVerification; // 이메일 인증 엔티티 import
 import net.datasa.project01.domain.vo.VerificationPurpose; // 인증 목적 enum import
 import net.datasa.project01.repository.EmailVerificationRepository; // 이메일 인증 저장소 인터페이스 import
-import net.datasa.project01.service.email.EmailSender; // 이메일 발송기 인터페이스 import
+import net.datasa.project01.security.VerificationCodeHasher; // 인증번호 해시
+import net.datasa.project01.service.email.EmailOutboxService; // 메일 발송 예약(아웃박스) import
 import org.springframework.beans.factory.annotation.Value; // application.properties 값 주입 어노테이션
 import org.springframework.core.env.Environment; // 현재 활성화된 프로필 확인용 환경 객체
 import org.springframework.scheduling.annotation.Scheduled; // 스케줄러 어노테이션
@@ -19,20 +20,22 @@ import java.util.Optional; // 값이 있을 수도, 없을 수도 있는 컨테
 
 /**
  * 이메일 인증 서비스
- * - requestVerifyEmail(email): 토큰 발급(쿨다운 적용) + 메일 발송
+ * - requestVerifyEmail(email): 토큰 발급(쿨다운 적용) + 메일 발송 예약
  * - confirmVerifyEmail(email, token): 토큰 검증(만료/미사용 확인)
- * - purgeExpired(): 만료 토큰 정리(스케줄러)
+ * - purgeExpired(): 만료 토큰 정리(스케줄러, 몇 초마다 작은 청크로 나눠 삭제)
  *
  * mock/db 프로필 모두 같은 코드로 동작:
  * - 저장/조회는 EmailVerificationRepository가 프로필에 따라 mock/db 구현으로 교체
- * - 발송은 EmailSender가 mock(로그)/db(실메일)로 교체
+ * - 발송은 email_outbox 에 예약 → 커밋 후 EmailOutboxWorker가 EmailSender(mock: 로그 / db: 실메일)로 발송
+ *   (SMTP 지연 동안 DB 커넥션과 요청 스레드를 잡고 있지 않음)
  */
 @Service // 스프링 서비스 빈으로 등록
 @RequiredArgsConstructor // final 필드 생성자 자동 생성
 public class EmailVerificationService {
 
     private final EmailVerificationRepository evRepository; // 이메일 인증 저장소
-    private final EmailSender emailSender; // 이메일 발송기
+    private final EmailOutboxService emailOutbox; // 메일 발송 예약
+    private final VerificationCodeHasher codeHasher; // 인증번호 해시 (원문은 저장하지 않음)
     private final Environment env; // 환경 정보(프로필 등)
 
     /** 숫자 토큰 길이(기본 6자리), 유효시간(초), 재요청 쿨다운(초) */
@@ -40,6 +43,10 @@ public class EmailVerificationService {
     @Value("${app.mail.token.exp-seconds:600}")       private long expSeconds; // 토큰 유효시간(초)
     @Value("${app.mail.token.cooldown-seconds:60}")   private long cooldownSeconds; // 재요청 쿨다운(초)
 
+    /** 만료 토큰 정리: 한 번에 지울 건수, 한 번 실행에 쓸 수 있는 시간(ms) */
+    @Value("${app.mail.token.sweep-chunk-size:500}")  private int sweepChunkSize; // 청크 크기
+    @Value("${app.mail.token.sweep-budget-ms:200}")   private long sweepBudgetMs; // 시간 예산
+
     private static final SecureRandom RND = new SecureRandom(); // 보안용 랜덤 숫자 생성기
 
     /** 0으로 시작해도 허용하는 숫자 토큰 생성기 (예: 003241) */
@@ -51,7 +58,7 @@ public class EmailVerificationService {
     /**
      * (1) 이메일 본인인증 토큰 발급
      *  - 최근 '미사용/미만료' 토큰이 있으면 쿨다운 시간 내 재발급 차단
-     *  - 새 토큰 저장 후 메일 발송
+     *  - 새 토큰 저장 + 메일 발송 예약 (같은 트랜잭션, 실제 발송은 커밋 후 워커가 처리)
      *  - mock 프로필이면 dev_token을 응답에 포함(Postman 편의)
      */
     @Transactional // DB 트랜잭션 처리
@@ -74,25 +81,28 @@ public class EmailVerificationService {
                     }
                 });
 
-        // 3) 토큰 생성 & 저장
+        // 2) 이전 인증번호 만료 → (email, purpose) 마다 유효한 인증번호는 하나뿐
+        evRepository.expireActive(email, VerificationPurpose.VERIFY_EMAIL, now);
+
+        // 3) 토큰 생성 & 해시만 저장
         String token = generateNumericToken(tokenLength); // 숫자 토큰 생성
         EmailVerification ev = EmailVerification.builder()
                 .email(email)
-                .token(token)
+                .tokenHash(codeHasher.hash(email, VerificationPurpose.VERIFY_EMAIL, token))
                 .purpose(VerificationPurpose.VERIFY_EMAIL)
                 .expiresAt(now.plusSeconds(expSeconds))
                 .usedAt(null)
                 .build();
         evRepository.save(ev); // 저장소에 저장
 
-        // 4) 메일(또는 로그) 발송
+        // 4) 메일 발송 예약 (커밋 후 워커가 발송, 롤백되면 발송되지 않음)
         String subject = "[Matcha-Talk] 이메일 인증번호"; // 메일 제목
         String html = """
             <h3>이메일 인증번호</h3>
             <p>인증번호: <b style="font-size:20px">%s</b></p>
             <p>유효시간: %d초</p>
             """.formatted(token, expSeconds); // 메일 본문(HTML)
-        emailSender.send(email, subject, html); // 메일 발송(혹은 로그 출력)
+        emailOutbox.enqueue(email, subject, html); // email_outbox 에 저장
 
         // 5) mock이면 dev_token을 응답에 포함
         boolean isMock = env.matchesProfiles("mock"); // mock 프로필 여부 확인
@@ -103,7 +113,7 @@ public class EmailVerificationService {
 
     /**
      * (2) 이메일 본인인증 토큰 확인
-     *  - 토큰/이메일/목적 일치 조회
+     *  - 이메일/목적/인증번호 해시 일치 조회
      *  - 이미 사용되었거나 만료된 토큰은 거부
      *  - 토큰 used_at 세팅해 재사용 차단
      */
@@ -111,7 +121,7 @@ public class EmailVerificationService {
     public Map<String, Object> confirmVerifyEmail(String email, String token) {
         LocalDateTime now = LocalDateTime.now();
 
-        EmailVerification ev = evRepository.findByTokenAndEmail(token, email, VerificationPurpose.VERIFY_EMAIL)
+        EmailVerification ev = findByToken(email, token)
                 .orElseThrow(() -> new IllegalArgumentException("인증번호가 올바르지 않습니다."));
 
         if (ev.getUsedAt() != null) {
@@ -127,10 +137,16 @@ public class EmailVerificationService {
         return Map.of("verified", true, "email", email);
     }
 
+    /** 이메일 인증번호 조회 (해시로 비교) */
+    private Optional<EmailVerification> findByToken(String email, String token) {
+        String tokenHash = codeHasher.hash(email, VerificationPurpose.VERIFY_EMAIL, token);
+        return evRepository.findByTokenHash(email, VerificationPurpose.VERIFY_EMAIL, tokenHash);
+    }
+
     /** 회원가입 시 이메일/토큰 조합 확인 */
     public void verifyTokenForEmail(String email, String token) {
         LocalDateTime now = LocalDateTime.now();
-        EmailVerification ev = evRepository.findByTokenAndEmail(token, email, VerificationPurpose.VERIFY_EMAIL)
+        EmailVerification ev = findByToken(email, token)
                 .orElseThrow(() -> new IllegalArgumentException("인증번호가 올바르지 않습니다."));
         if (ev.getUsedAt() == null) {
             throw new IllegalArgumentException("이메일 인증이 완료되지 않았습니다.");
@@ -140,9 +156,22 @@ public class EmailVerificationService {
         }
     }
 
-    /** (3) 만료 토큰 정리: 매일 새벽 3시 */
-    @Scheduled(cron = "0 0 3 * * ?") // 매일 3시 실행
-    public void purgeExpired() {
-        evRepository.deleteExpired(LocalDateTime.now()); // 만료된 토큰 일괄 삭제
+    /**
+     * (3) 만료 토큰 정리: sweep-interval-ms 마다 실행
+     *  - 하루치를 한 번에 지우면 큰 테이블에 긴 잠금이 걸리므로, sweep-chunk-size 건씩 나눠 지운다.
+     *  - 남은 게 있어도 sweep-budget-ms 를 넘기면 멈추고 다음 실행에 이어서 지운다.
+     * @return 이번 실행에서 삭제한 건수
+     */
+    @Scheduled(fixedDelayString = "${app.mail.token.sweep-interval-ms:5000}") // 몇 초마다 실행
+    public long purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        long deadline = System.nanoTime() + sweepBudgetMs * 1_000_000;
+        long total = 0;
+        int deleted;
+        do {
+            deleted = evRepository.deleteExpired(now, sweepChunkSize); // 만료된 토큰 청크 삭제
+            total += deleted;
+        } while (deleted == sweepChunkSize && System.nanoTime() < deadline); // 더 남았고 시간이 남았으면 계속
+        return total;
     }
 }
\ No newline at end of file
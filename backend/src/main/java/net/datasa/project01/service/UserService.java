@@ -6,7 +6,8 @@ import net.datasa.project01.domain.entity.User;               // 회원 엔티
 import net.datasa.project01.repository.UserRepository;        // 회원 저장소(인터페이스)
 import lombok.RequiredArgsConstructor;
 import net.datasa.project01.service.EmailVerificationService; // 이메일 인증 서비스
-import org.springframework.security.crypto.password.PasswordEncoder; // 비밀번호 해시 인코더
+import net.datasa.project01.service.auth.PasswordHashExecutor; // 비밀번호 해시 전용 풀
+import net.datasa.project01.service.user.LoginIdBloomFilter; // 아이디 중복 확인 Bloom filter
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,12 +24,15 @@ public class UserService {
     private final UserRepository userRepository;
 
 
-    // 비밀번호 해시 인코더 (BCrypt 등)
-    private final PasswordEncoder passwordEncoder;
+    // 비밀번호 해시 전용 풀 (BCrypt 연산을 요청 스레드 밖에서 수행)
+    private final PasswordHashExecutor passwordHashExecutor;
 
     // 이메일 인증 서비스
     private final EmailVerificationService emailVerificationService;
 
+    // 아이디 중복 확인 빠른 경로 (확실히 없는 아이디는 DB 조회 생략)
+    private final LoginIdBloomFilter loginIdBloomFilter;
+
     /**
      * 회원가입 처리 메서드
      * 1. 아이디/이메일 중복 체크
@@ -58,7 +62,7 @@ public class UserService {
         // (3) 회원 엔티티 생성 (비밀번호 해시 포함)
         User user = User.builder()
                 .loginId(req.getLoginId())                      // 로그인 아이디
-                .passwordHash(passwordEncoder.encode(req.getPassword())) // 비밀번호 해시
+                .passwordHash(passwordHashExecutor.encode(req.getPassword())) // 비밀번호 해시
                 .nickName(req.getNickName())                    // 닉네임
                 .email(req.getEmail())                          // 이메일
                 .countryCode(req.getCountryCode())              // 국적 코드
@@ -73,6 +77,7 @@ public class UserService {
 
         // (4) 회원 정보 저장 (mock: 메모리, db: JPA)
         userRepository.save(user);
+        loginIdBloomFilter.put(user.getLoginId()); // 커밋된 뒤에 필터에 들어감 (롤백되면 넣지 않음)
 
         // (5) 응답 DTO로 변환 (민감 정보 제외)
         return UserResponse.builder()
@@ -88,9 +93,18 @@ public class UserService {
                 .build();
     }
 
-    /** 로그인 아이디 존재 여부 반환 */
+    /**
+     * 로그인 아이디 존재 여부 반환
+     * - Bloom filter가 "확실히 없음"이면 DB 조회 없이 false
+     * - "있을 수도 있음"일 때만 DB로 확인
+     */
     public boolean existsByLoginId(String loginId) {
-        return userRepository.existsByLoginId(loginId);
+        if (!loginIdBloomFilter.mightContain(loginId)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByLoginId(loginId);
+        loginIdBloomFilter.recordProbableHitResult(exists);
+        return exists;
     }
     /**
      * 회원 단건 조회 메서드
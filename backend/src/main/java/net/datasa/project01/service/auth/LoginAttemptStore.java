@@ -0,0 +1,259 @@
+package net.datasa.project01.service.auth;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.domain.vo.LoginLockState;
+import net.datasa.project01.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 로그인 실패 횟수/잠금 상태 인메모리 저장소 (write-behind)
+ * - 실패할 때마다 users 행을 UPDATE 하지 않고, userPid 기준으로 메모리에서 카운트/잠금을 관리한다.
+ * - 같은 계정에 대한 동시 요청은 lock striping(userPid 해시 → 고정 개수의 락)으로 직렬화한다.
+ * - 변경분(dirty)만 모아 주기적으로 failed_login_count / locked_until 을 배치 UPDATE 한다.
+ * - 마지막 실패 후 window-minutes 가 지난 실패 기록은 잊는다(0 으로 반영 후 메모리에서 제거).
+ * - 메모리에 두는 계정 수는 max-entries 까지. 넘으면 새 계정은 메모리에 두지 않고 바로 DB 에 쓴다(write-through).
+ *   → 여러 아이디를 돌아가며 찔러 보는 공격에도 맵이 끝없이 커지지 않는다.
+ *
+ * 재시작 시 동작:
+ * - 메모리에 상태가 없으면, 로그인 시 이미 조회한 User 엔티티의 DB 값으로 초기화(추가 쿼리 없음)
+ * - 정상 종료 시 @PreDestroy에서 남은 변경분을 모두 반영한다.
+ * - 비정상 종료 시 최대 flush 주기만큼의 실패 기록만 유실될 수 있다.
+ */
+@Slf4j
+@Component
+public class LoginAttemptStore {
+
+    private static final int STRIPES = 64; // 2의 거듭제곱
+
+    private final UserRepository userRepository;
+    private final int lockThreshold;
+    private final long lockMinutes;
+    private final long windowMinutes;
+    private final int maxEntries;
+
+    /** userPid -> 실패/잠금 상태 */
+    private final Map<Long, Attempt> attempts = new ConcurrentHashMap<>();
+    /** attempts 에 넣기로 예약된 수 (max-entries 를 넘지 않게 넣기 전에 올린다) */
+    private final AtomicInteger tracked = new AtomicInteger();
+    /** userPid 해시로 선택되는 락 묶음 */
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public LoginAttemptStore(UserRepository userRepository,
+                             @Value("${app.auth.lock.threshold:5}") int lockThreshold,
+                             @Value("${app.auth.lock.minutes:10}") long lockMinutes,
+                             @Value("${app.auth.lock.window-minutes:10}") long windowMinutes,
+                             @Value("${app.auth.lock.max-entries:100000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.lockThreshold = lockThreshold;
+        this.lockMinutes = lockMinutes;
+        this.windowMinutes = windowMinutes;
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < STRIPES; i++) locks[i] = new ReentrantLock();
+    }
+
+    /** 계정별 상태 (락을 잡은 상태에서만 읽고 쓴다) */
+    private static final class Attempt {
+        int failedCount;
+        LocalDateTime lockedUntil;
+        LocalDateTime lastFailedAt; // 실패 기록을 잊을 시점 계산용 (메모리에만)
+        boolean dirty;              // DB 반영 필요 여부
+        boolean tracked;            // attempts 에 들어 있는지 (false 면 write-through)
+
+        Attempt(int failedCount, LocalDateTime lockedUntil, LocalDateTime lastFailedAt) {
+            this.failedCount = failedCount;
+            this.lockedUntil = lockedUntil;
+            this.lastFailedAt = lastFailedAt;
+        }
+
+        /** 마지막 실패 후 window 가 지났는지 */
+        boolean failuresExpired(LocalDateTime now, long windowMinutes) {
+            return failedCount > 0 && lastFailedAt != null && !lastFailedAt.plusMinutes(windowMinutes).isAfter(now);
+        }
+    }
+
+    public int getLockThreshold() { return lockThreshold; }
+
+    public long getLockMinutes() { return lockMinutes; }
+
+    /**
+     * 현재 잠금 해제 예정 시각을 반환 (잠겨 있지 않으면 null)
+     */
+    public LocalDateTime lockedUntil(User u, LocalDateTime now) {
+        ReentrantLock lock = lockFor(u.getUserPid());
+        lock.lock();
+        try {
+            Attempt a = attemptOf(u, now);
+            return (a.lockedUntil != null && a.lockedUntil.isAfter(now)) ? a.lockedUntil : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 비밀번호 불일치 1회 기록
+     * @return 이번 실패로 잠금이 걸렸으면 true
+     */
+    public boolean recordFailure(User u, LocalDateTime now) {
+        ReentrantLock lock = lockFor(u.getUserPid());
+        lock.lock();
+        try {
+            Attempt a = attemptOf(u, now);
+            if (a.failuresExpired(now, windowMinutes)) a.failedCount = 0; // 오래된 실패는 세지 않음
+            a.failedCount++;
+            a.lastFailedAt = now;
+            a.dirty = true;
+            boolean locked = false;
+            if (a.failedCount >= lockThreshold) {
+                a.lockedUntil = now.plusMinutes(lockMinutes); // 임계치 도달 → 잠금
+                a.failedCount = 0;                            // 잠글 때 카운터 초기화
+                locked = true;
+            }
+            writeThroughIfUntracked(u.getUserPid(), a);
+            return locked;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** 로그인 성공: 실패/잠금 흔적이 있으면 초기화 */
+    public void recordSuccess(User u) {
+        ReentrantLock lock = lockFor(u.getUserPid());
+        lock.lock();
+        try {
+            Attempt a = attemptOf(u, LocalDateTime.now());
+            if (a.failedCount != 0 || a.lockedUntil != null) {
+                a.failedCount = 0;
+                a.lockedUntil = null;
+                a.dirty = true;
+                writeThroughIfUntracked(u.getUserPid(), a);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 변경분을 모아 users 테이블에 일괄 반영
+     * - 반영에 실패하면 dirty 표시를 되돌려 다음 주기에 다시 시도한다.
+     * - 반영이 끝난 뒤, 잠금도 실패 기록도 없는 항목은 메모리에서 제거해 크기를 제한한다.
+     *   window 가 지난 실패 기록은 0 으로 바꿔 두고(다음 주기에 반영) 그 뒤에 제거한다.
+     */
+    @Scheduled(fixedDelayString = "${app.auth.lock.flush-interval-ms:2000}")
+    public void flush() {
+        List<LoginLockState> batch = new ArrayList<>();
+        for (Map.Entry<Long, Attempt> e : attempts.entrySet()) {
+            ReentrantLock lock = lockFor(e.getKey());
+            lock.lock();
+            try {
+                Attempt a = e.getValue();
+                if (a.dirty) {
+                    batch.add(new LoginLockState(e.getKey(), a.failedCount, a.lockedUntil));
+                    a.dirty = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                userRepository.updateLoginStates(batch);
+            } catch (RuntimeException ex) {
+                log.warn("로그인 실패 카운터 반영 실패({}건), 다음 주기에 재시도: {}", batch.size(), ex.getMessage());
+                for (LoginLockState s : batch) markDirty(s.getUserPid());
+                return;
+            }
+        }
+        evictIdle(LocalDateTime.now());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void markDirty(Long userPid) {
+        ReentrantLock lock = lockFor(userPid);
+        lock.lock();
+        try {
+            Attempt a = attempts.get(userPid);
+            if (a != null) a.dirty = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictIdle(LocalDateTime now) {
+        for (Long userPid : attempts.keySet()) {
+            ReentrantLock lock = lockFor(userPid);
+            lock.lock();
+            try {
+                Attempt a = attempts.get(userPid);
+                if (a == null) continue;
+                boolean lockActive = a.lockedUntil != null && a.lockedUntil.isAfter(now);
+                if (!lockActive && a.failuresExpired(now, windowMinutes)) {
+                    a.failedCount = 0; // 오래된 실패 → 0 으로 반영한 뒤 다음 주기에 제거
+                    a.dirty = true;
+                } else if (!a.dirty && a.failedCount == 0 && !lockActive) {
+                    attempts.remove(userPid); // DB와 동일한 상태 → 다음 로그인 때 엔티티 값으로 다시 초기화
+                    tracked.decrementAndGet();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** 현재 메모리에 둔 계정 수 */
+    public int size() {
+        return attempts.size();
+    }
+
+    /**
+     * 락을 잡은 상태에서 호출: 메모리에 없으면 엔티티(DB) 값으로 초기화
+     * - max-entries 에 닿았으면 맵에 넣지 않은 임시 상태를 돌려준다 (바뀌면 writeThroughIfUntracked 로 바로 반영)
+     * - DB 에 남아 있던 실패 횟수는 언제 실패했는지 모르므로 지금부터 window 를 센다
+     */
+    private Attempt attemptOf(User u, LocalDateTime now) {
+        Attempt a = attempts.get(u.getUserPid());
+        if (a != null) return a;
+        int failed = u.getFailedLoginCount();
+        a = new Attempt(failed, u.getLockedUntil(), failed > 0 ? now : null);
+        if (tracked.incrementAndGet() <= maxEntries) {
+            a.tracked = true;
+            attempts.put(u.getUserPid(), a);
+        } else {
+            tracked.decrementAndGet();
+        }
+        return a;
+    }
+
+    /** 맵에 없는(상한 초과) 계정의 변경은 모아 두지 못하므로 그 자리에서 한 건 반영 */
+    private void writeThroughIfUntracked(Long userPid, Attempt a) {
+        if (a.tracked) return;
+        try {
+            userRepository.updateLoginStates(List.of(new LoginLockState(userPid, a.failedCount, a.lockedUntil)));
+            a.dirty = false;
+        } catch (RuntimeException ex) {
+            log.warn("로그인 실패 카운터 즉시 반영 실패(userPid={}): {}", userPid, ex.getMessage());
+        }
+    }
+
+    private ReentrantLock lockFor(Long userPid) {
+        int h = Long.hashCode(userPid);
+        h ^= (h >>> 16);
+        return locks[h & (STRIPES - 1)];
+    }
+}
@@ -0,0 +1,135 @@
+package net.datasa.project01.service.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 해시/검증 전용 실행기
+ * - BCrypt는 의도적으로 CPU를 많이 쓰는 연산이라, 요청 스레드(Tomcat 워커)에서 바로 돌리면
+ *   로그인 폭주 시 워커가 모두 묶여 /api/users/ping 같은 가벼운 요청까지 밀린다.
+ * - 크기가 고정된 전용 풀 + 고정 길이 대기열에서만 해시를 수행해 CPU 사용량의 상한을 둔다.
+ * - 대기열이 가득 차거나 제한 시간 안에 끝나지 않으면 ServiceBusyException(503 + Retry-After)으로 즉시 거절한다.
+ *
+ * 메트릭(actuator /metrics):
+ * - auth.hash.queue.depth : 대기열 길이(게이지)
+ * - auth.hash.active      : 실행 중인 해시 작업 수(게이지)
+ * - auth.hash.wait        : 대기열에서 기다린 시간
+ * - auth.hash.time        : 실제 해시/검증에 걸린 시간
+ * - auth.hash.rejected    : 거절된 요청 수(reason=queue_full|timeout)
+ */
+@Slf4j
+@Component
+public class PasswordHashExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutMillis;
+    private final long retryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public PasswordHashExecutor(PasswordEncoder passwordEncoder,
+                                MeterRegistry registry,
+                                @Value("${app.auth.hash.pool-size:0}") int poolSize,
+                                @Value("${app.auth.hash.queue-capacity:64}") int queueCapacity,
+                                @Value("${app.auth.hash.timeout-ms:3000}") long timeoutMillis,
+                                @Value("${app.auth.hash.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        // 0 이하면 코어의 절반만 사용 → 나머지 코어는 일반 API 처리에 남겨둔다
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory tf = r -> {
+            Thread t = new Thread(r, "pw-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), tf, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.hash.queue.depth", pool, p -> p.getQueue().size())
+                .description("BCrypt 대기열 길이").register(registry);
+        Gauge.builder("auth.hash.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 BCrypt 작업 수").register(registry);
+        this.waitTimer = Timer.builder("auth.hash.wait").description("BCrypt 대기열 대기 시간").register(registry);
+        this.hashTimer = Timer.builder("auth.hash.time").description("BCrypt 연산 시간").register(registry);
+        this.rejectedQueueFull = Counter.builder("auth.hash.rejected").tag("reason", "queue_full").register(registry);
+        this.rejectedTimeout = Counter.builder("auth.hash.rejected").tag("reason", "timeout").register(registry);
+
+        log.info("PasswordHashExecutor started: threads={}, queueCapacity={}, timeoutMs={}",
+                threads, queueCapacity, timeoutMillis);
+    }
+
+    /** 평문 비밀번호와 저장된 해시가 일치하는지 검증 (전용 풀에서 실행) */
+    public boolean matches(String rawPassword, String passwordHash) {
+        return execute(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    /** 평문 비밀번호를 해시 (전용 풀에서 실행) */
+    public String encode(String rawPassword) {
+        return execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = pool.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 대기열 가득 참 → 큐에 쌓지 않고 바로 거절 (admission control)
+            rejectedQueueFull.increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true); // 아직 대기열에 있다면 실행되지 않도록 취소
+            rejectedTimeout.increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("비밀번호 해시 처리 실패", cause);
+        }
+    }
+
+    private ServiceBusyException busy() {
+        return new ServiceBusyException("요청이 많아 비밀번호 처리가 지연되고 있습니다. 잠시 후 다시 시도해주세요.",
+                retryAfterSeconds);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
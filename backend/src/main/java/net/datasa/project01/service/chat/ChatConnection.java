@@ -0,0 +1,99 @@
+package net.datasa.project01.service.chat;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 채팅 연결 하나 (사용자 한 명의 소켓 한 개)
+ * - 나가는 프레임은 크기가 정해진 큐에 넣고, 앞 전송이 끝나면 다음 것을 보낸다 (한 번에 하나, 블로킹 없음)
+ * - 큐가 가득 차면(받는 쪽이 느림) offer 가 false → ChatHub 가 이 연결을 끊는다.
+ *   방의 다른 사람 전송이나 보내는 쪽 스레드는 기다리지 않는다.
+ */
+public final class ChatConnection {
+
+    /** 큐에 들어간 프레임과 들어간 시각 (전달 지연 측정용) */
+    private record Pending(String frame, long enqueuedNanos) {
+    }
+
+    private final long userPid;
+    /** 연결할 때 쓴 토큰의 jti (로그아웃하면 이 토큰으로 연 연결을 닫는다) */
+    private final String tokenId;
+    private final ChatOutbound outbound;
+    private final ArrayBlockingQueue<Pending> queue;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final Set<Long> rooms = ConcurrentHashMap.newKeySet();
+    private final ChatHub hub;
+    private volatile boolean closed;
+
+    ChatConnection(long userPid, String tokenId, ChatOutbound outbound, int queueCapacity, ChatHub hub) {
+        this.userPid = userPid;
+        this.tokenId = tokenId;
+        this.outbound = outbound;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.hub = hub;
+    }
+
+    public long userPid() {
+        return userPid;
+    }
+
+    public String tokenId() {
+        return tokenId;
+    }
+
+    /** 구독 중인 방 (읽기 전용으로만 쓸 것) */
+    public Set<Long> rooms() {
+        return rooms;
+    }
+
+    public boolean isJoined(long roomId) {
+        return rooms.contains(roomId);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    /** @return 큐가 가득 찼거나 닫혀 있으면 false */
+    boolean offer(String frame) {
+        if (closed || !queue.offer(new Pending(frame, System.nanoTime()))) return false;
+        drain();
+        return true;
+    }
+
+    /** 연결 종료 — 남은 큐는 버린다 */
+    void close(int code, String reason) {
+        if (closed) return;
+        closed = true;
+        queue.clear();
+        outbound.close(code, reason);
+    }
+
+    private void drain() {
+        while (!closed && sending.compareAndSet(false, true)) {
+            Pending next = queue.poll();
+            if (next != null) {
+                outbound.send(next.frame(), error -> sent(next, error));
+                return;
+            }
+            sending.set(false);
+            if (queue.isEmpty()) return; // 놓아 준 사이 새로 들어왔으면 다시
+        }
+    }
+
+    private void sent(Pending pending, Throwable error) {
+        if (error != null) {
+            hub.failed(this, error);
+            return;
+        }
+        hub.delivered(System.nanoTime() - pending.enqueuedNanos());
+        sending.set(false);
+        drain();
+    }
+}
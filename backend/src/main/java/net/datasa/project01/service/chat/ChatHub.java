@@ -0,0 +1,167 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 채팅 연결/방 구독 관리와 방 단위 전송 (이 노드에 붙은 연결만)
+ * - 방 → 구독 연결 집합(ConcurrentHashMap 키 집합): 입장/퇴장/전송이 서로 락 없이 동시에 돈다
+ * - 전송은 프레임을 한 번만 직렬화해 각 연결의 큐에 넣기만 한다 (소켓 쓰기는 연결별 비동기)
+ * - 큐가 가득 찬(느린) 연결은 끊는다 → 클라이언트가 다시 붙어 기록을 받아 가게 하고 방 전체는 지연되지 않음
+ * - 토큰(jti) → 연결 집합: 로그아웃하면 그 토큰으로 연 연결을 닫아 ping 이 접속 상태를 되살리지 못하게 한다
+ *
+ * 메트릭: chat.connections, chat.rooms, chat.delivered(전달 지연), chat.dropped(느려서 끊긴 연결)
+ */
+@Slf4j
+@Component
+public class ChatHub {
+
+    /** 느린 연결을 끊을 때 close 코드 (4000~4999 는 애플리케이션 정의) */
+    public static final int CLOSE_SLOW_CONSUMER = 4008;
+    /** 로그아웃으로 토큰이 폐기되어 끊을 때 close 코드 */
+    public static final int CLOSE_LOGGED_OUT = 4001;
+
+    private final Map<Long, Set<ChatConnection>> rooms = new ConcurrentHashMap<>();
+    private final Map<String, Set<ChatConnection>> tokens = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final int queueCapacity;
+    private final int maxRoomsPerConnection;
+    private final Timer delivered;
+    private final Counter dropped;
+
+    public ChatHub(MeterRegistry registry,
+                   @Value("${app.chat.outbound-queue-size:256}") int queueCapacity,
+                   @Value("${app.chat.max-rooms-per-connection:50}") int maxRoomsPerConnection) {
+        this.queueCapacity = queueCapacity;
+        this.maxRoomsPerConnection = maxRoomsPerConnection;
+        Gauge.builder("chat.connections", connections, AtomicInteger::get)
+                .description("채팅 연결 수").register(registry);
+        Gauge.builder("chat.rooms", rooms, Map::size)
+                .description("구독자가 있는 방 수").register(registry);
+        this.delivered = Timer.builder("chat.delivered")
+                .description("큐에 넣은 뒤 소켓 전송이 끝나기까지")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.dropped = Counter.builder("chat.dropped")
+                .description("큐가 가득 차 끊은 연결 수").register(registry);
+    }
+
+    /** 새 연결 등록 (tokenId = 연결할 때 쓴 토큰의 jti) */
+    public ChatConnection connect(long userPid, String tokenId, ChatOutbound outbound) {
+        connections.incrementAndGet();
+        ChatConnection connection = new ChatConnection(userPid, tokenId, outbound, queueCapacity, this);
+        tokens.computeIfAbsent(tokenId, k -> ConcurrentHashMap.newKeySet()).add(connection);
+        return connection;
+    }
+
+    /** 방 구독 (멤버 확인은 호출하는 쪽에서) */
+    public void join(ChatConnection connection, long roomId) {
+        if (connection.isJoined(roomId)) return;
+        if (connection.rooms().size() >= maxRoomsPerConnection) {
+            throw new IllegalArgumentException("한 연결에서 구독할 수 있는 방 수를 넘었습니다.");
+        }
+        connection.rooms().add(roomId);
+        rooms.computeIfAbsent(roomId, k -> ConcurrentHashMap.newKeySet()).add(connection);
+    }
+
+    public void leave(ChatConnection connection, long roomId) {
+        if (!connection.rooms().remove(roomId)) return;
+        rooms.computeIfPresent(roomId, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /** 연결 종료 (소켓이 닫힌 뒤 호출) — 모든 방에서 뺀다 */
+    public void disconnect(ChatConnection connection) {
+        for (Long roomId : Set.copyOf(connection.rooms())) leave(connection, roomId);
+        tokens.computeIfPresent(connection.tokenId(), (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+        if (!connection.isClosed()) connection.close(1000, null);
+        connections.decrementAndGet();
+    }
+
+    /**
+     * 폐기된 토큰으로 연 연결을 모두 닫는다 (로그아웃)
+     * - 방/집합에서 빼는 건 소켓이 닫힌 뒤 disconnect 에서
+     * @return 닫은 연결 수
+     */
+    public int closeToken(String tokenId) {
+        Set<ChatConnection> opened = tokens.get(tokenId);
+        if (opened == null) return 0;
+        int closed = 0;
+        for (ChatConnection c : opened) {
+            if (c.isClosed()) continue;
+            c.close(CLOSE_LOGGED_OUT, "logged out");
+            closed++;
+        }
+        return closed;
+    }
+
+    /**
+     * 방의 모든 구독 연결에 프레임 전송
+     * @return 큐에 넣은 연결 수
+     */
+    public int publish(long roomId, String frame) {
+        Set<ChatConnection> subscribers = rooms.get(roomId);
+        if (subscribers == null) return 0;
+        int queued = 0;
+        for (ChatConnection c : subscribers) {
+            if (c.offer(frame)) {
+                queued++;
+            } else if (!c.isClosed()) {
+                drop(c);
+            }
+        }
+        return queued;
+    }
+
+    /** 연결 하나에만 전송 (응답/오류 안내) */
+    public void send(ChatConnection connection, String frame) {
+        if (!connection.offer(frame) && !connection.isClosed()) drop(connection);
+    }
+
+    public int subscribers(long roomId) {
+        Set<ChatConnection> subscribers = rooms.get(roomId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    /** 구독자가 있는 방 수 */
+    public int roomCount() {
+        return rooms.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rooms.values().forEach(set -> set.forEach(c -> c.close(1001, "server shutdown")));
+    }
+
+    void delivered(long nanos) {
+        delivered.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    void failed(ChatConnection connection, Throwable error) {
+        log.debug("채팅 전송 실패 user={}: {}", connection.userPid(), error.toString());
+        connection.close(1011, "send failed");
+    }
+
+    private void drop(ChatConnection connection) {
+        dropped.increment();
+        log.info("느린 채팅 연결 끊음 user={} queued={}", connection.userPid(), connection.queued());
+        connection.close(CLOSE_SLOW_CONSUMER, "slow consumer");
+    }
+}
@@ -0,0 +1,304 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 채팅 메시지 로컬 덧붙이기 로그 (room_messages 에 쓰기 전의 내구성 기록)
+ *
+ * 파일 구성 (app.chat.log.dir, 비우면 기능 끔 → 메시지는 메모리에서 바로 DB 로):
+ * - chat-{id}.log : 세그먼트, id = 세그먼트 첫 메시지의 message_id. segment-mb 를 넘기면 다음 묶음부터 새 세그먼트
+ * - checkpoint    : room_messages 에 반영이 끝난 마지막 message_id (임시 파일 → 원자적 이동)
+ *
+ * 레코드: [int 길이][int CRC32][본문] — CRC 불일치/잘린 레코드는 찢어진 꼬리로 보고 거기서 자른다.
+ * 본문: message_id, room_id, seq, sender_pid, content_type, created_at, size_bytes, 문자열 4개(text/file_name/file_path/mime_type)
+ *
+ * 묶음(append) 하나를 한 번의 write + force 로 기록한다 (그룹 커밋). MatchJournal 처럼 매핑 버퍼를 쓰지 않는 것은
+ * 응답 전에 매번 force 해야 해서 — FileChannel.force(false) 가 묶음 크기만큼만 디스크로 내린다.
+ * 호출은 ChatMessageWriter 의 기록 스레드 하나(append)와 반영 스레드 하나(checkpoint)뿐이고 this 로 직렬화한다.
+ */
+@Slf4j
+@Component
+public class ChatMessageLog {
+
+    private static final int HEADER = 8; // 길이 + CRC
+    private static final MessageContentType[] TYPES = MessageContentType.values();
+
+    private final Path dir;
+    private final long segmentBytes;
+    private final Timer recoverTimer;
+
+    /** 덧붙이는 세그먼트 (처음 기록할 때 연다) */
+    private FileChannel channel;
+    /** 세그먼트 첫 id 목록 (오름차순, 마지막이 현재 세그먼트) */
+    private final List<Long> segments = new ArrayList<>();
+    /** 로그에 남은 가장 큰 message_id / 반영 완료 지점 */
+    private long lastId;
+    private long checkpointId;
+
+    public ChatMessageLog(MeterRegistry registry,
+                          @Value("${app.chat.log.dir:}") String dir,
+                          @Value("${app.chat.log.segment-mb:64}") int segmentMb) {
+        this.dir = dir == null || dir.isBlank() ? null : Path.of(dir);
+        this.segmentBytes = segmentMb * 1024L * 1024L;
+        this.recoverTimer = Timer.builder("chat.log.recover").register(registry);
+    }
+
+    public boolean enabled() {
+        return dir != null;
+    }
+
+    /** 로그에 남은 가장 큰 message_id (recover 이후, 없으면 0) */
+    public synchronized long lastId() {
+        return lastId;
+    }
+
+    /* ===================== 복구 ===================== */
+
+    /**
+     * 체크포인트 이후 기록(= 아직 room_messages 에 없을 수 있는 메시지)을 기록 순서대로 돌려주고 덧붙이기 위치를 준비한다.
+     * - 서버가 메시지를 받기 전에 한 번 호출
+     */
+    public synchronized List<RoomMessage> recover() throws IOException {
+        if (dir == null) return List.of();
+        long started = System.nanoTime();
+        Files.createDirectories(dir);
+        Path cp = dir.resolve("checkpoint");
+        checkpointId = Files.exists(cp) ? Long.parseLong(Files.readString(cp).trim()) : 0;
+        lastId = checkpointId;
+
+        List<RoomMessage> unflushed = new ArrayList<>();
+        segments.clear();
+        segments.addAll(list());
+        for (int i = 0; i < segments.size(); i++) {
+            long first = segments.get(i);
+            long end = replay(first, unflushed);
+            if (i == segments.size() - 1) {
+                channel = FileChannel.open(segmentPath(first), StandardOpenOption.WRITE);
+                if (channel.size() > end) {
+                    log.warn("채팅 로그 {} 위치 {} 이후 찢어진 꼬리 잘라냄", first, end);
+                    channel.truncate(end);
+                }
+                channel.position(end);
+            }
+        }
+        recoverTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (!unflushed.isEmpty()) {
+            log.info("채팅 로그 복구: 체크포인트 {} 이후 미반영 메시지 {}건", checkpointId, unflushed.size());
+        }
+        return unflushed;
+    }
+
+    /** 세그먼트 하나를 읽어 체크포인트 이후 메시지를 모으고, 마지막 정상 레코드 끝 위치를 돌려준다 */
+    private long replay(long first, List<RoomMessage> out) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(segmentPath(first), StandardOpenOption.READ)) {
+            buf = ByteBuffer.allocate((int) ch.size());
+            while (buf.hasRemaining() && ch.read(buf) >= 0) {
+                // 끝까지 읽기
+            }
+        }
+        buf.flip();
+        CRC32 crc = new CRC32();
+        while (buf.remaining() >= HEADER) {
+            int start = buf.position();
+            int len = buf.getInt();
+            int sum = buf.getInt();
+            if (len <= 0 || len > buf.remaining()) {
+                buf.position(start);
+                break;
+            }
+            ByteBuffer body = buf.slice(buf.position(), len);
+            crc.reset();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != sum) {
+                log.warn("채팅 로그 {} 위치 {} 에서 손상된 레코드 → 이후 무시", first, start);
+                buf.position(start);
+                break;
+            }
+            RoomMessage m = decode(body);
+            lastId = Math.max(lastId, m.getMessageId());
+            if (m.getMessageId() > checkpointId) out.add(m);
+            buf.position(buf.position() + len);
+        }
+        return buf.position();
+    }
+
+    /* ===================== 기록 ===================== */
+
+    /**
+     * 메시지 묶음을 덧붙이고 디스크까지 내린다 (message_id 는 호출 쪽에서 오름차순으로 발급)
+     * - 실패하면 묶음 앞 위치로 되돌려 반쯤 쓴 기록이 복구 때 재생되지 않게 한다.
+     */
+    public synchronized void append(List<RoomMessage> batch) throws IOException {
+        if (dir == null || batch.isEmpty()) return;
+        List<byte[]> bodies = new ArrayList<>(batch.size());
+        int total = 0;
+        for (RoomMessage m : batch) {
+            byte[] body = encode(m);
+            bodies.add(body);
+            total += HEADER + body.length;
+        }
+        if (channel == null || (channel.position() > 0 && channel.position() + total > segmentBytes)) {
+            roll(batch.get(0).getMessageId());
+        }
+        ByteBuffer buf = ByteBuffer.allocate(total);
+        CRC32 crc = new CRC32();
+        for (byte[] body : bodies) {
+            crc.reset();
+            crc.update(body);
+            buf.putInt(body.length).putInt((int) crc.getValue()).put(body);
+        }
+        buf.flip();
+        long position = channel.position();
+        try {
+            while (buf.hasRemaining()) channel.write(buf);
+            channel.force(false);
+        } catch (IOException e) {
+            try {
+                channel.truncate(position);
+                channel.position(position);
+            } catch (IOException ignored) {
+                // 복구 때 CRC 로 걸러짐
+            }
+            throw e;
+        }
+        lastId = Math.max(lastId, batch.get(batch.size() - 1).getMessageId());
+    }
+
+    private void roll(long firstId) throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+        channel = FileChannel.open(segmentPath(firstId),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segments.add(firstId);
+    }
+
+    /**
+     * room_messages 반영 완료 지점 기록 + 전부 반영된 세그먼트 삭제
+     * - 다음 세그먼트 첫 id 이전이 모두 반영됐으면 그 세그먼트는 필요 없다 (현재 세그먼트는 남김)
+     */
+    public synchronized void checkpoint(long messageId) throws IOException {
+        if (dir == null || messageId <= checkpointId) return;
+        Path tmp = dir.resolve("checkpoint.tmp");
+        Files.writeString(tmp, Long.toString(messageId));
+        Files.move(tmp, dir.resolve("checkpoint"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointId = messageId;
+        while (segments.size() > 1 && segments.get(1) - 1 <= messageId) {
+            Files.deleteIfExists(segmentPath(segments.remove(0)));
+        }
+    }
+
+    /* ===================== 인코딩 ===================== */
+
+    private static byte[] encode(RoomMessage m) {
+        byte[] text = bytes(m.getTextContent()), fileName = bytes(m.getFileName()),
+                filePath = bytes(m.getFilePath()), mime = bytes(m.getMimeType());
+        LocalDateTime at = m.getCreatedAt();
+        ByteBuffer b = ByteBuffer.allocate(8 + 8 + 8 + 8 + 1 + 8 + 4 + 8
+                + strSize(text) + strSize(fileName) + strSize(filePath) + strSize(mime));
+        b.putLong(m.getMessageId())
+                .putLong(m.getRoomId())
+                .putLong(m.getSeq())
+                .putLong(m.getSenderPid() == null ? -1 : m.getSenderPid())
+                .put((byte) m.getContentType().ordinal())
+                .putLong(at.toEpochSecond(ZoneOffset.UTC))
+                .putInt(at.getNano())
+                .putLong(m.getSizeBytes() == null ? -1 : m.getSizeBytes());
+        putStr(b, text);
+        putStr(b, fileName);
+        putStr(b, filePath);
+        putStr(b, mime);
+        return b.array();
+    }
+
+    private static RoomMessage decode(ByteBuffer b) {
+        long messageId = b.getLong(), roomId = b.getLong(), seq = b.getLong(), senderPid = b.getLong();
+        MessageContentType type = TYPES[b.get()];
+        LocalDateTime at = LocalDateTime.ofEpochSecond(b.getLong(), b.getInt(), ZoneOffset.UTC);
+        long size = b.getLong();
+        return RoomMessage.builder()
+                .messageId(messageId)
+                .roomId(roomId)
+                .seq(seq)
+                .senderPid(senderPid < 0 ? null : senderPid)
+                .contentType(type)
+                .createdAt(at)
+                .sizeBytes(size < 0 ? null : size)
+                .textContent(getStr(b))
+                .fileName(getStr(b))
+                .filePath(getStr(b))
+                .mimeType(getStr(b))
+                .build();
+    }
+
+    private static byte[] bytes(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int strSize(byte[] bytes) {
+        return 4 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putStr(ByteBuffer b, byte[] bytes) {
+        if (bytes == null) {
+            b.putInt(-1);
+        } else {
+            b.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static String getStr(ByteBuffer b) {
+        int len = b.getInt();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /* ===================== 파일 ===================== */
+
+    private Path segmentPath(long firstId) {
+        return dir.resolve(String.format("chat-%020d.log", firstId));
+    }
+
+    /** 세그먼트 첫 id 목록 (오름차순) */
+    private List<Long> list() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith("chat-") && n.endsWith(".log"))
+                    .map(n -> Long.parseLong(n.substring(5, n.length() - 4)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (channel == null) return;
+        channel.force(true);
+        channel.close();
+        channel = null;
+    }
+}
@@ -0,0 +1,268 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.exception.ServiceBusyException;
+import net.datasa.project01.repository.RoomMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 채팅 메시지 쓰기 지연(write-behind) 저장
+ *
+ * 1) submit → 기록 대기열 (가득 차면 ServiceBusyException)
+ * 2) 기록 스레드: 쌓인 메시지를 한 묶음(max-group)으로 message_id/seq/created_at 발급 → ChatMessageLog 에 덧붙이고 force 한 번
+ *    → 기록 순서대로 future 완료 (완료 콜백에서 방송하므로 방 안 순서 = message_id 순서 = seq 순서)
+ * 3) 반영 스레드: batch-size 만큼 모이거나 첫 메시지 뒤 linger-ms 가 지나면 (room_id, message_id) 순으로 정렬해
+ *    JDBC 배치 한 번으로 room_messages 에 넣고 로그 체크포인트를 옮긴다. 실패하면 같은 묶음을 다시 시도.
+ *
+ * - message_id 는 이 노드가 기록 순서대로 발급한다 (시작할 때 로그/테이블의 최댓값 다음부터).
+ *   채팅 노드가 하나라는 전제 — 여러 대로 늘리면 노드별 id 대역이 필요하다.
+ * - 서버가 죽으면 체크포인트 이후 기록을 다시 넣는다. 이미 들어간 행은 ON DUPLICATE KEY UPDATE 로 그대로 둠 (message_id 가 같음)
+ *   같은 (room_id, seq) 를 다른 message_id 가 이미 가진 경우(순번 발급이 어긋남)는 중복이 아니다 → 그 메시지는 들어가지 않으므로
+ *   chat.write.conflict 를 올리고 ERROR 로 남긴다 (다시 넣어도 같은 충돌이라 재시도하지 않음)
+ *   재생분의 seq 로 RoomSequences 를 seed 해 재시작 뒤에도 방 순번이 이어진다.
+ * - 완료 콜백은 기록 스레드에서 돌므로 짧아야 한다 (ChatHub.publish 는 연결별 큐에 넣기만 함)
+ *
+ * 메트릭: chat.write.pending, chat.write.unflushed, chat.write.commit, chat.write.group, chat.write.flush, chat.write.flush.failed,
+ *        chat.write.conflict
+ */
+@Slf4j
+@Component
+public class ChatMessageWriter {
+
+    private record Pending(RoomMessage message, CompletableFuture<RoomMessage> done) {}
+
+    private static final Comparator<RoomMessage> ROOM_ORDER = Comparator
+            .comparing(RoomMessage::getRoomId)
+            .thenComparing(RoomMessage::getMessageId);
+
+    private final ChatMessageLog messageLog;
+    private final RoomMessageRepository repository;
+    private final RoomSequences sequences;
+    private final int maxGroup;
+    private final int batchSize;
+    private final long lingerNanos;
+
+    private final BlockingQueue<Pending> pending;
+    /** 로그에는 남았고 아직 테이블에 없는 메시지 (기록 순서). 가득 차면 기록 스레드가 기다림 → 결국 submit 이 거절됨 */
+    private final BlockingQueue<RoomMessage> unflushed;
+
+    private final Timer commitTimer;
+    private final DistributionSummary groupSize;
+    private final Timer flushTimer;
+    private final Counter flushFailed;
+    private final Counter conflicts;
+
+    private volatile boolean running;
+    private volatile Thread appender;
+    private Thread flusher;
+    /** 마지막으로 발급한 message_id / created_at (기록 스레드만 씀) */
+    private long lastId;
+    private LocalDateTime lastCreatedAt = LocalDateTime.MIN;
+
+    public ChatMessageWriter(ChatMessageLog messageLog, RoomMessageRepository repository, RoomSequences sequences,
+                             MeterRegistry registry,
+                             @Value("${app.chat.write.queue-size:10000}") int queueSize,
+                             @Value("${app.chat.write.max-group:1000}") int maxGroup,
+                             @Value("${app.chat.flush.batch-size:500}") int batchSize,
+                             @Value("${app.chat.flush.linger-ms:200}") long lingerMs,
+                             @Value("${app.chat.flush.max-unflushed:200000}") int maxUnflushed) {
+        this.messageLog = messageLog;
+        this.repository = repository;
+        this.sequences = sequences;
+        this.maxGroup = maxGroup;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.pending = new ArrayBlockingQueue<>(queueSize);
+        this.unflushed = new LinkedBlockingQueue<>(maxUnflushed);
+        Gauge.builder("chat.write.pending", pending, BlockingQueue::size).register(registry);
+        Gauge.builder("chat.write.unflushed", unflushed, BlockingQueue::size).register(registry);
+        this.commitTimer = Timer.builder("chat.write.commit").register(registry);
+        this.groupSize = DistributionSummary.builder("chat.write.group").register(registry);
+        this.flushTimer = Timer.builder("chat.write.flush").register(registry);
+        this.flushFailed = Counter.builder("chat.write.flush.failed").register(registry);
+        this.conflicts = Counter.builder("chat.write.conflict").register(registry);
+    }
+
+    /** 로그 복구 → 미반영분을 반영 대기열에 되돌리고 두 스레드 시작 */
+    @PostConstruct
+    void start() throws IOException, InterruptedException {
+        List<RoomMessage> replay = messageLog.recover();
+        lastId = Math.max(messageLog.lastId(), repository.maxMessageId());
+        sequences.flushed(replay.isEmpty() ? lastId : replay.get(0).getMessageId() - 1); // 재생분 앞까지는 테이블에 있음
+        running = true;
+        flusher = thread("chat-flush", this::flushLoop);
+        for (RoomMessage m : replay) {
+            sequences.seed(m);
+            unflushed.put(m);
+        }
+        appender = thread("chat-log", this::appendLoop);
+    }
+
+    /**
+     * 메시지 저장 요청 — 로그에 내구성 있게 남은 뒤 message_id, seq, created_at 이 채워진 채로 완료된다.
+     * (반환된 future 의 콜백은 기록 순서대로 호출됨)
+     */
+    public CompletableFuture<RoomMessage> submit(RoomMessage message) {
+        CompletableFuture<RoomMessage> done = new CompletableFuture<>();
+        if (!running || !pending.offer(new Pending(message, done))) {
+            throw new ServiceBusyException("메시지가 몰려 저장이 밀리고 있습니다. 잠시 후 다시 보내 주세요.", 1);
+        }
+        return done;
+    }
+
+    /* ===================== 기록 스레드 ===================== */
+
+    private void appendLoop() {
+        List<Pending> group = new ArrayList<>(maxGroup);
+        List<RoomMessage> messages = new ArrayList<>(maxGroup);
+        while (running || !pending.isEmpty()) {
+            try {
+                Pending first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                group.add(first);
+                pending.drainTo(group, maxGroup - 1);
+                LocalDateTime now = now();
+                for (Pending p : group) {
+                    p.message().setMessageId(++lastId);
+                    p.message().setSeq(sequences.next(p.message().getRoomId(), lastId));
+                    p.message().setCreatedAt(now);
+                    messages.add(p.message());
+                }
+                long started = System.nanoTime();
+                try {
+                    messageLog.append(messages);
+                } catch (IOException | RuntimeException e) {
+                    // 발급한 id 는 버리고 (빈 번호는 문제 없음) 방 순번은 되돌린다 (빈틈이 생기면 안 됨)
+                    sequences.release(messages);
+                    log.error("채팅 로그 기록 실패 {}건 → 보낸 쪽에 실패 응답", group.size(), e);
+                    group.forEach(p -> p.done().completeExceptionally(e));
+                    continue;
+                }
+                commitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                groupSize.record(group.size());
+                for (RoomMessage m : messages) unflushed.put(m);
+                for (Pending p : group) p.done().complete(p.message());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+                messages.clear();
+            }
+        }
+    }
+
+    /**
+     * created_at 은 초 단위(컬럼 정밀도)로 잘라 발급 — 테이블에 들어간 값과 메모리/로그 값이 같고,
+     * 시계가 뒤로 가도 줄지 않게 해 (created_at, message_id) 순서 = message_id 순서를 지킨다
+     */
+    private LocalDateTime now() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        if (now.isAfter(lastCreatedAt)) lastCreatedAt = now;
+        return lastCreatedAt;
+    }
+
+    /* ===================== 반영 스레드 ===================== */
+
+    private void flushLoop() {
+        List<RoomMessage> batch = new ArrayList<>(batchSize);
+        while (running || appenderAlive() || !unflushed.isEmpty()) {
+            try {
+                RoomMessage first = unflushed.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) { // 크기 또는 시간 중 먼저 오는 쪽
+                    unflushed.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0) break;
+                    RoomMessage next = unflushed.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                while (!flush(batch)) {
+                    if (!running) {
+                        log.warn("종료 중 채팅 메시지 반영 실패 → 다음 시작 때 로그에서 다시 넣음");
+                        return;
+                    }
+                    Thread.sleep(1000);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** 한 묶음을 방별로 정렬해 넣고 체크포인트 이동 (batch 는 기록 순서라 마지막 id 가 가장 큼) */
+    private boolean flush(List<RoomMessage> batch) {
+        long started = System.nanoTime();
+        List<RoomMessage> rejected;
+        try {
+            List<RoomMessage> sorted = new ArrayList<>(batch);
+            sorted.sort(ROOM_ORDER);
+            rejected = repository.insertAll(sorted);
+        } catch (RuntimeException e) {
+            flushFailed.increment();
+            log.warn("채팅 메시지 {}건 반영 실패 → 다시 시도", batch.size(), e);
+            return false;
+        }
+        flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        for (RoomMessage m : rejected) {
+            conflicts.increment();
+            log.error("채팅 메시지 seq 충돌 — room={} seq={} 를 다른 메시지가 이미 가짐, message_id={} 저장 안 됨",
+                    m.getRoomId(), m.getSeq(), m.getMessageId());
+        }
+        long lastFlushed = batch.get(batch.size() - 1).getMessageId();
+        sequences.flushed(lastFlushed);
+        try {
+            messageLog.checkpoint(lastFlushed);
+        } catch (IOException e) {
+            // 다음 체크포인트가 덮어씀, 그 전에 죽으면 한 번 더 넣어도 키 중복이라 그대로 둠
+            log.warn("채팅 로그 체크포인트 기록 실패", e);
+        }
+        return true;
+    }
+
+    private boolean appenderAlive() {
+        Thread t = appender;
+        return t != null && t.isAlive();
+    }
+
+    private static Thread thread(String name, Runnable body) {
+        Thread t = new Thread(body, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /** 남은 메시지를 로그에 쓰고 테이블까지 반영한 뒤 종료 */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (appender != null) appender.join(10_000);
+        if (flusher != null) flusher.join(30_000);
+    }
+}
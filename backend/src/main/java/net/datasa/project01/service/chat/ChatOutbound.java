@@ -0,0 +1,18 @@
+package net.datasa.project01.service.chat;
+
+import java.util.function.Consumer;
+
+/**
+ * 연결 하나로 나가는 전송 통로 (WebSocket 세션 어댑터, 테스트/벤치마크에서는 가짜 구현)
+ */
+public interface ChatOutbound {
+
+    /**
+     * 프레임 하나를 보낸다. 블로킹하지 않고, 끝나면 done 을 부른다 (실패면 원인, 성공이면 null).
+     * 앞 전송의 done 이 불리기 전에는 다시 부르지 않는다.
+     */
+    void send(String frame, Consumer<Throwable> done);
+
+    /** 연결 종료 (이미 닫혔으면 무시) */
+    void close(int code, String reason);
+}
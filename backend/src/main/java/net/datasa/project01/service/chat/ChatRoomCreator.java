@@ -0,0 +1,36 @@
+package net.datasa.project01.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.entity.Room;
+import net.datasa.project01.domain.entity.RoomMember;
+import net.datasa.project01.domain.vo.RoomRole;
+import net.datasa.project01.domain.vo.RoomType;
+import net.datasa.project01.repository.RoomRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 채팅방 생성 — 방(rooms)과 멤버(room_members) 행을 한 트랜잭션으로 만든다
+ * - 중간에 실패해도 멤버가 빠진 방이 남지 않는다
+ * - ChatRoomService 안에서 자기 메서드를 부르면 프록시를 거치지 않아 @Transactional 이 걸리지 않으므로 별도 빈
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatRoomCreator {
+
+    private final RoomRepository roomRepository;
+
+    /** 두 사람의 1:1 랜덤 매칭 방 → room_id */
+    @Transactional // DB 저장 시 트랜잭션 처리(mock에선 영향 없음)
+    public long createRandomRoom(long userA, long userB) {
+        Room room = roomRepository.save(Room.builder().roomType(RoomType.RANDOM).capacity(2).build());
+        for (long pid : new long[]{userA, userB}) {
+            roomRepository.addMember(RoomMember.builder()
+                    .roomId(room.getRoomId())
+                    .userPid(pid)
+                    .role(RoomRole.MEMBER)
+                    .build());
+        }
+        return room.getRoomId();
+    }
+}
@@ -0,0 +1,172 @@
+package net.datasa.project01.service.chat;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.dto.RoomResponse;
+import net.datasa.project01.domain.entity.Room;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.HandshakeState;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.domain.vo.RoomType;
+import net.datasa.project01.repository.RoomMessageRepository;
+import net.datasa.project01.repository.RoomRepository;
+import net.datasa.project01.service.match.MatchGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 채팅방/메시지 처리
+ * - 랜덤 매칭이 성사(CONFIRMED)되면 두 사람이 같은 sessionId 로 방을 연다 → 먼저 온 쪽이 만들고 나중 쪽은 같은 방을 받음
+ *   (이 노드에서 동시에 열면 나중 쪽은 먼저 온 쪽의 결과를 기다림, 방 생성 트랜잭션은 ChatRoomCreator)
+ * - 소켓 입장(join) 때 한 번만 멤버 확인, 이후 메시지마다 DB 로 멤버를 다시 보지 않음 (연결이 구독한 방인지만 확인)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomService {
+
+    private final RoomRepository roomRepository;
+    private final RoomMessageRepository messageRepository;
+    private final ChatMessageWriter messageWriter;
+    private final RecentMessageBuffer recentMessages;
+    private final RoomSequences sequences;
+    private final MatchGateway matchGateway;
+    private final ChatRoomCreator roomCreator;
+
+    @Value("${app.chat.max-text-length:2000}") private int maxTextLength;
+    @Value("${app.chat.history.max-limit:100}") private int maxHistoryLimit;
+    @Value("${app.chat.resume.max-messages:200}") private int maxResume;
+
+    /** sessionId → 찾거나 만드는 중인 방 (두 사람이 동시에 열어도 이 노드에서는 한 번만 만든다) */
+    private final Map<String, CompletableFuture<Long>> opening = new ConcurrentHashMap<>();
+
+    /** 성사된 랜덤 매칭의 1:1 방 — 없으면 만들고, 있으면 그 방 */
+    public RoomResponse openMatchRoom(long userPid, String sessionId) {
+        MatchResultResponse match = matchGateway.result(userPid, null);
+        if (match.getHandshake() != HandshakeState.CONFIRMED || match.getPartner() == null
+                || !sessionId.equals(match.getSessionId())) {
+            throw new IllegalArgumentException("두 사람 모두 수락한 매칭이 아닙니다.");
+        }
+        long partnerPid = match.getPartner().getUserId();
+        long roomId = openOnce(sessionId, () -> roomRepository
+                .findOpenSharedRoom(RoomType.RANDOM, userPid, partnerPid)
+                .map(Room::getRoomId)
+                .orElseGet(() -> createRandomRoom(userPid, partnerPid)));
+        return new RoomResponse(roomId, RoomType.RANDOM, roomRepository.findActiveMemberPids(roomId));
+    }
+
+    /** 소켓 입장 가능 여부 (활성 멤버) */
+    public boolean canJoin(long roomId, long userPid) {
+        return roomRepository.isActiveMember(roomId, userPid);
+    }
+
+    /**
+     * 지난 메시지 한 페이지 준비 (멤버 확인/cursor 해석을 응답 전에 끝내고, 조회는 스트리밍하며 실행)
+     * - before 가 없으면 가장 최근부터. 최근 것은 RecentMessageBuffer 에서 (아직 테이블에 반영 전인 메시지도 포함)
+     */
+    public MessageHistoryPage history(long userPid, long roomId, String before, int limit) {
+        if (!roomRepository.isActiveMember(roomId, userPid)) {
+            throw new IllegalArgumentException("채팅방 멤버가 아닙니다.");
+        }
+        if (limit < 1 || limit > maxHistoryLimit) {
+            throw new IllegalArgumentException("limit 은 1~" + maxHistoryLimit + " 사이여야 합니다.");
+        }
+        MessageCursor cursor = before == null || before.isBlank() ? null : MessageCursor.decode(before);
+        return new MessageHistoryPage(messageRepository, recentMessages, roomId, cursor, limit);
+    }
+
+    /**
+     * 재연결/빈틈 복구 — seq 가 afterSeq 보다 큰 메시지를 seq 순서대로 (링에서 먼저, 링보다 앞선 부분만 DB)
+     * - 아직 테이블에 반영 전이라 어디에도 없는 순번을 만나면 거기까지만 준다 (다음 메시지에서 화면이 빈틈을 보고 다시 요청)
+     * @return 빠진 구간. max-messages 를 넘으면 null → 화면이 최근 페이지부터 다시 읽음
+     */
+    public List<RoomMessageRow> resume(long roomId, long afterSeq) {
+        if (afterSeq < 0) {
+            throw new IllegalArgumentException("after_seq 가 올바르지 않습니다.");
+        }
+        List<RoomMessageRow> recent = new ArrayList<>();
+        long ringFrom = recentMessages.replayAfter(roomId, afterSeq, maxResume + 1, recent);
+        List<RoomMessageRow> rows = new ArrayList<>();
+        if (ringFrom < 0 || ringFrom > afterSeq + 1) {
+            messageRepository.forEachBetweenSeq(roomId, afterSeq, ringFrom < 0 ? Long.MAX_VALUE : ringFrom,
+                    maxResume + 1, rows::add);
+        }
+        rows.addAll(recent);
+        if (rows.size() > maxResume) return null;
+
+        int contiguous = 0;
+        while (contiguous < rows.size() && rows.get(contiguous).seq() == afterSeq + 1 + contiguous) contiguous++;
+        return rows.subList(0, contiguous);
+    }
+
+    /**
+     * 텍스트 메시지 저장 — 로컬 로그에 남으면 message_id/seq 가 채워진 채로 완료 (테이블 반영은 나중에 묶어서)
+     * - 완료 콜백은 방 안에서 seq 순서로 불린다
+     */
+    public CompletableFuture<RoomMessage> saveText(long roomId, long senderPid, String text) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("메시지를 입력해 주세요.");
+        }
+        if (text.length() > maxTextLength) {
+            throw new IllegalArgumentException("메시지는 " + maxTextLength + "자까지 보낼 수 있습니다.");
+        }
+        sequences.preload(roomId); // 처음 쓰는 방의 MAX(seq) 조회를 기록 스레드 밖에서
+        return messageWriter.submit(RoomMessage.builder()
+                .roomId(roomId)
+                .senderPid(senderPid)
+                .contentType(MessageContentType.TEXT)
+                .textContent(text)
+                .build())
+                .thenApply(m -> {
+                    recentMessages.append(m); // 방송보다 먼저 → 방송을 받은 쪽이 바로 다시 읽어도 보임
+                    return m;
+                });
+    }
+
+    /**
+     * 같은 sessionId 로 동시에 들어온 요청 중 하나만 찾기/만들기를 하고, 나머지는 그 결과를 받는다
+     * - DB 조회/저장은 맵 잠금 밖에서 (computeIfAbsent 안에서 하면 같은 칸의 다른 세션까지 막힘)
+     * - 끝나면 맵에서 빠진다 (다 만든 뒤에는 DB 조회로 찾을 수 있음)
+     */
+    private long openOnce(String sessionId, Supplier<Long> findOrCreate) {
+        CompletableFuture<Long> mine = new CompletableFuture<>();
+        CompletableFuture<Long> running = opening.putIfAbsent(sessionId, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                throw e;
+            }
+        }
+        try {
+            long roomId = findOrCreate.get();
+            mine.complete(roomId);
+            return roomId;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            opening.remove(sessionId, mine);
+        }
+    }
+
+    private long createRandomRoom(long userA, long userB) {
+        long roomId = roomCreator.createRandomRoom(userA, userB);
+        sequences.roomOpened(roomId); // 커밋된 뒤에 (롤백된 방은 캐시에 남지 않음)
+        recentMessages.roomOpened(roomId);
+        log.info("랜덤 매칭 채팅방 생성 room={} users={},{}", roomId, userA, userB);
+        return roomId;
+    }
+}
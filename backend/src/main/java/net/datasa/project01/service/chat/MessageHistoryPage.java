@@ -0,0 +1,50 @@
+package net.datasa.project01.service.chat;
+
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.RoomMessageRepository;
+
+import java.util.function.Consumer;
+
+/**
+ * 검증이 끝난 지난 메시지 한 페이지 조회 — 응답을 쓰기 시작한 뒤에 실행된다 (ChatRoomService.history 참고)
+ * - 먼저 RecentMessageBuffer, 모자란 만큼만 그 뒤(더 오래된 쪽)를 DB 에서
+ */
+public final class MessageHistoryPage {
+
+    private final RoomMessageRepository repository;
+    private final RecentMessageBuffer recent;
+    private final long roomId;
+    private final MessageCursor before;
+    private final int limit;
+
+    MessageHistoryPage(RoomMessageRepository repository, RecentMessageBuffer recent,
+                       long roomId, MessageCursor before, int limit) {
+        this.repository = repository;
+        this.recent = recent;
+        this.roomId = roomId;
+        this.before = before;
+        this.limit = limit;
+    }
+
+    /**
+     * 최신 → 과거 순으로 한 줄씩 넘기고 다음 페이지 cursor 를 돌려준다 (더 없으면 null)
+     * - limit + 1 건을 읽어 남는 한 건으로 다음 페이지가 있는지만 본다 (마지막에 빈 페이지를 한 번 더 부르지 않게)
+     */
+    public String stream(Consumer<RoomMessageRow> consumer) {
+        RoomMessageRow[] last = new RoomMessageRow[1];
+        int[] count = new int[1];
+        Consumer<RoomMessageRow> emit = row -> {
+            if (++count[0] > limit) return;
+            consumer.accept(row);
+            last[0] = row;
+        };
+        RecentMessageBuffer.Replay replay = recent == null ? null : recent.replay(roomId, before, limit + 1, emit);
+        if (replay == null) {
+            repository.forEachBefore(roomId, before, limit + 1, emit);
+        } else if (count[0] <= limit && !replay.exhausted()) {
+            repository.forEachBefore(roomId, replay.resumeFrom(), limit + 1 - count[0], emit);
+        }
+        return count[0] <= limit ? null : new MessageCursor(last[0].createdAt(), last[0].messageId()).encode();
+    }
+}
@@ -0,0 +1,249 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.RoomRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 활성 방별 최근 메시지 링 버퍼 — 입장/재연결 때 지난 메시지 첫 페이지를 DB 없이 돌려준다
+ *
+ * - 채우는 곳은 실시간 전송 경로뿐 (ChatMessageWriter 완료 순서 = message_id 순서) → 링에는 그 방의 "가장 최근 연속 구간"이 있다.
+ *   링보다 오래된 메시지는 이미 room_messages 에 있으므로, 모자라면 링의 가장 오래된 위치부터 DB 로 이어 읽는다.
+ * - 대화 중간에 만든 링(재시작 뒤 로그 재생분이 아직 반영 전, DB 장애 중 비워진 방 등)은 첫 메시지보다 앞선 것이
+ *   아직 테이블에 없을 수 있다 → 반영이 첫 메시지 직전까지 따라올 때까지는 링이 없는 것처럼 (전부 DB) 다룬다.
+ * - 이 노드에서 새로 연 방은 complete — 한 바퀴 돌기 전까지는 방의 메시지 전체라 DB 를 볼 필요가 없다.
+ * - 슬롯은 기본형 배열 (id/seq/시각/보낸 사람/타입) + 본문 참조 하나 (TEXT 는 문자열, 그 밖은 RoomMessageRow)
+ * - 재연결 때 "seq N 까지 받았음" 도 링에서 먼저 — 링이 시작하는 seq 보다 앞선 부분만 DB (replayAfter)
+ * - rooms.closed_at 이 찍힌 방과 idle-ms 동안 쓰기/읽기가 없던 방은 주기적으로 비운다. 방 수가 max-rooms 면 새 방은 만들지 않음
+ *
+ * 메트릭: chat.recent.rooms, chat.recent.lookup{result=hit|partial|miss}, chat.recent.evicted{reason=idle|closed}
+ */
+@Slf4j
+@Component
+public class RecentMessageBuffer {
+
+    /** 링에서 읽은 결과 — count 건을 넘겼고, 더 필요하면 resumeFrom 이전을 DB 에서 (exhausted 면 더 없음) */
+    public record Replay(int count, MessageCursor resumeFrom, boolean exhausted) {}
+
+    private static final MessageContentType[] TYPES = MessageContentType.values();
+
+    private final RoomRepository roomRepository;
+    private final RoomSequences sequences;
+    private final int capacity;
+    private final int maxRooms;
+    private final long idleNanos;
+    private final Map<Long, Ring> rings = new ConcurrentHashMap<>();
+
+    private final Counter hit;
+    private final Counter partial;
+    private final Counter miss;
+    private final Counter evictedIdle;
+    private final Counter evictedClosed;
+
+    public RecentMessageBuffer(RoomRepository roomRepository, RoomSequences sequences, MeterRegistry registry,
+                               @Value("${app.chat.recent.size:50}") int capacity,
+                               @Value("${app.chat.recent.max-rooms:20000}") int maxRooms,
+                               @Value("${app.chat.recent.idle-ms:1800000}") long idleMs) {
+        this.roomRepository = roomRepository;
+        this.sequences = sequences;
+        this.capacity = capacity;
+        this.maxRooms = maxRooms;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        Gauge.builder("chat.recent.rooms", rings, Map::size).register(registry);
+        this.hit = Counter.builder("chat.recent.lookup").tag("result", "hit").register(registry);
+        this.partial = Counter.builder("chat.recent.lookup").tag("result", "partial").register(registry);
+        this.miss = Counter.builder("chat.recent.lookup").tag("result", "miss").register(registry);
+        this.evictedIdle = Counter.builder("chat.recent.evicted").tag("reason", "idle").register(registry);
+        this.evictedClosed = Counter.builder("chat.recent.evicted").tag("reason", "closed").register(registry);
+    }
+
+    /** 이 노드에서 새로 만든 방 — 빈 complete 링 */
+    public void roomOpened(long roomId) {
+        if (rings.size() < maxRooms) rings.putIfAbsent(roomId, new Ring(capacity, true, 0));
+    }
+
+    /** 로그에 남은 메시지 (기록 순서대로 호출됨) */
+    public void append(RoomMessage m) {
+        Ring ring = rings.get(m.getRoomId());
+        if (ring == null) {
+            if (rings.size() >= maxRooms) return;
+            ring = rings.computeIfAbsent(m.getRoomId(), k -> new Ring(capacity, false, m.getMessageId()));
+        }
+        ring.add(m);
+    }
+
+    /**
+     * before 보다 앞선 메시지를 최신 → 과거 순으로 최대 max 건 넘긴다 (링이 없으면 null → 전부 DB)
+     * - 링 잠금 안에서는 복사만 하고 consumer(응답 쓰기)는 잠금 밖에서 부른다
+     */
+    public Replay replay(long roomId, MessageCursor before, int max, Consumer<RoomMessageRow> consumer) {
+        Ring ring = settled(roomId);
+        if (ring == null) {
+            miss.increment();
+            return null;
+        }
+        List<RoomMessageRow> rows = new ArrayList<>(Math.min(max, capacity));
+        boolean exhausted = ring.copyBefore(before, max, rows);
+        rows.forEach(consumer);
+
+        int count = rows.size();
+        if (count == max || exhausted) hit.increment();
+        else if (count > 0) partial.increment();
+        else miss.increment();
+        MessageCursor resumeFrom = count == 0 ? before
+                : new MessageCursor(rows.get(count - 1).createdAt(), rows.get(count - 1).messageId());
+        return new Replay(count, resumeFrom, exhausted);
+    }
+
+    /**
+     * seq 가 afterSeq 보다 큰 메시지를 seq 오름차순으로 최대 max 건 out 에 담는다
+     * @return 이 seq 부터는 링에 다 있음 (그 앞은 DB, 방의 처음부터 있으면 1). 링이 없으면 -1
+     */
+    public long replayAfter(long roomId, long afterSeq, int max, List<RoomMessageRow> out) {
+        Ring ring = settled(roomId);
+        if (ring == null) {
+            miss.increment();
+            return -1;
+        }
+        long from = ring.copyAfter(afterSeq, max, out);
+        if (from <= afterSeq + 1) hit.increment();
+        else if (!out.isEmpty()) partial.increment();
+        else miss.increment();
+        return from;
+    }
+
+    /** 링보다 앞선 메시지가 모두 테이블에 있을 때만 링을 쓴다 (아니면 null → 전부 DB) */
+    private Ring settled(long roomId) {
+        Ring ring = rings.get(roomId);
+        if (ring == null || ring.settled) return ring;
+        if (sequences.flushedId() < ring.firstId - 1) return null;
+        ring.settled = true;
+        return ring;
+    }
+
+    public void evict(long roomId) {
+        rings.remove(roomId);
+    }
+
+    /** 오래 안 쓴 방 / 닫힌 방 비우기 */
+    @Scheduled(fixedDelayString = "${app.chat.recent.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        rings.entrySet().removeIf(e -> {
+            boolean idle = now - e.getValue().touchedNanos > idleNanos;
+            if (idle) evictedIdle.increment();
+            return idle;
+        });
+        List<Long> ids = new ArrayList<>(rings.keySet());
+        for (int i = 0; i < ids.size(); i += 500) {
+            try {
+                for (long closed : roomRepository.findClosedRoomIds(ids.subList(i, Math.min(ids.size(), i + 500)))) {
+                    if (rings.remove(closed) != null) evictedClosed.increment();
+                }
+            } catch (RuntimeException e) {
+                log.warn("닫힌 채팅방 확인 실패 → 다음 주기에 다시", e);
+                return;
+            }
+        }
+    }
+
+    /** 방 하나의 고정 크기 링 (this 로 직렬화) */
+    private static final class Ring {
+
+        private final long[] ids;
+        private final long[] seqs;
+        private final long[] createdAt; // UTC 기준 epoch 초 (created_at 은 초 단위로 발급됨)
+        private final long[] senders;   // 없으면 -1
+        private final byte[] types;
+        private final Object[] payloads;
+        private int head;               // 다음에 쓸 칸
+        private int size;
+        /** 방의 첫 메시지부터 빠짐없이 들고 있음 (한 바퀴 돌면 false) */
+        private boolean complete;
+        /** 링에 처음 들어온 message_id (complete 면 0) */
+        private final long firstId;
+        /** firstId 앞까지 테이블 반영이 끝났음 (한 번 true 면 계속) */
+        private volatile boolean settled;
+        private volatile long touchedNanos = System.nanoTime();
+
+        Ring(int capacity, boolean complete, long firstId) {
+            this.ids = new long[capacity];
+            this.seqs = new long[capacity];
+            this.createdAt = new long[capacity];
+            this.senders = new long[capacity];
+            this.types = new byte[capacity];
+            this.payloads = new Object[capacity];
+            this.complete = complete;
+            this.firstId = firstId;
+            this.settled = complete;
+        }
+
+        synchronized void add(RoomMessage m) {
+            if (size == ids.length) {
+                complete = false;
+            } else {
+                size++;
+            }
+            ids[head] = m.getMessageId();
+            seqs[head] = m.getSeq();
+            createdAt[head] = m.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+            senders[head] = m.getSenderPid() == null ? -1 : m.getSenderPid();
+            types[head] = (byte) m.getContentType().ordinal();
+            payloads[head] = m.getContentType() == MessageContentType.TEXT ? m.getTextContent()
+                    : new RoomMessageRow(m.getMessageId(), m.getSeq(), m.getSenderPid(), m.getContentType(), m.getTextContent(),
+                    m.getFileName(), m.getFilePath(), m.getMimeType(), m.getSizeBytes(), m.getCreatedAt());
+            head = (head + 1) % ids.length;
+            touchedNanos = System.nanoTime();
+        }
+
+        /** @return 링 밖(더 오래된 쪽)에 메시지가 없음이 확실하면 true */
+        synchronized boolean copyBefore(MessageCursor before, int max, List<RoomMessageRow> out) {
+            touchedNanos = System.nanoTime();
+            long beforeAt = before == null ? 0 : before.createdAt().toEpochSecond(ZoneOffset.UTC);
+            for (int n = 0, i = head; n < size && out.size() < max; n++) {
+                i = (i - 1 + ids.length) % ids.length;
+                if (before != null && (createdAt[i] > beforeAt
+                        || (createdAt[i] == beforeAt && ids[i] >= before.messageId()))) {
+                    continue;
+                }
+                out.add(row(i));
+            }
+            return complete;
+        }
+
+        /** @return 링이 빠짐없이 들고 있는 첫 seq (complete 면 1) */
+        synchronized long copyAfter(long afterSeq, int max, List<RoomMessageRow> out) {
+            touchedNanos = System.nanoTime();
+            int oldest = (head - size + ids.length) % ids.length;
+            for (int n = 0, i = oldest; n < size && out.size() < max; n++, i = (i + 1) % ids.length) {
+                if (seqs[i] > afterSeq) out.add(row(i));
+            }
+            if (complete) return 1;
+            return size == 0 ? Long.MAX_VALUE : seqs[oldest];
+        }
+
+        private RoomMessageRow row(int i) {
+            if (payloads[i] instanceof RoomMessageRow r) return r;
+            return new RoomMessageRow(ids[i], seqs[i], senders[i] < 0 ? null : senders[i], TYPES[types[i]], (String) payloads[i],
+                    null, null, null, null, LocalDateTime.ofEpochSecond(createdAt[i], 0, ZoneOffset.UTC));
+        }
+    }
+}
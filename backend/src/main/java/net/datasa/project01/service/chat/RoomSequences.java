@@ -0,0 +1,118 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.repository.RoomMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 방별 메시지 순번(seq) 발급 — 방마다 1, 2, 3 … 빈틈없이 (재연결 때 "N 번까지 받았음" → 빠진 구간만 다시 받기)
+ *
+ * - 카운터는 메모리에만 둔다. 처음 쓰는 방은 room_messages 의 MAX(seq) 에서 이어가고 (uq_msg_room_seq 인덱스 한 번),
+ *   재시작하면 ChatMessageWriter 가 로그 재생분으로 seed → 테이블에 아직 없는 순번도 다시 발급하지 않는다.
+ * - 발급은 ChatMessageWriter 의 기록 스레드에서 message_id 와 같은 순서로 → 방 안에서 seq 순서 = message_id 순서.
+ *   DB 조회가 기록 스레드를 막지 않도록 보내는 쪽이 preload 로 미리 올려 둔다.
+ * - 카운터 변경/제거는 ConcurrentHashMap 의 compute 안에서만 (제거와 발급이 엇갈려 같은 순번이 두 번 나가지 않게).
+ *   오래 안 쓴 방은 그 방의 마지막 메시지가 테이블에 반영된 뒤에만 비운다 (다시 읽을 MAX(seq) 가 맞도록).
+ * - 채팅 노드가 하나라는 전제 (message_id 와 같음)
+ *
+ * 메트릭: chat.seq.rooms
+ */
+@Component
+public class RoomSequences {
+
+    /** 방 하나의 카운터 (필드는 compute 안에서만 바뀜) */
+    private static final class Counter {
+        long seq;
+        long lastMessageId;
+        long touchedNanos = System.nanoTime();
+
+        Counter(long seq) {
+            this.seq = seq;
+        }
+    }
+
+    private final RoomMessageRepository repository;
+    private final long idleNanos;
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+    /** room_messages 반영이 끝난 마지막 message_id */
+    private volatile long flushedId;
+
+    public RoomSequences(RoomMessageRepository repository, MeterRegistry registry,
+                         @Value("${app.chat.seq.idle-ms:1800000}") long idleMs) {
+        this.repository = repository;
+        this.idleNanos = TimeUnit.MILLISECONDS.toNanos(idleMs);
+        Gauge.builder("chat.seq.rooms", counters, Map::size).register(registry);
+    }
+
+    /** 이 노드에서 새로 만든 방 — 0 부터 */
+    public void roomOpened(long roomId) {
+        counters.putIfAbsent(roomId, new Counter(0));
+    }
+
+    /** 카운터를 미리 올려 둠 (보내는 쪽 스레드에서) */
+    public void preload(long roomId) {
+        counters.computeIfAbsent(roomId, k -> new Counter(repository.maxSeq(k)));
+    }
+
+    /** 다음 순번 (기록 스레드) */
+    long next(long roomId, long messageId) {
+        return counters.compute(roomId, (k, c) -> {
+            if (c == null) c = new Counter(repository.maxSeq(k)); // preload 뒤 비워진 드문 경우
+            c.seq++;
+            c.lastMessageId = messageId;
+            c.touchedNanos = System.nanoTime();
+            return c;
+        }).seq;
+    }
+
+    /** 로그 기록이 실패한 묶음의 순번 되돌리기 (발급 역순으로) */
+    void release(List<RoomMessage> messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            RoomMessage m = messages.get(i);
+            counters.computeIfPresent(m.getRoomId(), (k, c) -> {
+                if (c.seq == m.getSeq()) c.seq--;
+                return c;
+            });
+        }
+    }
+
+    /** 로그 재생분 (시작할 때, 기록 순서대로) */
+    void seed(RoomMessage m) {
+        counters.compute(m.getRoomId(), (k, c) -> {
+            if (c == null) c = new Counter(0);
+            c.seq = Math.max(c.seq, m.getSeq());
+            c.lastMessageId = Math.max(c.lastMessageId, m.getMessageId());
+            return c;
+        });
+    }
+
+    /** 반영 스레드가 묶음을 넣은 뒤 */
+    void flushed(long messageId) {
+        flushedId = messageId;
+    }
+
+    /** room_messages 반영이 끝난 마지막 message_id (반영은 message_id 순서 → 이하의 메시지는 모두 테이블에 있음) */
+    long flushedId() {
+        return flushedId;
+    }
+
+    /** 오래 안 쓰고, 마지막 메시지까지 테이블에 들어간 방의 카운터 비우기 */
+    @Scheduled(fixedDelayString = "${app.chat.seq.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        long flushed = flushedId;
+        for (Long roomId : counters.keySet()) {
+            counters.computeIfPresent(roomId, (k, c) ->
+                    now - c.touchedNanos > idleNanos && c.lastMessageId <= flushed ? null : c);
+        }
+    }
+}
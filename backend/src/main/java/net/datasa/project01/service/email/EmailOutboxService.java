@@ -0,0 +1,53 @@
+package net.datasa.project01.service.email;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.entity.EmailOutbox;
+import net.datasa.project01.domain.vo.OutboxStatus;
+import net.datasa.project01.repository.EmailOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메일 발송 예약 (트랜잭션 아웃박스)
+ * - enqueue 는 SMTP에 접속하지 않고 email_outbox 에 한 행만 쓴다 → 호출 측 트랜잭션과 함께 커밋/롤백
+ * - 커밋 직후 워커를 깨워 바로 발송 (폴링 주기를 기다리지 않음), 롤백되면 메일도 나가지 않는다.
+ */
+@Service
+@RequiredArgsConstructor
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailOutboxWorker worker;
+
+    /**
+     * 메일 발송 예약
+     * @param to      수신자 이메일 주소
+     * @param subject 제목
+     * @param html    본문(HTML)
+     */
+    public void enqueue(String to, String subject, String html) {
+        outboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(html)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 커밋되기 전에는 워커가 이 행을 볼 수 없으므로 커밋 후에 깨운다
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    worker.wakeUp();
+                }
+            });
+        } else {
+            worker.wakeUp();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package net.datasa.project01.service.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.entity.EmailOutbox;
+import net.datasa.project01.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * email_outbox 발송 워커
+ * - 디스패처 스레드 1개가 발송할 행을 batch-size 만큼 가져가(claimDue) 발송 풀(threads)에 나눠준다.
+ *   스레드마다 EmailSender.sendAll 로 묶어 보내므로 SMTP 연결 하나로 여러 통을 이어서 보낸다.
+ * - 새 메일이 예약되면 wakeUp()으로 즉시 깨어나고, 그렇지 않으면 poll-interval-ms 마다 확인한다
+ *   (재시도 시각이 된 행, 다른 노드가 예약한 행, 죽은 워커가 잡고 있던 행).
+ * - 실패 시 지수 백오프: base * 2^(attempts-1), 최대 max, ±20% 지터 → max-attempts 초과 시 DEAD
+ *
+ * 메트릭:
+ * - email.outbox.sent / email.outbox.retried / email.outbox.dead
+ * - email.outbox.delivery : 예약(created_at)부터 발송 완료까지 걸린 시간
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailSender emailSender;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffBaseMs;
+    private final long backoffMaxMs;
+    private final long pollIntervalMs;
+    private final long leaseSeconds;
+    private final int sentRetentionDays;
+
+    private final int threads;
+    private final ExecutorService sendPool;
+    private final Semaphore signal = new Semaphore(0);
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer delivery;
+
+    public EmailOutboxWorker(EmailOutboxRepository outboxRepository,
+                             EmailSender emailSender,
+                             MeterRegistry registry,
+                             @Value("${app.mail.outbox.threads:4}") int threads,
+                             @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                             @Value("${app.mail.outbox.max-attempts:6}") int maxAttempts,
+                             @Value("${app.mail.outbox.backoff-base-ms:2000}") long backoffBaseMs,
+                             @Value("${app.mail.outbox.backoff-max-ms:600000}") long backoffMaxMs,
+                             @Value("${app.mail.outbox.poll-interval-ms:5000}") long pollIntervalMs,
+                             @Value("${app.mail.outbox.lease-seconds:120}") long leaseSeconds,
+                             @Value("${app.mail.outbox.sent-retention-days:7}") int sentRetentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.emailSender = emailSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBaseMs = backoffBaseMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.pollIntervalMs = pollIntervalMs;
+        this.leaseSeconds = leaseSeconds;
+        this.sentRetentionDays = sentRetentionDays;
+
+        this.threads = Math.max(1, threads);
+        AtomicInteger seq = new AtomicInteger();
+        this.sendPool = Executors.newFixedThreadPool(this.threads, r -> {
+            Thread t = new Thread(r, "mail-outbox-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.sent = Counter.builder("email.outbox.sent").register(registry);
+        this.retried = Counter.builder("email.outbox.retried").register(registry);
+        this.dead = Counter.builder("email.outbox.dead").register(registry);
+        this.delivery = Timer.builder("email.outbox.delivery")
+                .description("메일 예약부터 발송 완료까지").register(registry);
+    }
+
+    /** 기동 완료 후 디스패처 시작 (그 전에 예약된 메일도 첫 루프에서 발송) */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        dispatcher = new Thread(this::dispatchLoop, "mail-outbox-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /** 새 메일이 예약되었음을 알림 (커밋 후 호출) */
+    public void wakeUp() {
+        signal.release();
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = drainOnce();
+            } catch (RuntimeException e) {
+                log.warn("메일 대기열 처리 실패: {}", e.getMessage());
+            }
+            if (claimed >= batchSize) continue; // 아직 남았을 수 있음 → 바로 다음 배치
+            try {
+                signal.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                signal.drainPermits(); // 여러 번 깨워도 한 번만 돌면 됨
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 발송할 때가 된 메일을 한 배치 가져와 발송 풀에서 보내고, 모두 끝날 때까지 기다린다.
+     * @return 가져간 건수
+     */
+    public int drainOnce() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = outboxRepository.claimDue(now, batchSize, now.plusSeconds(leaseSeconds));
+        if (batch.isEmpty()) return 0;
+
+        // 스레드 수만큼 나눠 각 묶음을 연결 하나로 발송
+        int groups = Math.min(threads, batch.size());
+        List<List<EmailOutbox>> chunks = new ArrayList<>(groups);
+        for (int i = 0; i < groups; i++) chunks.add(new ArrayList<>());
+        for (int i = 0; i < batch.size(); i++) chunks.get(i % groups).add(batch.get(i));
+
+        List<Future<?>> futures = new ArrayList<>(groups);
+        for (List<EmailOutbox> chunk : chunks) {
+            futures.add(sendPool.submit(() -> deliverAll(chunk)));
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.warn("메일 발송 작업 오류: {}", e.getCause().getMessage());
+            }
+        }
+        return batch.size();
+    }
+
+    private void deliverAll(List<EmailOutbox> messages) {
+        List<OutgoingEmail> mails = new ArrayList<>(messages.size());
+        for (EmailOutbox m : messages) {
+            mails.add(new OutgoingEmail(m.getRecipient(), m.getSubject(), m.getBody()));
+        }
+        List<RuntimeException> results;
+        try {
+            results = emailSender.sendAll(mails);
+        } catch (RuntimeException e) {
+            results = new ArrayList<>(messages.size());
+            for (int i = 0; i < messages.size(); i++) results.add(e);
+        }
+        for (int i = 0; i < messages.size(); i++) {
+            recordResult(messages.get(i), results.get(i));
+        }
+    }
+
+    private void recordResult(EmailOutbox message, RuntimeException failure) {
+        int attempts = message.getAttempts() + 1;
+        if (failure != null) {
+            String error = abbreviate(rootMessage(failure));
+            if (attempts >= maxAttempts) {
+                outboxRepository.markDead(message.getOutboxId(), attempts, error);
+                dead.increment();
+                log.error("메일 발송 포기(DEAD): outboxId={}, to={}, attempts={}, error={}",
+                        message.getOutboxId(), message.getRecipient(), attempts, error);
+            } else {
+                LocalDateTime next = LocalDateTime.now().plus(Duration.ofMillis(backoffMillis(attempts)));
+                outboxRepository.markRetry(message.getOutboxId(), attempts, next, error);
+                retried.increment();
+                log.warn("메일 발송 실패, 재시도 예약: outboxId={}, attempts={}, next={}, error={}",
+                        message.getOutboxId(), attempts, next, error);
+            }
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.markSent(message.getOutboxId(), attempts, now);
+        sent.increment();
+        if (message.getCreatedAt() != null) {
+            delivery.record(Duration.between(message.getCreatedAt(), now));
+        }
+    }
+
+    /** base * 2^(attempts-1), 최대 max, ±20% 지터 (여러 메일이 같은 순간에 몰려 재시도하지 않도록) */
+    long backoffMillis(int attempts) {
+        long exp = backoffBaseMs << Math.min(attempts - 1, 20);
+        long capped = Math.min(backoffMaxMs, exp < 0 ? backoffMaxMs : exp);
+        double jitter = 0.8 + ThreadLocalRandom.current().nextDouble() * 0.4;
+        return (long) (capped * jitter);
+    }
+
+    /** 보관 기간이 지난 발송 완료 행 정리: 매일 새벽 3시 30분 */
+    @Scheduled(cron = "0 30 3 * * ?")
+    public void purgeSent() {
+        long deleted = outboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(sentRetentionDays));
+        log.info("email_outbox 정리: 발송 완료 {}건 삭제", deleted);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null && t.getCause() != t) t = t.getCause();
+        return t.getClass().getSimpleName() + ": " + t.getMessage();
+    }
+
+    private static String abbreviate(String s) {
+        return s.length() <= 500 ? s : s.substring(0, 500);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (dispatcher != null) dispatcher.interrupt();
+        sendPool.shutdown();
+    }
+}
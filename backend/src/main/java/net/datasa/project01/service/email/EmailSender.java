@@ -1,5 +1,8 @@
 package net.datasa.project01.service.email; // 이메일 관련 서비스 클래스가 모여있는 패키지 선언
 
+import java.util.ArrayList; // 결과 목록
+import java.util.List; // 일괄 발송 목록
+
 /**
  * EmailSender 인터페이스
  * - 이메일을 발송하는 기능을 정의합니다.
@@ -18,4 +21,23 @@ public interface EmailSender { // 이메일 발송 기능을 위한 인터페이
      */
     void send(String to, String subject, String contentHtmlOrText); // 이메일 발송 메서드 (구현 필요)
 
+    /**
+     * 여러 메일을 한 번에 발송합니다.
+     * - 한 통이 실패해도 나머지는 계속 보냅니다.
+     * - 기본 구현은 send()를 차례로 호출하고, SMTP 구현은 연결 하나로 이어서 보냅니다.
+     * @param mails 보낼 메일 목록
+     * @return mails 와 같은 순서의 결과 목록 (성공: null, 실패: 원인 예외)
+     */
+    default List<RuntimeException> sendAll(List<OutgoingEmail> mails) {
+        List<RuntimeException> results = new ArrayList<>(mails.size());
+        for (OutgoingEmail mail : mails) {
+            try {
+                send(mail.to(), mail.subject(), mail.html());
+                results.add(null);
+            } catch (RuntimeException e) {
+                results.add(e);
+            }
+        }
+        return results;
+    }
 }
\ No newline at end of file
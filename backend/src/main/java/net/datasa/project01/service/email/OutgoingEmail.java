@@ -0,0 +1,10 @@
+package net.datasa.project01.service.email;
+
+/**
+ * 발송할 메일 한 통 (EmailSender.sendAll 의 입력)
+ * @param to      수신자 이메일 주소
+ * @param subject 제목
+ * @param html    본문(HTML)
+ */
+public record OutgoingEmail(String to, String subject, String html) {
+}
@@ -1,32 +1,44 @@
 package net.datasa.project01.service.email; // 이메일 관련 서비스 클래스가 모여있는 패키지 선언
 
+import jakarta.mail.MessagingException; // 메일 전송/연결 예외
+import jakarta.mail.SendFailedException; // 수신자 거부 등 메시지 단위 실패
+import jakarta.mail.internet.AddressException; // 주소 형식 오류
+import jakarta.mail.internet.InternetAddress; // 메일 주소
+import jakarta.mail.internet.MimeMessage; // MIME 형식 이메일 메시지 클래스
 import lombok.RequiredArgsConstructor; // final 필드 자동 생성자 생성 어노테이션
 import org.springframework.beans.factory.annotation.Value; // 프로퍼티 값 주입 어노테이션
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile; // 특정 profile에서만 활성화할 때 사용
-import org.springframework.mail.javamail.JavaMailSender; // 스프링 메일 전송 인터페이스
-import org.springframework.mail.javamail.MimeMessageHelper; // 메일 메시지 작성 도우미 클래스
+import org.springframework.mail.MailSendException; // 스프링 메일 전송 예외
 import org.springframework.stereotype.Component; // 스프링 컴포넌트(빈)로 등록하는 어노테이션
-import jakarta.mail.internet.MimeMessage; // MIME 형식 이메일 메시지 클래스
+
+import java.util.ArrayList; // 결과 목록
+import java.util.Collections; // 결과 목록 초기화
+import java.util.List; // 일괄 발송 목록
 
 /**
  * SmtpEmailSender 클래스
  * - 실제 SMTP 서버로 메일을 보내는 구현체입니다.
  * - "db" 프로필에서만 활성화됩니다.
+ * - 메일마다 연결/STARTTLS/AUTH 를 반복하지 않도록 SmtpTransportPool 의 연결을 재사용합니다.
+ * - sendAll 은 연결 하나로 여러 통을 이어서 보냅니다(메일 발송 대기열 워커가 사용).
  */
 @Component // 스프링이 관리하는 컴포넌트(빈)로 등록
 @Profile("db") // "db" 프로필일 때만 활성화됨
-@RequiredArgsConstructor // final 필드(mailSender)에 대한 생성자 자동 생성
+@RequiredArgsConstructor // final 필드(transportPool)에 대한 생성자 자동 생성
 @ConditionalOnProperty(name="spring.mail.username", matchIfMissing=false)
 public class SmtpEmailSender implements EmailSender { // EmailSender 인터페이스 구현
 
-    // 실제 메일 전송을 담당하는 스프링의 JavaMailSender (생성자 주입)
-    private final JavaMailSender mailSender;
+    // SMTP 연결 풀 (생성자 주입)
+    private final SmtpTransportPool transportPool;
 
     // 메일 발신자 정보 (application.yml 등에서 설정, 기본값 제공)
     @Value("${app.mail.from:Matcha Talk <no-reply@localhost>}")
     private String from;
 
+    // 파싱한 발신자 주소 (메일마다 다시 파싱하지 않음)
+    private volatile InternetAddress fromAddress;
+
     /**
      * 이메일을 실제로 SMTP 서버를 통해 발송하는 메서드입니다.
      * @param to 수신자 이메일 주소
@@ -35,19 +47,59 @@ public class SmtpEmailSender implements EmailSender { // EmailSender 인터페
      */
     @Override
     public void send(String to, String subject, String html) {
+        RuntimeException error = sendAll(List.of(new OutgoingEmail(to, subject, html))).get(0);
+        if (error != null) throw error;
+    }
+
+    /**
+     * 연결 하나를 빌려 여러 통을 이어서 발송합니다.
+     * - 수신자 거부(SendFailedException)는 그 메일만 실패, 연결은 계속 사용
+     * - 연결 오류는 그 연결을 버리고 다음 메일부터 새 연결로 보냄
+     */
+    @Override
+    public List<RuntimeException> sendAll(List<OutgoingEmail> mails) {
+        List<RuntimeException> results = new ArrayList<>(Collections.nCopies(mails.size(), null));
+        SmtpTransportPool.PooledTransport transport = null;
         try {
-            // 빈 MIME 메시지 객체 생성
-            MimeMessage message = mailSender.createMimeMessage();
-            // 메시지 작성 도우미 객체 생성 (첨부파일 허용, UTF-8 인코딩)
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setFrom(from); // 발신자 설정
-            helper.setTo(to); // 수신자 설정
-            helper.setSubject(subject); // 제목 설정
-            helper.setText(html, true); // 본문 설정 (true: HTML 형식)
-            mailSender.send(message); // 메일 전송
-        } catch (Exception e) {
-            // 예외 발생 시 런타임 예외로 감싸서 던짐
-            throw new RuntimeException("메일 전송 실패", e);
+            for (int i = 0; i < mails.size(); i++) {
+                try {
+                    MimeMessage message = createMessage(mails.get(i));
+                    if (transport == null) transport = transportPool.borrow();
+                    transportPool.send(transport, message);
+                } catch (SendFailedException e) {
+                    results.set(i, new MailSendException("메일 전송 실패", e));
+                } catch (MessagingException e) {
+                    results.set(i, new MailSendException("메일 전송 실패", e));
+                    if (transport != null) {
+                        transportPool.invalidate(transport);
+                        transport = null;
+                    }
+                } catch (RuntimeException e) {
+                    results.set(i, e);
+                }
+            }
+        } finally {
+            if (transport != null) transportPool.release(transport);
+        }
+        return results;
+    }
+
+    /** 단일 파트 HTML 메시지 (첨부가 없으므로 multipart 를 만들지 않음) */
+    private MimeMessage createMessage(OutgoingEmail mail) throws MessagingException {
+        MimeMessage message = new MimeMessage(transportPool.getSession());
+        message.setFrom(fromAddress());
+        message.setRecipients(MimeMessage.RecipientType.TO, InternetAddress.parse(mail.to(), true));
+        message.setSubject(mail.subject(), "UTF-8");
+        message.setText(mail.html(), "UTF-8", "html");
+        return message;
+    }
+
+    private InternetAddress fromAddress() throws AddressException {
+        InternetAddress address = fromAddress;
+        if (address == null) {
+            address = new InternetAddress(from, true);
+            fromAddress = address;
         }
+        return address;
     }
-}
\ No newline at end of file
+}
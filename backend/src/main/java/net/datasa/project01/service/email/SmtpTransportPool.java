@@ -0,0 +1,223 @@
+package net.datasa.project01.service.email;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMTP 연결(Transport) 풀
+ * - JavaMailSender.send 는 메일마다 TCP 연결 + STARTTLS + AUTH 를 새로 하고 끊는다 → 메일당 비용의 대부분
+ * - 인증까지 끝난 연결을 최대 pool-size 개까지 유지하며 재사용한다.
+ *
+ * 연결 관리:
+ * - 최근에 쓴 연결부터 재사용(LIFO) → 남는 연결은 오래 쉬게 되어 유휴 정리 대상이 된다.
+ * - validate-after-ms 이상 쉰 연결은 빌려주기 전에 NOOP 으로 살아있는지 확인
+ * - idle-timeout-ms 이상 쉰 연결은 주기적으로 닫는다(서버가 먼저 끊기 전에).
+ * - max-messages-per-connection 통을 보낸 연결은 닫고 새로 연결(서버의 연결당 발송 제한 대비)
+ * - 전송 중 연결 오류가 나면 그 연결은 버린다(invalidate).
+ *
+ * 메트릭:
+ * - mail.smtp.connect : 연결 + STARTTLS + AUTH 시간
+ * - mail.smtp.send    : 메일 한 통 전송 시간
+ * - mail.smtp.pool.idle / mail.smtp.pool.active
+ * - mail.smtp.pool.closed{reason=idle|stale|recycled|broken}
+ */
+@Slf4j
+@Component
+@Profile("db")
+@ConditionalOnProperty(name = "spring.mail.username", matchIfMissing = false)
+public class SmtpTransportPool {
+
+    /** 풀에 있는 연결 하나 */
+    public static final class PooledTransport {
+        private final Transport transport;
+        private long lastUsedAt = System.currentTimeMillis();
+        private int sentCount;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    private final JavaMailSenderImpl mailSender;
+    private final int poolSize;
+    private final long borrowTimeoutMs;
+    private final long validateAfterMs;
+    private final long idleTimeoutMs;
+    private final int maxMessagesPerConnection;
+
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private volatile boolean closed;
+
+    private final Timer connectTimer;
+    private final Timer sendTimer;
+    private final Counter closedIdle;
+    private final Counter closedStale;
+    private final Counter closedRecycled;
+    private final Counter closedBroken;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender,
+                             MeterRegistry registry,
+                             @Value("${app.mail.smtp.pool.size:4}") int poolSize,
+                             @Value("${app.mail.smtp.pool.borrow-timeout-ms:10000}") long borrowTimeoutMs,
+                             @Value("${app.mail.smtp.pool.validate-after-ms:5000}") long validateAfterMs,
+                             @Value("${app.mail.smtp.pool.idle-timeout-ms:60000}") long idleTimeoutMs,
+                             @Value("${app.mail.smtp.pool.max-messages-per-connection:100}") int maxMessagesPerConnection) {
+        this.mailSender = mailSender;
+        this.poolSize = Math.max(1, poolSize);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.validateAfterMs = validateAfterMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.permits = new Semaphore(this.poolSize);
+
+        this.connectTimer = Timer.builder("mail.smtp.connect")
+                .description("SMTP 연결 + STARTTLS + AUTH 시간").register(registry);
+        this.sendTimer = Timer.builder("mail.smtp.send")
+                .description("메일 한 통 전송 시간").register(registry);
+        Gauge.builder("mail.smtp.pool.idle", idle, LinkedBlockingDeque::size).register(registry);
+        Gauge.builder("mail.smtp.pool.active", this, p -> p.poolSize - p.permits.availablePermits()).register(registry);
+        this.closedIdle = Counter.builder("mail.smtp.pool.closed").tag("reason", "idle").register(registry);
+        this.closedStale = Counter.builder("mail.smtp.pool.closed").tag("reason", "stale").register(registry);
+        this.closedRecycled = Counter.builder("mail.smtp.pool.closed").tag("reason", "recycled").register(registry);
+        this.closedBroken = Counter.builder("mail.smtp.pool.closed").tag("reason", "broken").register(registry);
+    }
+
+    /** 발송할 메시지를 만들 때 쓸 세션 (spring.mail.properties.* 반영) */
+    public Session getSession() {
+        return mailSender.getSession();
+    }
+
+    /**
+     * 연결을 하나 빌린다(없으면 새로 연결). 다 쓰면 반드시 release 또는 invalidate.
+     * @throws MessagingException 연결 실패 또는 borrow-timeout-ms 안에 빈 연결이 없을 때
+     */
+    public PooledTransport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("SMTP 연결 풀에 빈 연결이 없습니다.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("SMTP 연결 대기 중 중단되었습니다.", e);
+        }
+        try {
+            PooledTransport t;
+            while ((t = idle.pollFirst()) != null) {
+                if (isUsable(t)) return t;
+                closedStale.increment();
+                closeQuietly(t);
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** 빌린 연결로 한 통 전송 */
+    public void send(PooledTransport t, MimeMessage message) throws MessagingException {
+        long started = System.nanoTime();
+        try {
+            message.saveChanges();
+            t.transport.sendMessage(message, message.getAllRecipients());
+            t.sentCount++;
+        } finally {
+            sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** 정상 반납 → 다음 사용자가 재사용 */
+    public void release(PooledTransport t) {
+        t.lastUsedAt = System.currentTimeMillis();
+        if (closed || t.sentCount >= maxMessagesPerConnection) {
+            if (!closed) closedRecycled.increment();
+            closeQuietly(t);
+        } else {
+            idle.offerFirst(t);
+        }
+        permits.release();
+    }
+
+    /** 연결 오류가 난 연결 → 닫고 버림 */
+    public void invalidate(PooledTransport t) {
+        closedBroken.increment();
+        closeQuietly(t);
+        permits.release();
+    }
+
+    /** 오래 쉰 연결 정리 (서버가 먼저 끊어 빌릴 때 실패하는 일을 줄임) */
+    @Scheduled(fixedDelayString = "${app.mail.smtp.pool.evict-interval-ms:30000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<PooledTransport> expired = new ArrayList<>();
+        idle.removeIf(t -> {
+            boolean old = now - t.lastUsedAt >= idleTimeoutMs;
+            if (old) expired.add(t);
+            return old;
+        });
+        for (PooledTransport t : expired) {
+            closedIdle.increment();
+            closeQuietly(t);
+        }
+        if (!expired.isEmpty()) {
+            log.debug("SMTP 유휴 연결 {}개 정리 (남은 유휴 연결 {}개)", expired.size(), idle.size());
+        }
+    }
+
+    private boolean isUsable(PooledTransport t) {
+        long idleFor = System.currentTimeMillis() - t.lastUsedAt;
+        if (idleFor >= idleTimeoutMs) return false;
+        if (idleFor < validateAfterMs) return true; // 방금 쓴 연결은 확인 생략 (실패 시 invalidate 로 처리)
+        return t.transport.isConnected(); // SMTPTransport: NOOP 왕복으로 확인
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        long started = System.nanoTime();
+        try {
+            Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+            transport.connect(mailSender.getHost(), mailSender.getPort(),
+                    mailSender.getUsername(), mailSender.getPassword());
+            return new PooledTransport(transport);
+        } finally {
+            connectTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static void closeQuietly(PooledTransport t) {
+        try {
+            t.transport.close();
+        } catch (MessagingException | RuntimeException ignore) {
+            // 이미 끊긴 연결
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        closed = true;
+        PooledTransport t;
+        while ((t = idle.pollFirst()) != null) {
+            closeQuietly(t);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 관심사 → 비트 위치 사전
+ * - 처음 보는 관심사에 다음 비트를 배정 (프로세스 안에서만 유효, 저널/DB 에는 문자열로 남긴다)
+ * - 요청마다 관심사를 long[] 비트마스크로 한 번만 바꿔 두면, 후보 점수는 AND/OR + Long.bitCount 로
+ *   객체 할당 없이 계산된다 (JSON 파싱/Set 교집합 없음).
+ * - 자유 입력이라 종류가 무한히 늘 수 있으므로 max-bits 까지만 배정하고, 넘치면 해시로 기존 비트를 공유한다
+ *   (드물게 다른 관심사가 같은 비트로 겹쳐 점수가 약간 높게 나올 수 있음).
+ */
+@Component
+public class InterestDictionary {
+
+    private final ConcurrentHashMap<String, Integer> bits = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int maxBits;
+
+    public InterestDictionary(MeterRegistry registry,
+                              @Value("${app.match.interests.max-bits:512}") int maxBits) {
+        this.maxBits = maxBits;
+        Gauge.builder("match.interests.dictionary.size", bits, ConcurrentHashMap::size).register(registry);
+    }
+
+    /** 관심사 목록 → 비트마스크 (대소문자/앞뒤 공백 무시) */
+    public long[] encode(Collection<String> interests) {
+        int[] positions = new int[interests.size()];
+        int i = 0, highest = -1;
+        for (String interest : interests) {
+            int bit = bitOf(interest.trim().toLowerCase(Locale.ROOT));
+            positions[i++] = bit;
+            highest = Math.max(highest, bit);
+        }
+        long[] mask = new long[(highest >> 6) + 1];
+        for (int bit : positions) mask[bit >> 6] |= 1L << (bit & 63);
+        return mask;
+    }
+
+    private int bitOf(String key) {
+        Integer bit = bits.get(key);
+        if (bit != null) return bit;
+        if (next.get() >= maxBits) return Math.floorMod(key.hashCode(), maxBits); // 사전이 가득 참 → 비트 공유
+        return bits.computeIfAbsent(key, k -> {
+            int n = next.getAndIncrement();
+            return n < maxBits ? n : Math.floorMod(k.hashCode(), maxBits);
+        });
+    }
+
+    /**
+     * 자카드 유사도 |A ∩ B| / |A ∪ B| 를 0~1024 정수로 (나눗셈 한 번, 할당 없음)
+     * - 관심사가 많은 사람이 무조건 유리해지지 않도록 합집합으로 나눈다.
+     */
+    public static int similarity(long[] a, long[] b) {
+        int common = Math.min(a.length, b.length);
+        int and = 0, or = 0;
+        for (int i = 0; i < common; i++) {
+            and += Long.bitCount(a[i] & b[i]);
+            or += Long.bitCount(a[i] | b[i]);
+        }
+        for (int i = common; i < a.length; i++) or += Long.bitCount(a[i]);
+        for (int i = common; i < b.length; i++) or += Long.bitCount(b[i]);
+        return or == 0 ? 0 : (and << 10) / or;
+    }
+}
@@ -0,0 +1,237 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+
+/**
+ * 인메모리 매칭 대기열
+ *
+ * 색인 구조 (지역 → 버킷 → 본인 나이 → 희망 나이 구간 → FIFO):
+ * - 지역(region_code)마다 락 하나: 서로 다른 지역의 요청은 경합하지 않는다.
+ * - 버킷 키 = (희망 성별, 본인 성별). 새 요청이 볼 버킷은 최대 4개
+ *   (상대 성별 ∈ 내 희망, 상대 희망 ∈ {내 성별, A}) → 성별 조건은 훑지 않고 버킷 선택으로 끝난다.
+ * - 버킷 안: 본인 나이 TreeMap → 내 희망 나이 범위만 subMap 으로 잘라 본다.
+ * - 나이 칸 안: 상대의 희망 나이 구간(min, max)별 그룹 → 내 나이를 포함하는 구간만 본다.
+ * - 그룹 안: request_id 순(TreeMap) → 그룹마다 맨 앞 한 명만 후보 (같은 조건이면 먼저 온 사람 우선,
+ *   거절당해 돌아온 요청이나 복구된 요청도 원래 순번 자리로 들어감)
+ *
+ * 후보 수는 (나이 칸 수 × 구간 종류 수)로 제한되고 대기 인원 수와 무관하다.
+ * 후보 중 관심사가 가장 많이 겹치는 사람, 같으면 먼저 온 사람을 고른다.
+ *
+ * 메트릭: match.queue.size, match.made, match.scan.candidates
+ */
+@Component
+public class MatchEngine {
+
+    /** 희망 성별 "상관없음" */
+    static final char ANY = 'A';
+
+    private static final char[] GENDERS = {'M', 'F'};
+
+    /** 버킷 키 */
+    private record BucketKey(char choiceGender, char gender) {
+    }
+
+    /** 희망 나이 구간 (min 오름차순, 같으면 max 오름차순) */
+    private record AgeRange(int min, int max) implements Comparable<AgeRange> {
+        @Override
+        public int compareTo(AgeRange o) {
+            int c = Integer.compare(min, o.min);
+            return c != 0 ? c : Integer.compare(max, o.max);
+        }
+    }
+
+    /** 본인 나이 → 희망 나이 구간 → 도착 순서 */
+    private static final class Bucket {
+        private final TreeMap<Integer, TreeMap<AgeRange, TreeMap<Long, MatchTicket>>> byAge = new TreeMap<>();
+    }
+
+    /** 지역 하나의 대기열 */
+    private static final class Region {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<BucketKey, Bucket> buckets = new HashMap<>();
+    }
+
+    private final ConcurrentHashMap<String, Region> regions = new ConcurrentHashMap<>();
+    /** request_id → 대기 중인 요청 (지역 찾기/크기 집계용) */
+    private final ConcurrentHashMap<Long, MatchTicket> waiting = new ConcurrentHashMap<>();
+
+    private final Counter made;
+    private final DistributionSummary scanned;
+
+    public MatchEngine(MeterRegistry registry) {
+        Gauge.builder("match.queue.size", waiting, Map::size)
+                .description("매칭 대기 인원").register(registry);
+        this.made = Counter.builder("match.made").description("성사된 매칭 수").register(registry);
+        this.scanned = DistributionSummary.builder("match.scan.candidates")
+                .description("요청 하나당 살펴본 후보 수").register(registry);
+    }
+
+    /**
+     * 상대를 찾고, 없으면 대기열에 넣는다.
+     * @param ticket  새 요청 (또는 상대가 거절해 다시 넣는 요청)
+     * @param blocked (요청, 후보) 쌍을 제외할지 — 최근 거절한 상대 등
+     * @return 짝이 된 상대 (대기열에서 빠짐), 없으면 empty (ticket 이 대기열에 들어감)
+     */
+    public Optional<MatchTicket> offer(MatchTicket ticket, BiPredicate<MatchTicket, MatchTicket> blocked) {
+        Region region = regions.computeIfAbsent(ticket.regionCode(), k -> new Region());
+        region.lock.lock();
+        try {
+            Candidate best = bestLocked(region, ticket, blocked);
+            scanned.record(best.seen());
+            if (best.ticket() != null) {
+                removeLocked(region, best.ticket());
+                made.increment();
+                return Optional.of(best.ticket());
+            }
+            addLocked(region, ticket);
+            return Optional.empty();
+        } finally {
+            region.lock.unlock();
+        }
+    }
+
+    /**
+     * ticket 을 이 지역(ticket.regionCode) 대기열에 넣었다면 얻을 최고 점수 — 대기열은 바꾸지 않음
+     * - 다른 지역도 허용한 요청이 옮겨 갈 지역을 고를 때 사용
+     * @return 관심사 점수 (0~1024), 짝지을 후보가 없으면 -1
+     */
+    public int peek(MatchTicket ticket, BiPredicate<MatchTicket, MatchTicket> blocked) {
+        Region region = regions.get(ticket.regionCode());
+        if (region == null) return -1;
+        region.lock.lock();
+        try {
+            return bestLocked(region, ticket, blocked).score();
+        } finally {
+            region.lock.unlock();
+        }
+    }
+
+    /** 탐색 결과 (ticket == null 이면 후보 없음, score = -1) */
+    private record Candidate(MatchTicket ticket, int score, int seen) {
+    }
+
+    private Candidate bestLocked(Region region, MatchTicket ticket, BiPredicate<MatchTicket, MatchTicket> blocked) {
+        MatchTicket best = null;
+        int bestScore = -1;
+        int seen = 0;
+        for (char gender : ticket.choiceGender() == ANY ? GENDERS : new char[]{ticket.choiceGender()}) {
+            for (char choice : new char[]{ticket.gender(), ANY}) {
+                Bucket bucket = region.buckets.get(new BucketKey(choice, gender));
+                if (bucket == null) continue;
+                for (var ranges : bucket.byAge.subMap(ticket.minAge(), true, ticket.maxAge(), true).values()) {
+                    // min <= 내 나이 인 구간만 → 그중 max >= 내 나이
+                    for (var group : ranges.headMap(new AgeRange(ticket.age(), Integer.MAX_VALUE), true).entrySet()) {
+                        if (group.getKey().max() < ticket.age()) continue;
+                        for (MatchTicket candidate : group.getValue().values()) {
+                            seen++;
+                            if (candidate.userPid() == ticket.userPid() || blocked.test(ticket, candidate)) continue;
+                            int score = ticket.score(candidate);
+                            if (score > bestScore || (score == bestScore && candidate.requestId() < best.requestId())) {
+                                best = candidate;
+                                bestScore = score;
+                            }
+                            break; // 그룹에서는 맨 앞(제외되지 않은) 한 명만
+                        }
+                    }
+                }
+            }
+        }
+        return new Candidate(best, bestScore, seen);
+    }
+
+    /**
+     * 복구용: 상대 탐색 없이 대기열에 바로 넣는다 (저널에서 복원한 티켓끼리는 이미 서로 짝이 안 되는 상태)
+     */
+    public void restore(MatchTicket ticket) {
+        Region region = regions.computeIfAbsent(ticket.regionCode(), k -> new Region());
+        region.lock.lock();
+        try {
+            addLocked(region, ticket);
+        } finally {
+            region.lock.unlock();
+        }
+    }
+
+    /**
+     * 스냅샷용 복사본 — 지역마다 그 지역 락 안에서 복사 (지역끼리는 서로 다른 시점일 수 있음)
+     */
+    public List<MatchTicket> snapshot() {
+        List<MatchTicket> copy = new ArrayList<>(waiting.size());
+        for (Region region : regions.values()) {
+            region.lock.lock();
+            try {
+                for (Bucket bucket : region.buckets.values()) {
+                    for (var ranges : bucket.byAge.values()) {
+                        for (var group : ranges.values()) copy.addAll(group.values());
+                    }
+                }
+            } finally {
+                region.lock.unlock();
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * 대기열에서 빼기 (취소)
+     * @return 대기 중이었으면 true, 이미 매칭됐거나 없으면 false
+     */
+    public boolean remove(long requestId) {
+        MatchTicket ticket = waiting.get(requestId);
+        if (ticket == null) return false;
+        Region region = regions.get(ticket.regionCode());
+        region.lock.lock();
+        try {
+            return removeLocked(region, ticket);
+        } finally {
+            region.lock.unlock();
+        }
+    }
+
+    /** 대기 중인지 */
+    public boolean isWaiting(long requestId) {
+        return waiting.containsKey(requestId);
+    }
+
+    /** 대기 인원 */
+    public int size() {
+        return waiting.size();
+    }
+
+    /** 지역 락을 잡은 상태에서 색인에 추가 (같은 그룹 안에서는 request_id 순 = 도착 순) */
+    private void addLocked(Region region, MatchTicket ticket) {
+        region.buckets.computeIfAbsent(new BucketKey(ticket.choiceGender(), ticket.gender()), k -> new Bucket())
+                .byAge.computeIfAbsent(ticket.age(), k -> new TreeMap<>())
+                .computeIfAbsent(new AgeRange(ticket.minAge(), ticket.maxAge()), k -> new TreeMap<>())
+                .put(ticket.requestId(), ticket);
+        waiting.put(ticket.requestId(), ticket);
+    }
+
+    /** 지역 락을 잡은 상태에서 색인 전체에서 제거 (빈 칸은 정리) */
+    private boolean removeLocked(Region region, MatchTicket ticket) {
+        if (waiting.remove(ticket.requestId()) == null) return false;
+        BucketKey key = new BucketKey(ticket.choiceGender(), ticket.gender());
+        Bucket bucket = region.buckets.get(key);
+        var ranges = bucket.byAge.get(ticket.age());
+        AgeRange range = new AgeRange(ticket.minAge(), ticket.maxAge());
+        var group = ranges.get(range);
+        group.remove(ticket.requestId());
+        if (group.isEmpty()) {
+            ranges.remove(range);
+            if (ranges.isEmpty()) {
+                bucket.byAge.remove(ticket.age());
+                if (bucket.byAge.isEmpty()) region.buckets.remove(key);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,385 @@
+package net.datasa.project01.service.match;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.MatchRequestCreate;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.exception.ServiceBusyException;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 매칭 요청 라우팅 — 대기열을 지역(region_code)별로 여러 노드에 나눠 둘 때의 앞단
+ * - 새 요청은 희망 지역의 주인 노드(MatchCluster 해시 링)로 보낸다
+ * - 이후 조회/수락/거절/취소는 그 사용자의 최신 요청을 가진 노드로 (사용자 → 노드, 방송으로 공유)
+ * - 링이 바뀌면(노드 합류/이탈) 더 이상 주인이 아닌 지역의 진행 중 요청을 새 주인에게 넘긴다.
+ *   대기 요청은 requestId 순번 그대로, 매칭된 두 요청은 함께 넘어가 수락/거절을 이어서 받는다.
+ *   넘기기 응답을 못 받은 요청은 제자리로 되돌리지 않고(받는 쪽이 이미 등록했을 수 있음) 보낸 노드에 확인한 뒤
+ *   없는 것만 다시 보낸다. adopt 는 request_id 기준으로 한 번만 등록한다 → 같은 요청이 두 노드에 생기지 않는다.
+ * - 다른 지역도 허용한 대기 요청(any_region)은 app.match.relax.probe-interval-ms 마다 다른 지역 대기열을
+ *   살펴(주인 노드별로 한 번씩 묻기) 짝이 있는 지역으로 옮긴다 → 파티션을 넘는 매칭. 한 노드에서도 동작.
+ *
+ * - 사용자 → 노드 표는 요청이 끝나면(취소/시간 초과/성사) 지우고, 링에서 빠진 노드의 항목도 지운다
+ *   → 표 크기는 진행 중인 요청 수 정도로 유지된다. 모르는 사용자는 노드들에 물어본다.
+ *
+ * 클러스터가 꺼져 있으면 모든 호출은 그대로 이 노드의 MatchService 로 간다.
+ * 노드를 옮기는 짧은 사이에는 "요청을 찾을 수 없음/옮겨지는 중" 으로 응답할 수 있다 (화면은 다시 조회).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchGateway {
+
+    private static final TypeReference<List<MatchHandoff>> HANDOFFS = new TypeReference<>() {};
+    private static final TypeReference<List<ProbeResult>> PROBE_RESULTS = new TypeReference<>() {};
+    private static final TypeReference<List<Long>> IDS = new TypeReference<>() {};
+
+    private final MatchService service;
+    private final MatchCluster cluster;
+    private final MatchNotifier notifier;
+    private final MeterRegistry registry;
+
+    @Value("${app.match.regions:SEOUL,BUSAN,TOKYO,OSAKA,FUKUOKA,JEJU,OTHER}")
+    private List<String> regions;
+
+    /** 사용자 → 최신 요청과 그 요청을 가진 노드 (클러스터 모드, 진행 중인 요청만) */
+    private final ConcurrentHashMap<Long, Holder> holders = new ConcurrentHashMap<>();
+    /** 넘겼지만 받았다는 응답이 없는 요청 (request_id → 내용, 보낸 노드) — 제자리로 되돌리지 않고 확인 후 다시 보낸다 */
+    private final ConcurrentHashMap<Long, Unconfirmed> unconfirmed = new ConcurrentHashMap<>();
+
+    /** 노드 간 요청 본문 */
+    record Call(long userPid, Long requestId, Long partnerId, MatchRequestCreate create) {
+    }
+
+    /** 사용자의 요청이 node 로 갔음 (fresh = 새 요청 → 다른 노드의 이전 요청은 REPLACED) */
+    record Holder(long userPid, long requestId, String node, boolean fresh) {
+    }
+
+    /** 다른 노드 구독자에게 넘기는 상태 */
+    record Event(long userPid, MatchResultResponse body) {
+    }
+
+    /** 다른 지역 대기열 살펴보기 — requests 각각을 regions 에 넣었다면 얻을 점수 중 최고 */
+    record Probe(List<MatchHandoff> requests, List<String> regions) {
+    }
+
+    record ProbeResult(long requestId, String region, int score) {
+    }
+
+    /** 응답을 못 받은 넘기기 (target 이 이미 등록했을 수 있음) */
+    private record Unconfirmed(MatchHandoff handoff, String target) {
+    }
+
+    @PostConstruct
+    void init() {
+        if (!cluster.enabled()) return;
+        Gauge.builder("match.cluster.holders", holders, Map::size)
+                .description("사용자 → 요청 노드 표 크기").register(registry);
+        Gauge.builder("match.cluster.unconfirmed", unconfirmed, Map::size)
+                .description("넘겼지만 받았다는 응답이 없는 요청 수").register(registry);
+        cluster.handle("request", b -> {
+            Call c = cluster.convert(b, Call.class);
+            return requestHere(c.userPid(), c.create());
+        });
+        cluster.handle("result", b -> {
+            Call c = cluster.convert(b, Call.class);
+            return service.result(c.userPid(), c.requestId());
+        });
+        cluster.handle("current", b -> {
+            Call c = cluster.convert(b, Call.class);
+            return service.current(c.userPid(), c.requestId());
+        });
+        cluster.handle("accept", b -> {
+            Call c = cluster.convert(b, Call.class);
+            return service.accept(c.userPid(), c.requestId(), c.partnerId());
+        });
+        cluster.handle("decline", b -> {
+            Call c = cluster.convert(b, Call.class);
+            return service.decline(c.userPid(), c.requestId(), c.partnerId());
+        });
+        cluster.handle("cancel", b -> {
+            Call c = cluster.convert(b, Call.class);
+            return service.cancel(c.userPid(), c.requestId());
+        });
+        cluster.handle("holds", b -> service.heldRequestId(b.asLong()));
+        cluster.handle("holding", b -> service.holding(cluster.convert(b, IDS)));
+        cluster.handle("adopt", b -> {
+            adoptHere(cluster.convert(b, HANDOFFS));
+            return true;
+        });
+        cluster.handle("peek", b -> peekHere(cluster.convert(b, Probe.class)));
+
+        cluster.onBroadcast("match.holder", b -> {
+            Holder h = cluster.convert(b, Holder.class);
+            holders.put(h.userPid(), h);
+            if (h.fresh()) service.superseded(h.userPid(), h.requestId());
+        });
+        cluster.onBroadcast("match.released", b -> {
+            Holder h = cluster.convert(b, Holder.class);
+            forget(h.userPid(), h.requestId());
+        });
+        cluster.onBroadcast("match.event", b -> {
+            Event e = cluster.convert(b, Event.class);
+            notifier.deliver(e.userPid(), e.body());
+        });
+        notifier.relayTo((userPid, body) -> cluster.broadcast("match.event", new Event(userPid, body)));
+        service.onClosed((userPid, requestId) -> {
+            forget(userPid, requestId);
+            cluster.broadcast("match.released", new Holder(userPid, requestId, cluster.nodeId(), false));
+        });
+        cluster.onRingChange(this::forgetDeparted);
+        cluster.onRingChange(this::rebalance);
+    }
+
+    /* ===================== API ===================== */
+
+    public MatchResultResponse request(Long userPid, MatchRequestCreate req) {
+        String owner = cluster.ownerOf(req.getRegionCode().trim().toUpperCase(Locale.ROOT));
+        if (cluster.isLocal(owner)) return requestHere(userPid, req);
+        MatchResultResponse result = cluster.call(owner, "request", new Call(userPid, null, null, req),
+                MatchResultResponse.class);
+        holders.put(userPid, new Holder(userPid, result.getRequestId(), owner, true));
+        return result;
+    }
+
+    public MatchResultResponse result(Long userPid, Long requestId) {
+        return route(userPid, "result", new Call(userPid, requestId, null, null),
+                () -> service.result(userPid, requestId));
+    }
+
+    public MatchResultResponse accept(Long userPid, Long requestId, Long partnerId) {
+        return route(userPid, "accept", new Call(userPid, requestId, partnerId, null),
+                () -> service.accept(userPid, requestId, partnerId));
+    }
+
+    public MatchResultResponse decline(Long userPid, Long requestId, Long partnerId) {
+        return route(userPid, "decline", new Call(userPid, requestId, partnerId, null),
+                () -> service.decline(userPid, requestId, partnerId));
+    }
+
+    public MatchResultResponse cancel(Long userPid, Long requestId) {
+        return route(userPid, "cancel", new Call(userPid, requestId, null, null),
+                () -> service.cancel(userPid, requestId));
+    }
+
+    /** 실시간 구독 — 연결은 이 노드에, 현재 상태는 요청을 가진 노드에서 */
+    public SseEmitter subscribe(Long userPid, Long requestId) {
+        MatchResultResponse initial;
+        try {
+            initial = route(userPid, "current", new Call(userPid, requestId, null, null),
+                    () -> service.current(userPid, requestId));
+        } catch (IllegalArgumentException | ServiceBusyException e) {
+            initial = null; // 이후 변화부터 받음
+        }
+        return notifier.subscribe(userPid, initial);
+    }
+
+    /* ===================== 재조정 / 지역 넘나들기 ===================== */
+
+    /**
+     * 주인이 아닌 지역의 진행 중 요청을 주인에게 넘김 (링 변경 때 + 주기적으로 재시도)
+     * - 넘기기 응답을 못 받으면(시간 초과 등) 받는 쪽이 이미 등록했을 수 있으므로 여기 되살리지 않는다.
+     *   unconfirmed 에 묶어 두고 다음 주기에 보낸 노드에 먼저 확인 → 없는 것만 지금 주인에게 다시 보냄
+     *   (adopt 는 request_id 기준으로 한 번만 등록되므로 다시 보내도 두 번 들어가지 않는다)
+     */
+    @Scheduled(fixedDelayString = "${app.match.cluster.rebalance-interval-ms:5000}")
+    public synchronized void rebalance() {
+        if (!cluster.enabled()) return;
+        resendUnconfirmed();
+        for (String region : service.liveRegions()) {
+            String owner = cluster.ownerOf(region);
+            if (cluster.isLocal(owner)) continue;
+            List<MatchHandoff> moving = service.handOff(region);
+            if (moving.isEmpty()) continue;
+            if (send(owner, moving)) log.info("매칭 지역 {} 의 요청 {}건을 {} 로 넘김", region, moving.size(), owner);
+        }
+    }
+
+    /** 다른 지역도 허용한 대기 요청을 짝이 있는 지역으로 옮김 */
+    @Scheduled(fixedDelayString = "${app.match.relax.probe-interval-ms:3000}")
+    public void probeRelaxed() {
+        List<MatchTicket> relaxed = service.relaxedWaiting();
+        if (relaxed.isEmpty()) return;
+        List<MatchHandoff> requests = relaxed.stream().map(MatchHandoff::waiting).toList();
+        Map<String, List<String>> regionsByNode = new HashMap<>();
+        for (String region : regions) {
+            regionsByNode.computeIfAbsent(cluster.ownerOf(region), k -> new ArrayList<>()).add(region);
+        }
+        Map<Long, ProbeResult> best = new HashMap<>();
+        regionsByNode.forEach((node, nodeRegions) -> {
+            Probe probe = new Probe(requests, nodeRegions);
+            List<ProbeResult> results;
+            try {
+                results = cluster.isLocal(node) ? peekHere(probe) : cluster.call(node, "peek", probe, PROBE_RESULTS);
+            } catch (RuntimeException e) {
+                log.debug("매칭 노드 {} 살펴보기 실패: {}", node, e.toString());
+                return;
+            }
+            for (ProbeResult r : results) best.merge(r.requestId(), r, (a, b) -> b.score() > a.score() ? b : a);
+        });
+        for (MatchTicket t : relaxed) {
+            ProbeResult r = best.get(t.requestId());
+            if (r != null && r.score() >= 0) move(t, r.region());
+        }
+    }
+
+    /* ===================== 내부 ===================== */
+
+    private MatchResultResponse requestHere(long userPid, MatchRequestCreate req) {
+        MatchResultResponse result = service.request(userPid, req);
+        announce(userPid, result.getRequestId(), true);
+        return result;
+    }
+
+    private void adoptHere(List<MatchHandoff> handoffs) {
+        service.adopt(handoffs);
+        for (MatchHandoff h : handoffs) announce(h.userPid(), h.requestId(), false);
+    }
+
+    private List<ProbeResult> peekHere(Probe probe) {
+        List<ProbeResult> out = new ArrayList<>();
+        for (MatchHandoff request : probe.requests()) {
+            ProbeResult best = null;
+            for (String region : probe.regions()) {
+                if (region.equals(request.regionCode())) continue; // 지금 있는 대기열 (짝이 있었다면 이미 매칭됨)
+                int score = service.peek(request, region);
+                if (best == null || score > best.score()) best = new ProbeResult(request.requestId(), region, score);
+            }
+            if (best != null) out.add(best);
+        }
+        return out;
+    }
+
+    private void move(MatchTicket ticket, String region) {
+        Optional<MatchHandoff> taken = service.take(ticket.requestId());
+        if (taken.isEmpty()) return; // 그 사이 매칭/취소됨
+        List<MatchHandoff> moving = List.of(taken.get().inRegion(region));
+        String owner = cluster.ownerOf(region);
+        if (cluster.isLocal(owner)) {
+            adoptHere(moving);
+        } else if (send(owner, moving)) {
+            holders.put(ticket.userPid(), new Holder(ticket.userPid(), ticket.requestId(), owner, false));
+        }
+    }
+
+    /** 넘기기 — 응답을 못 받으면 unconfirmed 에 남겨 다음 rebalance 에서 확인 후 다시 보낸다 */
+    private boolean send(String owner, List<MatchHandoff> moving) {
+        try {
+            cluster.call(owner, "adopt", moving);
+            for (MatchHandoff h : moving) unconfirmed.remove(h.requestId());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("매칭 요청 {}건을 {} 로 넘기지 못함 (받았는지 모름) → 확인 후 다시 보냄", moving.size(), owner, e);
+            for (MatchHandoff h : moving) unconfirmed.put(h.requestId(), new Unconfirmed(h, owner));
+            return false;
+        }
+    }
+
+    /**
+     * 응답 없던 넘기기 마무리
+     * - 보낸 노드가 링에 있으면 그 노드가 이미 가졌는지 묻는다 (묻지 못하면 다음 주기에)
+     *   가졌으면 끝 — 주인이 바뀌었어도 그 노드의 rebalance 가 넘긴다
+     * - 나머지(보낸 노드가 안 가졌거나 링에서 빠짐)는 지금 주인에게 보낸다 (이 노드면 여기서 등록)
+     */
+    private void resendUnconfirmed() {
+        if (unconfirmed.isEmpty()) return;
+        Map<String, List<MatchHandoff>> byTarget = new HashMap<>();
+        for (Unconfirmed u : unconfirmed.values()) {
+            byTarget.computeIfAbsent(u.target(), k -> new ArrayList<>()).add(u.handoff());
+        }
+        Map<String, List<MatchHandoff>> byOwner = new HashMap<>();
+        byTarget.forEach((target, sent) -> {
+            Set<Long> held = Set.of();
+            if (cluster.nodes().contains(target)) {
+                try {
+                    held = new HashSet<>(cluster.call(target, "holding",
+                            sent.stream().map(MatchHandoff::requestId).toList(), IDS));
+                } catch (RuntimeException e) {
+                    log.debug("매칭 노드 {} 에 넘긴 요청 확인 실패 → 다음 주기에", target);
+                    return;
+                }
+            }
+            for (MatchHandoff h : sent) {
+                if (held.contains(h.requestId())) {
+                    unconfirmed.remove(h.requestId());
+                } else {
+                    byOwner.computeIfAbsent(cluster.ownerOf(h.regionCode()), k -> new ArrayList<>()).add(h);
+                }
+            }
+        });
+        byOwner.forEach((owner, moving) -> {
+            if (cluster.isLocal(owner)) {
+                adoptHere(moving);
+                for (MatchHandoff h : moving) unconfirmed.remove(h.requestId());
+            } else {
+                send(owner, moving);
+            }
+        });
+    }
+
+    private void announce(long userPid, long requestId, boolean fresh) {
+        if (!cluster.enabled()) return;
+        Holder holder = new Holder(userPid, requestId, cluster.nodeId(), fresh);
+        holders.put(userPid, holder);
+        cluster.broadcast("match.holder", holder);
+    }
+
+    /** 끝난 요청의 항목 지우기 (그 사이 새 요청으로 바뀌었으면 그대로) */
+    private void forget(long userPid, long requestId) {
+        holders.computeIfPresent(userPid, (k, h) -> h.requestId() == requestId ? null : h);
+    }
+
+    /** 링에서 빠진 노드를 가리키는 항목 지우기 (그 요청은 넘겨받은 노드가 다시 알린다) */
+    private void forgetDeparted() {
+        Set<String> alive = cluster.nodes();
+        holders.values().removeIf(h -> !alive.contains(h.node()));
+    }
+
+    /** 사용자의 요청을 가진 노드에서 실행 — 알던 노드가 모르면 한 번 다시 찾아 재시도 */
+    private MatchResultResponse route(Long userPid, String op, Call call, Supplier<MatchResultResponse> local) {
+        String node = holderOf(userPid, false);
+        if (cluster.isLocal(node)) return local.get();
+        try {
+            return cluster.call(node, op, call, MatchResultResponse.class);
+        } catch (IllegalArgumentException e) {
+            holders.computeIfPresent(userPid, (k, h) -> h.node().equals(node) ? null : h);
+            String again = holderOf(userPid, true);
+            if (again.equals(node)) throw e;
+            return cluster.isLocal(again) ? local.get() : cluster.call(again, op, call, MatchResultResponse.class);
+        }
+    }
+
+    private String holderOf(long userPid, boolean ask) {
+        if (!cluster.enabled() || service.holds(userPid)) return cluster.nodeId();
+        Holder known = holders.get(userPid);
+        // 자기 노드를 가리키는 항목은 이미 넘겨준 요청 (위에서 갖고 있지 않음을 확인)
+        if (!ask && known != null && !cluster.isLocal(known.node()) && cluster.nodes().contains(known.node())) {
+            return known.node();
+        }
+        // 모르는 사용자 (늦게 합류한 노드, 놓친 방송) → 살아 있는 노드에 물어봄
+        for (String n : cluster.nodes()) {
+            if (cluster.isLocal(n)) continue;
+            try {
+                Long requestId = cluster.call(n, "holds", userPid, Long.class);
+                if (requestId != null) {
+                    holders.put(userPid, new Holder(userPid, requestId, n, false));
+                    return n;
+                }
+            } catch (ServiceBusyException e) {
+                log.debug("매칭 노드 {} 응답 없음", n);
+            }
+        }
+        return cluster.nodeId(); // 어디에도 없음 → 이 노드에서 "찾을 수 없음"
+    }
+}
@@ -0,0 +1,34 @@
+package net.datasa.project01.service.match;
+
+import net.datasa.project01.domain.vo.MatchStatus;
+
+import java.util.Set;
+
+/**
+ * 노드 사이로 옮기는 요청 하나의 상태 (클러스터 재조정, 다른 지역 허용 요청 이동)
+ * - 관심사 비트는 노드마다 다르므로 문자열로 보내고 받는 쪽 사전으로 다시 인코딩한다
+ *
+ * @param partnerRequestId MATCHED 면 상대 요청 (같은 묶음에 함께 들어 있음)
+ */
+public record MatchHandoff(long requestId, long userPid, String nickname, char gender, char choiceGender,
+                           int age, int minAge, int maxAge, String regionCode, boolean anyRegion,
+                           Set<String> interests, MatchStatus status, Long partnerRequestId,
+                           String sessionId, boolean accepted, String reason, long updatedAt) {
+
+    static MatchHandoff waiting(MatchTicket t) {
+        return new MatchHandoff(t.requestId(), t.userPid(), t.nickname(), t.gender(), t.choiceGender(), t.age(),
+                t.minAge(), t.maxAge(), t.regionCode(), t.anyRegion(), t.interests(), MatchStatus.WAITING, null, null, false,
+                null, System.currentTimeMillis());
+    }
+
+    /** 다른 지역 대기열로 옮긴 요청 (순번 = requestId 는 그대로) */
+    MatchHandoff inRegion(String region) {
+        return new MatchHandoff(requestId, userPid, nickname, gender, choiceGender, age, minAge, maxAge, region,
+                anyRegion, interests, status, partnerRequestId, sessionId, accepted, reason, updatedAt);
+    }
+
+    MatchTicket ticket(InterestDictionary dictionary) {
+        return new MatchTicket(requestId, userPid, nickname, gender, choiceGender, age, minAge, maxAge, regionCode,
+                anyRegion, Set.copyOf(interests), dictionary.encode(interests));
+    }
+}
@@ -0,0 +1,400 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * 매칭 대기열 선행 기록(write-ahead journal) + 스냅샷
+ *
+ * 파일 구성 (app.match.journal.dir, 비우면 기능 끔):
+ * - journal-{base}.log : 고정 크기 세그먼트를 메모리 매핑해 순서대로 덧붙인다. base = 세그먼트 첫 바이트의 LSN
+ * - snapshot-{lsn}.bin : lsn 시점 대기열 전체 (이 LSN 이후 기록만 재생하면 됨)
+ *
+ * 레코드: [int 길이][int CRC32][본문] — 길이 0 은 세그먼트 끝, CRC 불일치는 찢어진 꼬리로 보고 거기서 멈춘다.
+ * 본문: ENQUEUE(티켓 전체, 닉네임 포함) / CANCEL(request_id) / MATCH(request_id, 상대 request_id)
+ *
+ * 스냅샷은 퍼지(fuzzy) 방식: 시작 LSN 을 먼저 기록하고 지역별로 차례로 복사한다.
+ * 복사 도중 바뀐 내용은 그 LSN 이후 기록으로 다시 재생되고, 재생은 요청별 덮어쓰기/삭제라 여러 번 적용해도 같다.
+ *
+ * 내구성: 기록은 매핑된 페이지에 바로 쓰이므로 프로세스가 죽어도 남는다(OS 페이지 캐시).
+ * 머신 장애 대비로 app.match.journal.fsync-interval-ms 마다 force() (그룹 커밋).
+ */
+@Slf4j
+@Component
+public class MatchJournal {
+
+    private static final byte ENQUEUE = 1;
+    private static final byte CANCEL = 2;
+    private static final byte MATCH = 3;
+    private static final int HEADER = 8; // 길이 + CRC
+    private static final int SNAPSHOT_MAGIC = 0x4D4A534E; // "MJSN"
+    private static final byte FLAG_ANY_REGION = 1;
+
+    private final InterestDictionary interestDictionary;
+    private final Path dir;
+    private final int segmentBytes;
+    private final Timer recoverTimer;
+    private final Timer snapshotTimer;
+
+    /** 현재 덧붙이는 세그먼트 (append/flush/roll 은 this 로 직렬화) */
+    private long segmentBase;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private boolean dirty;
+
+    public MatchJournal(MeterRegistry registry, InterestDictionary interestDictionary,
+                        @Value("${app.match.journal.dir:}") String dir,
+                        @Value("${app.match.journal.segment-mb:64}") int segmentMb) {
+        this.interestDictionary = interestDictionary;
+        this.dir = dir == null || dir.isBlank() ? null : Path.of(dir);
+        this.segmentBytes = segmentMb * 1024 * 1024;
+        this.recoverTimer = Timer.builder("match.journal.recover").register(registry);
+        this.snapshotTimer = Timer.builder("match.journal.snapshot").register(registry);
+        Gauge.builder("match.journal.lsn", this, MatchJournal::lsn).register(registry);
+    }
+
+    public boolean enabled() {
+        return dir != null;
+    }
+
+    /* ===================== 기록 ===================== */
+
+    /** 대기열에 들어감 */
+    public void enqueued(MatchTicket t) {
+        if (dir == null) return;
+        ByteBuffer body = ByteBuffer.allocate(encodedSize(t));
+        body.put(ENQUEUE).putLong(t.requestId());
+        writeTicket(body, t);
+        append(body);
+    }
+
+    /** 대기열에서 빠짐 (취소/시간 초과) */
+    public void cancelled(long requestId) {
+        if (dir == null) return;
+        append(ByteBuffer.allocate(9).put(CANCEL).putLong(requestId));
+    }
+
+    /** 두 요청이 짝지어져 대기열에서 빠짐 (한쪽은 대기열에 들어간 적이 없을 수 있음) */
+    public void matched(long requestId, long partnerRequestId) {
+        if (dir == null) return;
+        append(ByteBuffer.allocate(17).put(MATCH).putLong(requestId).putLong(partnerRequestId));
+    }
+
+    private synchronized void append(ByteBuffer body) {
+        body.flip();
+        int len = body.remaining();
+        if (buffer.remaining() < HEADER + len + HEADER) { // 끝 표시(길이 0) 자리도 남긴다
+            roll();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        buffer.putInt(len).putInt((int) crc.getValue()).put(body);
+        dirty = true;
+    }
+
+    /** 주기적 force (그룹 커밋) */
+    @Scheduled(fixedDelayString = "${app.match.journal.fsync-interval-ms:100}")
+    public synchronized void flush() {
+        if (dir == null || !dirty) return;
+        buffer.force();
+        dirty = false;
+    }
+
+    /** 현재 LSN (다음 레코드가 쓰일 위치) */
+    public synchronized long lsn() {
+        return buffer == null ? 0 : segmentBase + buffer.position();
+    }
+
+    private void roll() {
+        buffer.force();
+        long next = segmentBase + segmentBytes;
+        try {
+            channel.close();
+            openSegment(next, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("매칭 저널 세그먼트를 만들 수 없습니다.", e);
+        }
+    }
+
+    private void openSegment(long base, int position) throws IOException {
+        channel = FileChannel.open(segmentPath(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.position(position);
+        segmentBase = base;
+    }
+
+    /* ===================== 스냅샷 ===================== */
+
+    /**
+     * 스냅샷을 쓰고, 그 이전 세그먼트/스냅샷을 지운다.
+     * @param waiting 현재 대기 중인 티켓 (지역별로 일관된 복사본이면 충분)
+     */
+    public void checkpoint(Supplier<Collection<MatchTicket>> waiting) {
+        if (dir == null) return;
+        snapshotTimer.record(() -> {
+            long from = lsn(); // 복사 시작 전 LSN → 복사 중 변경은 이 뒤에서 다시 재생
+            Collection<MatchTicket> tickets = waiting.get();
+            try {
+                writeSnapshot(from, tickets);
+                deleteBefore(from);
+            } catch (IOException e) {
+                log.warn("매칭 저널 스냅샷 실패 (다음 주기에 다시 시도)", e);
+            }
+        });
+    }
+
+    private void writeSnapshot(long from, Collection<MatchTicket> tickets) throws IOException {
+        Path tmp = dir.resolve("snapshot.tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(from);
+            out.writeInt(tickets.size());
+            CRC32 crc = new CRC32();
+            for (MatchTicket t : tickets) {
+                ByteBuffer b = ByteBuffer.allocate(encodedSize(t) - 1); // type 바이트 제외
+                b.putLong(t.requestId());
+                writeTicket(b, t);
+                out.writeInt(b.position());
+                out.write(b.array(), 0, b.position());
+                crc.update(b.array(), 0, b.position());
+            }
+            out.writeInt((int) crc.getValue());
+            out.flush();
+            ch.force(true);
+        }
+        Files.move(tmp, snapshotPath(from), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** from 이전 스냅샷과, from 이전에 끝나는 세그먼트 삭제 */
+    private void deleteBefore(long from) throws IOException {
+        for (long lsn : list("snapshot-", ".bin")) {
+            if (lsn < from) Files.deleteIfExists(snapshotPath(lsn));
+        }
+        for (long base : list("journal-", ".log")) {
+            if (base + segmentBytes <= from) Files.deleteIfExists(segmentPath(base));
+        }
+    }
+
+    /* ===================== 복구 ===================== */
+
+    /**
+     * 최신 스냅샷 + 그 이후 기록을 재생해 대기 중이던 티켓을 돌려주고, 덧붙이기 위치를 준비한다.
+     * - 서버가 요청을 받기 전에 한 번 호출
+     */
+    public synchronized Collection<MatchTicket> recover() throws IOException {
+        if (dir == null) return List.of();
+        long started = System.nanoTime();
+        Files.createDirectories(dir);
+        Map<Long, MatchTicket> waiting = new HashMap<>();
+
+        long from = 0;
+        List<Long> snapshots = list("snapshot-", ".bin");
+        for (int i = snapshots.size() - 1; i >= 0; i--) { // 최신부터, 깨진 스냅샷은 건너뜀
+            Map<Long, MatchTicket> loaded = readSnapshot(snapshots.get(i));
+            if (loaded != null) {
+                waiting = loaded;
+                from = snapshots.get(i);
+                break;
+            }
+        }
+
+        long end = from;
+        List<Long> segments = list("journal-", ".log");
+        for (long base : segments) {
+            if (base + segmentBytes <= from) continue;
+            end = replay(base, (int) Math.max(0, from - base), waiting);
+        }
+        long lastBase = segments.isEmpty() ? -1 : segments.get(segments.size() - 1);
+        if (lastBase >= 0 && end >= lastBase && end - lastBase < segmentBytes) {
+            openSegment(lastBase, (int) (end - lastBase));
+            zeroFrom(buffer.position()); // 찢어진 꼬리 뒤에 남은 옛 바이트가 다음 복구 때 재생되지 않도록
+        } else {
+            openSegment(end, 0); // 세그먼트가 없거나 모두 스냅샷 이전 → 스냅샷 LSN 에서 새로 시작
+        }
+        long elapsed = System.nanoTime() - started;
+        recoverTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("매칭 저널 복구: 대기 {}건, {} ms (스냅샷 LSN {}, 끝 LSN {})",
+                waiting.size(), elapsed / 1_000_000, from, lsn());
+        return waiting.values();
+    }
+
+    /** 세그먼트 하나 재생 → 마지막 정상 레코드 다음 LSN */
+    private long replay(long base, int offset, Map<Long, MatchTicket> waiting) throws IOException {
+        try (FileChannel ch = FileChannel.open(segmentPath(base), StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(ch.size(), segmentBytes));
+            buf.position(offset);
+            CRC32 crc = new CRC32();
+            while (buf.remaining() >= HEADER) {
+                int start = buf.position();
+                int len = buf.getInt();
+                int sum = buf.getInt();
+                if (len <= 0 || len > buf.remaining()) {
+                    buf.position(start);
+                    break;
+                }
+                ByteBuffer body = buf.slice(buf.position(), len);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != sum) {
+                    log.warn("매칭 저널 {} 위치 {} 에서 손상된 레코드 → 이후 무시", base, start);
+                    buf.position(start);
+                    break;
+                }
+                apply(body, waiting);
+                buf.position(buf.position() + len);
+            }
+            return base + buf.position();
+        }
+    }
+
+    private void apply(ByteBuffer body, Map<Long, MatchTicket> waiting) {
+        byte type = body.get();
+        long requestId = body.getLong();
+        switch (type) {
+            case ENQUEUE -> waiting.put(requestId, readTicket(requestId, body));
+            case CANCEL -> waiting.remove(requestId);
+            case MATCH -> {
+                waiting.remove(requestId);
+                waiting.remove(body.getLong());
+            }
+            default -> throw new IllegalStateException("알 수 없는 저널 레코드: " + type);
+        }
+    }
+
+    private Map<Long, MatchTicket> readSnapshot(long lsn) {
+        Path file = snapshotPath(lsn);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readLong() != lsn) return null;
+            int count = in.readInt();
+            Map<Long, MatchTicket> tickets = new HashMap<>(count * 2);
+            CRC32 crc = new CRC32();
+            byte[] buf = new byte[4096];
+            for (int i = 0; i < count; i++) {
+                int len = in.readInt();
+                if (len > buf.length) buf = new byte[len];
+                in.readFully(buf, 0, len);
+                crc.update(buf, 0, len);
+                ByteBuffer b = ByteBuffer.wrap(buf, 0, len);
+                long requestId = b.getLong();
+                tickets.put(requestId, readTicket(requestId, b));
+            }
+            if (in.readInt() != (int) crc.getValue()) return null;
+            return tickets;
+        } catch (IOException | RuntimeException e) {
+            log.warn("매칭 저널 스냅샷 {} 을 읽을 수 없음 → 이전 스냅샷 사용", file, e);
+            return null;
+        }
+    }
+
+    /* ===================== 인코딩 ===================== */
+
+    /** 레코드 본문 크기 (type + requestId + 티켓) */
+    private static int encodedSize(MatchTicket t) {
+        int size = 1 + 8 + 8 + strSize(t.nickname()) + 1 + 1 + 1 + 2 + 2 + 2 + strSize(t.regionCode()) + 2;
+        for (String s : t.interests()) size += strSize(s);
+        return size;
+    }
+
+    private static void writeTicket(ByteBuffer b, MatchTicket t) {
+        b.putLong(t.userPid());
+        putStr(b, t.nickname());
+        b.put((byte) t.gender())
+                .put((byte) t.choiceGender())
+                .put(t.anyRegion() ? FLAG_ANY_REGION : 0)
+                .putShort((short) t.age())
+                .putShort((short) t.minAge())
+                .putShort((short) t.maxAge());
+        putStr(b, t.regionCode());
+        b.putShort((short) t.interests().size());
+        for (String s : t.interests()) putStr(b, s);
+    }
+
+    // 비트 위치는 프로세스마다 다르므로 저널에는 문자열로 남기고 읽을 때 다시 인코딩
+    private MatchTicket readTicket(long requestId, ByteBuffer b) {
+        long userPid = b.getLong();
+        String nickname = getStr(b);
+        char gender = (char) b.get();
+        char choice = (char) b.get();
+        byte flags = b.get();
+        int age = b.getShort(), min = b.getShort(), max = b.getShort();
+        String region = getStr(b);
+        int n = b.getShort();
+        Set<String> interests = new HashSet<>(n * 2);
+        for (int i = 0; i < n; i++) interests.add(getStr(b));
+        return new MatchTicket(requestId, userPid, nickname, gender, choice, age, min, max, region,
+                (flags & FLAG_ANY_REGION) != 0, Set.copyOf(interests),
+                interestDictionary.encode(interests));
+    }
+
+    private static int strSize(String s) {
+        return 2 + s.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void putStr(ByteBuffer b, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        b.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getStr(ByteBuffer b) {
+        byte[] bytes = new byte[b.getShort()];
+        b.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /* ===================== 파일 ===================== */
+
+    private Path segmentPath(long base) {
+        return dir.resolve(String.format("journal-%020d.log", base));
+    }
+
+    private Path snapshotPath(long lsn) {
+        return dir.resolve(String.format("snapshot-%020d.bin", lsn));
+    }
+
+    /** 접두사/접미사로 된 파일의 LSN 목록 (오름차순) */
+    private List<Long> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(prefix) && n.endsWith(suffix))
+                    .map(n -> Long.parseLong(n.substring(prefix.length(), n.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void zeroFrom(int position) {
+        for (int i = position; i < segmentBytes; i += 8) {
+            if (segmentBytes - i >= 8) buffer.putLong(i, 0L);
+            else for (int j = i; j < segmentBytes; j++) buffer.put(j, (byte) 0);
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (channel == null) return;
+        buffer.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,232 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 매칭 결과 실시간 전달 (Server-Sent Events)
+ * - 화면이 GET /api/match/events 로 구독하면, 매칭/취소/시간 초과가 일어나는 즉시 "match" 이벤트를 보낸다.
+ * - 4초 폴링 대신 연결 하나를 유지 → 대기 중 요청 수가 사용자당 0에 가깝고, 알림 지연은 ms 단위
+ * - 전송은 사용자별 고정 레인(단일 스레드)에서 → 같은 사용자의 이벤트 순서 보장, 매칭 락을 잡은 채 I/O 하지 않음
+ * - 응답 객체는 상태를 바꾼 스레드에서 만든다 (회원 조회 없이 티켓에 담긴 값만 씀) → 레인은 전송만
+ * - 레인 대기열은 app.match.sse.lane-queue 까지 — 넘치면 그 사용자의 연결을 닫는다.
+ *   한 번 전송이 app.match.sse.slow-send-ms 안에 끝나지 않은 연결도 닫는다 (느린 클라이언트가 레인을 붙잡지 않도록).
+ *   전송이 끝난 뒤 재는 것이 아니라 TimingWheel 감시로 기한이 되면 바로 completeWithError
+ *   → 컨테이너가 그 응답을 끝내 막혀 있던 쓰기가 오류로 풀리고 레인은 다음 전송으로 넘어간다.
+ *   닫힌 화면은 다시 구독하면 현재 상태부터 받는다.
+ * - 구독자가 없는 사용자는 응답 객체도 만들지 않음 (GET /api/match/result 폴백)
+ * - 여러 노드로 돌릴 때는 구독 연결이 다른 노드에 있을 수 있으므로 relay 로도 넘긴다 (MatchGateway → deliver)
+ *
+ * 메트릭: match.sse.connections, match.sse.sent, match.sse.failed, match.sse.dropped(레인이 넘침), match.sse.slow
+ */
+@Slf4j
+@Component
+public class MatchNotifier {
+
+    /** 사용자당 동시 구독 수 (탭 여러 개) — 넘으면 가장 오래된 연결을 닫음 */
+    private static final int MAX_PER_USER = 3;
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ThreadPoolExecutor[] lanes;
+    private final TimingWheel wheel;
+    private final long timeoutMs;
+    private final long slowSendMs;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter dropped;
+    private final Counter slow;
+    /** 다른 노드의 구독자에게 넘기는 통로 (클러스터 모드에서만 설정) */
+    private volatile BiConsumer<Long, MatchResultResponse> relay;
+
+    public MatchNotifier(MeterRegistry registry, TimingWheel wheel,
+                         @Value("${app.match.sse.lanes:2}") int laneCount,
+                         @Value("${app.match.sse.timeout-ms:600000}") long timeoutMs,
+                         @Value("${app.match.sse.lane-queue:1024}") int laneQueue,
+                         @Value("${app.match.sse.slow-send-ms:2000}") long slowSendMs) {
+        this.lanes = new ThreadPoolExecutor[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            int n = i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(laneQueue),
+                    r -> {
+                        Thread t = new Thread(r, "match-sse-" + n);
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+        this.wheel = wheel;
+        this.timeoutMs = timeoutMs;
+        this.slowSendMs = slowSendMs;
+        Gauge.builder("match.sse.connections", connections, AtomicInteger::get)
+                .description("매칭 이벤트 구독 연결 수").register(registry);
+        this.sent = Counter.builder("match.sse.sent").register(registry);
+        this.failed = Counter.builder("match.sse.failed").register(registry);
+        this.dropped = Counter.builder("match.sse.dropped").register(registry);
+        this.slow = Counter.builder("match.sse.slow").register(registry);
+    }
+
+    /**
+     * 구독 등록
+     * @param initial 연결 직후 보낼 현재 상태 (구독 전에 일어난 변화를 놓치지 않도록), 없으면 null
+     */
+    public SseEmitter subscribe(long userPid, MatchResultResponse initial) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Runnable cleanup = () -> remove(userPid, emitter);
+        emitter.onCompletion(cleanup);
+        emitter.onTimeout(cleanup);
+        emitter.onError(e -> cleanup.run());
+        List<SseEmitter> evicted = new ArrayList<>();
+        emitters.compute(userPid, (k, list) -> {
+            if (list == null) list = new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            connections.incrementAndGet();
+            while (list.size() > MAX_PER_USER) {
+                evicted.add(list.remove(0));
+                connections.decrementAndGet();
+            }
+            return list;
+        });
+        evicted.forEach(SseEmitter::complete);
+        if (initial != null) {
+            submit(userPid, () -> send(userPid, emitter, initial));
+        }
+        return emitter;
+    }
+
+    /** 구독 중인지 (없으면 알림을 만들 필요가 없음) */
+    public boolean isSubscribed(long userPid) {
+        return emitters.containsKey(userPid);
+    }
+
+    /** 사용자의 모든 구독 연결에 상태 전송 (payload 는 이 스레드에서 만들고, 전송은 레인에서) */
+    public void publish(long userPid, Supplier<MatchResultResponse> payload) {
+        BiConsumer<Long, MatchResultResponse> relay = this.relay;
+        if (relay == null && !isSubscribed(userPid)) return;
+        MatchResultResponse body = payload.get();
+        submit(userPid, () -> {
+            sendAll(userPid, body);
+            if (relay != null) relay.accept(userPid, body);
+        });
+    }
+
+    /** 다른 노드에서 넘어온 상태를 여기 구독 연결에 전송 */
+    public void deliver(long userPid, MatchResultResponse body) {
+        if (!isSubscribed(userPid)) return;
+        submit(userPid, () -> sendAll(userPid, body));
+    }
+
+    /** 다른 노드 구독자에게도 넘기도록 설정 (클러스터 모드) */
+    public void relayTo(BiConsumer<Long, MatchResultResponse> relay) {
+        this.relay = relay;
+    }
+
+    /** 프록시/로드밸런서가 유휴 연결을 끊지 않도록 주석 이벤트 전송 */
+    @Scheduled(fixedDelayString = "${app.match.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (int i = 0; i < lanes.length; i++) {
+            int lane = i;
+            try {
+                lanes[i].execute(() -> emitters.forEach((userPid, list) -> {
+                    if (laneIndex(userPid) != lane) return;
+                    for (SseEmitter e : list) {
+                        try {
+                            timedSend(userPid, e, SseEmitter.event().comment("ping"));
+                        } catch (IOException | IllegalStateException ex) {
+                            remove(userPid, e);
+                        }
+                    }
+                }));
+            } catch (RejectedExecutionException e) {
+                // 레인이 밀려 있으면 이번 하트비트는 건너뜀 (밀린 전송이 연결을 살려 둠)
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        emitters.values().forEach(list -> list.forEach(SseEmitter::complete));
+        for (ExecutorService lane : lanes) lane.shutdownNow();
+    }
+
+    /** 레인에 전송 맡기기 — 레인이 꽉 찼으면 그 사용자의 연결을 닫는다 (다시 구독하면 현재 상태부터) */
+    private void submit(long userPid, Runnable task) {
+        try {
+            lane(userPid).execute(task);
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            List<SseEmitter> list = emitters.remove(userPid);
+            if (list == null) return;
+            connections.addAndGet(-list.size());
+            list.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void sendAll(long userPid, MatchResultResponse body) {
+        List<SseEmitter> list = emitters.get(userPid);
+        if (list != null) {
+            for (SseEmitter e : list) send(userPid, e, body);
+        }
+    }
+
+    private void send(long userPid, SseEmitter emitter, MatchResultResponse body) {
+        try {
+            timedSend(userPid, emitter, SseEmitter.event().name("match").data(body));
+            sent.increment();
+        } catch (IOException | IllegalStateException e) {
+            failed.increment();
+            remove(userPid, emitter); // 끊긴 연결 (클라이언트가 다시 구독하면 현재 상태부터 받음)
+        }
+    }
+
+    /** slow-send-ms 안에 보내지 못하면(클라이언트가 못 읽음) 기다리지 않고 그 연결을 닫는다 */
+    private void timedSend(long userPid, SseEmitter emitter, SseEmitter.SseEventBuilder event) throws IOException {
+        TimingWheel.Timeout watchdog = wheel.schedule(slowSendMs, t -> {
+            slow.increment();
+            remove(userPid, emitter);
+            emitter.completeWithError(new IOException("SSE 전송이 " + slowSendMs + "ms 안에 끝나지 않음"));
+        });
+        try {
+            emitter.send(event);
+        } finally {
+            watchdog.cancel();
+        }
+    }
+
+    private void remove(long userPid, SseEmitter emitter) {
+        emitters.computeIfPresent(userPid, (k, list) -> {
+            if (list.remove(emitter)) connections.decrementAndGet();
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private ExecutorService lane(long userPid) {
+        return lanes[laneIndex(userPid)];
+    }
+
+    private int laneIndex(long userPid) {
+        return (int) Math.floorMod(userPid, (long) lanes.length);
+    }
+}
@@ -0,0 +1,655 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.MatchRequestCreate;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.domain.entity.MatchRequest;
+import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.domain.vo.HandshakeState;
+import net.datasa.project01.domain.vo.MatchStatus;
+import net.datasa.project01.repository.MatchRequestRepository;
+import net.datasa.project01.repository.UserRepository;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * 랜덤 매칭 서비스
+ * - request: 요청 저장 → MatchEngine 에서 상대 탐색 (없으면 대기열에 들어감)
+ * - result : 내 요청 상태 (화면이 주기적으로 조회)
+ * - accept / decline / cancel
+ *
+ * 상태 전이는 지역(region_code)별 모니터 안에서 처리한다.
+ * - 매칭은 같은 지역 안에서만 일어나므로 한 쌍의 두 요청은 항상 같은 모니터를 쓴다.
+ * - 다른 지역끼리는 서로 기다리지 않는다.
+ *
+ * 짝이 정해지면 두 사람 사이 수락 절차(Handshake)가 시작된다.
+ *   PROPOSED → (한쪽 수락) ONE_ACCEPTED → (둘 다 수락) CONFIRMED
+ *            ↘ 거절/취소 DECLINED, app.match.handshake-timeout-seconds 안에 둘 다 수락하지 않으면 EXPIRED
+ * - 거절하면 거절한 쪽은 CANCELLED, 상대는 원래 순번 그대로 대기열에 돌아간다.
+ * - 시간 초과면 수락했던 쪽은 원래 순번으로 대기열에 돌아가고(PARTNER_TIMEOUT), 응답 안 한 쪽은 CANCELLED(NO_RESPONSE)
+ * - 거절/시간 초과된 두 사람은 app.match.decline-block-minutes 동안 다시 짝지어지지 않는다.
+ * - 성사되면 match_requests 에 CONFIRMED 로 남기고, 그 뒤의 새 요청/취소는 이 결과를 바꾸지 않는다.
+ * app.match.wait-timeout-seconds 동안 상대를 못 찾은 요청은 CANCELLED(reason=TIMEOUT).
+ * 두 시간 초과 모두 TimingWheel 에 예약/취소한다 (요청 수와 상관없이 O(1), 표를 훑지 않음).
+ *
+ * 상태가 바뀔 때마다 MatchNotifier 로 당사자에게 바로 알린다 (SSE 구독 중일 때).
+ *
+ * 대기열 변화(들어감/취소/매칭)는 같은 지역 모니터 안에서 MatchJournal 에 먼저 남기고,
+ * match_requests.status 는 MatchStatusFlusher 가 모아서 비동기로 반영한다.
+ * 재시작 시 스냅샷 + 저널 꼬리를 재생해 대기 순번 그대로 복구한다 (요청을 받기 전, 빈 초기화 단계).
+ *
+ * 여러 노드로 나눠 돌릴 때(MatchCluster) 이 서비스는 자기 노드가 가진 요청만 다루고,
+ * 라우팅·지역 넘기기는 MatchGateway 가 handOff / take / adopt 로 한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchService {
+
+    private final MatchEngine engine;
+    private final MatchRequestRepository matchRepository;
+    private final UserRepository userRepository;
+    private final MatchNotifier notifier;
+    private final MatchJournal journal;
+    private final MatchStatusFlusher statusFlusher;
+    private final InterestDictionary interestDictionary;
+    private final MatchCluster cluster;
+    private final TimingWheel timer;
+    private final MeterRegistry registry;
+
+    @Value("${app.match.decline-block-minutes:30}")    private long declineBlockMinutes;
+    @Value("${app.match.result-retention-minutes:60}") private long resultRetentionMinutes;
+    @Value("${app.match.wait-timeout-seconds:300}")     private long waitTimeoutSeconds;
+    @Value("${app.match.handshake-timeout-seconds:30}") private long handshakeTimeoutSeconds;
+
+    /** 진행 중/최근 요청 상태 (request_id → 상태) */
+    private final ConcurrentHashMap<Long, MatchState> states = new ConcurrentHashMap<>();
+    /** 사용자별 최신 요청 (한 사람당 진행 중인 요청은 하나) */
+    private final ConcurrentHashMap<Long, Long> latestByUser = new ConcurrentHashMap<>();
+    /** 지역별 모니터 */
+    private final ConcurrentHashMap<String, Object> regionLocks = new ConcurrentHashMap<>();
+    /** 거절한 두 사람 → 다시 짝지을 수 있는 시각(ms) */
+    private final ConcurrentHashMap<Pair, Long> declinedPairs = new ConcurrentHashMap<>();
+    /** 요청이 끝났을 때 (userPid, requestId) — MatchGateway 가 라우팅 표 정리에 쓴다 */
+    private volatile BiConsumer<Long, Long> closedListener = (userPid, requestId) -> {};
+
+    /** 거절 기록 방송 (다른 노드로 옮겨 간 요청도 당분간 같은 상대와 짝지어지지 않도록) */
+    private record Declined(long userPid, long partnerPid, long until) {
+    }
+
+    /** 순서 없는 사용자 쌍 */
+    private record Pair(long low, long high) {
+        static Pair of(long a, long b) {
+            return a < b ? new Pair(a, b) : new Pair(b, a);
+        }
+    }
+
+    /** 요청 하나의 진행 상태 (필드는 지역 모니터 안에서만 바꾼다) */
+    private static final class MatchState {
+        private final MatchTicket ticket;
+        private MatchStatus status = MatchStatus.WAITING;
+        private MatchState partner;
+        private Handshake handshake; // 짝이 정해진 동안 두 사람이 같은 객체를 공유
+        private boolean accepted;
+        // 마지막 전이 사유 (TIMEOUT, DECLINED, PARTNER_DECLINED, NO_RESPONSE, PARTNER_TIMEOUT, REPLACED, CANCELLED)
+        private String reason;
+        private boolean moved; // 다른 노드/지역으로 넘어감 (이 객체는 더 이상 쓰지 않음)
+        private TimingWheel.Timeout waitTimer; // WAITING 동안의 대기 시간 초과
+        private volatile long updatedAt = System.currentTimeMillis();
+
+        private MatchState(MatchTicket ticket) {
+            this.ticket = ticket;
+        }
+    }
+
+    /** 짝지어진 두 요청의 수락 절차 (지역 모니터 안에서만 바꾼다) */
+    private static final class Handshake {
+        private final String sessionId;
+        private HandshakeState state = HandshakeState.PROPOSED;
+        private TimingWheel.Timeout timer;
+
+        private Handshake(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        boolean open() {
+            return state == HandshakeState.PROPOSED || state == HandshakeState.ONE_ACCEPTED;
+        }
+    }
+
+    /**
+     * 대기열 복구
+     * - 저널에 남은 대기 요청은 원래 순번 그대로 대기열에 되돌리고, 나머지 열린 요청(매칭 후 응답 대기 등)은 CANCELLED
+     * - 저널이 꺼져 있으면 모두 CANCELLED (이전 동작)
+     */
+    @PostConstruct
+    void recover() throws IOException {
+        cluster.onBroadcast("match.declined", body -> {
+            Declined d = cluster.convert(body, Declined.class);
+            declinedPairs.merge(Pair.of(d.userPid(), d.partnerPid()), d.until(), Math::max);
+        });
+        Collection<MatchTicket> waiting = journal.recover();
+        // 여러 노드가 같은 테이블을 쓰면 다른 노드의 진행 중 요청까지 닫게 되므로 클러스터에서는 건너뜀
+        int closed = cluster.enabled() ? 0 : matchRepository.cancelAllOpen();
+        for (MatchTicket t : waiting) {
+            engine.restore(t);
+            MatchState state = new MatchState(t);
+            scheduleWaitTimeout(state);
+            states.put(t.requestId(), state);
+            latestByUser.merge(t.userPid(), t.requestId(), Math::max);
+            statusFlusher.submit(t.requestId(), MatchStatus.WAITING);
+        }
+        if (closed > 0 || !waiting.isEmpty()) {
+            log.info("매칭 대기열 복구: 대기 {}건 복원, 나머지 {}건 CANCELLED",
+                    waiting.size(), Math.max(0, closed - waiting.size()));
+        }
+    }
+
+    /** 저널 스냅샷 (이전 세그먼트 정리 → 복구 때 재생할 꼬리를 짧게 유지) */
+    @Scheduled(fixedDelayString = "${app.match.journal.snapshot-interval-ms:60000}",
+            initialDelayString = "${app.match.journal.snapshot-interval-ms:60000}")
+    public void checkpoint() {
+        journal.checkpoint(engine::snapshot);
+    }
+
+    /** (1) 매칭 요청 — 바로 상대가 있으면 MATCHED, 없으면 WAITING */
+    public MatchResultResponse request(Long userPid, MatchRequestCreate req) {
+        if (req.getMinAge() > req.getMaxAge()) {
+            throw new IllegalArgumentException("최소 나이가 최대 나이보다 클 수 없습니다.");
+        }
+        User user = userRepository.findById(userPid)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        if (user.getBirthDate() == null || user.getGender() == null || user.getGender().isBlank()) {
+            throw new IllegalArgumentException("성별/생년월일 정보가 없어 매칭할 수 없습니다.");
+        }
+        int age = Period.between(user.getBirthDate(), LocalDate.now()).getYears();
+        String region = req.getRegionCode().trim().toUpperCase(Locale.ROOT);
+        Set<String> interests = new LinkedHashSet<>();
+        req.getInterestsJson().forEach(s -> interests.add(s.trim()));
+
+        MatchRequest saved = matchRepository.save(MatchRequest.builder()
+                .userPid(userPid)
+                .choiceGender(req.getChoiceGender())
+                .minAge(req.getMinAge())
+                .maxAge(req.getMaxAge())
+                .regionCode(region)
+                .interests(List.copyOf(interests))
+                .status(MatchStatus.WAITING)
+                .build());
+
+        MatchState state = new MatchState(new MatchTicket(saved.getRequestId(), userPid, user.getNickName(),
+                user.getGender().charAt(0), req.getChoiceGender().charAt(0),
+                age, req.getMinAge(), req.getMaxAge(), region, req.isAnyRegion(), Set.copyOf(interests),
+                interestDictionary.encode(interests)));
+        states.put(saved.getRequestId(), state);
+        // 이전 요청은 밀어낸 쪽이 정리 (동시에 두 번 눌러도 하나만 남음)
+        Long replaced = latestByUser.put(userPid, saved.getRequestId());
+        if (replaced != null) release(states.get(replaced), "REPLACED");
+
+        synchronized (lockOf(region)) {
+            enqueue(state);
+        }
+        return view(state);
+    }
+
+    /** (2) 매칭 상태 조회 — requestId 가 없으면 내 최신 요청 */
+    public MatchResultResponse result(Long userPid, Long requestId) {
+        return view(owned(userPid, requestId));
+    }
+
+    /** (3) 수락 */
+    public MatchResultResponse accept(Long userPid, Long requestId, Long partnerId) {
+        MatchState state = owned(userPid, requestId);
+        synchronized (lockOf(state.ticket.regionCode())) {
+            requireHere(state);
+            requireMatchedWith(state, partnerId);
+            Handshake h = state.handshake;
+            if (state.accepted) return view(state); // 중복 클릭
+            state.accepted = true;
+            state.updatedAt = System.currentTimeMillis();
+            if (state.partner.accepted) {
+                h.state = HandshakeState.CONFIRMED;
+                h.timer.cancel();
+                handshakeOutcome(HandshakeState.CONFIRMED);
+                statusFlusher.submit(state.ticket.requestId(), MatchStatus.CONFIRMED);
+                statusFlusher.submit(state.partner.ticket.requestId(), MatchStatus.CONFIRMED);
+                closed(state);
+                closed(state.partner);
+                notifyState(state);
+            } else {
+                h.state = HandshakeState.ONE_ACCEPTED;
+            }
+            notifyState(state.partner); // 상대 화면에 "상대가 수락함"/"성사" 표시
+        }
+        return view(state);
+    }
+
+    /** (4) 거절 — 상대는 대기열로 돌아감 */
+    public MatchResultResponse decline(Long userPid, Long requestId, Long partnerId) {
+        MatchState state = owned(userPid, requestId);
+        synchronized (lockOf(state.ticket.regionCode())) {
+            requireHere(state);
+            requireMatchedWith(state, partnerId);
+            if (state.handshake.state == HandshakeState.CONFIRMED) {
+                throw new IllegalArgumentException("이미 두 사람 모두 수락한 매칭입니다.");
+            }
+            releaseLocked(state, "DECLINED");
+        }
+        return view(state);
+    }
+
+    /** (5) 요청 취소 (대기 중이면 대기열에서 빠지고, 매칭된 상태면 거절과 같음) */
+    public MatchResultResponse cancel(Long userPid, Long requestId) {
+        MatchState state = owned(userPid, requestId);
+        release(state, "CANCELLED");
+        return view(state);
+    }
+
+    /** (6) 실시간 구독용 현재 상태 (없거나 내 요청이 아니면 null) */
+    public MatchResultResponse current(Long userPid, Long requestId) {
+        Long id = requestId != null ? requestId : latestByUser.get(userPid);
+        MatchState state = id == null ? null : states.get(id);
+        return state != null && state.ticket.userPid() == userPid ? view(state) : null;
+    }
+
+    /** 이 사용자가 다른 노드에서 새 요청을 냈음 → 여기 남은 이전 요청 정리 */
+    public void superseded(long userPid, long newerRequestId) {
+        Long id = latestByUser.get(userPid);
+        MatchState state = id == null || id >= newerRequestId ? null : states.get(id);
+        if (state != null && !state.moved) release(state, "REPLACED");
+    }
+
+    /** 이 노드가 사용자의 최신 요청을 갖고 있는지 */
+    public boolean holds(long userPid) {
+        return heldRequestId(userPid) != null;
+    }
+
+    /** 주어진 요청 중 이 노드가 가진 것 (넘기기 응답을 못 받은 쪽이 확인할 때) */
+    public List<Long> holding(Collection<Long> requestIds) {
+        return requestIds.stream().filter(states::containsKey).toList();
+    }
+
+    /** 이 노드가 가진 사용자의 최신 요청 (없으면 null) */
+    public Long heldRequestId(long userPid) {
+        Long id = latestByUser.get(userPid);
+        return id != null && states.containsKey(id) ? id : null;
+    }
+
+    /** 요청이 끝날 때(CANCELLED, 두 사람 모두 수락) 알림 받기 — 지역 모니터 안에서 호출된다 */
+    public void onClosed(BiConsumer<Long, Long> listener) {
+        this.closedListener = listener;
+    }
+
+    /* ===================== 노드/지역 간 이동 ===================== */
+
+    /** 진행 중(WAITING/MATCHED) 요청이 있는 지역 */
+    public Set<String> liveRegions() {
+        Set<String> regions = new HashSet<>();
+        for (MatchState s : states.values()) {
+            if (s.status != MatchStatus.CANCELLED) regions.add(s.ticket.regionCode());
+        }
+        return regions;
+    }
+
+    /**
+     * 지역 하나의 진행 중 요청을 모두 떼어 낸다 (주인이 바뀐 지역을 새 주인에게 넘길 때)
+     * - 매칭된 두 요청은 같은 지역이므로 함께 넘어간다
+     * - 결과만 남은 요청(CANCELLED)은 남겨 두어 계속 조회된다
+     */
+    public List<MatchHandoff> handOff(String region) {
+        List<MatchHandoff> out = new ArrayList<>();
+        synchronized (lockOf(region)) {
+            for (MatchState s : states.values()) {
+                if (s.status != MatchStatus.CANCELLED && s.ticket.regionCode().equals(region)) out.add(detachLocked(s));
+            }
+        }
+        return out;
+    }
+
+    /** 대기 중인 요청 하나를 떼어 낸다 (다른 지역 대기열로 옮길 때) — 이미 매칭/취소됐으면 empty */
+    public Optional<MatchHandoff> take(long requestId) {
+        MatchState s = states.get(requestId);
+        if (s == null) return Optional.empty();
+        synchronized (lockOf(s.ticket.regionCode())) {
+            if (s.moved || s.status != MatchStatus.WAITING) return Optional.empty();
+            return Optional.of(detachLocked(s));
+        }
+    }
+
+    /**
+     * 넘겨받은 요청 등록 — WAITING 은 requestId 순번 그대로 대기열에 넣고(바로 짝이 있으면 매칭),
+     * MATCHED 는 상대와 다시 연결해 수락/거절을 이어서 받는다
+     * - 이미 가진 requestId 는 건너뛴다 (응답을 못 받은 보내는 쪽이 같은 묶음을 다시 보낼 수 있음).
+     *   같은 묶음이 동시에 두 번 들어와도 한 번만 등록되도록 adopt 끼리는 직렬화한다.
+     */
+    public synchronized void adopt(Collection<MatchHandoff> handoffs) {
+        Map<Long, MatchState> adopted = new LinkedHashMap<>();
+        List<MatchHandoff> fresh = handoffs.stream().filter(h -> !states.containsKey(h.requestId())).toList();
+        for (MatchHandoff h : fresh) {
+            MatchState s = new MatchState(h.ticket(interestDictionary));
+            s.status = h.status();
+            s.accepted = h.accepted();
+            s.reason = h.reason();
+            s.updatedAt = h.updatedAt();
+            adopted.put(h.requestId(), s);
+        }
+        for (MatchHandoff h : fresh) {
+            MatchState s = adopted.get(h.requestId());
+            s.partner = h.partnerRequestId() == null ? null : adopted.get(h.partnerRequestId());
+            if (s.status == MatchStatus.MATCHED && s.partner == null) s.status = MatchStatus.WAITING; // 짝이 빠진 묶음
+            if (s.partner != null && s.partner.handshake != null) {
+                s.handshake = s.partner.handshake;
+            } else if (s.partner != null) {
+                s.handshake = new Handshake(h.sessionId() != null ? h.sessionId() : UUID.randomUUID().toString());
+            }
+        }
+        // 수락 절차는 남은 시간만큼 다시 예약 (넘기는 동안 지난 시간 포함)
+        for (MatchState s : adopted.values()) {
+            Handshake hs = s.handshake;
+            if (hs == null || hs.timer != null || s.partner == null) continue;
+            hs.state = s.accepted && s.partner.accepted ? HandshakeState.CONFIRMED
+                    : s.accepted || s.partner.accepted ? HandshakeState.ONE_ACCEPTED : HandshakeState.PROPOSED;
+            if (hs.open()) {
+                long left = handshakeTimeoutSeconds * 1000L - (System.currentTimeMillis() - s.updatedAt);
+                scheduleHandshakeTimeout(s, s.partner, hs, Math.max(1000L, left));
+            }
+        }
+        for (MatchState s : adopted.values()) {
+            synchronized (lockOf(s.ticket.regionCode())) {
+                states.put(s.ticket.requestId(), s);
+            }
+        }
+        // 묶음 전체를 등록한 뒤에 대기열에 넣는다 (한쪽이 정리되며 상대를 먼저 대기열에 넣을 수 있음)
+        for (MatchState s : adopted.values()) {
+            synchronized (lockOf(s.ticket.regionCode())) {
+                Long latest = latestByUser.merge(s.ticket.userPid(), s.ticket.requestId(), Math::max);
+                if (latest != s.ticket.requestId()) {
+                    releaseLocked(s, "REPLACED"); // 옮기는 사이 새 요청을 냄
+                } else if (s.status == MatchStatus.WAITING && !engine.isWaiting(s.ticket.requestId())) {
+                    enqueue(s);
+                }
+            }
+        }
+    }
+
+    /** 다른 지역도 허용하고 대기 중인 요청 (옮겨 갈 지역을 찾는 대상) */
+    public List<MatchTicket> relaxedWaiting() {
+        List<MatchTicket> out = new ArrayList<>();
+        for (MatchState s : states.values()) {
+            if (s.ticket.anyRegion() && s.status == MatchStatus.WAITING && !s.moved) out.add(s.ticket);
+        }
+        return out;
+    }
+
+    /** 요청을 region 대기열에 넣었다면 얻을 점수 (-1 이면 짝 없음) */
+    public int peek(MatchHandoff request, String region) {
+        return engine.peek(request.inRegion(region).ticket(interestDictionary), this::blocked);
+    }
+
+    /** 오래된 결과/거절 기록 정리 (진행 중인 WAITING 은 건드리지 않음) */
+    @Scheduled(fixedDelayString = "${app.match.purge-interval-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        long cutoff = now - resultRetentionMinutes * 60_000L;
+        states.values().removeIf(s -> {
+            if (s.updatedAt >= cutoff) return false;
+            synchronized (lockOf(s.ticket.regionCode())) {
+                if (s.status == MatchStatus.WAITING) return false;
+                latestByUser.remove(s.ticket.userPid(), s.ticket.requestId());
+                return true;
+            }
+        });
+        declinedPairs.values().removeIf(until -> until <= now);
+    }
+
+    /* ===================== 내부 ===================== */
+
+    private Object lockOf(String region) {
+        return regionLocks.computeIfAbsent(region, k -> new Object());
+    }
+
+    private MatchState owned(Long userPid, Long requestId) {
+        Long id = requestId != null ? requestId : latestByUser.get(userPid);
+        MatchState state = id == null ? null : states.get(id);
+        if (state == null || state.ticket.userPid() != userPid) {
+            throw new IllegalArgumentException("매칭 요청을 찾을 수 없습니다.");
+        }
+        return state;
+    }
+
+    private static void requireHere(MatchState state) {
+        if (state.moved) throw new IllegalArgumentException("매칭 요청이 다른 대기열로 옮겨지는 중입니다. 다시 시도해 주세요.");
+    }
+
+    /** 상태를 이 노드에서 떼어 냄 (지역 모니터 안에서 호출) */
+    private MatchHandoff detachLocked(MatchState s) {
+        long id = s.ticket.requestId();
+        if (s.status == MatchStatus.WAITING && engine.remove(id)) journal.cancelled(id);
+        if (s.waitTimer != null) s.waitTimer.cancel();
+        if (s.handshake != null && s.handshake.timer != null) s.handshake.timer.cancel(); // 받는 노드가 다시 예약
+        states.remove(id, s);
+        latestByUser.remove(s.ticket.userPid(), id);
+        s.moved = true;
+        MatchTicket t = s.ticket;
+        return new MatchHandoff(id, t.userPid(), t.nickname(), t.gender(), t.choiceGender(), t.age(), t.minAge(),
+                t.maxAge(), t.regionCode(), t.anyRegion(), t.interests(), s.status,
+                s.partner == null ? null : s.partner.ticket.requestId(),
+                s.handshake == null ? null : s.handshake.sessionId, s.accepted, s.reason, s.updatedAt);
+    }
+
+    private static void requireMatchedWith(MatchState state, Long partnerId) {
+        if (state.status != MatchStatus.MATCHED) {
+            throw new IllegalArgumentException("매칭된 상대가 없습니다.");
+        }
+        if (partnerId != null && partnerId != state.partner.ticket.userPid()) {
+            throw new IllegalArgumentException("매칭 상대가 바뀌었습니다. 다시 확인해 주세요.");
+        }
+    }
+
+    /** 대기열에 넣거나 바로 짝짓기 (지역 모니터 안에서 호출) */
+    private void enqueue(MatchState state) {
+        if (state.status != MatchStatus.WAITING) return; // 넣기 전에 다른 요청에 밀려 취소됨
+        Optional<MatchTicket> partner = engine.offer(state.ticket, this::blocked);
+        if (partner.isPresent()) {
+            journal.matched(state.ticket.requestId(), partner.get().requestId());
+            pair(state, states.get(partner.get().requestId()));
+        } else {
+            journal.enqueued(state.ticket);
+            scheduleWaitTimeout(state);
+        }
+    }
+
+    private void scheduleWaitTimeout(MatchState state) {
+        state.waitTimer = timer.schedule(waitTimeoutSeconds * 1000L, t -> {
+            synchronized (lockOf(state.ticket.regionCode())) {
+                if (state.waitTimer == t && state.status == MatchStatus.WAITING && !state.moved) {
+                    releaseLocked(state, "TIMEOUT");
+                }
+            }
+        });
+    }
+
+    private void scheduleHandshakeTimeout(MatchState a, MatchState b, Handshake h, long delayMs) {
+        h.timer = timer.schedule(delayMs, t -> {
+            synchronized (lockOf(a.ticket.regionCode())) {
+                if (a.handshake == h && h.open() && !a.moved) expireHandshakeLocked(a, b, h);
+            }
+        });
+    }
+
+    /**
+     * 수락 절차 시간 초과 (지역 모니터 안에서 호출)
+     * - 수락한 쪽은 원래 순번으로 대기열에 돌아가고, 응답하지 않은 쪽은 CANCELLED
+     * - 둘 다 응답하지 않았으면 둘 다 CANCELLED (자리를 비운 사람끼리 계속 짝지어지지 않도록)
+     */
+    private void expireHandshakeLocked(MatchState a, MatchState b, Handshake h) {
+        h.state = HandshakeState.EXPIRED;
+        handshakeOutcome(HandshakeState.EXPIRED);
+        blockPair(a, b);
+        List<MatchState> survivors = new ArrayList<>(2);
+        for (MatchState s : List.of(a, b)) {
+            boolean survived = s.accepted;
+            s.partner = null;
+            s.handshake = null;
+            s.accepted = false;
+            s.updatedAt = System.currentTimeMillis();
+            if (survived) {
+                s.status = MatchStatus.WAITING;
+                s.reason = "PARTNER_TIMEOUT";
+                statusFlusher.submit(s.ticket.requestId(), MatchStatus.WAITING);
+                survivors.add(s);
+            } else {
+                s.status = MatchStatus.CANCELLED;
+                s.reason = "NO_RESPONSE";
+                statusFlusher.submit(s.ticket.requestId(), MatchStatus.CANCELLED);
+                closed(s);
+            }
+            notifyState(s);
+        }
+        survivors.forEach(this::enqueue);
+    }
+
+    private void blockPair(MatchState a, MatchState b) {
+        long until = System.currentTimeMillis() + declineBlockMinutes * 60_000L;
+        declinedPairs.put(Pair.of(a.ticket.userPid(), b.ticket.userPid()), until);
+        cluster.broadcast("match.declined", new Declined(a.ticket.userPid(), b.ticket.userPid(), until));
+    }
+
+    private void handshakeOutcome(HandshakeState outcome) {
+        registry.counter("match.handshake", "outcome", outcome.name()).increment();
+    }
+
+    private boolean blocked(MatchTicket a, MatchTicket b) {
+        Long until = declinedPairs.get(Pair.of(a.userPid(), b.userPid()));
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    private void pair(MatchState a, MatchState b) {
+        Handshake h = new Handshake(UUID.randomUUID().toString());
+        long now = System.currentTimeMillis();
+        for (MatchState s : List.of(a, b)) {
+            s.status = MatchStatus.MATCHED;
+            s.handshake = h;
+            s.accepted = false;
+            s.updatedAt = now;
+            if (s.waitTimer != null) {
+                s.waitTimer.cancel();
+                s.waitTimer = null;
+            }
+        }
+        scheduleHandshakeTimeout(a, b, h, handshakeTimeoutSeconds * 1000L);
+        a.partner = b;
+        b.partner = a;
+        a.reason = null;
+        b.reason = null;
+        statusFlusher.submit(a.ticket.requestId(), MatchStatus.MATCHED);
+        statusFlusher.submit(b.ticket.requestId(), MatchStatus.MATCHED);
+        notifyState(a);
+        notifyState(b);
+    }
+
+    /** 당사자에게 현재 상태 전송 (구독 중일 때만, 전송은 락 밖의 알림 스레드에서) */
+    private void notifyState(MatchState state) {
+        notifier.publish(state.ticket.userPid(), () -> view(state));
+    }
+
+    private void release(MatchState state, String reason) {
+        if (state == null) return;
+        synchronized (lockOf(state.ticket.regionCode())) {
+            requireHere(state);
+            releaseLocked(state, reason);
+        }
+    }
+
+    /** 요청 종료 (지역 모니터 안에서 호출) — 매칭된 상대는 대기열로 되돌리고 두 사람은 당분간 다시 짝짓지 않음 */
+    private void releaseLocked(MatchState state, String reason) {
+        switch (state.status) {
+            case WAITING -> {
+                if (engine.remove(state.ticket.requestId())) journal.cancelled(state.ticket.requestId());
+                if (state.waitTimer != null) state.waitTimer.cancel();
+            }
+            case MATCHED -> {
+                MatchState partner = state.partner;
+                Handshake h = state.handshake;
+                if (h.state == HandshakeState.CONFIRMED) {
+                    return; // 이미 성사된 매칭 → 결과(CONFIRMED)는 그대로 두고 새 요청/취소만 받아 준다
+                }
+                h.state = HandshakeState.DECLINED;
+                h.timer.cancel();
+                handshakeOutcome(HandshakeState.DECLINED);
+                blockPair(state, partner);
+                partner.status = MatchStatus.WAITING;
+                partner.partner = null;
+                partner.handshake = null;
+                partner.accepted = false;
+                partner.reason = "PARTNER_DECLINED";
+                partner.updatedAt = System.currentTimeMillis();
+                statusFlusher.submit(partner.ticket.requestId(), MatchStatus.WAITING);
+                state.partner = null;
+                state.handshake = null;
+                state.accepted = false;
+                notifyState(partner);
+                enqueue(partner);
+            }
+            case CANCELLED -> {
+                return;
+            }
+        }
+        state.status = MatchStatus.CANCELLED;
+        state.reason = reason;
+        state.updatedAt = System.currentTimeMillis();
+        statusFlusher.submit(state.ticket.requestId(), MatchStatus.CANCELLED);
+        closed(state);
+        notifyState(state);
+    }
+
+    private void closed(MatchState state) {
+        closedListener.accept(state.ticket.userPid(), state.ticket.requestId());
+    }
+
+    private MatchResultResponse view(MatchState state) {
+        MatchStatus status;
+        Long partnerPid = null;
+        String partnerNickname = null, sessionId = null, reason;
+        HandshakeState handshake = null;
+        boolean accepted, partnerAccepted = false;
+        synchronized (lockOf(state.ticket.regionCode())) {
+            status = state.status;
+            if (state.handshake != null) {
+                sessionId = state.handshake.sessionId;
+                handshake = state.handshake.state;
+            }
+            reason = state.reason;
+            accepted = state.accepted;
+            if (state.partner != null) {
+                partnerPid = state.partner.ticket.userPid();
+                partnerNickname = state.partner.ticket.nickname();
+                partnerAccepted = state.partner.accepted;
+            }
+        }
+        var builder = MatchResultResponse.builder()
+                .requestId(state.ticket.requestId())
+                .status(status)
+                .reason(reason);
+        if (partnerPid != null) {
+            builder.partner(new MatchResultResponse.Partner(partnerPid, partnerNickname))
+                    .sessionId(sessionId)
+                    .handshake(handshake)
+                    .accepted(accepted)
+                    .partnerAccepted(partnerAccepted);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,75 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.vo.MatchStatus;
+import net.datasa.project01.repository.MatchRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * match_requests.status 비동기 일괄 반영
+ * - 매칭 경로(지역 락 안)에서는 메모리에 "요청 → 최종 상태"만 남기고, 주기적으로 상태별 UPDATE ... IN (...) 로 모아 쓴다.
+ * - 같은 요청이 여러 번 바뀌면 마지막 상태 하나만 쓴다 (WAITING → MATCHED → WAITING 이 한 주기 안이면 UPDATE 1건).
+ * - 대기열의 기준은 MatchJournal 이고, 이 테이블은 조회/통계용 기록 → 몇백 ms 늦어도 된다.
+ * - 실패하면 다음 주기에 다시 시도 (그 사이 더 새 상태가 들어왔으면 새 상태가 이김)
+ *
+ * 메트릭: match.status.pending, match.status.flush
+ */
+@Slf4j
+@Component
+public class MatchStatusFlusher {
+
+    private final MatchRequestRepository matchRepository;
+    private final int batchSize;
+    private final ConcurrentHashMap<Long, MatchStatus> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+
+    public MatchStatusFlusher(MatchRequestRepository matchRepository, MeterRegistry registry,
+                              @Value("${app.match.status-flush.batch-size:500}") int batchSize) {
+        this.matchRepository = matchRepository;
+        this.batchSize = batchSize;
+        Gauge.builder("match.status.pending", pending, Map::size).register(registry);
+        this.flushTimer = Timer.builder("match.status.flush").register(registry);
+    }
+
+    /** 상태 변경 예약 (이전 예약은 덮어씀) */
+    public void submit(long requestId, MatchStatus status) {
+        pending.put(requestId, status);
+    }
+
+    @Scheduled(fixedDelayString = "${app.match.status-flush.interval-ms:500}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) return;
+        flushTimer.record(() -> {
+            Map<MatchStatus, List<Long>> byStatus = new EnumMap<>(MatchStatus.class);
+            Map<Long, MatchStatus> taken = new HashMap<>();
+            for (Map.Entry<Long, MatchStatus> e : pending.entrySet()) {
+                // 가져가는 순간의 값과 같을 때만 제거 → 그 사이 바뀐 값은 다음 주기에
+                if (pending.remove(e.getKey(), e.getValue())) {
+                    taken.put(e.getKey(), e.getValue());
+                    byStatus.computeIfAbsent(e.getValue(), k -> new ArrayList<>()).add(e.getKey());
+                }
+            }
+            byStatus.forEach((status, ids) -> {
+                for (int i = 0; i < ids.size(); i += batchSize) {
+                    List<Long> chunk = ids.subList(i, Math.min(ids.size(), i + batchSize));
+                    try {
+                        matchRepository.updateStatus(chunk, status);
+                    } catch (RuntimeException ex) {
+                        log.warn("매칭 상태 반영 실패 {}건 ({}) → 다음 주기에 재시도", chunk.size(), status, ex);
+                        chunk.forEach(id -> pending.putIfAbsent(id, taken.get(id)));
+                    }
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package net.datasa.project01.service.match;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 대기열에 들어가는 매칭 요청 한 건 (불변)
+ * - requestId 는 DB/mock 모두 발급 순서대로 증가 → 그대로 FIFO 순번으로 쓴다.
+ *
+ * @param nickname     요청자 닉네임 (상대 화면에 보여 줄 값 — 알림 때 회원 조회 없이 쓰도록 요청 시점에 담아 둠)
+ * @param gender       요청자 본인 성별 (M/F)
+ * @param choiceGender 희망 상대 성별 (M/F/A)
+ * @param age          요청자 본인 나이 (만 나이)
+ * @param minAge       희망 상대 최소 나이
+ * @param maxAge       희망 상대 최대 나이
+ * @param regionCode   지금 줄 서 있는 지역 (다른 지역 허용이면 처음 희망 지역과 다를 수 있음)
+ * @param anyRegion    다른 지역 상대도 허용 (대기 중 다른 지역 대기열로 옮겨질 수 있음)
+ * @param interests    관심사 원문 (저널/응답용)
+ * @param interestBits {@link InterestDictionary} 로 인코딩한 관심사 비트마스크 (점수 계산용)
+ */
+public record MatchTicket(long requestId, long userPid, String nickname, char gender, char choiceGender,
+                          int age, int minAge, int maxAge, String regionCode, boolean anyRegion,
+                          Set<String> interests, long[] interestBits) {
+
+    /** 관심사 유사도 (자카드, 0~1024) */
+    int score(MatchTicket other) {
+        return InterestDictionary.similarity(interestBits, other.interestBits);
+    }
+
+    // 배열 컴포넌트는 기본 equals 가 참조 비교라 내용 비교로 바꾼다
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MatchTicket t
+                && requestId == t.requestId && userPid == t.userPid && Objects.equals(nickname, t.nickname)
+                && gender == t.gender && choiceGender == t.choiceGender
+                && age == t.age && minAge == t.minAge && maxAge == t.maxAge
+                && regionCode.equals(t.regionCode) && anyRegion == t.anyRegion && interests.equals(t.interests)
+                && Arrays.equals(interestBits, t.interestBits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(requestId);
+    }
+
+    @Override
+    public String toString() {
+        return "MatchTicket[requestId=" + requestId + ", userPid=" + userPid + ", nickname=" + nickname + ", gender=" + gender
+                + ", choiceGender=" + choiceGender + ", age=" + age + ", minAge=" + minAge + ", maxAge=" + maxAge
+                + ", regionCode=" + regionCode + ", anyRegion=" + anyRegion + ", interests=" + interests + "]";
+    }
+}
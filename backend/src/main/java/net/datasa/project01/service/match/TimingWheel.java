@@ -0,0 +1,212 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * 해시 타이밍 휠 (매칭 대기/수락 응답 시간 초과용)
+ * - 칸(bucket) wheel-size 개를 tick-ms 마다 한 칸씩 돈다. 만료 시각이 한 바퀴보다 멀면 남은 바퀴 수(rounds)를 달아 둠
+ * - 예약/취소 O(1): 예약은 큐에 넣기만 하고 휠 스레드가 다음 틱에 칸으로 옮긴다, 취소는 상태 표시 후 다음 틱에 칸에서 뺌
+ *   → 요청마다 ScheduledFuture 를 만들거나 표를 훑지 않아도 수만 건을 한 스레드로 처리
+ * - 정밀도는 tick-ms (늦게 불릴 수는 있어도 일찍 불리지는 않음)
+ * - 콜백은 휠 스레드에서 돈다 → 짧게 (락 잡고 상태 바꾸고 알림 예약 정도)
+ *
+ * 메트릭: match.timer.pending
+ */
+@Slf4j
+@Component
+public class TimingWheel {
+
+    /** 한 틱에 칸으로 옮길 최대 예약 수 (몰릴 때 틱이 밀리지 않도록, 남은 것은 다음 틱) */
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long startNanos = System.nanoTime();
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean stopped;
+    /** 휠 스레드만 읽고 씀 */
+    private long tick;
+
+    public TimingWheel(MeterRegistry registry,
+                       @Value("${app.match.timer.tick-ms:100}") long tickMs,
+                       @Value("${app.match.timer.wheel-size:512}") int wheelSize) {
+        if (tickMs <= 0) throw new IllegalArgumentException("tick-ms 는 0보다 커야 합니다.");
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) wheel[i] = new Bucket();
+        this.mask = size - 1;
+        Gauge.builder("match.timer.pending", pending, AtomicInteger::get)
+                .description("예약된 시간 초과 수").register(registry);
+        this.worker = new Thread(this::run, "match-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** delayMs 뒤에 task 실행 (취소 전까지) */
+    public Timeout schedule(long delayMs, Consumer<Timeout> task) {
+        long deadline = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs));
+        Timeout t = new Timeout(deadline, task);
+        pending.incrementAndGet();
+        added.add(t);
+        return t;
+    }
+
+    public int pending() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (!stopped) {
+            long deadline = waitForNextTick();
+            if (deadline < 0) break;
+            removeCancelled();
+            transferAdded();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    /** 다음 틱 시각까지 잠 → 그 틱의 시각(시작 기준 ns), 중단되면 -1 */
+    private long waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startNanos;
+            long sleepMs = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999_999);
+            if (sleepMs <= 0) return now;
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                if (stopped) return -1;
+            }
+        }
+    }
+
+    private void transferAdded() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout t = added.poll();
+            if (t == null) return;
+            if (t.state != Timeout.PENDING) continue; // 칸에 들어가기 전에 취소됨
+            long due = t.deadline / tickNanos;
+            t.rounds = (due - tick) / wheel.length;
+            wheel[(int) (Math.max(due, tick) & mask)].add(t); // 이미 지난 것은 이번 틱에
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout t;
+        while ((t = cancelled.poll()) != null) {
+            if (t.bucket != null) t.bucket.remove(t);
+        }
+    }
+
+    /** 예약 하나 (cancel 은 어느 스레드에서나) */
+    public final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final long deadline;
+        private final Consumer<Timeout> task;
+        private volatile int state = PENDING;
+        // 아래는 휠 스레드만
+        private long rounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(long deadline, Consumer<Timeout> task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /** @return 아직 실행 전이라 취소됐으면 true */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) return false;
+            pending.decrementAndGet();
+            cancelled.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, PENDING, EXPIRED)) return;
+            pending.decrementAndGet();
+            try {
+                task.accept(this);
+            } catch (RuntimeException e) {
+                log.warn("시간 초과 처리 실패", e);
+            }
+        }
+    }
+
+    /** 칸 하나 (이중 연결 리스트, 휠 스레드 전용) */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        void expire(long deadline) {
+            Timeout t = head;
+            while (t != null) {
+                Timeout next = t.next;
+                if (t.state != Timeout.PENDING) {
+                    remove(t);
+                } else if (t.rounds <= 0 && t.deadline <= deadline) {
+                    remove(t);
+                    t.expire();
+                } else if (t.rounds > 0) {
+                    t.rounds--;
+                }
+                t = next;
+            }
+        }
+
+        void remove(Timeout t) {
+            if (t.bucket != this) return;
+            if (t.prev != null) t.prev.next = t.next;
+            else head = t.next;
+            if (t.next != null) t.next.prev = t.prev;
+            else tail = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package net.datasa.project01.service.match.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * LocalBroker 접속 클라이언트
+ * - 끊기면 백그라운드에서 다시 접속하고 구독했던 토픽을 다시 구독한다
+ * - 끊긴 동안의 publish 는 버린다 (false 반환) — 호출 쪽이 타임아웃/재시도로 처리
+ * - 수신 콜백은 수신 스레드에서 바로 호출되므로 오래 걸리는 일은 호출 쪽이 다른 스레드로 넘길 것
+ */
+@Slf4j
+public class BrokerClient implements Closeable {
+
+    private static final long RECONNECT_DELAY_MS = 500;
+
+    private final InetSocketAddress address;
+    private final Map<String, Consumer<byte[]>> handlers = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile Socket socket;
+    private volatile DataOutputStream out;
+    private volatile boolean closed;
+
+    public BrokerClient(String host, int port, String name) {
+        this.address = new InetSocketAddress(host, port);
+        Thread t = new Thread(this::run, "match-broker-client-" + name);
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public boolean connected() {
+        return out != null;
+    }
+
+    /** 토픽 구독 (토픽당 콜백 하나) */
+    public void subscribe(String topic, Consumer<byte[]> handler) {
+        handlers.put(topic, handler);
+        send(new BrokerFrame(BrokerFrame.SUBSCRIBE, topic, new byte[0]));
+    }
+
+    /** @return 접속이 끊겨 보내지 못했으면 false */
+    public boolean publish(String topic, byte[] payload) {
+        return send(new BrokerFrame(BrokerFrame.PUBLISH, topic, payload));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        disconnect();
+    }
+
+    private boolean send(BrokerFrame frame) {
+        byte[] bytes = frame.encode();
+        synchronized (writeLock) {
+            DataOutputStream o = out;
+            if (o == null) return false;
+            try {
+                o.write(bytes);
+                o.flush();
+                return true;
+            } catch (IOException e) {
+                log.debug("브로커 전송 실패: {}", e.toString());
+                disconnect();
+                return false;
+            }
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try (Socket s = new Socket()) {
+                s.connect(address, 2000);
+                s.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+                synchronized (writeLock) {
+                    socket = s;
+                    out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+                }
+                handlers.keySet().forEach(topic -> send(new BrokerFrame(BrokerFrame.SUBSCRIBE, topic, new byte[0])));
+                log.info("매칭 클러스터 브로커 접속: {}", address);
+                while (!closed) {
+                    BrokerFrame frame = BrokerFrame.read(in);
+                    Consumer<byte[]> handler = handlers.get(frame.topic());
+                    if (handler == null) continue;
+                    try {
+                        handler.accept(frame.payload());
+                    } catch (RuntimeException e) {
+                        log.warn("브로커 메시지 처리 실패 (topic={})", frame.topic(), e);
+                    }
+                }
+            } catch (IOException e) {
+                if (!closed) log.debug("브로커 {} 접속 끊김/실패: {}", address, e.toString());
+            } finally {
+                disconnect();
+            }
+            sleepQuietly();
+        }
+    }
+
+    private void disconnect() {
+        synchronized (writeLock) {
+            out = null;
+            Socket s = socket;
+            socket = null;
+            if (s != null) {
+                try {
+                    s.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            closed = true;
+        }
+    }
+}
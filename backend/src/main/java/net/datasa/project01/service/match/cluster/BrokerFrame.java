@@ -0,0 +1,37 @@
+package net.datasa.project01.service.match.cluster;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 브로커 프레임 [길이 int][op byte][토픽 길이 short][토픽 UTF-8][payload]
+ * - 길이는 자기 자신(4바이트)을 뺀 나머지 크기
+ */
+record BrokerFrame(byte op, String topic, byte[] payload) {
+
+    static final byte SUBSCRIBE = 1;
+    static final byte PUBLISH = 2;
+
+    /** 한 프레임 최대 크기 (깨진 길이 값으로 거대한 배열을 만들지 않도록) */
+    private static final int MAX_FRAME = 16 * 1024 * 1024;
+
+    byte[] encode() {
+        byte[] t = topic.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer b = ByteBuffer.allocate(4 + 1 + 2 + t.length + payload.length);
+        b.putInt(1 + 2 + t.length + payload.length).put(op).putShort((short) t.length).put(t).put(payload);
+        return b.array();
+    }
+
+    static BrokerFrame read(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 3 || length > MAX_FRAME) throw new IOException("잘못된 프레임 길이: " + length);
+        byte op = in.readByte();
+        byte[] t = new byte[in.readUnsignedShort()];
+        in.readFully(t);
+        byte[] payload = new byte[length - 3 - t.length];
+        in.readFully(payload);
+        return new BrokerFrame(op, new String(t, StandardCharsets.UTF_8), payload);
+    }
+}
@@ -0,0 +1,50 @@
+package net.datasa.project01.service.match.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 일관 해싱 링 (불변)
+ * - 노드마다 가상 노드 virtualNodes 개를 링에 뿌리고, 키는 시계 방향으로 처음 만나는 노드가 소유
+ * - 노드가 하나 늘거나 줄면 그 노드 몫(약 1/N)만 주인이 바뀐다 → 재조정 때 옮기는 지역이 적음
+ * - 멤버가 바뀌면 새 링을 만들어 통째로 교체 (읽는 쪽은 락 없음)
+ */
+public final class HashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodes;
+
+    public HashRing(Collection<String> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableSet(new TreeSet<>(nodes));
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(node + "#" + i), node); // 드물게 겹치면 먼저 놓인 쪽 유지 (노드 순서 고정이라 모든 노드가 같은 링)
+            }
+        }
+    }
+
+    /** 키의 주인 노드 (멤버가 없으면 null) */
+    public String owner(String key) {
+        if (ring.isEmpty()) return null;
+        Map.Entry<Long, String> e = ring.ceilingEntry(hash(key));
+        return (e != null ? e : ring.firstEntry()).getValue();
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    /** FNV-1a 64 + splitmix 마무리 (짧은 키도 링 전체에 고르게) */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,155 @@
+package net.datasa.project01.service.match.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 메시지 브로커 (운영 브로커 대신 쓰는 최소 구현)
+ * - 루프백 TCP 위의 토픽 pub/sub: SUBSCRIBE 한 연결에만 PUBLISH 를 그대로 전달 (보관/재전송 없음, at-most-once)
+ * - 한 머신에서 여러 JVM 을 띄워 클러스터를 돌려 볼 때, 노드 하나가 내장으로 띄우고 나머지는 접속한다
+ *   (app.match.cluster.broker.embedded=true)
+ * - 연결마다 송신 큐 + 전용 스레드 → 느린 구독자가 다른 구독자를 막지 않음. 큐가 넘치면 그 연결을 끊는다.
+ */
+@Slf4j
+public class LocalBroker implements Closeable {
+
+    private static final int OUTBOX_CAPACITY = 10_000;
+
+    private final ServerSocket server;
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    /** @param port 0 이면 빈 포트 아무거나 */
+    public LocalBroker(int port) throws IOException {
+        server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        daemon(this::acceptLoop, "match-broker-accept").start();
+        log.info("매칭 클러스터 로컬 브로커 시작: 127.0.0.1:{}", port());
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        connections.forEach(Connection::close);
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                new Connection(socket).start();
+            } catch (IOException e) {
+                if (!closed) log.warn("브로커 accept 실패", e);
+            }
+        }
+    }
+
+    private void publish(BrokerFrame frame) {
+        Set<Connection> targets = subscribers.get(frame.topic());
+        if (targets == null || targets.isEmpty()) return;
+        byte[] bytes = frame.encode();
+        for (Connection c : targets) c.offer(bytes);
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread t = new Thread(task, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    /** 접속 하나 (수신 스레드 + 송신 스레드) */
+    private final class Connection {
+        private final Socket socket;
+        private final BlockingQueue<byte[]> outbox = new ArrayBlockingQueue<>(OUTBOX_CAPACITY);
+        private final Set<String> topics = ConcurrentHashMap.newKeySet();
+        private volatile boolean open = true;
+        private Thread writer;
+
+        private Connection(Socket socket) {
+            this.socket = socket;
+        }
+
+        void start() {
+            connections.add(this);
+            String peer = String.valueOf(socket.getRemoteSocketAddress());
+            writer = daemon(this::writeLoop, "match-broker-out-" + peer);
+            writer.start();
+            daemon(this::readLoop, "match-broker-in-" + peer).start();
+        }
+
+        private void readLoop() {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+                while (open) {
+                    BrokerFrame frame = BrokerFrame.read(in);
+                    switch (frame.op()) {
+                        case BrokerFrame.SUBSCRIBE -> {
+                            topics.add(frame.topic());
+                            subscribers.computeIfAbsent(frame.topic(), k -> ConcurrentHashMap.newKeySet()).add(this);
+                        }
+                        case BrokerFrame.PUBLISH -> publish(frame);
+                        default -> throw new IOException("알 수 없는 op: " + frame.op());
+                    }
+                }
+            } catch (IOException e) {
+                log.debug("브로커 연결 종료: {}", socket.getRemoteSocketAddress());
+            } finally {
+                close();
+            }
+        }
+
+        private void writeLoop() {
+            try (OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+                while (open) {
+                    out.write(outbox.take());
+                    if (outbox.isEmpty()) out.flush(); // 몰려 있으면 모아서 한 번에
+                }
+            } catch (IOException | InterruptedException e) {
+                log.debug("브로커 송신 종료: {}", socket.getRemoteSocketAddress());
+            } finally {
+                close();
+            }
+        }
+
+        void offer(byte[] frame) {
+            if (!outbox.offer(frame)) {
+                log.warn("브로커 구독자 {} 송신 큐가 가득 참 → 연결 끊음", socket.getRemoteSocketAddress());
+                close();
+            }
+        }
+
+        void close() {
+            if (!open) return;
+            open = false;
+            connections.remove(this);
+            for (String topic : topics) {
+                subscribers.computeIfPresent(topic, (k, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+            writer.interrupt();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
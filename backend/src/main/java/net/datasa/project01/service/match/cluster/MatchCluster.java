@@ -0,0 +1,335 @@
+package net.datasa.project01.service.match.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 매칭 클러스터 — 노드 목록, 파티션(region_code) 주인, 노드 간 요청/응답
+ * - 모든 노드가 heartbeat-ms 마다 "match.members" 로 자기 존재를 알리고,
+ *   member-timeout-ms 동안 소식이 없는 노드는 뺀다 → 살아 있는 노드로 HashRing 을 다시 만든다.
+ *   링이 바뀌면 onRingChange 콜백 (MatchGateway 가 주인이 바뀐 지역을 넘김)
+ * - 노드마다 "match.node.{id}" 토픽 하나로 요청/응답을 받는다 (JSON, 상관 id 로 짝지음)
+ * - 꺼져 있으면(app.match.cluster.enabled=false) 자기 자신만 있는 한 노드 클러스터처럼 동작 → 모든 지역이 로컬
+ *
+ * 브로커는 LocalBroker (한 노드가 embedded=true 로 띄우고 나머지는 broker 주소로 접속).
+ *
+ * 메트릭: match.cluster.members, match.cluster.rpc{op}
+ */
+@Slf4j
+@Component
+public class MatchCluster {
+
+    private static final String MEMBERS = "match.members";
+    private static final String CALL = "call";
+    private static final String REPLY = "reply";
+    private static final String CAST = "cast";
+    private static final String BAD_REQUEST = "BAD_REQUEST";
+
+    private final ObjectMapper mapper;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final String nodeId;
+    private final String brokerHost;
+    private final int brokerPort;
+    private final boolean embeddedBroker;
+    private final long memberTimeoutMs;
+    private final long rpcTimeoutMs;
+    private final int virtualNodes;
+
+    /** 노드 → 마지막 heartbeat 시각(ms) */
+    private final ConcurrentHashMap<String, Long> members = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+    private final Map<String, Function<JsonNode, Object>> handlers = new ConcurrentHashMap<>();
+    private final List<Runnable> ringListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong correlation = new AtomicLong();
+    private volatile HashRing ring;
+
+    private LocalBroker broker;
+    private BrokerClient client;
+    /** 들어온 요청 처리 (수신 스레드를 막지 않도록) */
+    private ExecutorService workers;
+    /** 방송/링 변경 처리 — 한 스레드라 보낸 순서대로 적용 */
+    private ExecutorService events;
+
+    /**
+     * 메시지 봉투
+     * @param kind  call / reply / cast
+     * @param op    call·cast: 처리기 이름, reply: 없음
+     * @param error reply 실패 시 메시지 (errorType=BAD_REQUEST 면 호출 쪽에서 IllegalArgumentException)
+     */
+    record Message(String kind, String op, long id, String from, JsonNode body, String error, String errorType) {
+    }
+
+    public MatchCluster(ObjectMapper mapper, MeterRegistry registry,
+                        @Value("${app.match.cluster.enabled:false}") boolean enabled,
+                        @Value("${app.match.cluster.node-id:}") String nodeId,
+                        @Value("${app.match.cluster.broker:127.0.0.1:7690}") String broker,
+                        @Value("${app.match.cluster.broker-embedded:false}") boolean embeddedBroker,
+                        @Value("${app.match.cluster.member-timeout-ms:5000}") long memberTimeoutMs,
+                        @Value("${app.match.cluster.rpc-timeout-ms:3000}") long rpcTimeoutMs,
+                        @Value("${app.match.cluster.virtual-nodes:128}") int virtualNodes) {
+        this.mapper = mapper;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? "node-" + ProcessHandle.current().pid() : nodeId;
+        int colon = broker.lastIndexOf(':');
+        if (colon < 0) throw new IllegalArgumentException("app.match.cluster.broker 는 host:port 형식이어야 합니다: " + broker);
+        this.brokerHost = broker.substring(0, colon);
+        this.brokerPort = Integer.parseInt(broker.substring(colon + 1));
+        this.embeddedBroker = embeddedBroker;
+        this.memberTimeoutMs = memberTimeoutMs;
+        this.rpcTimeoutMs = rpcTimeoutMs;
+        this.virtualNodes = virtualNodes;
+        this.ring = new HashRing(List.of(this.nodeId), virtualNodes);
+        Gauge.builder("match.cluster.members", members, Map::size).register(registry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) return;
+        if (embeddedBroker) broker = new LocalBroker(brokerPort);
+        workers = Executors.newFixedThreadPool(4, daemonFactory("match-cluster-"));
+        events = Executors.newSingleThreadExecutor(daemonFactory("match-cluster-events-"));
+        members.put(nodeId, System.currentTimeMillis());
+        client = new BrokerClient(brokerHost, brokerPort, nodeId);
+        client.subscribe(MEMBERS, this::onMember);
+        client.subscribe(nodeTopic(nodeId), this::onMessage);
+        log.info("매칭 클러스터 노드 {} 시작 (broker={}:{})", nodeId, brokerHost, brokerPort);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!enabled) return;
+        send(MEMBERS, new Message(CAST, "leave", 0, nodeId, null, null, null)); // 다른 노드가 타임아웃을 기다리지 않도록
+        client.close();
+        workers.shutdownNow();
+        events.shutdownNow();
+        if (broker != null) broker.close();
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public boolean isLocal(String node) {
+        return nodeId.equals(node);
+    }
+
+    /** 지역(파티션 키)의 주인 노드 */
+    public String ownerOf(String partitionKey) {
+        return ring.owner(partitionKey);
+    }
+
+    /** 지금 살아 있는 노드 (자기 포함) */
+    public Set<String> nodes() {
+        return ring.nodes();
+    }
+
+    /** 요청 처리기 등록 — 반환값이 응답 body (IllegalArgumentException 은 호출 쪽에서 400 으로) */
+    public void handle(String op, Function<JsonNode, Object> handler) {
+        handlers.put(op, handler);
+    }
+
+    /** 모든 노드(자기 제외)에 알림 — 응답 없음, 순서는 보낸 노드 기준으로 유지 */
+    public void broadcast(String topic, Object body) {
+        if (!enabled) return;
+        send(MEMBERS, new Message(CAST, topic, 0, nodeId, mapper.valueToTree(body), null, null));
+    }
+
+    /** broadcast 수신 처리기 등록 */
+    public void onBroadcast(String topic, Consumer<JsonNode> handler) {
+        handlers.put(CAST + ":" + topic, body -> {
+            handler.accept(body);
+            return null;
+        });
+    }
+
+    /** 링이 바뀔 때 (노드 합류/이탈) — 이벤트 스레드에서 호출 */
+    public void onRingChange(Runnable listener) {
+        ringListeners.add(listener);
+    }
+
+    public <T> T call(String node, String op, Object body, Class<T> type) {
+        return mapper.convertValue(call(node, op, body), type);
+    }
+
+    public <T> T call(String node, String op, Object body, TypeReference<T> type) {
+        return mapper.convertValue(call(node, op, body), type);
+    }
+
+    public <T> T convert(JsonNode body, Class<T> type) {
+        return mapper.convertValue(body, type);
+    }
+
+    public <T> T convert(JsonNode body, TypeReference<T> type) {
+        return mapper.convertValue(body, type);
+    }
+
+    /**
+     * 다른 노드에 요청하고 응답을 기다림 (최대 rpc-timeout-ms)
+     * - 상대가 IllegalArgumentException 을 던졌으면 그대로 IllegalArgumentException (400)
+     * - 응답이 없거나 보낼 수 없으면 ServiceBusyException (503, 잠시 후 재시도)
+     */
+    public JsonNode call(String node, String op, Object body) {
+        long id = correlation.incrementAndGet();
+        CompletableFuture<JsonNode> reply = new CompletableFuture<>();
+        pending.put(id, reply);
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            if (!send(nodeTopic(node), new Message(CALL, op, id, nodeId, mapper.valueToTree(body), null, null))) {
+                throw new ServiceBusyException("매칭 서버 간 연결이 끊겼습니다. 잠시 후 다시 시도해주세요.", 1);
+            }
+            return reply.get(rpcTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceBusyException("매칭 서버(" + node + ") 응답이 없습니다. 잠시 후 다시 시도해주세요.", 1);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("매칭 요청이 중단되었습니다.", 1);
+        } finally {
+            pending.remove(id);
+            sample.stop(registry.timer("match.cluster.rpc", "op", op));
+        }
+    }
+
+    /** 멤버 heartbeat + 오래 조용한 노드 제거 */
+    @Scheduled(fixedDelayString = "${app.match.cluster.heartbeat-ms:1000}")
+    public void heartbeat() {
+        if (!enabled) return;
+        long now = System.currentTimeMillis();
+        members.put(nodeId, now);
+        send(MEMBERS, new Message(CAST, "alive", 0, nodeId, null, null, null));
+        boolean changed = members.entrySet().removeIf(e -> !isLocal(e.getKey()) && e.getValue() < now - memberTimeoutMs);
+        if (changed) events.execute(this::rebuildRing);
+    }
+
+    /* ===================== 내부 ===================== */
+
+    private static String nodeTopic(String node) {
+        return "match.node." + node;
+    }
+
+    private boolean send(String topic, Message message) {
+        try {
+            return client.publish(topic, mapper.writeValueAsBytes(message));
+        } catch (IOException e) {
+            throw new IllegalStateException("클러스터 메시지 직렬화 실패", e);
+        }
+    }
+
+    /** "match.members" 수신 — 합류/이탈/방송 */
+    private void onMember(byte[] payload) {
+        Message m = read(payload);
+        if (m == null || isLocal(m.from())) return;
+        switch (m.op()) {
+            case "alive" -> {
+                if (members.put(m.from(), System.currentTimeMillis()) == null) {
+                    log.info("매칭 클러스터 노드 합류: {}", m.from());
+                    events.execute(this::rebuildRing);
+                }
+            }
+            case "leave" -> {
+                if (members.remove(m.from()) != null) {
+                    log.info("매칭 클러스터 노드 이탈: {}", m.from());
+                    events.execute(this::rebuildRing);
+                }
+            }
+            default -> {
+                Function<JsonNode, Object> handler = handlers.get(CAST + ":" + m.op());
+                if (handler == null) return;
+                events.execute(() -> {
+                    try {
+                        handler.apply(m.body());
+                    } catch (RuntimeException e) {
+                        log.warn("클러스터 방송 처리 실패 (topic={}, from={})", m.op(), m.from(), e);
+                    }
+                });
+            }
+        }
+    }
+
+    /** "match.node.{id}" 수신 — 요청은 작업 스레드에서 처리 후 응답, 응답은 기다리는 호출에 전달 */
+    private void onMessage(byte[] payload) {
+        Message m = read(payload);
+        if (m == null) return;
+        if (REPLY.equals(m.kind())) {
+            CompletableFuture<JsonNode> f = pending.get(m.id());
+            if (f == null) return; // 이미 타임아웃
+            if (m.error() == null) f.complete(m.body());
+            else if (BAD_REQUEST.equals(m.errorType())) f.completeExceptionally(new IllegalArgumentException(m.error()));
+            else f.completeExceptionally(new IllegalStateException("매칭 서버(" + m.from() + ") 처리 실패: " + m.error()));
+            return;
+        }
+        workers.execute(() -> {
+            Function<JsonNode, Object> handler = handlers.get(m.op());
+            Message reply;
+            try {
+                if (handler == null) throw new IllegalStateException("처리기 없음: " + m.op());
+                reply = new Message(REPLY, null, m.id(), nodeId, mapper.valueToTree(handler.apply(m.body())), null, null);
+            } catch (IllegalArgumentException e) {
+                reply = new Message(REPLY, null, m.id(), nodeId, null, e.getMessage(), BAD_REQUEST);
+            } catch (RuntimeException e) {
+                log.warn("클러스터 요청 처리 실패 (op={}, from={})", m.op(), m.from(), e);
+                reply = new Message(REPLY, null, m.id(), nodeId, null, String.valueOf(e.getMessage()), null);
+            }
+            send(nodeTopic(m.from()), reply);
+        });
+    }
+
+    private Message read(byte[] payload) {
+        try {
+            return mapper.readValue(payload, Message.class);
+        } catch (IOException e) {
+            log.warn("클러스터 메시지를 읽을 수 없음", e);
+            return null;
+        }
+    }
+
+    private synchronized void rebuildRing() {
+        Set<String> live = new TreeSet<>(members.keySet());
+        live.add(nodeId);
+        if (live.equals(ring.nodes())) return;
+        ring = new HashRing(live, virtualNodes);
+        log.info("매칭 클러스터 링 갱신: {}", live);
+        ringListeners.forEach(l -> {
+            try {
+                l.run();
+            } catch (RuntimeException e) {
+                log.warn("링 변경 처리 실패", e);
+            }
+        });
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicLong n = new AtomicLong();
+        return r -> {
+            Thread t = new Thread(r, prefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
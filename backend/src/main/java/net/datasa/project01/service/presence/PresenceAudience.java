@@ -0,0 +1,72 @@
+package net.datasa.project01.service.presence;
+
+import lombok.RequiredArgsConstructor;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.exception.ServiceBusyException;
+import net.datasa.project01.repository.FollowRepository;
+import net.datasa.project01.repository.RoomRepository;
+import net.datasa.project01.service.match.MatchGateway;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 접속 상태 공개 범위 — 누가 누구의 상태를 볼 수 있는지
+ * - 본인, ACCEPTED 팔로우 관계(어느 쪽이 요청했든), 열린 방을 함께 쓰는 멤버, 지금 매칭된 상대만
+ * - 나머지 id 는 오류 없이 뺀다 (화면은 오프라인처럼 보임)
+ * - 앞 단계에서 모두 허용되면 뒤 조회는 하지 않는다 (팔로우 → 방 → 매칭 순, 뒤로 갈수록 비쌈)
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceAudience {
+
+    private final FollowRepository followRepository;
+    private final RoomRepository roomRepository;
+    private final MatchGateway matchGateway;
+
+    /** candidates 중 viewer 가 볼 수 있는 사람만 (처음 나온 순서, 중복/null 제외) */
+    public List<Long> visible(long viewerPid, Collection<Long> candidates) {
+        Set<Long> asked = new LinkedHashSet<>();
+        for (Long userPid : candidates) {
+            if (userPid != null) asked.add(userPid);
+        }
+        Set<Long> allowed = new HashSet<>();
+        if (asked.contains(viewerPid)) allowed.add(viewerPid);
+        if (allowed.size() < asked.size()) allowed.addAll(followRepository.findAcceptedAmong(viewerPid, asked));
+        if (allowed.size() < asked.size()) allowed.addAll(roomMates(viewerPid, asked));
+        if (allowed.size() < asked.size()) {
+            Long partner = partnerOf(viewerPid);
+            if (partner != null) allowed.add(partner);
+        }
+        return asked.stream().filter(allowed::contains).toList();
+    }
+
+    /** asked 중 viewer 와 같은 열린 방의 활성 멤버 */
+    private Set<Long> roomMates(long viewerPid, Set<Long> asked) {
+        Set<Long> users = new HashSet<>(asked);
+        users.add(viewerPid);
+        Map<Long, List<Long>> rooms = roomRepository.findOpenRoomIdsByMember(users);
+        Set<Long> mine = new HashSet<>(rooms.getOrDefault(viewerPid, List.of()));
+        Set<Long> out = new HashSet<>();
+        if (mine.isEmpty()) return out;
+        rooms.forEach((userPid, roomIds) -> {
+            if (asked.contains(userPid) && roomIds.stream().anyMatch(mine::contains)) out.add(userPid);
+        });
+        return out;
+    }
+
+    /** 최신 매칭 요청의 상대 (요청이 없거나 매칭 노드가 응답하지 않으면 없음으로) */
+    private Long partnerOf(long viewerPid) {
+        try {
+            MatchResultResponse match = matchGateway.result(viewerPid, null);
+            return match.getPartner() == null ? null : match.getPartner().getUserId();
+        } catch (IllegalArgumentException | IllegalStateException | ServiceBusyException e) {
+            return null;
+        }
+    }
+}
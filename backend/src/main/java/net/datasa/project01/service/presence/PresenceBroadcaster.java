@@ -0,0 +1,182 @@
+package net.datasa.project01.service.presence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.ChatEvent;
+import net.datasa.project01.domain.dto.UserPresence;
+import net.datasa.project01.domain.vo.PresenceStatus;
+import net.datasa.project01.repository.RoomRepository;
+import net.datasa.project01.service.chat.ChatConnection;
+import net.datasa.project01.service.chat.ChatHub;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 접속 상태 변경을 모아서 관심 있는 채팅 연결에 보낸다 (채팅 소켓 presence 이벤트)
+ *
+ * - 받는 쪽: ① watch 프레임으로 사용자 목록을 지켜보는 연결 ② 바뀐 사용자가 멤버인 열린 방을 구독 중인 연결
+ *   watch 목록은 PresenceAudience 가 허용한 사람만 남긴다 (팔로우/같은 방/매칭 상대)
+ * - 합치기: 사용자별로 (처음 상태, 마지막 상태) 하나만 남긴다 → 한 주기 안에 나갔다 들어온 사람은 아무것도 안 보냄
+ * - 묶기/속도 제한: flush-interval-ms 마다 최대 max-batch 명분만 꺼내, 연결마다 프레임 하나 / 방마다 프레임 하나로 보냄
+ *   (남은 변경은 다음 주기 — 그 사이 또 바뀌면 그것도 합쳐진다)
+ * - 방 멤버는 주기마다 바뀐 사용자 묶음으로 한 번만 조회한다 (500명씩). 이 노드에 구독자가 있는 방에만 보냄
+ *
+ * 메트릭: presence.pending, presence.changes{result=sent|coalesced}
+ */
+@Slf4j
+@Component
+public class PresenceBroadcaster {
+
+    /** 한 주기 동안 합친 변경 */
+    private record Change(PresenceStatus from, PresenceStatus to) {}
+
+    private static final int ROOM_LOOKUP_CHUNK = 500;
+
+    private final ChatHub hub;
+    private final RoomRepository roomRepository;
+    private final PresenceAudience audience;
+    private final ObjectMapper objectMapper;
+    private final int maxBatch;
+    private final int maxWatch;
+
+    private final Map<Long, Change> dirty = new ConcurrentHashMap<>();
+    /** userPid → 지켜보는 연결 */
+    private final Map<Long, Set<ChatConnection>> watchers = new ConcurrentHashMap<>();
+    /** 연결 → 지켜보는 userPid (바꾸기/정리용) */
+    private final Map<ChatConnection, Set<Long>> watching = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter coalesced;
+
+    public PresenceBroadcaster(ChatHub hub, RoomRepository roomRepository, PresenceAudience audience,
+                               ObjectMapper objectMapper, MeterRegistry registry,
+                               @Value("${app.presence.max-batch:5000}") int maxBatch,
+                               @Value("${app.presence.max-watch:500}") int maxWatch) {
+        this.hub = hub;
+        this.roomRepository = roomRepository;
+        this.audience = audience;
+        this.objectMapper = objectMapper;
+        this.maxBatch = maxBatch;
+        this.maxWatch = maxWatch;
+        Gauge.builder("presence.pending", dirty, Map::size)
+                .description("보내기를 기다리는 상태 변경 수").register(registry);
+        this.sent = Counter.builder("presence.changes").tag("result", "sent").register(registry);
+        this.coalesced = Counter.builder("presence.changes").tag("result", "coalesced").register(registry);
+    }
+
+    /** PresenceRegistry 가 상태를 바꾼 뒤 (어느 스레드에서나) */
+    void changed(long userPid, PresenceStatus from, PresenceStatus to) {
+        dirty.merge(userPid, new Change(from, to), (old, cur) -> new Change(old.from(), cur.to()));
+    }
+
+    /**
+     * 연결이 지켜볼 사용자 목록 바꾸기 (빈 목록이면 그만 지켜봄)
+     * @return 실제로 지켜보게 된 사용자 (볼 수 없는 사람은 빠짐)
+     */
+    public List<Long> watch(ChatConnection connection, Collection<Long> userPids) {
+        if (userPids.size() > maxWatch) {
+            throw new IllegalArgumentException("한 번에 " + maxWatch + "명까지 지켜볼 수 있습니다.");
+        }
+        unwatchAll(connection);
+        if (userPids.isEmpty()) return List.of();
+        List<Long> allowed = audience.visible(connection.userPid(), userPids);
+        if (allowed.isEmpty()) return allowed;
+        Set<Long> targets = ConcurrentHashMap.newKeySet();
+        for (Long userPid : allowed) {
+            targets.add(userPid);
+            watchers.computeIfAbsent(userPid, k -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        watching.put(connection, targets);
+        return allowed;
+    }
+
+    /** 연결 종료 때 */
+    public void unwatchAll(ChatConnection connection) {
+        Set<Long> targets = watching.remove(connection);
+        if (targets == null) return;
+        for (Long userPid : targets) {
+            watchers.computeIfPresent(userPid, (k, set) -> {
+                set.remove(connection);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.flush-interval-ms:1000}")
+    public void flush() {
+        List<UserPresence> changes = drain();
+        if (changes.isEmpty()) return;
+
+        Map<ChatConnection, List<UserPresence>> byConnection = new HashMap<>();
+        for (UserPresence p : changes) {
+            Set<ChatConnection> set = watchers.get(p.userId());
+            if (set == null) continue;
+            for (ChatConnection c : set) byConnection.computeIfAbsent(c, k -> new ArrayList<>()).add(p);
+        }
+        byConnection.forEach((c, list) -> hub.send(c, write(ChatEvent.builder().type("presence").presence(list).build())));
+
+        roomsOf(changes).forEach((roomId, list) ->
+                hub.publish(roomId, write(ChatEvent.builder().type("presence").roomId(roomId).presence(list).build())));
+        sent.increment(changes.size());
+    }
+
+    /** 최대 max-batch 명분 꺼내기 — 꺼내는 사이 또 바뀐 사람은 남겨 두고 다음 주기에 */
+    private List<UserPresence> drain() {
+        List<UserPresence> out = new ArrayList<>();
+        for (Map.Entry<Long, Change> e : dirty.entrySet()) {
+            if (out.size() >= maxBatch) break;
+            Change change = e.getValue();
+            if (!dirty.remove(e.getKey(), change)) continue;
+            if (change.from() == change.to()) {
+                coalesced.increment();
+                continue;
+            }
+            out.add(new UserPresence(e.getKey(), change.to()));
+        }
+        return out;
+    }
+
+    /** 바뀐 사용자가 멤버인 열린 방 중 이 노드에 구독자가 있는 방 → 그 방에 보낼 변경 */
+    private Map<Long, List<UserPresence>> roomsOf(List<UserPresence> changes) {
+        Map<Long, List<UserPresence>> byRoom = new HashMap<>();
+        if (hub.roomCount() == 0) return byRoom;
+        Map<Long, UserPresence> byUser = new HashMap<>();
+        for (UserPresence p : changes) byUser.put(p.userId(), p);
+        List<Long> userPids = new ArrayList<>(byUser.keySet());
+        try {
+            for (int i = 0; i < userPids.size(); i += ROOM_LOOKUP_CHUNK) {
+                roomRepository.findOpenRoomIdsByMember(userPids.subList(i, Math.min(userPids.size(), i + ROOM_LOOKUP_CHUNK)))
+                        .forEach((userPid, roomIds) -> {
+                            for (Long roomId : roomIds) {
+                                if (hub.subscribers(roomId) == 0) continue;
+                                byRoom.computeIfAbsent(roomId, k -> new ArrayList<>()).add(byUser.get(userPid));
+                            }
+                        });
+            }
+        } catch (RuntimeException e) {
+            log.warn("접속 상태 변경의 방 조회 실패 → 이번 주기는 방에 보내지 않음", e);
+        }
+        return byRoom;
+    }
+
+    private String write(ChatEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
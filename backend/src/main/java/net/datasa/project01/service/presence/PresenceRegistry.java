@@ -0,0 +1,164 @@
+package net.datasa.project01.service.presence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.datasa.project01.domain.dto.UserPresence;
+import net.datasa.project01.domain.vo.PresenceStatus;
+import net.datasa.project01.service.match.TimingWheel;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 접속 상태 표 (userPid → 상태, 마지막 하트비트, 붙어 있는 노드) — 메모리에만 두고 DB 에는 쓰지 않는다
+ *
+ * - 잠금 분할: userPid 로 stripe 를 고르고 그 stripe 의 HashMap 만 잠근다 → 하트비트끼리 거의 부딪히지 않음
+ * - 만료: 처음 온라인이 될 때 TimingWheel 에 ttl-ms 뒤 확인을 한 번 예약한다. 하트비트는 시각만 적고(O(1), 재예약 없음)
+ *   확인 때 그 사이 하트비트가 있었으면 남은 시간만큼 다시 예약, 없었으면 표에서 빼고 OFFLINE
+ * - 상태가 바뀔 때만 PresenceBroadcaster 에 알림 (묶어서 관심 있는 연결에 보냄)
+ * - 여러 명 조회는 사용자마다 stripe 조회 한 번 (O(n), DB 없음)
+ * - 노드 id 는 매칭 클러스터 노드 id — 지금은 이 노드에 붙은 사용자만 보인다 (채팅 노드가 하나라는 전제와 같음)
+ *
+ * 메트릭: presence.online, presence.expired
+ */
+@Component
+public class PresenceRegistry {
+
+    /** 사용자 한 명 (stripe 잠금 안에서만 바뀜) */
+    private static final class Entry {
+        PresenceStatus status;
+        long lastHeartbeatMillis;
+        String nodeId;
+        TimingWheel.Timeout expiry;
+    }
+
+    private final TimingWheel wheel;
+    private final PresenceBroadcaster broadcaster;
+    private final String nodeId;
+    private final long ttlMillis;
+    private final Map<Long, Entry>[] stripes;
+    private final int mask;
+
+    private final AtomicInteger online = new AtomicInteger();
+    private final Counter expired;
+
+    @SuppressWarnings("unchecked")
+    public PresenceRegistry(TimingWheel wheel, PresenceBroadcaster broadcaster, MatchCluster cluster, MeterRegistry registry,
+                            @Value("${app.presence.stripes:64}") int stripes,
+                            @Value("${app.presence.ttl-ms:70000}") long ttlMillis) {
+        if (ttlMillis <= 0) throw new IllegalArgumentException("ttl-ms 는 0보다 커야 합니다.");
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1; // 2의 거듭제곱으로 올림
+        this.wheel = wheel;
+        this.broadcaster = broadcaster;
+        this.nodeId = cluster.nodeId();
+        this.ttlMillis = ttlMillis;
+        this.stripes = new Map[size];
+        for (int i = 0; i < size; i++) this.stripes[i] = new HashMap<>();
+        this.mask = size - 1;
+        Gauge.builder("presence.online", online, AtomicInteger::get)
+                .description("온라인(ONLINE/AWAY) 사용자 수").register(registry);
+        this.expired = Counter.builder("presence.expired")
+                .description("하트비트가 끊겨 오프라인이 된 수").register(registry);
+    }
+
+    /** 하트비트 (ONLINE/AWAY, OFFLINE 이면 offline 과 같음) */
+    public void heartbeat(long userPid, PresenceStatus status) {
+        if (status == PresenceStatus.OFFLINE) {
+            offline(userPid);
+            return;
+        }
+        Map<Long, Entry> stripe = stripe(userPid);
+        PresenceStatus before;
+        synchronized (stripe) {
+            Entry e = stripe.get(userPid);
+            if (e == null) {
+                e = new Entry();
+                stripe.put(userPid, e);
+                Entry created = e;
+                e.expiry = wheel.schedule(ttlMillis, t -> expire(userPid, created));
+                online.incrementAndGet();
+                before = PresenceStatus.OFFLINE;
+            } else {
+                before = e.status;
+            }
+            e.status = status;
+            e.lastHeartbeatMillis = System.currentTimeMillis();
+            e.nodeId = nodeId;
+        }
+        if (before != status) broadcaster.changed(userPid, before, status);
+    }
+
+    /** 로그아웃 등 — 만료를 기다리지 않고 바로 OFFLINE */
+    public void offline(long userPid) {
+        Map<Long, Entry> stripe = stripe(userPid);
+        Entry removed;
+        synchronized (stripe) {
+            removed = stripe.remove(userPid);
+        }
+        if (removed == null) return;
+        removed.expiry.cancel();
+        online.decrementAndGet();
+        broadcaster.changed(userPid, removed.status, PresenceStatus.OFFLINE);
+    }
+
+    public PresenceStatus status(long userPid) {
+        Map<Long, Entry> stripe = stripe(userPid);
+        synchronized (stripe) {
+            Entry e = stripe.get(userPid);
+            return e == null ? PresenceStatus.OFFLINE : e.status;
+        }
+    }
+
+    /** 사용자가 붙어 있는 노드 (오프라인이면 null) */
+    public String nodeOf(long userPid) {
+        Map<Long, Entry> stripe = stripe(userPid);
+        synchronized (stripe) {
+            Entry e = stripe.get(userPid);
+            return e == null ? null : e.nodeId;
+        }
+    }
+
+    /** 주어진 사용자 중 온라인(ONLINE/AWAY)인 사람만, 요청 순서대로 (없는 사람 = OFFLINE) */
+    public List<UserPresence> online(Collection<Long> userPids) {
+        List<UserPresence> out = new ArrayList<>();
+        for (Long userPid : userPids) {
+            if (userPid == null) continue;
+            PresenceStatus status = status(userPid);
+            if (status != PresenceStatus.OFFLINE) out.add(new UserPresence(userPid, status));
+        }
+        return out;
+    }
+
+    public int onlineCount() {
+        return online.get();
+    }
+
+    /** 타이밍 휠 스레드 — 그 사이 하트비트가 있었으면 남은 만큼 다시 예약 */
+    private void expire(long userPid, Entry entry) {
+        Map<Long, Entry> stripe = stripe(userPid);
+        synchronized (stripe) {
+            if (stripe.get(userPid) != entry) return; // 이미 offline 으로 빠졌다가 새로 들어온 경우
+            long idle = System.currentTimeMillis() - entry.lastHeartbeatMillis;
+            if (idle < ttlMillis) {
+                entry.expiry = wheel.schedule(ttlMillis - idle, t -> expire(userPid, entry));
+                return;
+            }
+            stripe.remove(userPid);
+        }
+        online.decrementAndGet();
+        expired.increment();
+        broadcaster.changed(userPid, entry.status, PresenceStatus.OFFLINE);
+    }
+
+    private Map<Long, Entry> stripe(long userPid) {
+        return stripes[Long.hashCode(userPid * 0x9E3779B97F4A7C15L) & mask];
+    }
+}
@@ -0,0 +1,186 @@
+package net.datasa.project01.service.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.repository.UserRepository;
+import net.datasa.project01.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * users.login_id 전체에 대한 Bloom filter (아이디 중복 확인 빠른 경로)
+ * - 회원가입 화면은 입력할 때마다 /api/users/exists 를 호출 → 대부분은 "사용 가능" 응답
+ * - 필터가 "확실히 없음"이라고 하면 DB 조회 없이 바로 false, "있을 수도 있음"일 때만 DB 확인
+ *
+ * 구성/갱신:
+ * - 기동 완료 시 login_id 컬럼을 스트리밍으로 읽어 생성 (생성 전에는 항상 DB로 위임)
+ * - UserService.signUp 에서 가입이 커밋된 뒤 추가 (재생성 중이면 이전/새 필터 모두에)
+ * - 관리자 API 또는 cron(app.user.login-id-filter.rebuild-cron)으로 재생성
+ *   (다른 노드에서 가입한 아이디는 재생성 전까지 이 노드의 필터에 없으므로, 가입 자체는 항상 DB로 중복 확인)
+ *
+ * 키 정규화:
+ * - users 테이블 collation(utf8mb4_0900_ai_ci)은 대소문자를 구분하지 않으므로 소문자로 맞춰 넣고 조회한다.
+ * - 악센트 무시 비교까지는 흉내내지 않는다 → 최종 중복 판단은 가입 시 DB 확인이 담당
+ *
+ * 메트릭:
+ * - user.loginid.filter.expected_fpp : 현재 원소 수 기준 이론 오탐률
+ * - user.loginid.filter.observed_fpp : 실제 오탐률 = 오탐 / (오탐 + 필터에서 걸러진 조회)
+ * - user.loginid.filter.lookups{result=miss|probable_hit|false_positive}
+ */
+@Slf4j
+@Component
+public class LoginIdBloomFilter {
+
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    /** 현재 사용 중인 필터 (null 이면 아직 생성 전 → 항상 DB 위임) */
+    private volatile BloomFilter current;
+    /** 재생성 중인 필터 (재생성 도중 가입한 아이디도 빠지지 않도록 함께 넣는다) */
+    private BloomFilter building;
+    private final Object swapLock = new Object();
+
+    private final Counter misses;
+    private final Counter probableHits;
+    private final Counter falsePositives;
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong falsePositiveCount = new AtomicLong();
+
+    public LoginIdBloomFilter(UserRepository userRepository,
+                              MeterRegistry registry,
+                              @Value("${app.user.login-id-filter.expected-insertions:1000000}") long expectedInsertions,
+                              @Value("${app.user.login-id-filter.fpp:0.01}") double fpp) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+
+        this.misses = Counter.builder("user.loginid.filter.lookups").tag("result", "miss").register(registry);
+        this.probableHits = Counter.builder("user.loginid.filter.lookups").tag("result", "probable_hit").register(registry);
+        this.falsePositives = Counter.builder("user.loginid.filter.lookups").tag("result", "false_positive").register(registry);
+        Gauge.builder("user.loginid.filter.expected_fpp", this,
+                f -> f.current == null ? Double.NaN : f.current.expectedFpp()).register(registry);
+        Gauge.builder("user.loginid.filter.observed_fpp", this, LoginIdBloomFilter::observedFpp).register(registry);
+        Gauge.builder("user.loginid.filter.size", this,
+                f -> f.current == null ? 0 : f.current.insertions()).register(registry);
+    }
+
+    /** 기동 완료 후 최초 생성 */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // 필터 없이도 서비스는 정상 동작(항상 DB 조회)하므로 기동을 막지 않는다
+            log.warn("login_id Bloom filter 생성 실패, DB 조회로 대체합니다: {}", e.getMessage());
+        }
+    }
+
+    /** 주기적 재생성 (기본 비활성: "-") */
+    @Scheduled(cron = "${app.user.login-id-filter.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * login_id 컬럼을 스트리밍으로 읽어 새 필터를 만들고 교체
+     * @return 재생성 결과 (건수, 소요시간)
+     */
+    public synchronized Map<String, Object> rebuild() { // 동시 재생성 방지
+        long started = System.nanoTime();
+        BloomFilter next = new BloomFilter(expectedInsertions, fpp);
+        synchronized (swapLock) {
+            building = next;
+        }
+        try {
+            userRepository.forEachLoginId(id -> next.put(normalize(id)));
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                building = null;
+            }
+            throw e;
+        }
+        synchronized (swapLock) {
+            current = next;
+            building = null;
+        }
+        missCount.set(0);
+        falsePositiveCount.set(0);
+
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        log.info("login_id Bloom filter rebuilt: entries={}, bits={}, hashes={}, elapsedMs={}",
+                next.insertions(), next.bitSize(), next.hashCount(), elapsedMs);
+        return Map.of("count", next.insertions(), "elapsed_ms", elapsedMs,
+                "expected_fpp", next.expectedFpp());
+    }
+
+    /**
+     * 가입 직후 호출 — 트랜잭션 안이면 커밋된 뒤에 넣는다
+     * (커밋 전에 넣으면 그 사이 시작한 재생성이 아직 안 보이는 행을 빼고 읽은 새 필터로 교체해 버린다.
+     *  커밋 뒤라면 재생성이 이미 읽는 중일 때 building 에도 넣고, 아직 시작 전이면 재생성이 이 행을 읽는다)
+     */
+    public void put(String loginId) {
+        String key = normalize(loginId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(key);
+                }
+            });
+        } else {
+            add(key);
+        }
+    }
+
+    private void add(String key) {
+        synchronized (swapLock) {
+            if (current != null) current.put(key);
+            if (building != null) building.put(key);
+        }
+    }
+
+    /**
+     * @return false 면 확실히 없는 아이디 (DB 조회 불필요)
+     */
+    public boolean mightContain(String loginId) {
+        BloomFilter f = current;
+        if (f == null) return true; // 생성 전 → DB로 위임
+        if (f.mightContain(normalize(loginId))) {
+            probableHits.increment();
+            return true;
+        }
+        misses.increment();
+        missCount.incrementAndGet();
+        return false;
+    }
+
+    /** 필터가 "있을 수도 있음"이라고 한 뒤 DB 확인 결과를 알려준다 (오탐률 집계용) */
+    public void recordProbableHitResult(boolean existsInDb) {
+        if (!existsInDb && current != null) {
+            falsePositives.increment();
+            falsePositiveCount.incrementAndGet();
+        }
+    }
+
+    private double observedFpp() {
+        long fp = falsePositiveCount.get();
+        long negatives = fp + missCount.get();
+        return negatives == 0 ? 0.0 : (double) fp / negatives;
+    }
+
+    private static String normalize(String loginId) {
+        return loginId.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,394 @@
+package net.datasa.project01.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import net.datasa.project01.domain.dto.UserImportResult;
+import net.datasa.project01.domain.dto.UserImportRow;
+import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.exception.ServiceBusyException;
+import net.datasa.project01.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 관리자용 회원 일괄 가져오기 (제휴 커뮤니티 계정 이관)
+ *
+ * 회원가입(UserService.signUp)을 행마다 부르면 COUNT 2번 + em.find + IDENTITY persist(배치 불가)로
+ * 초당 수십 건에 그친다. 여기서는:
+ * 1. 요청 본문(NDJSON 또는 CSV)을 한 줄씩 읽으며 검증 → 전체를 메모리에 올리지 않는다.
+ * 2. 평문 비밀번호는 읽는 즉시 전용 풀에서 병렬로 BCrypt 해시 (로그인용 PasswordHashExecutor와 분리)
+ *    password_hash(BCrypt)가 주어지면 해시 없이 그대로 저장
+ * 3. batch-size 행마다: 청크 안 중복 + DB 기존 값(IN 조회 2번)을 걸러낸 뒤 JDBC 배치 INSERT
+ * 4. 그 사이 다른 경로로 같은 값이 들어와 배치가 중복 키로 실패하면, 그 청크만 한 행씩 다시 넣어
+ *    충돌한 행만 실패로 보고한다(배치 전체를 포기하지 않음).
+ *
+ * 동시에 하나의 가져오기만 허용한다(두 번째 요청은 503).
+ *
+ * 메트릭:
+ * - user.import.rows{result=inserted|conflict|invalid}
+ * - user.import.batch : 청크 저장(중복 확인 + INSERT) 시간
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    /** 입력 형식 */
+    public enum Format {
+        NDJSON, CSV;
+
+        /** ?format= 파라미터 우선, 없으면 Content-Type(text/csv → CSV, 그 외 NDJSON) */
+        public static Format resolve(String format, String contentType) {
+            if (format != null && !format.isBlank()) {
+                try {
+                    return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("지원하지 않는 형식입니다: " + format + " (ndjson, csv)");
+                }
+            }
+            return contentType != null && contentType.toLowerCase(Locale.ROOT).contains("csv") ? CSV : NDJSON;
+        }
+    }
+
+    private static final String ROLE_USER = "ROLE_USER";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final LoginIdBloomFilter loginIdBloomFilter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final ThreadPoolExecutor hashPool;
+    private final Semaphore running = new Semaphore(1);
+
+    private final Counter insertedRows;
+    private final Counter conflictRows;
+    private final Counter invalidRows;
+    private final Timer batchTimer;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordEncoder passwordEncoder,
+                             LoginIdBloomFilter loginIdBloomFilter,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             MeterRegistry registry,
+                             @Value("${app.user.import.batch-size:1000}") int batchSize,
+                             @Value("${app.user.import.hash-threads:0}") int hashThreads,
+                             @Value("${app.user.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.loginIdBloomFilter = loginIdBloomFilter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxReportedErrors = maxReportedErrors;
+
+        // 0 이하면 코어 수만큼 (가져오기는 관리자 작업이라 실행 중에만 스레드가 돈다)
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.hashPool = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread t = new Thread(r, "user-import-hash-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.hashPool.allowCoreThreadTimeOut(true);
+
+        this.insertedRows = Counter.builder("user.import.rows").tag("result", "inserted").register(registry);
+        this.conflictRows = Counter.builder("user.import.rows").tag("result", "conflict").register(registry);
+        this.invalidRows = Counter.builder("user.import.rows").tag("result", "invalid").register(registry);
+        this.batchTimer = Timer.builder("user.import.batch").description("일괄 가져오기 청크 저장 시간").register(registry);
+    }
+
+    /**
+     * 본문을 끝까지 읽어 가져온다.
+     * @param in     요청 본문 (UTF-8)
+     * @param format 입력 형식
+     */
+    public UserImportResult importUsers(InputStream in, Format format) throws IOException {
+        if (!running.tryAcquire()) {
+            throw new ServiceBusyException("다른 회원 가져오기 작업이 진행 중입니다. 끝난 뒤 다시 시도해주세요.", 30);
+        }
+        try {
+            return doImport(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), format);
+        } finally {
+            running.release();
+        }
+    }
+
+    private UserImportResult doImport(BufferedReader reader, Format format) throws IOException {
+        long started = System.nanoTime();
+        Report report = new Report(maxReportedErrors);
+        List<Pending> chunk = new ArrayList<>(batchSize);
+        long lineNo = 0;
+
+        String[] header = null;
+        if (format == Format.CSV) {
+            String first = reader.readLine();
+            if (first == null) throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+            lineNo++;
+            header = parseCsvLine(stripBom(first)).toArray(String[]::new);
+            for (int i = 0; i < header.length; i++) header[i] = header[i].trim().toLowerCase(Locale.ROOT);
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) continue;
+            report.total++;
+
+            UserImportRow row;
+            try {
+                row = format == Format.CSV
+                        ? objectMapper.convertValue(toMap(header, parseCsvLine(line)), UserImportRow.class)
+                        : objectMapper.readValue(lineNo == 1 ? stripBom(line) : line, UserImportRow.class);
+            } catch (IOException | IllegalArgumentException e) {
+                report.invalid(lineNo, null, "format", "행을 해석할 수 없습니다.");
+                invalidRows.increment();
+                continue;
+            }
+
+            Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                ConstraintViolation<UserImportRow> v = violations.iterator().next();
+                report.invalid(lineNo, row.getLoginId(), toSnakeCase(v.getPropertyPath().toString()), v.getMessage());
+                invalidRows.increment();
+                continue;
+            }
+
+            chunk.add(new Pending(lineNo, row, hashAsync(row)));
+            if (chunk.size() >= batchSize) {
+                flush(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) flush(chunk, report);
+
+        long elapsedMs = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("user import done: format={}, total={}, inserted={}, failed={}, elapsedMs={}",
+                format, report.total, report.inserted, report.failed, elapsedMs);
+        return UserImportResult.builder()
+                .total(report.total)
+                .inserted(report.inserted)
+                .failed(report.failed)
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(report.inserted * 1000.0 / elapsedMs)
+                .errors(report.errors)
+                .build();
+    }
+
+    /** 평문이면 전용 풀에서 해시, 이미 해시면 그대로 */
+    private Future<String> hashAsync(UserImportRow row) {
+        if (row.getPasswordHash() != null) {
+            return CompletableFuture.completedFuture(row.getPasswordHash());
+        }
+        String raw = row.getPassword();
+        return hashPool.submit(() -> passwordEncoder.encode(raw));
+    }
+
+    /** 청크 저장: 중복 걸러내기 → 해시 대기 → 배치 INSERT (실패 시 행 단위 재시도) */
+    private void flush(List<Pending> chunk, Report report) {
+        batchTimer.record(() -> {
+            // (1) DB에 이미 있는 값 (IN 조회 2번)
+            List<String> ids = new ArrayList<>(chunk.size());
+            List<String> emails = new ArrayList<>(chunk.size());
+            for (Pending p : chunk) {
+                ids.add(p.row.getLoginId());
+                emails.add(p.row.getEmail());
+            }
+            Set<String> existingIds = userRepository.findExistingLoginIds(ids);
+            Set<String> existingEmails = userRepository.findExistingEmails(emails);
+
+            // (2) DB 중복 + 청크 안 중복 제거 (users collation은 대소문자 무시)
+            Set<String> seenIds = new HashSet<>();
+            Set<String> seenEmails = new HashSet<>();
+            List<Pending> accepted = new ArrayList<>(chunk.size());
+            for (Pending p : chunk) {
+                String id = p.row.getLoginId().toLowerCase(Locale.ROOT);
+                String email = p.row.getEmail().toLowerCase(Locale.ROOT);
+                if (existingIds.contains(id) || seenIds.contains(id)) {
+                    conflict(report, p, "login_id");
+                } else if (existingEmails.contains(email) || seenEmails.contains(email)) {
+                    conflict(report, p, "email");
+                } else {
+                    seenIds.add(id);
+                    seenEmails.add(email);
+                    accepted.add(p);
+                }
+            }
+
+            // (3) 해시 완료 대기 → 엔티티 생성
+            List<Pending> ready = new ArrayList<>(accepted.size());
+            List<User> users = new ArrayList<>(accepted.size());
+            for (Pending p : accepted) {
+                String hash;
+                try {
+                    hash = p.hash.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("회원 가져오기가 중단되었습니다.", e);
+                } catch (ExecutionException e) {
+                    report.invalid(p.line, p.row.getLoginId(), "password", "비밀번호 해시 실패");
+                    invalidRows.increment();
+                    continue;
+                }
+                ready.add(p);
+                users.add(toUser(p.row, hash));
+            }
+
+            // (4) 배치 INSERT, 중복 키로 실패하면 한 행씩 다시
+            try {
+                userRepository.insertAll(users);
+                for (Pending p : ready) inserted(report, p);
+            } catch (DuplicateKeyException e) {
+                log.debug("user import batch hit a duplicate key, retrying row by row: {}", e.getMessage());
+                for (int i = 0; i < ready.size(); i++) {
+                    Pending p = ready.get(i);
+                    try {
+                        userRepository.insertAll(List.of(users.get(i)));
+                        inserted(report, p);
+                    } catch (DuplicateKeyException rowError) {
+                        conflict(report, p, conflictField(rowError));
+                    }
+                }
+            }
+        });
+    }
+
+    private void inserted(Report report, Pending p) {
+        report.inserted++;
+        insertedRows.increment();
+        loginIdBloomFilter.put(p.row.getLoginId());
+    }
+
+    private void conflict(Report report, Pending p, String field) {
+        p.hash.cancel(false); // 아직 해시 전이면 건너뛰기
+        report.invalid(p.line, p.row.getLoginId(), field,
+                "email".equals(field) ? "이미 사용 중인 이메일입니다." : "이미 사용 중인 아이디입니다.");
+        conflictRows.increment();
+    }
+
+    /** MySQL 중복 키 메시지의 인덱스 이름으로 어느 컬럼인지 판별 */
+    private static String conflictField(DuplicateKeyException e) {
+        String msg = String.valueOf(e.getMostSpecificCause().getMessage());
+        return msg.contains("uq_users_email") ? "email" : "login_id";
+    }
+
+    private static User toUser(UserImportRow row, String passwordHash) {
+        return User.builder()
+                .loginId(row.getLoginId())
+                .passwordHash(passwordHash)
+                .nickName(row.getNickName())
+                .email(row.getEmail())
+                .countryCode(row.getCountryCode())
+                .gender(row.getGender())
+                .birthDate(row.getBirthDate())
+                .emailVerified(true)   // 제휴 커뮤니티에서 인증된 계정만 이관
+                .failedLoginCount(0)
+                .lockedUntil(null)
+                .enabled(true)
+                .roleName(ROLE_USER)
+                .build();
+    }
+
+    /* ===================== CSV ===================== */
+
+    /** 헤더 이름 → 값 (빈 칸은 null 로 두어 @NotBlank/@NotNull 검증에 걸리게 한다) */
+    private static Map<String, String> toMap(String[] header, List<String> values) {
+        Map<String, String> map = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            String v = values.get(i);
+            map.put(header[i], v == null || v.isEmpty() ? null : v);
+        }
+        return map;
+    }
+
+    /**
+     * CSV 한 줄 분리 (RFC 4180 따옴표/"" 이스케이프 지원, 값 안의 줄바꿈은 지원하지 않음)
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        cur.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    cur.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    private static String stripBom(String s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.substring(1) : s;
+    }
+
+    private static String toSnakeCase(String property) {
+        return property.replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /* ===================== 내부 상태 ===================== */
+
+    /** 저장 대기 중인 행 (해시는 백그라운드에서 진행 중) */
+    private record Pending(long line, UserImportRow row, Future<String> hash) {
+    }
+
+    /** 가져오기 1회의 집계 (가져오기는 한 번에 하나만 돌므로 동기화 불필요) */
+    private static class Report {
+        private final int maxErrors;
+        private final List<UserImportResult.RowError> errors = new ArrayList<>();
+        private long total;
+        private long inserted;
+        private long failed;
+
+        Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void invalid(long line, String loginId, String field, String reason) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new UserImportResult.RowError(line, loginId, field, reason));
+            }
+        }
+    }
+}
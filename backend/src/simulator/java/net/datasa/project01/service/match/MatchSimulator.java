@@ -0,0 +1,215 @@
+package net.datasa.project01.service.match;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * 매칭 시뮬레이터 — 합성 인구를 가상 시계로 흘려 MatchEngine 을 프로세스 안에서 직접 돌린다.
+ * - 도착(포아송) → offer, 짝이 되면 decline-rate 확률로 한쪽이 거절(상대는 원래 순번으로 재대기, 두 사람은 차단)
+ * - wait-timeout-seconds 안에 짝을 못 찾으면 대기열에서 빠짐(abandoned) — 마지막 도착 뒤 남은 대기자도 모두 만료시킨다
+ * - 대기 시간은 가상 시간(초), 처리량/CPU/할당은 실제 측정 (도착 데이터는 미리 만들어 측정 구간에서 뺌)
+ * - 다른 지역 허용(any_region) 이동, 여러 노드 분할, DB/SSE 는 포함하지 않는다 (엔진 자체의 품질/속도만)
+ *
+ * 실행: ./gradlew simulate -Psim="--arrivals=200000 --rate=50 --label=bitset"
+ * 결과: build/results/simulator/simulation-{label}-{시각}.json (같은 형식으로 쌓아 두고 엔진 버전끼리 비교)
+ */
+public final class MatchSimulator {
+
+    private static final int LONGEST_WAITERS = 10;
+
+    private final SimulationConfig config;
+
+    MatchSimulator(SimulationConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws IOException {
+        SimulationConfig config = SimulationConfig.parse(args);
+        if (config.warmup() > 0) {
+            // JIT 예열 — 결과는 버린다
+            new MatchSimulator(config.withArrivals(config.warmup(), config.seed() + 1)).run();
+        }
+        SimulationReport report = new MatchSimulator(config).run();
+
+        ObjectMapper mapper = new ObjectMapper()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        Files.createDirectories(config.out());
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = config.out().resolve("simulation-" + config.label() + "-" + stamp + ".json");
+        mapper.writeValue(file.toFile(), report);
+
+        SimulationReport.Latency t = report.timeToMatchSeconds();
+        System.out.printf("arrivals=%d pairs=%d abandoned=%.2f%% p50=%.1fs p99=%.1fs offers/s=%.0f cpu/match=%dns alloc/match=%dB%n",
+                report.arrivals(), report.pairs(), report.starvation().abandonedRatio() * 100, t.p50(), t.p99(),
+                report.throughput().offersPerSecond(), report.cost().cpuNanosPerMatch(), report.cost().allocBytesPerMatch());
+        System.out.println("→ " + file.toAbsolutePath());
+    }
+
+    /** 도착 순서대로 만료 시각이 정해지는 대기 만료 예약 */
+    private record Expiry(double at, long requestId, int generation) {
+    }
+
+    SimulationReport run() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MatchEngine engine = new MatchEngine(registry);
+        InterestDictionary dictionary = new InterestDictionary(registry, 512);
+        SyntheticPopulation population = new SyntheticPopulation(config.seed(), config.rate(), config.vocabulary(), dictionary);
+
+        int n = config.arrivals();
+        SyntheticPopulation.Arrival[] arrivals = new SyntheticPopulation.Arrival[n];
+        for (int i = 0; i < n; i++) arrivals[i] = population.next();
+
+        // requestId(1..n) 로 바로 찾는 배열
+        MatchTicket[] tickets = new MatchTicket[n + 1];
+        double[] arrivedAt = new double[n + 1];
+        double[] waited = new double[n + 1];
+        Outcome[] outcome = new Outcome[n + 1];
+        int[] generation = new int[n + 1];
+        for (SyntheticPopulation.Arrival a : arrivals) {
+            int id = (int) a.ticket().requestId();
+            tickets[id] = a.ticket();
+            arrivedAt[id] = a.at();
+        }
+
+        Set<Long> declinedPairs = new HashSet<>();
+        SplittableRandom random = new SplittableRandom(config.seed() ^ 0x5DEECE66DL);
+        PriorityQueue<Expiry> expiries = new PriorityQueue<>(Comparator.comparingDouble(Expiry::at));
+        ArrayDeque<MatchTicket> offers = new ArrayDeque<>();
+        long timeoutSeconds = config.waitTimeoutSeconds();
+        long pairs = 0, declines = 0, offered = 0, similaritySum = 0, zeroOverlap = 0;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocStart = threads.getCurrentThreadAllocatedBytes();
+        long wallStart = System.nanoTime();
+
+        for (int i = 0; i <= n; i++) {
+            double now = i < n ? arrivals[i].at() : Double.POSITIVE_INFINITY;
+            // 이 도착 전까지 만료된 대기자 정리
+            while (!expiries.isEmpty() && expiries.peek().at() <= now) {
+                Expiry e = expiries.poll();
+                int id = (int) e.requestId();
+                if (e.generation() == generation[id] && engine.remove(id)) {
+                    outcome[id] = Outcome.ABANDONED;
+                    waited[id] = e.at() - arrivedAt[id];
+                }
+            }
+            if (i == n) break;
+
+            offers.add(arrivals[i].ticket());
+            while (!offers.isEmpty()) {
+                MatchTicket ticket = offers.poll();
+                offered++;
+                Optional<MatchTicket> partner = engine.offer(ticket,
+                        (a, b) -> declinedPairs.contains(pairKey(a.userPid(), b.userPid())));
+                int id = (int) ticket.requestId();
+                if (partner.isEmpty()) {
+                    expiries.add(new Expiry(now + timeoutSeconds, id, ++generation[id]));
+                    continue;
+                }
+                MatchTicket other = partner.get();
+                int otherId = (int) other.requestId();
+                if (random.nextDouble() < config.declineRate()) {
+                    // 한쪽이 거절 → 거절한 쪽은 나가고 상대는 원래 순번으로 다시 대기
+                    declines++;
+                    declinedPairs.add(pairKey(ticket.userPid(), other.userPid()));
+                    boolean mine = random.nextBoolean();
+                    int decliner = mine ? id : otherId;
+                    outcome[decliner] = Outcome.DECLINED;
+                    waited[decliner] = now - arrivedAt[decliner];
+                    offers.add(mine ? other : ticket);
+                    continue;
+                }
+                pairs++;
+                int similarity = ticket.score(other);
+                similaritySum += similarity;
+                if (similarity == 0) zeroOverlap++;
+                for (int matched : new int[]{id, otherId}) {
+                    outcome[matched] = Outcome.MATCHED;
+                    waited[matched] = now - arrivedAt[matched];
+                }
+            }
+        }
+
+        long wallNanos = System.nanoTime() - wallStart;
+        long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+        long allocBytes = threads.getCurrentThreadAllocatedBytes() - allocStart;
+
+        return report(registry, tickets, waited, outcome, pairs, declines, offered, similaritySum, zeroOverlap,
+                wallNanos, cpuNanos, allocBytes);
+    }
+
+    enum Outcome { MATCHED, DECLINED, ABANDONED }
+
+    private SimulationReport report(SimpleMeterRegistry registry, MatchTicket[] tickets, double[] waited,
+                                    Outcome[] outcome, long pairs, long declines, long offered,
+                                    long similaritySum, long zeroOverlap,
+                                    long wallNanos, long cpuNanos, long allocBytes) {
+        int n = config.arrivals();
+        Map<String, List<Double>> regionWaits = new TreeMap<>();
+        Map<String, int[]> regionCounts = new TreeMap<>(); // [도착, 매칭]
+        double[] matchedWaits = new double[n];
+        int matched = 0, abandoned = 0;
+        for (int id = 1; id <= n; id++) {
+            String region = tickets[id].regionCode();
+            int[] counts = regionCounts.computeIfAbsent(region, k -> new int[2]);
+            counts[0]++;
+            if (outcome[id] == Outcome.MATCHED) {
+                matchedWaits[matched++] = waited[id];
+                counts[1]++;
+                regionWaits.computeIfAbsent(region, k -> new ArrayList<>()).add(waited[id]);
+            } else if (outcome[id] == Outcome.ABANDONED) {
+                abandoned++;
+            }
+        }
+
+        // 가장 오래 기다린 요청 (짝을 못 찾고 빠진 요청 포함)
+        Integer[] ids = new Integer[n];
+        for (int i = 0; i < n; i++) ids[i] = i + 1;
+        Arrays.sort(ids, (a, b) -> Double.compare(waited[b], waited[a]));
+        List<SimulationReport.Waiter> longest = new ArrayList<>();
+        for (int i = 0; i < Math.min(LONGEST_WAITERS, n); i++) {
+            MatchTicket t = tickets[ids[i]];
+            longest.add(new SimulationReport.Waiter(t.requestId(), t.regionCode(), t.gender(), t.choiceGender(),
+                    t.age(), t.minAge(), t.maxAge(), t.interests().size(), waited[ids[i]], outcome[ids[i]].name()));
+        }
+
+        Map<String, SimulationReport.RegionStats> regions = new LinkedHashMap<>();
+        regionCounts.forEach((region, counts) -> {
+            double[] w = regionWaits.getOrDefault(region, List.of()).stream().mapToDouble(Double::doubleValue).toArray();
+            regions.put(region, new SimulationReport.RegionStats(counts[0], counts[1], SimulationReport.Latency.of(w, w.length)));
+        });
+
+        double wallSeconds = wallNanos / 1e9;
+        long matches = Math.max(1, pairs);
+        return new SimulationReport(
+                config.label(),
+                LocalDateTime.now().toString(),
+                Runtime.version().toString(),
+                config,
+                n, matched, pairs, declines, abandoned,
+                SimulationReport.Latency.of(matchedWaits, matched),
+                new SimulationReport.Starvation(n == 0 ? 0 : (double) abandoned / n, longest),
+                new SimulationReport.Quality(pairs == 0 ? 0 : similaritySum / 1024.0 / pairs,
+                        pairs == 0 ? 0 : (double) zeroOverlap / pairs),
+                new SimulationReport.Throughput(wallNanos / 1_000_000, offered / wallSeconds, pairs / wallSeconds),
+                new SimulationReport.Cost(cpuNanos / matches, allocBytes / matches, cpuNanos / Math.max(1, offered),
+                        registry.summary("match.scan.candidates").mean()),
+                regions);
+    }
+
+    private static long pairKey(long a, long b) {
+        return Math.min(a, b) << 32 | Math.max(a, b);
+    }
+}
@@ -0,0 +1,54 @@
+package net.datasa.project01.service.match;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 시뮬레이션 설정 (--key=value)
+ *
+ * @param arrivals           도착 요청 수
+ * @param rate               초당 도착 수 (가상 시간)
+ * @param seed               인구/거절 난수 시드
+ * @param vocabulary         관심사 종류 수
+ * @param waitTimeoutSeconds 짝을 못 찾고 빠지기까지 대기 시간 (app.match.wait-timeout-seconds)
+ * @param declineRate        짝이 된 뒤 한쪽이 거절할 확률
+ * @param warmup             측정 전에 버리는 예열 도착 수
+ * @param label              결과 파일 이름/비교용 표시 (엔진 버전 등)
+ * @param out                결과 디렉터리
+ */
+record SimulationConfig(int arrivals, double rate, long seed, int vocabulary, long waitTimeoutSeconds,
+                        double declineRate, int warmup, String label, @JsonIgnore Path out) {
+
+    static SimulationConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--key=value 형식이어야 합니다: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        SimulationConfig config = new SimulationConfig(
+                Integer.parseInt(options.getOrDefault("arrivals", "200000")),
+                Double.parseDouble(options.getOrDefault("rate", "50")),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Integer.parseInt(options.getOrDefault("vocabulary", "64")),
+                Long.parseLong(options.getOrDefault("wait-timeout-seconds", "300")),
+                Double.parseDouble(options.getOrDefault("decline-rate", "0.1")),
+                Integer.parseInt(options.getOrDefault("warmup", "20000")),
+                options.getOrDefault("label", "dev"),
+                Path.of(options.getOrDefault("out", "build/results/simulator")));
+        if (config.arrivals <= 0) throw new IllegalArgumentException("arrivals 는 0보다 커야 합니다.");
+        if (config.declineRate < 0 || config.declineRate >= 1) {
+            throw new IllegalArgumentException("decline-rate 는 0 이상 1 미만이어야 합니다.");
+        }
+        return config;
+    }
+
+    SimulationConfig withArrivals(int arrivals, long seed) {
+        return new SimulationConfig(arrivals, rate, seed, vocabulary, waitTimeoutSeconds, declineRate, 0, label, out);
+    }
+}
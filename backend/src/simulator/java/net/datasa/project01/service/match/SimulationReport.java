@@ -0,0 +1,58 @@
+package net.datasa.project01.service.match;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시뮬레이션 결과 (JSON 으로 저장, 필드 이름은 snake_case)
+ * - 대기 시간은 가상 시간(초), 처리량/CPU/할당은 측정 구간의 실제 값
+ */
+record SimulationReport(String label, String finishedAt, String javaVersion, SimulationConfig config,
+                        int arrivals, int matchedRequests, long pairs, long declines, int abandoned,
+                        Latency timeToMatchSeconds, Starvation starvation, Quality quality,
+                        Throughput throughput, Cost cost, Map<String, RegionStats> regions) {
+
+    /** 짝을 찾기까지 걸린 시간 분포 */
+    record Latency(int count, double mean, double p50, double p90, double p99, double max) {
+
+        /** values 앞쪽 count 개로 계산 (정렬함) */
+        static Latency of(double[] values, int count) {
+            if (count == 0) return new Latency(0, 0, 0, 0, 0, 0);
+            double[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            double sum = 0;
+            for (double v : sorted) sum += v;
+            return new Latency(count, sum / count, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                    percentile(sorted, 0.99), sorted[count - 1]);
+        }
+
+        /** 최근접 순위(nearest-rank) 백분위 */
+        private static double percentile(double[] sorted, double p) {
+            int rank = (int) Math.ceil(p * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    /** 기아 — 짝을 못 찾고 빠진 비율, 가장 오래 기다린 요청들 */
+    record Starvation(double abandonedRatio, List<Waiter> longestWaiters) {
+    }
+
+    record Waiter(long requestId, String region, char gender, char choiceGender,
+                  int age, int minAge, int maxAge, int interests, double waitedSeconds, String outcome) {
+    }
+
+    /** 매칭 품질 — 성사된 쌍의 관심사 자카드 유사도 평균(0~1), 겹치는 관심사가 없는 쌍 비율 */
+    record Quality(double meanSimilarity, double zeroOverlapRatio) {
+    }
+
+    record Throughput(long wallMillis, double offersPerSecond, double matchesPerSecond) {
+    }
+
+    /** 성사 한 건(쌍)당 CPU/할당, offer 한 번당 CPU, offer 당 살펴본 후보 수 평균 */
+    record Cost(long cpuNanosPerMatch, long allocBytesPerMatch, long cpuNanosPerOffer, double meanCandidatesScanned) {
+    }
+
+    record RegionStats(int arrivals, int matchedRequests, Latency timeToMatchSeconds) {
+    }
+}
@@ -0,0 +1,89 @@
+package net.datasa.project01.service.match;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 합성 매칭 요청 생성기 (시드가 같으면 같은 인구)
+ * - 성별      : 남 55% / 여 45%
+ * - 희망 성별 : 이성 85%, 동성 5%, 상관없음 10%
+ * - 나이      : 평균 27, 표준편차 5 (19~45로 자름), 희망 나이는 본인 나이 -5~+6 안쪽 구간
+ * - 지역      : app.match.regions 순서대로 가중치 (서울 40%, 부산/도쿄 15%, ...)
+ * - 관심사    : 화면의 관심사 풀 + interest-N 으로 vocabulary 개, 지프(Zipf) 분포로 1~4개
+ * - 도착 간격 : 지수 분포 (초당 rate 건의 포아송 도착)
+ */
+final class SyntheticPopulation {
+
+    static final String[] REGIONS = {"SEOUL", "BUSAN", "TOKYO", "OSAKA", "FUKUOKA", "JEJU", "OTHER"};
+    private static final double[] REGION_WEIGHTS = {0.40, 0.15, 0.15, 0.10, 0.05, 0.05, 0.10};
+    private static final List<String> UI_INTERESTS = List.of("음악", "영화", "게임", "여행", "요리", "운동", "독서");
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private final SplittableRandom random;
+    private final InterestDictionary dictionary;
+    private final double rate;
+    private final String[] vocabulary;
+    private final double[] interestCdf;
+    private final double[] regionCdf;
+    private long nextId = 1;
+    private double clock;
+
+    SyntheticPopulation(long seed, double rate, int vocabularySize, InterestDictionary dictionary) {
+        if (rate <= 0) throw new IllegalArgumentException("rate 는 0보다 커야 합니다.");
+        this.random = new SplittableRandom(seed);
+        this.dictionary = dictionary;
+        this.rate = rate;
+        this.vocabulary = new String[Math.max(vocabularySize, UI_INTERESTS.size())];
+        double[] weights = new double[vocabulary.length];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = i < UI_INTERESTS.size() ? UI_INTERESTS.get(i) : "interest-" + i;
+            weights[i] = 1 / Math.pow(i + 1, ZIPF_EXPONENT);
+        }
+        this.interestCdf = cdf(weights);
+        this.regionCdf = cdf(REGION_WEIGHTS);
+    }
+
+    /** 도착 시각(가상 초)과 요청 한 건 */
+    record Arrival(double at, MatchTicket ticket) {
+    }
+
+    Arrival next() {
+        clock += -Math.log(1 - random.nextDouble()) / rate;
+        long id = nextId++;
+        char gender = random.nextDouble() < 0.55 ? 'M' : 'F';
+        double g = random.nextDouble();
+        char choice = g < 0.85 ? (gender == 'M' ? 'F' : 'M') : g < 0.90 ? gender : MatchEngine.ANY;
+        int age = (int) Math.round(Math.max(19, Math.min(45, 27 + random.nextGaussian() * 5)));
+        int minAge = Math.max(19, age - 2 - random.nextInt(4));
+        int maxAge = age + 2 + random.nextInt(5);
+        String region = REGIONS[pick(regionCdf)];
+        Set<String> interests = new LinkedHashSet<>();
+        int count = 1 + random.nextInt(4);
+        while (interests.size() < count) interests.add(vocabulary[pick(interestCdf)]);
+        MatchTicket ticket = new MatchTicket(id, id, "user" + id, gender, choice, age, minAge, maxAge, region,
+                false, Set.copyOf(interests), dictionary.encode(interests));
+        return new Arrival(clock, ticket);
+    }
+
+    private int pick(double[] cdf) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cdf.length - 1; i++) {
+            if (u < cdf[i]) return i;
+        }
+        return cdf.length - 1;
+    }
+
+    private static double[] cdf(double[] weights) {
+        double total = 0;
+        for (double w : weights) total += w;
+        double[] cdf = new double[weights.length];
+        double acc = 0;
+        for (int i = 0; i < weights.length; i++) {
+            acc += weights[i] / total;
+            cdf[i] = acc;
+        }
+        return cdf;
+    }
+}
@@ -0,0 +1,96 @@
+package net.datasa.project01.repository;
+
+import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * mock 회원 저장소 — 동시 저장 시 유니크 인덱스 보장, 스냅샷 복원
+ */
+class MockUserRepositoryTest {
+
+    @Test
+    void concurrentSignupsWithSameLoginIdKeepOnlyOne() throws Exception {
+        MockUserRepository repo = new MockUserRepository(new MockSnapshotStore(""));
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger duplicates = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        repo.save(user("Same", "user" + n + "@gmail.com"));
+                    } catch (DuplicateKeyException e) {
+                        duplicates.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(duplicates.get()).isEqualTo(threads - 1);
+        User winner = repo.findByLoginId("same").orElseThrow();
+        // 진 쪽의 이메일 선점은 되돌려져 있어야 한다
+        for (int i = 0; i < threads; i++) {
+            String email = "user" + i + "@gmail.com";
+            assertThat(repo.existsByEmail(email)).isEqualTo(email.equals(winner.getEmail()));
+        }
+    }
+
+    @Test
+    void changingEmailReleasesOldKey() {
+        MockUserRepository repo = new MockUserRepository(new MockSnapshotStore(""));
+        User u = repo.save(user("alice", "a@gmail.com"));
+        repo.save(user("bob", "b@gmail.com"));
+
+        u.setEmail("b@gmail.com");
+        assertThatThrownBy(() -> repo.save(u)).isInstanceOf(DuplicateKeyException.class);
+        u.setEmail("a2@gmail.com");
+        repo.save(u);
+
+        assertThat(repo.existsByEmail("a@gmail.com")).isFalse();
+        assertThat(repo.findByEmail("A2@gmail.com")).containsSame(u);
+    }
+
+    @Test
+    void snapshotRoundTrip(@TempDir Path dir) {
+        MockUserRepository repo = new MockUserRepository(new MockSnapshotStore(dir.toString()));
+        repo.save(user("alice", "a@gmail.com"));
+        repo.save(user("bob", "b@gmail.com"));
+        repo.writeSnapshot();
+
+        MockUserRepository reloaded = new MockUserRepository(new MockSnapshotStore(dir.toString()));
+        reloaded.loadSnapshot();
+        assertThat(reloaded.findByLoginId("bob")).map(User::getEmail).contains("b@gmail.com");
+        // 시퀀스도 이어서 발급
+        assertThat(reloaded.save(user("carol", "c@gmail.com")).getUserPid()).isEqualTo(3L);
+    }
+
+    private static User user(String loginId, String email) {
+        return User.builder().loginId(loginId).email(email).passwordHash("x").nickName(loginId)
+                .countryCode("KR").gender("F").enabled(true).roleName("ROLE_USER").build();
+    }
+}
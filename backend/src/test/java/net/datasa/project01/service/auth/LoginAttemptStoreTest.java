@@ -0,0 +1,68 @@
+package net.datasa.project01.service.auth;
+
+import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.repository.MockUserRepository;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로그인 실패 카운터 — 오래된 실패는 잊고 메모리에서 빠짐, 계정 수 상한을 넘으면 바로 DB 반영
+ */
+class LoginAttemptStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final MockUserRepository users = new MockUserRepository(new MockSnapshotStore(""));
+
+    @Test
+    void failuresOlderThanWindowStartOver() {
+        LoginAttemptStore store = new LoginAttemptStore(users, 5, 10, 10, 100);
+        User u = user("alice");
+        for (int i = 0; i < 3; i++) store.recordFailure(u, NOW);
+        store.flush();
+        assertThat(u.getFailedLoginCount()).isEqualTo(3);
+        assertThat(store.size()).isEqualTo(1); // 아직 window 안
+
+        // window 가 지난 뒤의 실패는 1 부터 다시 센다
+        store.recordFailure(u, NOW.plusMinutes(11));
+        store.flush();
+        assertThat(u.getFailedLoginCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredFailuresAreResetInDbThenDropped() {
+        LoginAttemptStore store = new LoginAttemptStore(users, 5, 10, 0, 100); // window 0 → 바로 만료
+        User u = user("bob");
+        store.recordFailure(u, NOW.minusMinutes(1));
+        store.flush(); // 반영 + 만료 → 0 으로 표시
+        store.flush(); // 0 반영 + 제거
+        assertThat(u.getFailedLoginCount()).isZero();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void beyondMaxEntriesWritesThroughInsteadOfGrowing() {
+        LoginAttemptStore store = new LoginAttemptStore(users, 3, 10, 10, 2);
+        User[] many = new User[50];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = user("user" + i);
+            store.recordFailure(many[i], NOW);
+        }
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(many[49].getFailedLoginCount()).isEqualTo(1); // flush 전에 이미 반영
+
+        // 상한 밖 계정도 잠금은 똑같이 걸린다 (DB 값에서 이어 셈)
+        store.recordFailure(many[49], NOW);
+        assertThat(store.recordFailure(many[49], NOW)).isTrue();
+        assertThat(store.lockedUntil(many[49], NOW)).isEqualTo(NOW.plusMinutes(10));
+    }
+
+    private User user(String loginId) {
+        return users.save(User.builder().loginId(loginId).email(loginId + "@gmail.com").passwordHash("x")
+                .nickName(loginId).countryCode("KR").gender("F").enabled(true).roleName("ROLE_USER").build());
+    }
+}
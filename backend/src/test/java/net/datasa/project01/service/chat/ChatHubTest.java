@@ -0,0 +1,131 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 채팅 허브 — 방 단위 전송, 연결별 큐 순서, 느린 수신자 끊기
+ */
+class ChatHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ChatHub hub = new ChatHub(registry, 4, 2);
+
+    @Test
+    void publishesOnlyToRoomSubscribers() {
+        FakeOutbound a = new FakeOutbound(true), b = new FakeOutbound(true), c = new FakeOutbound(true);
+        ChatConnection ca = hub.connect(1, "t1", a), cb = hub.connect(2, "t2", b), cc = hub.connect(3, "t3", c);
+        hub.join(ca, 10);
+        hub.join(cb, 10);
+        hub.join(cc, 20);
+
+        assertThat(hub.publish(10, "m1")).isEqualTo(2);
+        assertThat(a.sent).containsExactly("m1");
+        assertThat(b.sent).containsExactly("m1");
+        assertThat(c.sent).isEmpty();
+
+        hub.leave(cb, 10);
+        hub.publish(10, "m2");
+        assertThat(b.sent).containsExactly("m1");
+
+        hub.disconnect(ca);
+        assertThat(hub.subscribers(10)).isZero();
+        assertThat(hub.publish(10, "m3")).isZero();
+    }
+
+    @Test
+    void sendsOneFrameAtATimeInOrder() {
+        FakeOutbound slow = new FakeOutbound(false);
+        ChatConnection c = hub.connect(1, "t1", slow);
+        hub.join(c, 10);
+        hub.publish(10, "m1");
+        hub.publish(10, "m2");
+        hub.publish(10, "m3");
+        assertThat(slow.sent).containsExactly("m1"); // 앞 전송이 끝나기 전에는 다음을 보내지 않음
+
+        slow.completeAll();
+        assertThat(slow.sent).containsExactly("m1", "m2", "m3");
+    }
+
+    @Test
+    void slowConsumerIsDroppedWithoutDelayingOthers() {
+        FakeOutbound slow = new FakeOutbound(false), fast = new FakeOutbound(true);
+        ChatConnection cs = hub.connect(1, "t1", slow), cf = hub.connect(2, "t2", fast);
+        hub.join(cs, 10);
+        hub.join(cf, 10);
+
+        // 전송 중 1개 + 큐 4개까지 → 6번째에서 가득 참
+        for (int i = 1; i <= 6; i++) hub.publish(10, "m" + i);
+
+        assertThat(slow.closedWith).isEqualTo(ChatHub.CLOSE_SLOW_CONSUMER);
+        assertThat(fast.sent).hasSize(6);
+        assertThat(fast.closedWith).isNull();
+        assertThat(registry.counter("chat.dropped").count()).isEqualTo(1.0);
+
+        hub.disconnect(cs);
+        assertThat(hub.subscribers(10)).isEqualTo(1);
+    }
+
+    @Test
+    void limitsRoomsPerConnection() {
+        ChatConnection c = hub.connect(1, "t1", new FakeOutbound(true));
+        hub.join(c, 1);
+        hub.join(c, 2);
+        hub.join(c, 2); // 이미 구독한 방은 그대로
+        assertThatThrownBy(() -> hub.join(c, 3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void logoutClosesOnlyConnectionsOpenedWithThatToken() {
+        FakeOutbound tab1 = new FakeOutbound(true), tab2 = new FakeOutbound(true), other = new FakeOutbound(true);
+        ChatConnection c1 = hub.connect(1, "t1", tab1), c2 = hub.connect(1, "t1", tab2);
+        hub.connect(1, "t9", other); // 같은 사용자, 다른 기기에서 로그인한 토큰
+        hub.join(c1, 10);
+
+        assertThat(hub.closeToken("t1")).isEqualTo(2);
+        assertThat(tab1.closedWith).isEqualTo(ChatHub.CLOSE_LOGGED_OUT);
+        assertThat(tab2.closedWith).isEqualTo(ChatHub.CLOSE_LOGGED_OUT);
+        assertThat(other.closedWith).isNull();
+        assertThat(hub.publish(10, "m1")).isZero();
+
+        hub.disconnect(c1);
+        hub.disconnect(c2);
+        assertThat(hub.closeToken("t1")).isZero();
+        assertThat(hub.subscribers(10)).isZero();
+    }
+
+    /** 즉시 완료(autoComplete) 또는 completeAll 을 부를 때까지 전송이 끝나지 않는 가짜 소켓 */
+    private static final class FakeOutbound implements ChatOutbound {
+        private final boolean autoComplete;
+        private final List<String> sent = new ArrayList<>();
+        private final List<Consumer<Throwable>> inFlight = new ArrayList<>();
+        private Integer closedWith;
+
+        FakeOutbound(boolean autoComplete) {
+            this.autoComplete = autoComplete;
+        }
+
+        @Override
+        public void send(String frame, Consumer<Throwable> done) {
+            sent.add(frame);
+            if (autoComplete) done.accept(null);
+            else inFlight.add(done);
+        }
+
+        @Override
+        public void close(int code, String reason) {
+            closedWith = code;
+        }
+
+        void completeAll() {
+            while (!inFlight.isEmpty()) inFlight.remove(0).accept(null);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.RoomMessageRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 메시지 쓰기 지연 저장 — 로그 순서 발급, 방별 정렬 반영, 죽은 뒤 미반영 꼬리 재생
+ */
+class ChatMessageWriterTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<ChatMessageWriter> started = new ArrayList<>();
+
+    @AfterEach
+    void stopAll() throws InterruptedException {
+        for (ChatMessageWriter w : started) w.stop();
+    }
+
+    @Test
+    void acknowledgesInLogOrderAndFlushesSortedByRoom() throws Exception {
+        FakeRepository repo = new FakeRepository();
+        ChatMessageWriter writer = start(repo);
+
+        List<CompletableFuture<RoomMessage>> acks = new ArrayList<>();
+        for (long room : new long[]{2, 1, 2, 1}) acks.add(writer.submit(text(room, "m")));
+        List<Long> ids = new ArrayList<>();
+        for (CompletableFuture<RoomMessage> f : acks) ids.add(f.get(5, TimeUnit.SECONDS).getMessageId());
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L);
+
+        repo.awaitRows(4);
+        assertThat(repo.inserted).extracting(RoomMessage::getMessageId).containsExactly(2L, 4L, 1L, 3L);
+    }
+
+    @Test
+    void replaysUnflushedTailAfterCrash() throws Exception {
+        FakeRepository down = new FakeRepository();
+        down.failing = true;
+        ChatMessageWriter first = start(down);
+        for (int i = 0; i < 3; i++) first.submit(text(7, "before crash " + i)).get(5, TimeUnit.SECONDS);
+        // 종료 처리 없이 같은 디렉터리로 다시 시작 (프로세스가 죽은 상황)
+
+        FakeRepository repo = new FakeRepository();
+        ChatMessageWriter second = start(repo);
+        repo.awaitRows(3);
+        assertThat(repo.inserted).extracting(RoomMessage::getTextContent)
+                .containsExactly("before crash 0", "before crash 1", "before crash 2");
+
+        RoomMessage next = second.submit(text(7, "after")).get(5, TimeUnit.SECONDS);
+        assertThat(next.getMessageId()).isEqualTo(4L);
+    }
+
+    @Test
+    void numbersEachRoomWithoutGapsAcrossRestart() throws Exception {
+        FakeRepository down = new FakeRepository();
+        down.failing = true;
+        ChatMessageWriter first = start(down);
+        List<Long> seqs = new ArrayList<>();
+        for (long room : new long[]{5, 6, 5, 5}) seqs.add(first.submit(text(room, "m")).get(5, TimeUnit.SECONDS).getSeq());
+        assertThat(seqs).containsExactly(1L, 1L, 2L, 3L);
+
+        // 방 5/6 은 로그 재생분에서, 방 8 은 테이블의 MAX(seq) 에서 이어감
+        FakeRepository repo = new FakeRepository();
+        RoomMessage old = text(8, "old");
+        old.setMessageId(0L);
+        old.setSeq(41L);
+        repo.inserted.add(old);
+        ChatMessageWriter second = start(repo);
+        repo.awaitRows(5);
+        assertThat(second.submit(text(5, "a")).get(5, TimeUnit.SECONDS).getSeq()).isEqualTo(4L);
+        assertThat(second.submit(text(6, "b")).get(5, TimeUnit.SECONDS).getSeq()).isEqualTo(2L);
+        assertThat(second.submit(text(8, "c")).get(5, TimeUnit.SECONDS).getSeq()).isEqualTo(42L);
+    }
+
+    @Test
+    void seqConflictIsCountedAndNotRetried() throws Exception {
+        FakeRepository repo = new FakeRepository();
+        repo.conflicting = true;
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ChatMessageWriter writer = start(repo, registry);
+        writer.submit(text(3, "m")).get(5, TimeUnit.SECONDS);
+
+        repo.awaitCalls(1);
+        Thread.sleep(100);
+        assertThat(repo.calls.get()).isEqualTo(1); // 다시 넣어도 같은 충돌 → 재시도하지 않음
+        assertThat(registry.counter("chat.write.conflict").count()).isEqualTo(1.0);
+        assertThat(registry.counter("chat.write.flush.failed").count()).isZero();
+    }
+
+    @Test
+    void ignoresTornTail() throws Exception {
+        ChatMessageLog log = new ChatMessageLog(new SimpleMeterRegistry(), dir.toString(), 1);
+        log.recover();
+        RoomMessage m = text(1, "안녕하세요");
+        m.setMessageId(1L);
+        log.append(List.of(m));
+        log.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND); // 쓰다 만 레코드
+
+        ChatMessageLog reopened = new ChatMessageLog(new SimpleMeterRegistry(), dir.toString(), 1);
+        List<RoomMessage> replay = reopened.recover();
+        assertThat(replay).singleElement().satisfies(r -> {
+            assertThat(r.getTextContent()).isEqualTo("안녕하세요");
+            assertThat(r.getCreatedAt()).isEqualTo(m.getCreatedAt());
+            assertThat(r.getFileName()).isNull();
+        });
+        reopened.checkpoint(1L);
+        assertThat(new ChatMessageLog(new SimpleMeterRegistry(), dir.toString(), 1).recover()).isEmpty();
+    }
+
+    private ChatMessageWriter start(RoomMessageRepository repo) throws Exception {
+        return start(repo, new SimpleMeterRegistry());
+    }
+
+    private ChatMessageWriter start(RoomMessageRepository repo, SimpleMeterRegistry registry) throws Exception {
+        ChatMessageLog log = new ChatMessageLog(new SimpleMeterRegistry(), dir.toString(), 1);
+        ChatMessageWriter writer = new ChatMessageWriter(log, repo, new RoomSequences(repo, new SimpleMeterRegistry(), 60_000),
+                registry, 100, 10, 50, 200, 1000);
+        writer.start();
+        started.add(writer);
+        return writer;
+    }
+
+    private static RoomMessage text(long roomId, String text) {
+        return RoomMessage.builder()
+                .roomId(roomId)
+                .senderPid(1L)
+                .contentType(MessageContentType.TEXT)
+                .textContent(text)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static final class FakeRepository implements RoomMessageRepository {
+        final List<RoomMessage> inserted = new CopyOnWriteArrayList<>();
+        final AtomicInteger calls = new AtomicInteger();
+        volatile boolean failing;
+        volatile boolean conflicting; // 모든 행이 다른 메시지의 (room_id, seq) 와 겹친 것처럼
+
+        @Override
+        public List<RoomMessage> insertAll(List<RoomMessage> messages) {
+            calls.incrementAndGet();
+            if (failing) throw new IllegalStateException("db down");
+            if (conflicting) return messages;
+            inserted.addAll(messages);
+            return List.of();
+        }
+
+        @Override
+        public long maxMessageId() {
+            return inserted.stream().mapToLong(RoomMessage::getMessageId).max().orElse(0);
+        }
+
+        @Override
+        public long maxSeq(long roomId) {
+            return inserted.stream().filter(m -> m.getRoomId() == roomId).mapToLong(RoomMessage::getSeq).max().orElse(0);
+        }
+
+        @Override
+        public void forEachBefore(long roomId, MessageCursor before, int limit, Consumer<RoomMessageRow> consumer) {
+        }
+
+        @Override
+        public void forEachBetweenSeq(long roomId, long afterSeq, long beforeSeq, int limit,
+                                      Consumer<RoomMessageRow> consumer) {
+        }
+
+        void awaitCalls(int n) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (calls.get() < n && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        }
+
+        void awaitRows(int n) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (inserted.size() < n && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.repository.mock.MockRoomMessageRepository;
+import net.datasa.project01.repository.mock.MockRoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재연결 "seq N 까지 받았음" → 빠진 구간만 (링 + 링보다 앞선 부분 DB), 테이블 반영 전 빈틈에서 멈춤, 너무 많으면 reset
+ */
+class ChatRoomServiceResumeTest {
+
+    private static final long ROOM = 10L;
+
+    private final MockRoomMessageRepository repo = new MockRoomMessageRepository();
+    private final RoomSequences sequences = new RoomSequences(repo, new SimpleMeterRegistry(), 60_000);
+
+    @Test
+    void returnsExactlyTheMissingRangeFromDbAndRing() {
+        RecentMessageBuffer recent = buffer(30);
+        store(1, 120, recent); // 링에는 91~120
+        assertThat(seqs(service(recent).resume(ROOM, 70))).containsExactlyElementsOf(range(71, 120));
+        assertThat(seqs(service(recent).resume(ROOM, 100))).containsExactlyElementsOf(range(101, 120));
+        assertThat(service(recent).resume(ROOM, 120)).isEmpty();
+    }
+
+    @Test
+    void withoutRingReadsDbOnly() {
+        store(1, 40, null);
+        assertThat(seqs(service(buffer(30)).resume(ROOM, 35))).containsExactly(36L, 37L, 38L, 39L, 40L);
+    }
+
+    @Test
+    void stopsAtSeqNotYetFlushed() {
+        RecentMessageBuffer recent = buffer(5);
+        store(1, 100, null);
+        for (long seq = 106; seq <= 110; seq++) recent.append(message(seq)); // 101~105 는 아직 로그에만 있음
+        assertThat(seqs(service(recent).resume(ROOM, 95))).containsExactly(96L, 97L, 98L, 99L, 100L);
+    }
+
+    @Test
+    void ringStartedAfterRestartWaitsUntilOlderMessagesAreFlushed() {
+        store(1, 100, null);
+        List<RoomMessage> replayed = new ArrayList<>();
+        for (long seq = 101; seq <= 105; seq++) replayed.add(message(seq)); // 재시작 뒤 로그 재생분, 아직 반영 전
+        RecentMessageBuffer recent = buffer(30);
+        for (long seq = 106; seq <= 110; seq++) recent.append(message(seq));
+
+        List<Long> page = new ArrayList<>();
+        new MessageHistoryPage(repo, recent, ROOM, null, 10).stream(row -> page.add(row.seq()));
+        assertThat(page).containsExactlyElementsOf(newestFirst(91, 100)); // 링을 쓰면 101~105 를 건너뜀 → DB 만
+
+        repo.insertAll(replayed);
+        sequences.flushed(message(106).getMessageId() - 1); // 링 첫 메시지 직전까지 반영됨
+        page.clear();
+        new MessageHistoryPage(repo, recent, ROOM, null, 10).stream(row -> page.add(row.seq()));
+        assertThat(page).containsExactlyElementsOf(newestFirst(101, 110));
+        assertThat(seqs(service(recent).resume(ROOM, 100))).containsExactlyElementsOf(range(101, 110));
+    }
+
+    @Test
+    void tooManyMissingMeansReset() {
+        store(1, 80, null);
+        assertThat(service(buffer(30)).resume(ROOM, 0)).isNull();
+        assertThat(service(buffer(30)).resume(ROOM, 20)).hasSize(60);
+    }
+
+    private ChatRoomService service(RecentMessageBuffer recent) {
+        ChatRoomService service = new ChatRoomService(null, repo, null, recent, null, null, null);
+        ReflectionTestUtils.setField(service, "maxResume", 60);
+        return service;
+    }
+
+    private RecentMessageBuffer buffer(int size) {
+        return new RecentMessageBuffer(new MockRoomRepository(), sequences, new SimpleMeterRegistry(), size, 10, 60_000);
+    }
+
+    private void store(long from, long to, RecentMessageBuffer recent) {
+        List<RoomMessage> all = new ArrayList<>();
+        for (long seq = from; seq <= to; seq++) {
+            RoomMessage m = message(seq);
+            all.add(m);
+            if (recent != null) recent.append(m);
+        }
+        repo.insertAll(all);
+        sequences.flushed(repo.maxMessageId());
+    }
+
+    private static RoomMessage message(long seq) {
+        return RoomMessage.builder()
+                .messageId(seq * 2) // 다른 방 메시지가 사이사이에 있는 것처럼
+                .roomId(ROOM)
+                .seq(seq)
+                .senderPid(1L)
+                .contentType(MessageContentType.TEXT)
+                .textContent("m" + seq)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusSeconds(seq))
+                .build();
+    }
+
+    private static List<Long> seqs(List<RoomMessageRow> rows) {
+        return rows.stream().map(RoomMessageRow::seq).toList();
+    }
+
+    private static List<Long> range(long from, long to) {
+        List<Long> out = new ArrayList<>();
+        for (long i = from; i <= to; i++) out.add(i);
+        return out;
+    }
+
+    private static List<Long> newestFirst(long from, long to) {
+        List<Long> out = new ArrayList<>();
+        for (long i = to; i >= from; i--) out.add(i);
+        return out;
+    }
+}
@@ -0,0 +1,110 @@
+package net.datasa.project01.service.chat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.RoomMessageRow;
+import net.datasa.project01.domain.entity.RoomMessage;
+import net.datasa.project01.domain.vo.MessageContentType;
+import net.datasa.project01.domain.vo.MessageCursor;
+import net.datasa.project01.repository.mock.MockRoomMessageRepository;
+import net.datasa.project01.repository.mock.MockRoomRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지난 메시지 키셋 페이지 — 같은 초에 여러 건이 있어도 빠짐/중복 없이 이어지고, 마지막 페이지에서 cursor 가 끝남
+ * (최근 메시지 링이 있으면 링 → DB 로 이어 읽어도 결과가 같음)
+ */
+class MessageHistoryPageTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void walksWholeRoomNewestFirstWithoutGapsOrDuplicates(boolean buffered) {
+        MockRoomMessageRepository repo = new MockRoomMessageRepository();
+        RoomSequences sequences = new RoomSequences(repo, registry, 60_000);
+        RecentMessageBuffer recent = buffered
+                ? new RecentMessageBuffer(new MockRoomRepository(), sequences, registry, 30, 10, 60_000) : null;
+        List<RoomMessage> all = new ArrayList<>();
+        for (long id = 1; id <= 205; id++) {
+            RoomMessage m = RoomMessage.builder()
+                    .messageId(id)
+                    .roomId(id % 2 == 0 ? 10L : 20L)
+                    .seq((id + 1) / 2)
+                    .contentType(MessageContentType.TEXT)
+                    .textContent("m" + id)
+                    .createdAt(T0.plusSeconds(id / 3)) // 같은 created_at 3건씩
+                    .build();
+            all.add(m);
+            if (recent != null) recent.append(m); // 링에는 방마다 마지막 30건만 남음
+        }
+        repo.insertAll(all);
+        sequences.flushed(205);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            MessageCursor before = cursor == null ? null : MessageCursor.decode(cursor);
+            cursor = new MessageHistoryPage(repo, recent, 10L, before, 25).stream(row -> seen.add(row.messageId()));
+            pages++;
+        } while (cursor != null);
+
+        List<Long> expected = new ArrayList<>();
+        for (long id = 204; id >= 2; id -= 2) expected.add(id);
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pages).isEqualTo(5); // 102건 / 25 → 빈 페이지 없이 끝
+        if (buffered) {
+            // 첫 페이지는 링만, 둘째는 링 끝 + DB, 나머지는 링보다 오래된 위치라 DB
+            assertThat(registry.counter("chat.recent.lookup", "result", "hit").count()).isEqualTo(1);
+            assertThat(registry.counter("chat.recent.lookup", "result", "partial").count()).isEqualTo(1);
+            assertThat(registry.counter("chat.recent.lookup", "result", "miss").count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void newRoomIsServedFromMemoryOnly() {
+        RecentMessageBuffer recent = new RecentMessageBuffer(new MockRoomRepository(),
+                new RoomSequences(new MockRoomMessageRepository(), registry, 60_000), registry, 30, 10, 60_000);
+        recent.roomOpened(7L);
+        for (long id = 1; id <= 3; id++) {
+            recent.append(RoomMessage.builder().messageId(id).roomId(7L).seq(id).senderPid(1L)
+                    .contentType(MessageContentType.TEXT).textContent("m" + id).createdAt(T0).build());
+        }
+        MockRoomMessageRepository empty = new MockRoomMessageRepository() {
+            @Override
+            public void forEachBefore(long roomId, MessageCursor before, int limit, Consumer<RoomMessageRow> consumer) {
+                throw new AssertionError("DB 를 보면 안 됨");
+            }
+        };
+        List<Long> seen = new ArrayList<>();
+        assertThat(new MessageHistoryPage(empty, recent, 7L, null, 50).stream(r -> seen.add(r.messageId()))).isNull();
+        assertThat(seen).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void cursorIsOpaqueAndValidated() {
+        MessageCursor c = new MessageCursor(T0.plusNanos(500), 42L);
+        assertThat(MessageCursor.decode(c.encode())).isEqualTo(c);
+        assertThatThrownBy(() -> MessageCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyRoomHasNoNextPage() {
+        List<RoomMessageRow> rows = new ArrayList<>();
+        assertThat(new MessageHistoryPage(new MockRoomMessageRepository(), null, 1L, null, 50).stream(rows::add)).isNull();
+        assertThat(rows).isEmpty();
+    }
+}
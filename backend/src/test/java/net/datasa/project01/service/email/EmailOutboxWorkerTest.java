@@ -0,0 +1,122 @@
+package net.datasa.project01.service.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import net.datasa.project01.domain.entity.EmailOutbox;
+import net.datasa.project01.domain.vo.OutboxStatus;
+import net.datasa.project01.repository.mock.MockEmailOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메일 발송 대기열 워커 — 인프로세스 SMTP(GreenMail)로 실제 발송/연결 재사용/재시도/DEAD 확인
+ */
+class EmailOutboxWorkerTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MockEmailOutboxRepository repository = new MockEmailOutboxRepository();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void deliversQueuedMailOverSmtp() throws Exception {
+        EmailOutboxWorker worker = worker(smtpSender(), 3, 0);
+        EmailOutbox queued = enqueue("user@gmail.com");
+
+        assertThat(worker.drainOnce()).isEqualTo(1);
+        assertThat(greenMail.waitForIncomingEmail(5000, 1)).isTrue();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        assertThat(received[0].getSubject()).isEqualTo("[Matcha-Talk] 이메일 인증번호");
+        EmailOutbox after = repository.findById(queued.getOutboxId()).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(after.getAttempts()).isEqualTo(1);
+        assertThat(after.getBody()).isEmpty(); // 보낸 뒤에는 인증번호를 남기지 않음
+    }
+
+    @Test
+    void sendsBatchOverPooledConnections() throws Exception {
+        EmailOutboxWorker worker = worker(smtpSender(), 3, 0); // 발송 스레드 2개
+        for (int i = 0; i < 6; i++) enqueue("user" + i + "@gmail.com");
+
+        assertThat(worker.drainOnce()).isEqualTo(6);
+        assertThat(greenMail.waitForIncomingEmail(5000, 6)).isTrue();
+        // 스레드당 연결 하나로 이어서 보냄 (메일마다 새로 연결하지 않음)
+        assertThat(registry.get("mail.smtp.connect").timer().count()).isLessThanOrEqualTo(2);
+        assertThat(registry.get("mail.smtp.send").timer().count()).isEqualTo(6);
+
+        // 두 번째 배치는 풀에 남은 연결을 재사용
+        enqueue("again@gmail.com");
+        worker.drainOnce();
+        assertThat(greenMail.waitForIncomingEmail(5000, 7)).isTrue();
+        assertThat(registry.get("mail.smtp.connect").timer().count()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void retriesWithBackoffThenMarksDead() {
+        EmailSender failing = (to, subject, html) -> {
+            throw new RuntimeException("메일 전송 실패");
+        };
+        EmailOutboxWorker worker = worker(failing, 2, 0);
+        EmailOutbox queued = enqueue("user@gmail.com");
+
+        worker.drainOnce();
+        EmailOutbox afterFirst = repository.findById(queued.getOutboxId()).orElseThrow();
+        assertThat(afterFirst.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(afterFirst.getAttempts()).isEqualTo(1);
+        assertThat(afterFirst.getLastError()).contains("메일 전송 실패");
+
+        worker.drainOnce();
+        EmailOutbox afterSecond = repository.findById(queued.getOutboxId()).orElseThrow();
+        assertThat(afterSecond.getStatus()).isEqualTo(OutboxStatus.DEAD);
+        assertThat(afterSecond.getAttempts()).isEqualTo(2);
+        assertThat(afterSecond.getBody()).isEmpty();
+        assertThat(worker.drainOnce()).isZero();
+    }
+
+    @Test
+    void backoffGrowsExponentiallyUpToMax() {
+        EmailOutboxWorker worker = worker(smtpSender(), 6, 1000);
+
+        assertThat(worker.backoffMillis(1)).isBetween(800L, 1200L);
+        assertThat(worker.backoffMillis(3)).isBetween(3200L, 4800L);
+        assertThat(worker.backoffMillis(30)).isBetween(8000L, 12000L); // max 10초
+    }
+
+    private EmailOutbox enqueue(String to) {
+        return repository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject("[Matcha-Talk] 이메일 인증번호")
+                .body("<p>인증번호: <b>123456</b></p>")
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    private EmailOutboxWorker worker(EmailSender sender, int maxAttempts, long backoffBaseMs) {
+        return new EmailOutboxWorker(repository, sender, registry,
+                2, 10, maxAttempts, backoffBaseMs, 10_000, 1000, 60, 7);
+    }
+
+    private SmtpEmailSender smtpSender() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, registry, 2, 1000, 5000, 60_000, 100);
+        SmtpEmailSender sender = new SmtpEmailSender(pool);
+        ReflectionTestUtils.setField(sender, "from", "Matcha Talk <no-reply@localhost>");
+        return sender;
+    }
+}
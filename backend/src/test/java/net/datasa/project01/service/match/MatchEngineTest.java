@@ -0,0 +1,74 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매칭 대기열 — 양방향 조건, 관심사 점수, FIFO, 후보 수 제한
+ */
+class MatchEngineTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MatchEngine engine = new MatchEngine(registry);
+    private final InterestDictionary dictionary = new InterestDictionary(registry, 512);
+
+    @Test
+    void matchesOnlyWhenBothSidesAccept() {
+        // 여성(25) → 남성 20~30 희망
+        engine.offer(ticket(1, 'F', 'M', 25, 20, 30, "음악"), (a, b) -> false);
+        // 남성(27)이지만 30~40 희망 → 25세 여성은 조건 밖
+        assertThat(engine.offer(ticket(2, 'M', 'F', 27, 30, 40, "음악"), (a, b) -> false)).isEmpty();
+        // 남성(35)은 여성 조건(20~30) 밖
+        assertThat(engine.offer(ticket(3, 'M', 'A', 35, 20, 40, "음악"), (a, b) -> false)).isEmpty();
+        // 남성(28), 20~30 희망 → 1번과 성사
+        assertThat(engine.offer(ticket(4, 'M', 'F', 28, 20, 30), (a, b) -> false))
+                .map(MatchTicket::requestId).contains(1L);
+        assertThat(engine.isWaiting(1)).isFalse();
+        assertThat(engine.size()).isEqualTo(2);
+    }
+
+    @Test
+    void prefersInterestOverlapThenArrivalOrder() {
+        engine.offer(ticket(1, 'F', 'A', 25, 20, 30, "게임"), (a, b) -> false);
+        engine.offer(ticket(2, 'F', 'A', 26, 20, 30, "음악", "영화"), (a, b) -> false);
+        engine.offer(ticket(3, 'F', 'A', 24, 20, 30, "음악", "영화"), (a, b) -> false);
+
+        // 관심사가 같은 2, 3 중 먼저 온 2
+        assertThat(engine.offer(ticket(4, 'M', 'F', 25, 20, 30, "음악", "영화"), (a, b) -> false))
+                .map(MatchTicket::requestId).contains(2L);
+        // 차단된 상대는 건너뜀
+        assertThat(engine.offer(ticket(5, 'M', 'F', 25, 20, 30, "음악", "영화"),
+                (a, b) -> b.requestId() == 3)).map(MatchTicket::requestId).contains(1L);
+    }
+
+    @Test
+    void peekScoresWithoutTakingCandidate() {
+        engine.offer(ticket(1, 'F', 'A', 25, 20, 30, "음악"), (a, b) -> false);
+
+        assertThat(engine.peek(ticket(2, 'M', 'F', 25, 20, 30, "음악"), (a, b) -> false)).isEqualTo(1024);
+        assertThat(engine.peek(ticket(3, 'M', 'F', 40, 35, 45, "음악"), (a, b) -> false)).isEqualTo(-1);
+        assertThat(engine.isWaiting(1)).isTrue();
+        assertThat(engine.size()).isEqualTo(1);
+    }
+
+    @Test
+    void candidatesScannedDoNotGrowWithQueueSize() {
+        // 같은 조건 그룹에 1000명이 줄 서 있어도 그룹 맨 앞 한 명만 본다
+        for (int i = 1; i <= 1000; i++) engine.offer(ticket(i, 'F', 'M', 25, 20, 30), (a, b) -> false);
+        assertThat(engine.offer(ticket(1001, 'M', 'F', 25, 20, 30), (a, b) -> false))
+                .map(MatchTicket::requestId).contains(1L);
+        assertThat(registry.get("match.scan.candidates").summary().max()).isEqualTo(1.0);
+        assertThat(engine.size()).isEqualTo(999);
+    }
+
+    private MatchTicket ticket(long id, char gender, char choice, int age, int min, int max,
+                                      String... interests) {
+        return new MatchTicket(id, 100 + id, "user" + id, gender, choice, age, min, max, "SEOUL", false,
+                Set.of(interests), dictionary.encode(List.of(interests)));
+    }
+}
@@ -0,0 +1,41 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.entity.User;
+import net.datasa.project01.repository.MockUserRepository;
+import net.datasa.project01.repository.mock.MockMatchRequestRepository;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+/**
+ * 매칭 테스트 공용 조립 (MatchServiceTest, MatchNode)
+ * - @Value 설정값은 application.properties 기본값과 같게 넣는다 (필드가 늘면 여기 한 곳만 고친다)
+ */
+final class MatchFixtures {
+
+    private MatchFixtures() {
+    }
+
+    /** Spring 없이 MatchService 조립 (저널은 끔) */
+    static MatchService service(SimpleMeterRegistry registry, MockMatchRequestRepository requests,
+                                MockUserRepository users, MatchNotifier notifier, MatchStatusFlusher flusher,
+                                MatchCluster cluster, TimingWheel wheel) {
+        InterestDictionary dictionary = new InterestDictionary(registry, 512);
+        MatchService service = new MatchService(new MatchEngine(registry), requests, users, notifier,
+                new MatchJournal(registry, dictionary, "", 1), flusher, dictionary, cluster, wheel, registry);
+        ReflectionTestUtils.setField(service, "declineBlockMinutes", 30L);
+        ReflectionTestUtils.setField(service, "resultRetentionMinutes", 60L);
+        ReflectionTestUtils.setField(service, "waitTimeoutSeconds", 300L);
+        ReflectionTestUtils.setField(service, "handshakeTimeoutSeconds", 30L);
+        return service;
+    }
+
+    /** 매칭할 수 있는 회원 (닉네임 = loginId) → 회원번호 */
+    static long user(MockUserRepository users, String loginId, String gender, int age) {
+        return users.save(User.builder().loginId(loginId).email(loginId + "@gmail.com").passwordHash("x")
+                .nickName(loginId).countryCode("KR").gender(gender).birthDate(LocalDate.now().minusYears(age))
+                .enabled(true).roleName("ROLE_USER").build()).getUserPid();
+    }
+}
@@ -0,0 +1,106 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매칭 저널 — 재생, 스냅샷 이후 꼬리 재생, 찢어진 꼬리 무시
+ */
+class MatchJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final InterestDictionary dictionary = new InterestDictionary(new SimpleMeterRegistry(), 512);
+
+    @Test
+    void replaysEnqueueCancelAndMatch() throws Exception {
+        MatchJournal journal = open();
+        journal.recover();
+        journal.enqueued(ticket(1));
+        journal.enqueued(ticket(2));
+        journal.enqueued(ticket(3));
+        journal.cancelled(1);
+        journal.matched(4, 2); // 4 는 대기열에 들어간 적 없이 2 와 짝지어짐
+        journal.close();
+
+        Collection<MatchTicket> waiting = open().recover();
+        assertThat(waiting).extracting(MatchTicket::requestId).containsExactly(3L);
+        assertThat(waiting.iterator().next()).isEqualTo(ticket(3));
+    }
+
+    @Test
+    void snapshotPlusTailAcrossSegments() throws Exception {
+        MatchJournal journal = open();
+        journal.recover();
+        List<MatchTicket> all = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            MatchTicket t = ticket(id);
+            journal.enqueued(t);
+            all.add(t);
+        }
+        journal.checkpoint(() -> all);
+        for (long id = 1; id <= 50_000; id++) journal.cancelled(id);
+        journal.enqueued(ticket(100_001));
+        journal.close();
+
+        long started = System.nanoTime();
+        Collection<MatchTicket> waiting = open().recover();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(waiting).hasSize(50_001);
+        assertThat(waiting).extracting(MatchTicket::requestId).doesNotContain(1L, 50_000L).contains(100_001L);
+        assertThat(elapsedMs).isLessThan(5_000); // 목표는 1초 미만, CI 편차 여유
+        try (Stream<Path> files = Files.list(dir)) {
+            assertThat(files.filter(p -> p.toString().endsWith(".bin")).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void ignoresTornTail() throws Exception {
+        MatchJournal journal = open();
+        journal.recover();
+        journal.enqueued(ticket(1));
+        journal.enqueued(ticket(2));
+        long end = journal.lsn();
+        journal.close();
+
+        // 마지막 레코드 본문 일부를 망가뜨림 → CRC 불일치
+        Path segment;
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(p -> p.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        try (RandomAccessFile f = new RandomAccessFile(segment.toFile(), "rw")) {
+            f.seek(end - 3);
+            f.write(0x7F);
+        }
+
+        MatchJournal reopened = open();
+        assertThat(reopened.recover()).extracting(MatchTicket::requestId).containsExactly(1L);
+        reopened.enqueued(ticket(3));
+        reopened.close();
+        assertThat(open().recover()).extracting(MatchTicket::requestId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    private MatchJournal open() {
+        return new MatchJournal(new SimpleMeterRegistry(), dictionary, dir.toString(), 1);
+    }
+
+    private MatchTicket ticket(long id) {
+        Set<String> interests = Set.of("음악", "여행");
+        return new MatchTicket(id, 1000 + id, "닉네임" + id, 'F', 'A', 25, 20, 30, "SEOUL", id % 2 == 1,
+                interests, dictionary.encode(interests));
+    }
+}
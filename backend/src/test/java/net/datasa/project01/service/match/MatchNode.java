@@ -0,0 +1,81 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.MatchRequestCreate;
+import net.datasa.project01.domain.entity.MatchRequest;
+import net.datasa.project01.repository.MockUserRepository;
+import net.datasa.project01.repository.mock.MockMatchRequestRepository;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 매칭 노드 하나를 Spring 없이 조립 (MatchClusterMultiJvmTest 의 부모/자식 JVM 이 같이 씀)
+ * - 회원은 모든 JVM 에 같은 순서로 만들어 회원번호가 같다 (실제로는 같은 DB)
+ * - request_id 는 노드마다 대역을 나눈다 (실제로는 같은 테이블의 AUTO_INCREMENT)
+ */
+public class MatchNode {
+
+    /** 회원번호 1..WOMEN 은 여자 25세, MAN 은 남자 27세 */
+    public static final int WOMEN = 7;
+    public static final long MAN = WOMEN + 1;
+
+    public final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    public final MatchService service;
+    public final MatchGateway gateway;
+    private final MatchNotifier notifier;
+    private final TimingWheel wheel;
+
+    /** cluster.start() 전에 만들어야 처리기가 먼저 등록된다 */
+    public MatchNode(MatchCluster cluster, long requestIdBase, List<String> regions) throws IOException {
+        MockUserRepository users = new MockUserRepository(new MockSnapshotStore(""));
+        for (int i = 1; i <= WOMEN; i++) MatchFixtures.user(users, "woman" + i, "F", 25);
+        MatchFixtures.user(users, "man", "M", 27);
+        AtomicLong ids = new AtomicLong(requestIdBase);
+        MockMatchRequestRepository requests = new MockMatchRequestRepository() {
+            @Override
+            public MatchRequest save(MatchRequest request) {
+                if (request.getRequestId() == null) {
+                    request.setRequestId(ids.incrementAndGet());
+                    request.setRequestedAt(LocalDateTime.now());
+                }
+                return super.save(request);
+            }
+        };
+        wheel = new TimingWheel(registry, 10, 64);
+        notifier = new MatchNotifier(registry, wheel, 1, 60_000, 64, 1000);
+        service = MatchFixtures.service(registry, requests, users, notifier,
+                new MatchStatusFlusher(requests, registry, 500), cluster, wheel);
+        service.recover();
+
+        gateway = new MatchGateway(service, cluster, notifier, registry);
+        ReflectionTestUtils.setField(gateway, "regions", regions);
+        gateway.init();
+    }
+
+    /** 이 노드가 기억하는 사용자 → 요청 노드 항목 수 */
+    public double holders() {
+        return registry.get("match.cluster.holders").gauge().value();
+    }
+
+    public void stop() {
+        wheel.stop();
+        notifier.shutdown();
+    }
+
+    public static MatchRequestCreate create(String choiceGender, String region, boolean anyRegion) {
+        MatchRequestCreate req = new MatchRequestCreate();
+        req.setChoiceGender(choiceGender);
+        req.setMinAge(20);
+        req.setMaxAge(30);
+        req.setRegionCode(region);
+        req.setAnyRegion(anyRegion);
+        req.setInterestsJson(List.of("음악"));
+        return req;
+    }
+}
@@ -0,0 +1,60 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 매칭 SSE 알림 — 응답은 호출 스레드에서 만들고, 밀린 레인은 연결을 닫아 끊어 낸다
+ */
+class MatchNotifierTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final TimingWheel wheel = new TimingWheel(registry, 10, 64);
+    private final MatchNotifier notifier = new MatchNotifier(registry, wheel, 1, 60_000, 2, 1000);
+    private final MatchResultResponse body = MatchResultResponse.builder().requestId(7L).build();
+
+    @AfterEach
+    void shutdown() {
+        notifier.shutdown();
+        wheel.stop();
+    }
+
+    @Test
+    void payloadIsBuiltOnThePublishingThread() {
+        notifier.subscribe(1L, null);
+        AtomicReference<Thread> builtOn = new AtomicReference<>();
+        notifier.publish(1L, () -> {
+            builtOn.set(Thread.currentThread());
+            return body;
+        });
+        assertThat(builtOn.get()).isSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void fullLaneClosesTheUsersConnectionsInsteadOfQueueing() {
+        CountDownLatch stuck = new CountDownLatch(1);
+        notifier.relayTo((userPid, b) -> {
+            try {
+                stuck.await(); // 레인 스레드를 붙잡아 둠
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        notifier.subscribe(1L, null);
+
+        // 하나는 레인에서 막혀 있고, 둘은 대기열(lane-queue=2), 넷째는 들어갈 자리가 없음
+        for (int i = 0; i < 4; i++) notifier.publish(1L, () -> body);
+
+        assertThat(registry.get("match.sse.dropped").counter().count()).isEqualTo(1.0);
+        assertThat(notifier.isSubscribed(1L)).isFalse();
+        assertThat(registry.get("match.sse.connections").gauge().value()).isZero();
+        stuck.countDown();
+    }
+}
@@ -0,0 +1,228 @@
+package net.datasa.project01.service.match;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.MatchRequestCreate;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.domain.vo.HandshakeState;
+import net.datasa.project01.domain.vo.MatchStatus;
+import net.datasa.project01.repository.MockUserRepository;
+import net.datasa.project01.repository.mock.MockMatchRequestRepository;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 매칭 서비스 — 요청 → 대기/매칭 → 상태 조회, 취소
+ * 수락 절차(수락/거절/시간 초과)는 실제 TimingWheel 로 돌린다
+ */
+class MatchServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MockUserRepository users = new MockUserRepository(new MockSnapshotStore(""));
+    private final MockMatchRequestRepository requests = new MockMatchRequestRepository();
+    private final TimingWheel wheel = new TimingWheel(registry, 10, 64);
+    private final MatchStatusFlusher flusher = new MatchStatusFlusher(requests, registry, 500);
+    private final MatchService service = MatchFixtures.service(registry, requests, users,
+            new MatchNotifier(registry, wheel, 1, 60_000, 64, 1000), flusher,
+            new MatchCluster(new ObjectMapper(), registry, false, "n1", "127.0.0.1:7690", false, 5000, 3000, 16),
+            wheel);
+
+    @AfterEach
+    void stopWheel() {
+        wheel.stop();
+    }
+
+    @Test
+    void waitsThenMatchesAndBothSeeTheSameSession() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+
+        MatchResultResponse first = service.request(alice, create("M", 20, 30));
+        assertThat(first.getStatus()).isEqualTo(MatchStatus.WAITING);
+        assertThat(first.getPartner()).isNull();
+
+        MatchResultResponse second = service.request(bob, create("F", 20, 30));
+        assertThat(second.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(second.getPartner().getUserId()).isEqualTo(alice);
+        assertThat(second.getPartner().getNickname()).isEqualTo("alice");
+        assertThat(second.getHandshake()).isEqualTo(HandshakeState.PROPOSED);
+
+        MatchResultResponse view = service.result(alice, null);
+        assertThat(view.getRequestId()).isEqualTo(first.getRequestId());
+        assertThat(view.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(view.getPartner().getNickname()).isEqualTo("bob");
+        assertThat(view.getSessionId()).isNotNull().isEqualTo(second.getSessionId());
+        assertThat(view.getAccepted()).isFalse();
+    }
+
+    @Test
+    void cancelledRequestLeavesTheQueue() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+
+        MatchResultResponse waiting = service.request(alice, create("M", 20, 30));
+        MatchResultResponse cancelled = service.cancel(alice, waiting.getRequestId());
+        assertThat(cancelled.getStatus()).isEqualTo(MatchStatus.CANCELLED);
+        assertThat(cancelled.getReason()).isEqualTo("CANCELLED");
+
+        assertThat(service.request(bob, create("F", 20, 30)).getStatus()).isEqualTo(MatchStatus.WAITING);
+    }
+
+    @Test
+    void newRequestReplacesThePreviousOne() {
+        long alice = user("alice", "F", 25);
+        MatchResultResponse old = service.request(alice, create("M", 20, 30));
+        MatchResultResponse latest = service.request(alice, create("M", 20, 40));
+
+        assertThat(service.result(alice, old.getRequestId()).getReason()).isEqualTo("REPLACED");
+        assertThat(service.result(alice, null).getRequestId()).isEqualTo(latest.getRequestId());
+    }
+
+    @Test
+    void rejectsInvalidRangeAndOtherUsersRequest() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+        assertThatThrownBy(() -> service.request(alice, create("M", 30, 20)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        MatchResultResponse mine = service.request(alice, create("M", 20, 30));
+        assertThatThrownBy(() -> service.result(bob, mine.getRequestId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void bothAcceptingConfirmsTheMatch() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+        MatchResultResponse waiting = service.request(alice, create("M", 20, 30));
+        MatchResultResponse matched = service.request(bob, create("F", 20, 30));
+
+        MatchResultResponse first = service.accept(alice, waiting.getRequestId(), bob);
+        assertThat(first.getHandshake()).isEqualTo(HandshakeState.ONE_ACCEPTED);
+        assertThat(first.getAccepted()).isTrue();
+        assertThat(first.getPartnerAccepted()).isFalse();
+
+        MatchResultResponse both = service.accept(bob, matched.getRequestId(), alice);
+        assertThat(both.getHandshake()).isEqualTo(HandshakeState.CONFIRMED);
+        assertThat(service.result(alice, null).getHandshake()).isEqualTo(HandshakeState.CONFIRMED);
+        assertThatThrownBy(() -> service.decline(alice, waiting.getRequestId(), bob))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void confirmedMatchIsRecordedAndNotOverwrittenByALaterRequestOrCancel() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+        MatchResultResponse waiting = service.request(alice, create("M", 20, 30));
+        MatchResultResponse matched = service.request(bob, create("F", 20, 30));
+        service.accept(alice, waiting.getRequestId(), bob);
+        service.accept(bob, matched.getRequestId(), alice);
+        flusher.flush();
+        assertThat(requests.findById(waiting.getRequestId()).orElseThrow().getStatus()).isEqualTo(MatchStatus.CONFIRMED);
+        assertThat(requests.findById(matched.getRequestId()).orElseThrow().getStatus()).isEqualTo(MatchStatus.CONFIRMED);
+
+        service.request(alice, create("M", 20, 30)); // 성사된 뒤 다시 매칭 요청
+        service.cancel(bob, matched.getRequestId());
+        flusher.flush();
+        assertThat(requests.findById(waiting.getRequestId()).orElseThrow().getStatus()).isEqualTo(MatchStatus.CONFIRMED);
+        assertThat(requests.findById(matched.getRequestId()).orElseThrow().getStatus()).isEqualTo(MatchStatus.CONFIRMED);
+        assertThat(service.result(bob, matched.getRequestId()).getHandshake()).isEqualTo(HandshakeState.CONFIRMED);
+    }
+
+    @Test
+    void declineRequeuesThePartnerAndKeepsThePairApart() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+        long dave = user("dave", "M", 28);
+        MatchResultResponse waiting = service.request(alice, create("M", 20, 30));
+        MatchResultResponse matched = service.request(bob, create("F", 20, 30));
+
+        MatchResultResponse declined = service.decline(bob, matched.getRequestId(), alice);
+        assertThat(declined.getStatus()).isEqualTo(MatchStatus.CANCELLED);
+        assertThat(declined.getReason()).isEqualTo("DECLINED");
+        MatchResultResponse requeued = service.result(alice, null);
+        assertThat(requeued.getRequestId()).isEqualTo(waiting.getRequestId());
+        assertThat(requeued.getStatus()).isEqualTo(MatchStatus.WAITING);
+        assertThat(requeued.getReason()).isEqualTo("PARTNER_DECLINED");
+
+        // 거절한 두 사람은 다시 짝지어지지 않고, 다른 사람과는 짝지어진다
+        assertThat(service.request(bob, create("F", 20, 30)).getStatus()).isEqualTo(MatchStatus.WAITING);
+        MatchResultResponse next = service.request(dave, create("F", 20, 30));
+        assertThat(next.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(next.getPartner().getUserId()).isEqualTo(alice);
+    }
+
+    @Test
+    void handshakeTimeoutRequeuesTheAcceptedSideAheadOfLaterRequests() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "handshakeTimeoutSeconds", 1L);
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+        long carol = user("carol", "F", 26);
+        long dave = user("dave", "M", 28);
+        MatchResultResponse aliceWaiting = service.request(alice, create("M", 20, 30));
+        MatchResultResponse bobMatched = service.request(bob, create("F", 20, 30));
+        MatchResultResponse carolWaiting = service.request(carol, create("M", 20, 30)); // alice 보다 늦게 줄 섬
+        assertThat(carolWaiting.getStatus()).isEqualTo(MatchStatus.WAITING);
+        service.accept(alice, aliceWaiting.getRequestId(), bob); // bob 은 응답하지 않음
+
+        awaitStatus(alice, MatchStatus.WAITING);
+        assertThat(service.result(alice, null).getReason()).isEqualTo("PARTNER_TIMEOUT");
+        MatchResultResponse silent = service.result(bob, bobMatched.getRequestId());
+        assertThat(silent.getStatus()).isEqualTo(MatchStatus.CANCELLED);
+        assertThat(silent.getReason()).isEqualTo("NO_RESPONSE");
+
+        // 되돌아간 alice 는 원래 순번 그대로 → 나중에 온 carol 보다 먼저 짝지어진다
+        MatchResultResponse next = service.request(dave, create("F", 20, 30));
+        assertThat(next.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(next.getPartner().getUserId()).isEqualTo(alice);
+        assertThat(service.result(carol, null).getStatus()).isEqualTo(MatchStatus.WAITING);
+    }
+
+    @Test
+    void adoptingTheSameHandoffTwiceQueuesItOnce() {
+        long alice = user("alice", "F", 25);
+        long bob = user("bob", "M", 27);
+        long dave = user("dave", "M", 28);
+        MatchResultResponse waiting = service.request(alice, create("M", 20, 30));
+        List<MatchHandoff> moving = service.handOff("SEOUL");
+        assertThat(service.holding(List.of(waiting.getRequestId()))).isEmpty();
+
+        service.adopt(moving);
+        service.adopt(moving); // 응답을 못 받은 쪽이 다시 보낸 넘기기
+        assertThat(service.holding(List.of(waiting.getRequestId()))).containsExactly(waiting.getRequestId());
+
+        assertThat(service.request(bob, create("F", 20, 30)).getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(service.request(dave, create("F", 20, 30)).getStatus()).isEqualTo(MatchStatus.WAITING);
+    }
+
+    /** 시간 초과는 TimingWheel 스레드에서 일어나므로 최대 5초 기다림 */
+    private void awaitStatus(long userPid, MatchStatus status) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (service.result(userPid, null).getStatus() != status) {
+            if (System.currentTimeMillis() > deadline) throw new AssertionError(status + " 가 되지 않음");
+            Thread.sleep(20);
+        }
+    }
+
+    private long user(String loginId, String gender, int age) {
+        return MatchFixtures.user(users, loginId, gender, age);
+    }
+
+    private static MatchRequestCreate create(String choiceGender, int minAge, int maxAge) {
+        MatchRequestCreate req = new MatchRequestCreate();
+        req.setChoiceGender(choiceGender);
+        req.setMinAge(minAge);
+        req.setMaxAge(maxAge);
+        req.setRegionCode("seoul");
+        req.setInterestsJson(List.of("음악"));
+        return req;
+    }
+}
@@ -0,0 +1,63 @@
+package net.datasa.project01.service.match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 타이밍 휠 — 만료, 취소, 한 바퀴보다 먼 예약(rounds)
+ */
+class TimingWheelTest {
+
+    // 10ms × 8칸 = 한 바퀴 80ms
+    private final TimingWheel wheel = new TimingWheel(new SimpleMeterRegistry(), 10, 8);
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void firesNotBeforeDeadline() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        AtomicLong at = new AtomicLong();
+        long start = System.nanoTime();
+        wheel.schedule(50, t -> {
+            at.set(System.nanoTime() - start);
+            fired.countDown();
+        });
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(at.get())).isGreaterThanOrEqualTo(50);
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void cancelledTimeoutDoesNotFire() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        TimingWheel.Timeout t = wheel.schedule(30, x -> calls.incrementAndGet());
+        assertThat(t.cancel()).isTrue();
+        assertThat(t.cancel()).isFalse();
+        CountDownLatch after = new CountDownLatch(1);
+        wheel.schedule(100, x -> after.countDown());
+        assertThat(after.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(calls).hasValue(0);
+        assertThat(t.isCancelled()).isTrue();
+    }
+
+    @Test
+    void delayLongerThanOneRevolutionWaitsExtraRounds() throws InterruptedException {
+        CountDownLatch fired = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(250, t -> fired.countDown()); // 3바퀴 넘게
+        assertThat(fired.await(120, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(fired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(250);
+    }
+}
@@ -0,0 +1,34 @@
+package net.datasa.project01.service.match.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.datasa.project01.service.match.MatchNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MatchClusterMultiJvmTest 가 별도 JVM 으로 띄우는 노드
+ * - args: 브로커 포트, 노드 id, request_id 대역 시작
+ * - MatchGateway 처리기(request/holds/adopt/peek ...) 가 모두 붙은 매칭 노드
+ * - "owners" : 이 노드가 보는 지역별 주인, "fail" : IllegalArgumentException
+ */
+public class ClusterNodeMain {
+
+    public static void main(String[] args) throws Exception {
+        MatchCluster cluster = MatchClusterMultiJvmTest.node(new ObjectMapper(), Integer.parseInt(args[0]), args[1]);
+        new MatchNode(cluster, Long.parseLong(args[2]), MatchClusterMultiJvmTest.REGIONS);
+        cluster.handle("owners", body -> {
+            Map<String, String> owners = new LinkedHashMap<>();
+            for (String region : MatchClusterMultiJvmTest.REGIONS) owners.put(region, cluster.ownerOf(region));
+            return owners;
+        });
+        cluster.handle("fail", body -> {
+            throw new IllegalArgumentException("잘못된 요청: " + body.asText());
+        });
+        cluster.start();
+        while (true) { // 부모 테스트가 프로세스를 끝낼 때까지
+            cluster.heartbeat();
+            Thread.sleep(200);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package net.datasa.project01.service.match.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일관 해싱 — 노드가 늘거나 줄 때 그 노드 몫만 주인이 바뀐다
+ */
+class HashRingTest {
+
+    @Test
+    void addingNodeOnlyMovesKeysToIt() {
+        HashRing before = new HashRing(List.of("a", "b", "c"), 128);
+        HashRing after = new HashRing(List.of("a", "b", "c", "d"), 128);
+        int moved = 0;
+        for (int i = 0; i < 10_000; i++) {
+            String key = "key-" + i;
+            if (!before.owner(key).equals(after.owner(key))) {
+                assertThat(after.owner(key)).isEqualTo("d");
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(1_500, 3_500); // 약 1/4
+    }
+
+    @Test
+    void removingNodeOnlyMovesItsKeys() {
+        HashRing before = new HashRing(List.of("a", "b", "c"), 128);
+        HashRing after = new HashRing(List.of("a", "c"), 128);
+        for (int i = 0; i < 10_000; i++) {
+            String key = "key-" + i;
+            if (!before.owner(key).equals("b")) assertThat(after.owner(key)).isEqualTo(before.owner(key));
+        }
+    }
+
+    @Test
+    void spreadsKeysAndAgreesRegardlessOfOrder() {
+        HashRing ring = new HashRing(List.of("a", "b", "c"), 128);
+        HashRing reversed = new HashRing(List.of("c", "b", "a"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 30_000; i++) {
+            String key = "key-" + i;
+            assertThat(reversed.owner(key)).isEqualTo(ring.owner(key));
+            counts.merge(ring.owner(key), 1, Integer::sum);
+        }
+        assertThat(counts.values()).allSatisfy(n -> assertThat(n).isBetween(7_000, 13_000));
+        assertThat(new HashRing(List.of(), 128).owner("SEOUL")).isNull();
+    }
+}
@@ -0,0 +1,216 @@
+package net.datasa.project01.service.match.cluster;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.domain.vo.HandshakeState;
+import net.datasa.project01.domain.vo.MatchStatus;
+import net.datasa.project01.service.match.MatchNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 한 머신에서 JVM 3개(이 테스트 + 자식 2개)로 클러스터를 띄워 확인
+ * - 로컬 브로커를 통한 합류, 노드 간 요청/응답, 지역 주인 합의
+ * - 노드 하나가 죽으면 그 노드 지역만 살아 있는 노드로 넘어감
+ * - MatchGateway: 새 요청은 지역 주인 노드로, 노드가 합류하면 넘겨준 지역의 대기 요청이 순번 그대로 옮겨 감,
+ *   다른 지역도 허용한 요청은 다른 노드의 지역 대기열에서 짝을 찾음
+ */
+class MatchClusterMultiJvmTest {
+
+    static final List<String> REGIONS = List.of("SEOUL", "BUSAN", "TOKYO", "OSAKA", "FUKUOKA", "JEJU", "OTHER");
+    private static final TypeReference<Map<String, String>> OWNERS = new TypeReference<>() {};
+
+    private final List<Process> children = new ArrayList<>();
+    private LocalBroker broker;
+    private MatchCluster self;
+    private MatchNode here;
+
+    static MatchCluster node(ObjectMapper mapper, int brokerPort, String nodeId) {
+        return new MatchCluster(mapper, new SimpleMeterRegistry(), true, nodeId, "127.0.0.1:" + brokerPort,
+                false, 1500, 3000, 64);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        children.forEach(Process::destroyForcibly);
+        if (here != null) here.stop();
+        if (self != null) self.stop();
+        if (broker != null) broker.close();
+    }
+
+    @Test
+    void nodesInSeparateJvmsShareOwnershipAndHandOffOnFailure() throws Exception {
+        broker = new LocalBroker(0);
+        Process b = spawn("node-b", 2_000_000);
+        spawn("node-c", 3_000_000);
+        self = node(new ObjectMapper(), broker.port(), "node-a");
+        AtomicInteger ringChanges = new AtomicInteger();
+        self.onRingChange(ringChanges::incrementAndGet);
+        self.start();
+
+        awaitWithHeartbeat(() -> self.nodes().size() == 3);
+        assertThat(self.nodes()).containsExactly("node-a", "node-b", "node-c");
+
+        // 모든 노드가 같은 주인을 본다 (자식이 서로를 다 볼 때까지 기다림)
+        Map<String, String> expected = new LinkedHashMap<>();
+        REGIONS.forEach(r -> expected.put(r, self.ownerOf(r)));
+        for (String child : List.of("node-b", "node-c")) {
+            awaitWithHeartbeat(() -> expected.equals(self.call(child, "owners", null, OWNERS)));
+        }
+
+        // 상대 쪽 IllegalArgumentException 은 그대로 (→ 400)
+        assertThatThrownBy(() -> self.call("node-b", "fail", "x"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("잘못된 요청: x");
+
+        // node-b 가 죽으면 타임아웃 뒤 링에서 빠지고, node-b 가 아니던 지역의 주인은 그대로
+        int changesBefore = ringChanges.get();
+        b.destroyForcibly().waitFor();
+        awaitWithHeartbeat(() -> self.nodes().size() == 2);
+        assertThat(ringChanges.get()).isGreaterThan(changesBefore);
+        for (String region : REGIONS) {
+            if (!expected.get(region).equals("node-b")) assertThat(self.ownerOf(region)).isEqualTo(expected.get(region));
+            else assertThat(self.ownerOf(region)).isIn("node-a", "node-c");
+        }
+        // node-c 도 자기 타임아웃 뒤 같은 링을 본다
+        Map<String, String> after = new LinkedHashMap<>();
+        REGIONS.forEach(r -> after.put(r, self.ownerOf(r)));
+        awaitWithHeartbeat(() -> after.equals(self.call("node-c", "owners", null, OWNERS)));
+    }
+
+    @Test
+    void gatewaySendsRequestsToTheRegionOwnerAndForgetsThemWhenDone() throws Exception {
+        startWithNodeB();
+        String remote = regionOwnedBy("node-b");
+
+        MatchResultResponse waiting = here.gateway.request(1L, MatchNode.create("M", remote, false));
+        assertThat(waiting.getStatus()).isEqualTo(MatchStatus.WAITING);
+        assertThat(waiting.getRequestId()).isGreaterThan(2_000_000L); // node-b 가 발급
+        assertThat(here.service.holds(1L)).isFalse();
+        assertThat(self.call("node-b", "holds", 1L, Long.class)).isEqualTo(waiting.getRequestId());
+
+        MatchResultResponse matched = here.gateway.request(MatchNode.MAN, MatchNode.create("F", remote, false));
+        assertThat(matched.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(matched.getPartner().getUserId()).isEqualTo(1L);
+
+        // 조회/수락도 요청을 가진 node-b 에서 처리
+        MatchResultResponse view = here.gateway.result(1L, null);
+        assertThat(view.getSessionId()).isEqualTo(matched.getSessionId());
+        here.gateway.accept(1L, view.getRequestId(), MatchNode.MAN);
+        MatchResultResponse confirmed = here.gateway.accept(MatchNode.MAN, matched.getRequestId(), 1L);
+        assertThat(confirmed.getHandshake()).isEqualTo(HandshakeState.CONFIRMED);
+
+        // 끝난 요청은 node-a 의 사용자 → 노드 표에서도 빠진다 (node-b 의 match.released 방송)
+        awaitWithHeartbeat(() -> here.holders() == 0);
+        assertThat(here.gateway.result(1L, null).getHandshake()).isEqualTo(HandshakeState.CONFIRMED); // 물어서 다시 찾음
+    }
+
+    @Test
+    void joiningNodeAdoptsTheWaitingRequestsOfItsRegions() throws Exception {
+        broker = new LocalBroker(0);
+        self = node(new ObjectMapper(), broker.port(), "node-a");
+        here = new MatchNode(self, 1_000_000, REGIONS);
+        self.start();
+
+        // 혼자일 때는 모든 지역이 node-a → 지역마다 대기 요청 하나
+        Map<String, Long> requestIds = new LinkedHashMap<>();
+        for (int i = 0; i < REGIONS.size(); i++) {
+            MatchResultResponse r = here.gateway.request(i + 1L, MatchNode.create("M", REGIONS.get(i), false));
+            assertThat(r.getStatus()).isEqualTo(MatchStatus.WAITING);
+            requestIds.put(REGIONS.get(i), r.getRequestId());
+        }
+
+        spawn("node-b", 2_000_000);
+        awaitWithHeartbeat(() -> self.nodes().size() == 2);
+
+        // node-b 지역의 대기 요청은 node-b 로, 나머지는 제자리
+        awaitWithHeartbeat(() -> REGIONS.stream().allMatch(r ->
+                here.service.holds(REGIONS.indexOf(r) + 1L) == self.ownerOf(r).equals("node-a")));
+        String moved = regionOwnedBy("node-b");
+        long mover = REGIONS.indexOf(moved) + 1L;
+        Long requestId = requestIds.get(moved);
+        awaitWithHeartbeat(() -> requestId.equals(self.call("node-b", "holds", mover, Long.class))); // request_id 그대로
+        awaitWithHeartbeat(() -> requestId.equals(here.gateway.result(mover, null).getRequestId()));
+
+        // 넘겨받은 요청은 node-b 대기열에 들어가 있어 바로 짝이 된다
+        MatchResultResponse matched = here.gateway.request(MatchNode.MAN, MatchNode.create("F", moved, false));
+        assertThat(matched.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(matched.getPartner().getUserId()).isEqualTo(mover);
+        assertThat(here.gateway.result(mover, null).getSessionId()).isEqualTo(matched.getSessionId());
+    }
+
+    @Test
+    void anyRegionRequestFindsItsPartnerInAnotherNodesRegion() throws Exception {
+        startWithNodeB();
+        String local = regionOwnedBy("node-a");
+        String remote = regionOwnedBy("node-b");
+
+        MatchResultResponse relaxed = here.gateway.request(1L, MatchNode.create("M", local, true));
+        assertThat(relaxed.getStatus()).isEqualTo(MatchStatus.WAITING);
+        assertThat(here.service.holds(1L)).isTrue();
+        MatchResultResponse strict = here.gateway.request(MatchNode.MAN, MatchNode.create("F", remote, false));
+        assertThat(strict.getStatus()).isEqualTo(MatchStatus.WAITING);
+
+        // node-b 의 remote 대기열을 살펴보고 그쪽으로 옮겨 매칭
+        here.gateway.probeRelaxed();
+        assertThat(here.service.holds(1L)).isFalse();
+        MatchResultResponse mine = here.gateway.result(1L, null);
+        assertThat(mine.getRequestId()).isEqualTo(relaxed.getRequestId());
+        assertThat(mine.getStatus()).isEqualTo(MatchStatus.MATCHED);
+        assertThat(mine.getPartner().getUserId()).isEqualTo(MatchNode.MAN);
+        assertThat(here.gateway.result(MatchNode.MAN, null).getSessionId()).isEqualTo(mine.getSessionId());
+    }
+
+    /** node-a(이 JVM, 매칭 노드) + node-b(자식) — 두 노드가 같은 링을 볼 때까지 */
+    private void startWithNodeB() throws Exception {
+        broker = new LocalBroker(0);
+        spawn("node-b", 2_000_000);
+        self = node(new ObjectMapper(), broker.port(), "node-a");
+        here = new MatchNode(self, 1_000_000, REGIONS);
+        self.start();
+        awaitWithHeartbeat(() -> self.nodes().size() == 2);
+        Map<String, String> expected = new LinkedHashMap<>();
+        REGIONS.forEach(r -> expected.put(r, self.ownerOf(r)));
+        awaitWithHeartbeat(() -> expected.equals(self.call("node-b", "owners", null, OWNERS)));
+    }
+
+    private String regionOwnedBy(String node) {
+        return REGIONS.stream().filter(r -> self.ownerOf(r).equals(node)).findFirst()
+                .orElseThrow(() -> new AssertionError(node + " 가 가진 지역이 없음"));
+    }
+
+    private Process spawn(String nodeId, long requestIdBase) throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process p = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ClusterNodeMain.class.getName(), String.valueOf(broker.port()), nodeId, String.valueOf(requestIdBase))
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        children.add(p);
+        return p;
+    }
+
+    /** 조건이 맞을 때까지 (이 노드 heartbeat 를 직접 돌리며) 최대 20초 */
+    private void awaitWithHeartbeat(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (System.currentTimeMillis() < deadline) {
+            self.heartbeat();
+            try {
+                if (condition.getAsBoolean()) return;
+            } catch (RuntimeException retry) {
+                // 아직 합류 전이면 응답이 없을 수 있음
+            }
+            Thread.sleep(200);
+        }
+        throw new AssertionError("20초 안에 조건을 만족하지 못함");
+    }
+}
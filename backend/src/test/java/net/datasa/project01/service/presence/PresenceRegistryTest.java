@@ -0,0 +1,166 @@
+package net.datasa.project01.service.presence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.domain.dto.MatchResultResponse;
+import net.datasa.project01.domain.dto.UserPresence;
+import net.datasa.project01.domain.entity.Room;
+import net.datasa.project01.domain.entity.RoomMember;
+import net.datasa.project01.domain.vo.PresenceStatus;
+import net.datasa.project01.domain.vo.RoomRole;
+import net.datasa.project01.domain.vo.RoomType;
+import net.datasa.project01.repository.mock.MockFollowRepository;
+import net.datasa.project01.repository.mock.MockRoomRepository;
+import net.datasa.project01.service.chat.ChatConnection;
+import net.datasa.project01.service.chat.ChatHub;
+import net.datasa.project01.service.chat.ChatOutbound;
+import net.datasa.project01.service.match.MatchGateway;
+import net.datasa.project01.service.match.TimingWheel;
+import net.datasa.project01.service.match.cluster.MatchCluster;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 접속 상태 — 하트비트 만료(휠), 여러 명 조회, 변경 합치기/묶어 보내기 (지켜보는 연결, 방 구독자),
+ * 지켜볼 수 있는 범위 (팔로우/같은 방/매칭 상대)
+ */
+class PresenceRegistryTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper mapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+    private final TimingWheel wheel = new TimingWheel(registry, 10, 8);
+    private final ChatHub hub = new ChatHub(registry, 16, 4);
+    private final MockRoomRepository rooms = new MockRoomRepository();
+    private final MockFollowRepository follows = new MockFollowRepository();
+    /** userPid → 매칭 상대 (없으면 매칭 요청이 없는 사용자처럼) */
+    private final Map<Long, Long> partners = new HashMap<>();
+    private final MatchGateway matches = new MatchGateway(null, null, null, registry) {
+        @Override
+        public MatchResultResponse result(Long userPid, Long requestId) {
+            Long partner = partners.get(userPid);
+            if (partner == null) throw new IllegalArgumentException("매칭 요청을 찾을 수 없습니다.");
+            return MatchResultResponse.builder()
+                    .partner(new MatchResultResponse.Partner(partner, "p" + partner)).build();
+        }
+    };
+    private final PresenceAudience audience = new PresenceAudience(follows, rooms, matches);
+    private final PresenceBroadcaster broadcaster = new PresenceBroadcaster(hub, rooms, audience, mapper, registry, 5000, 500);
+    private final PresenceRegistry presence = new PresenceRegistry(wheel, broadcaster,
+            new MatchCluster(mapper, registry, false, "n1", "127.0.0.1:7690", false, 5000, 3000, 16), registry, 8, 200);
+
+    @AfterEach
+    void stopWheel() {
+        wheel.stop();
+    }
+
+    @Test
+    void expiresWithoutHeartbeatAndHeartbeatsExtend() throws InterruptedException {
+        presence.heartbeat(1, PresenceStatus.ONLINE);
+        presence.heartbeat(2, PresenceStatus.AWAY);
+        assertThat(presence.nodeOf(1)).isEqualTo("n1");
+        for (int i = 0; i < 6; i++) { // 1 만 계속 하트비트 (ttl 200ms 의 약 2배 동안)
+            Thread.sleep(70);
+            presence.heartbeat(1, PresenceStatus.ONLINE);
+        }
+        assertThat(presence.status(1)).isEqualTo(PresenceStatus.ONLINE);
+        assertThat(presence.status(2)).isEqualTo(PresenceStatus.OFFLINE);
+        assertThat(presence.onlineCount()).isEqualTo(1);
+        assertThat(registry.counter("presence.expired").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void bulkQueryReturnsOnlyOnlineUsers() {
+        for (long pid = 1; pid <= 500; pid += 2) presence.heartbeat(pid, PresenceStatus.ONLINE);
+        presence.heartbeat(4, PresenceStatus.AWAY);
+        List<UserPresence> online = presence.online(LongStream.rangeClosed(1, 500).boxed().toList());
+        assertThat(online).hasSize(251);
+        assertThat(online).contains(new UserPresence(4, PresenceStatus.AWAY));
+        assertThat(online).doesNotContain(new UserPresence(2, PresenceStatus.ONLINE));
+    }
+
+    @Test
+    void coalescesChangesAndBatchesPerConnection() {
+        FakeOutbound out = new FakeOutbound();
+        ChatConnection watcher = hub.connect(100, "t100", out);
+        for (long pid = 1; pid <= 3; pid++) follows.accept(100, pid);
+        broadcaster.watch(watcher, List.of(1L, 2L, 3L));
+
+        presence.heartbeat(1, PresenceStatus.ONLINE);
+        presence.heartbeat(2, PresenceStatus.ONLINE);
+        presence.heartbeat(3, PresenceStatus.ONLINE);
+        presence.offline(3);                          // 한 주기 안에 들어왔다 나감 → 안 보냄
+        presence.heartbeat(2, PresenceStatus.AWAY);   // 마지막 상태만
+        presence.heartbeat(9, PresenceStatus.ONLINE); // 지켜보지 않음
+        broadcaster.flush();
+
+        assertThat(out.sent).singleElement().satisfies(frame -> assertThat(frame)
+                .contains("\"type\":\"presence\"")
+                .contains("{\"user_id\":1,\"status\":\"ONLINE\"}")
+                .contains("{\"user_id\":2,\"status\":\"AWAY\"}")
+                .doesNotContain("\"user_id\":3")
+                .doesNotContain("\"user_id\":9"));
+
+        broadcaster.flush(); // 바뀐 게 없으면 안 보냄
+        broadcaster.unwatchAll(watcher);
+        presence.offline(1);
+        broadcaster.flush();
+        assertThat(out.sent).hasSize(1);
+    }
+
+    @Test
+    void notifiesSubscribersOfRoomsTheUserBelongsTo() {
+        Room room = rooms.save(Room.builder().roomType(RoomType.RANDOM).capacity(2).build());
+        for (long pid : new long[]{1, 2}) {
+            rooms.addMember(RoomMember.builder().roomId(room.getRoomId()).userPid(pid).role(RoomRole.MEMBER).build());
+        }
+        FakeOutbound out = new FakeOutbound();
+        hub.join(hub.connect(2, "t2", out), room.getRoomId());
+
+        presence.heartbeat(1, PresenceStatus.ONLINE);
+        presence.heartbeat(7, PresenceStatus.ONLINE); // 방 멤버 아님
+        broadcaster.flush();
+
+        assertThat(out.sent).singleElement().satisfies(frame -> assertThat(frame)
+                .contains("\"room_id\":" + room.getRoomId())
+                .contains("{\"user_id\":1,\"status\":\"ONLINE\"}")
+                .doesNotContain("\"user_id\":7"));
+    }
+
+    @Test
+    void watchKeepsOnlyFollowsRoomMatesAndMatchPartner() {
+        follows.accept(5, 100);  // 상대가 요청한 팔로우도
+        Room room = rooms.save(Room.builder().roomType(RoomType.RANDOM).capacity(2).build());
+        for (long pid : new long[]{100, 6}) {
+            rooms.addMember(RoomMember.builder().roomId(room.getRoomId()).userPid(pid).role(RoomRole.MEMBER).build());
+        }
+        partners.put(100L, 7L);
+        ChatConnection watcher = hub.connect(100, "t100", new FakeOutbound());
+
+        assertThat(broadcaster.watch(watcher, List.of(5L, 6L, 7L, 8L, 9L, 5L))).containsExactly(5L, 6L, 7L);
+        assertThat(audience.visible(9, List.of(5L, 6L, 7L, 100L, 9L))).containsExactly(9L); // 본인만
+    }
+
+    private static final class FakeOutbound implements ChatOutbound {
+        private final List<String> sent = new ArrayList<>();
+
+        @Override
+        public void send(String frame, Consumer<Throwable> done) {
+            sent.add(frame);
+            done.accept(null);
+        }
+
+        @Override
+        public void close(int code, String reason) {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package net.datasa.project01.service.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.datasa.project01.repository.MockUserRepository;
+import net.datasa.project01.repository.mock.MockSnapshotStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 아이디 Bloom filter — 가입은 커밋 뒤에 들어가고, 재생성 도중 들어온 아이디도 새 필터에 남는다
+ */
+class LoginIdBloomFilterTest {
+
+    private final CountDownLatch scanning = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockScan;
+
+    /** blockScan 이면 login_id 를 읽는 도중 멈춘다 (재생성 중에 가입이 끼어드는 상황) */
+    private final MockUserRepository users = new MockUserRepository(new MockSnapshotStore("")) {
+        @Override
+        public void forEachLoginId(Consumer<String> consumer) {
+            if (blockScan) {
+                scanning.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.forEachLoginId(consumer);
+        }
+    };
+    private final LoginIdBloomFilter filter = new LoginIdBloomFilter(users, new SimpleMeterRegistry(), 1000, 0.01);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void putInsideATransactionWaitsForCommit() {
+        filter.rebuild();
+        TransactionSynchronizationManager.initSynchronization();
+
+        filter.put("Newbie");
+        assertThat(filter.mightContain("newbie")).isFalse(); // 아직 커밋 전
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(filter.mightContain("NEWBIE")).isTrue();
+    }
+
+    @Test
+    void putDuringRebuildIsKeptInTheNewFilter() throws Exception {
+        filter.rebuild();
+        blockScan = true;
+        CompletableFuture<?> rebuilding = CompletableFuture.runAsync(filter::rebuild);
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+
+        filter.put("late"); // 재생성 스캔이 이미 지나간 뒤 커밋된 가입
+        release.countDown();
+        rebuilding.get(5, TimeUnit.SECONDS);
+
+        assertThat(filter.mightContain("late")).isTrue();
+    }
+}
@@ -0,0 +1,88 @@
+import api from './api'
+
+// 채팅 WebSocket(/ws/chat) 연결 하나를 화면 전체가 같이 쓴다.
+// - 연결 때 access_token 쿼리로 한 번 인증, 끊기면 1초 → 최대 15초 간격으로 다시 연결하고 구독하던 방에 다시 join
+// - 25초마다 ping (서버 idle-timeout 60초)
+// - 방마다 빠짐없이 받은 마지막 seq 를 기억해 두고, 다시 join 할 때 after_seq 로 보내 끊긴 사이 메시지만 받는다
+const listeners = new Set()
+const joinedRooms = new Set()
+const lastSeqs = new Map()
+let socket = null
+let retryDelay = 1000
+let pingTimer = null
+let closedByUser = false
+
+function socketUrl() {
+  const base = new URL(api.defaults.baseURL, window.location.href)
+  base.protocol = base.protocol === 'https:' ? 'wss:' : 'ws:'
+  base.pathname = '/ws/chat'
+  base.search = new URLSearchParams({ access_token: localStorage.getItem('token') ?? '' }).toString()
+  return base.toString()
+}
+
+function write(frame) {
+  if (socket?.readyState === WebSocket.OPEN) {
+    socket.send(JSON.stringify(frame))
+    return true
+  }
+  return false
+}
+
+function connect() {
+  if (socket || typeof WebSocket === 'undefined' || !localStorage.getItem('token')) return
+  closedByUser = false
+  socket = new WebSocket(socketUrl())
+  socket.onopen = () => {
+    retryDelay = 1000
+    joinedRooms.forEach((roomId) => write({ type: 'join', room_id: roomId, after_seq: lastSeqs.get(roomId) }))
+    pingTimer = setInterval(() => write({ type: 'ping' }), 25000)
+  }
+  socket.onmessage = (event) => {
+    const data = JSON.parse(event.data)
+    listeners.forEach((fn) => fn(data))
+  }
+  socket.onclose = () => {
+    clearInterval(pingTimer)
+    socket = null
+    if (closedByUser) return
+    // 4008 = 서버가 느린 연결로 판단해 끊음 → 다시 붙으면 된다
+    setTimeout(connect, retryDelay)
+    retryDelay = Math.min(retryDelay * 2, 15000)
+  }
+}
+
+export function joinRoom(roomId) {
+  joinedRooms.add(roomId)
+  connect()
+  write({ type: 'join', room_id: roomId })
+}
+
+export function leaveRoom(roomId) {
+  joinedRooms.delete(roomId)
+  lastSeqs.delete(roomId)
+  write({ type: 'leave', room_id: roomId })
+  if (joinedRooms.size === 0 && socket) {
+    closedByUser = true
+    socket.close()
+  }
+}
+
+// @return 보냈으면 true (연결이 없으면 false)
+export function sendText(roomId, text, clientMsgId) {
+  return write({ type: 'send', room_id: roomId, text, client_msg_id: clientMsgId })
+}
+
+// 화면이 이 방에서 빠짐없이 받은 마지막 seq (재연결 join 에 쓰임)
+export function markSeen(roomId, seq) {
+  if (joinedRooms.has(roomId)) lastSeqs.set(roomId, seq)
+}
+
+// 입장한 채로 빈틈을 발견했을 때 afterSeq 뒤로 빠진 메시지 요청
+export function resumeRoom(roomId, afterSeq) {
+  return write({ type: 'resume', room_id: roomId, after_seq: afterSeq })
+}
+
+export function onChatEvent(fn) {
+  listeners.add(fn)
+  return () => listeners.delete(fn)
+}
@@ -0,0 +1,31 @@
+import api from './api'
+
+// 접속 상태 하트비트 — 로그인해 있는 동안 30초마다 (서버는 70초 동안 없으면 오프라인)
+// - 탭이 가려지면 AWAY, 다시 보이면 바로 ONLINE
+// - 채팅 소켓이 붙어 있으면 소켓 ping 도 하트비트라 둘이 겹쳐도 상관없다
+let timer = null
+
+function beat() {
+  const status = document.visibilityState === 'hidden' ? 'AWAY' : 'ONLINE'
+  api.post('/presence/heartbeat', { status }).catch(() => {})
+}
+
+export function startPresence() {
+  if (timer || typeof document === 'undefined') return
+  beat()
+  timer = setInterval(beat, 30000)
+  document.addEventListener('visibilitychange', beat)
+}
+
+export function stopPresence() {
+  if (!timer) return
+  clearInterval(timer)
+  timer = null
+  document.removeEventListener('visibilitychange', beat)
+}
+
+// user_pid 목록 중 온라인인 사람 → Map(user_id → 'ONLINE' | 'AWAY'), 없는 사람은 오프라인
+export async function fetchPresence(userIds) {
+  const { data } = await api.post('/presence/query', { user_ids: userIds })
+  return new Map(data.map((p) => [p.user_id, p.status]))
+}